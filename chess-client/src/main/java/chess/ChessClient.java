@@ -1,12 +1,12 @@
 package chess;
 
-import java.io.BufferedReader;
+import java.io.BufferedInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.net.Socket;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.nio.charset.Charset;
 
 import javax.swing.JDialog;
 import javax.swing.JLabel;
@@ -18,12 +18,27 @@ import java.awt.Dimension;
 
 import org.kamatech.chess.Command;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 public class ChessClient {
+    private static final Logger log = LoggerFactory.getLogger(ChessClient.class);
+
+    // Same encoding the PrintWriter uses
+    private static final Charset CHARSET = Charset.defaultCharset();
+
     private Socket socket;
-    private BufferedReader reader;
+    private InputStream reader;
+    private OutputStream output;
     private PrintWriter writer;
+    // Binary protocol - input is switched by the reader loop, output under sendLock
+    private final Object sendLock = new Object();
+    private boolean binaryInput = false;
+    private boolean binaryOutput = false;
+    private int nextSequence = 0;
     private volatile boolean connected = false;
-    private final BlockingQueue<Command> commandQueue = new LinkedBlockingQueue<>();
+    // Approved commands from the reader loop to the command processor
+    private final CommandRing commandQueue = new CommandRing(CommandRing.OverflowPolicy.LOSSLESS);
     private ClientGame game;
     private volatile org.kamatech.chess.Command.Player assignedPlayerColor = null;
     private JDialog waitingDialog = null;
@@ -39,7 +54,7 @@ public class ChessClient {
                 try {
                     serverPort = Integer.parseInt(parts[1]);
                 } catch (NumberFormatException e) {
-                    System.err.println("Invalid port: " + parts[1]);
+                    log.warn("Invalid port: {}", parts[1]);
                     System.exit(1);
                 }
             }
@@ -52,7 +67,7 @@ public class ChessClient {
     public void start(String serverAddress, int serverPort) {
         try {
             // Connect to server
-            System.out.println("Connecting to " + serverAddress + ":" + serverPort + "...");
+            log.info("Connecting to {}:{}...", serverAddress, serverPort);
             connect(serverAddress, serverPort);
             
             // Run message reading loop from server
@@ -60,8 +75,7 @@ public class ChessClient {
             handleServerMessages();
             
         } catch (Exception e) {
-            System.err.println("Client error: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Client error: {}", e.getMessage(), e);
         } finally {
             disconnect();
         }
@@ -69,69 +83,43 @@ public class ChessClient {
     
     public void connect(String serverAddress, int serverPort) throws IOException {
         socket = new Socket(serverAddress, serverPort);
-        reader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-        writer = new PrintWriter(socket.getOutputStream(), true);
+        socket.setTcpNoDelay(true);
+        reader = new BufferedInputStream(socket.getInputStream());
+        output = socket.getOutputStream();
+        writer = new PrintWriter(output, true);
         connected = true;
         
-        System.out.println("Connected to server successfully!");
+        log.info("Connected to server successfully!");
     }
     
     private void initializeAndShowGame() {
         if (assignedPlayerColor == null) {
-            System.err.println("Cannot initialize game - no player color assigned");
+            log.warn("Cannot initialize game - no player color assigned");
             return;
         }
 
         try {
             // Create the game but don't start it
-            System.out.println("Creating board image...");
+            log.info("Creating board image...");
             org.kamatech.chess.Img boardImg = new org.kamatech.chess.Img();
 
-            // Try multiple ways to load the board image
+            // Load every asset up front on the loader pool - works from the classes folder and from the jar
+            org.kamatech.chess.AssetManager assets = org.kamatech.chess.AssetManager.get();
+            long assetsStart = System.currentTimeMillis();
+            assets.loadAll(org.kamatech.chess.AssetManager.consoleProgress());
+            log.info("Loaded {} assets in {}ms", assets.getPaths().size(), System.currentTimeMillis() - assetsStart);
+
             boolean boardLoaded = false;
-            
-            // Method 1: Try from resources
             try {
-                java.net.URL boardPath = getClass().getClassLoader().getResource("board.png");
-                if (boardPath != null) {
-                    System.out.println("Found board.png at: " + boardPath);
-                    // Convert URL to proper file path for Img.read()
-                    java.io.File boardFile = new java.io.File(boardPath.toURI());
-                    boardImg.read(boardFile.getAbsolutePath(), new java.awt.Dimension(800, 800), true, null);
-                    boardLoaded = true;
-                    System.out.println("Successfully loaded board image from resources");
-                }
+                boardImg.readAsset(assets, "board.png", new java.awt.Dimension(800, 800), true);
+                boardLoaded = true;
+                log.info("Successfully loaded board image from resources");
             } catch (Exception e) {
-                System.out.println("Method 1 failed: " + e.getMessage());
+                log.info("Could not load board.png: {}", e.getMessage());
             }
             
-            // Method 2: Try direct resource stream if method 1 failed
             if (!boardLoaded) {
-                try {
-                    java.io.InputStream boardStream = getClass().getClassLoader().getResourceAsStream("board.png");
-                    if (boardStream != null) {
-                        java.awt.image.BufferedImage bufferedImage = javax.imageio.ImageIO.read(boardStream);
-                        if (bufferedImage != null) {
-                            // Resize to 800x800
-                            java.awt.image.BufferedImage resizedImage = new java.awt.image.BufferedImage(800, 800, java.awt.image.BufferedImage.TYPE_INT_ARGB);
-                            java.awt.Graphics2D g2d = resizedImage.createGraphics();
-                            g2d.setRenderingHint(java.awt.RenderingHints.KEY_INTERPOLATION, java.awt.RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-                            g2d.drawImage(bufferedImage, 0, 0, 800, 800, null);
-                            g2d.dispose();
-                            
-                            boardImg.setImage(resizedImage);
-                            boardLoaded = true;
-                            System.out.println("Successfully loaded board image from stream");
-                        }
-                        boardStream.close();
-                    }
-                } catch (Exception e) {
-                    System.out.println("Method 2 failed: " + e.getMessage());
-                }
-            }
-            
-            if (!boardLoaded) {
-                System.out.println("Could not load board.png, creating default chess board...");
+                log.info("Could not load board.png, creating default chess board...");
                 // Create a default chess board pattern
                 java.awt.image.BufferedImage defaultBoard = new java.awt.image.BufferedImage(800, 800, java.awt.image.BufferedImage.TYPE_INT_RGB);
                 java.awt.Graphics2D g2d = defaultBoard.createGraphics();
@@ -152,10 +140,10 @@ public class ChessClient {
                 g2d.dispose();
                 
                 boardImg.setImage(defaultBoard);
-                System.out.println("Created default chess board pattern");
+                log.info("Created default chess board pattern");
             }
 
-            System.out.println("Creating board object...");
+            log.info("Creating board object...");
             org.kamatech.chess.Board board = new org.kamatech.chess.Board(100, 100, 1, 1, 8, 8, boardImg);
             org.kamatech.chess.api.IGraphicsFactory graphicsFactory = new org.kamatech.chess.GraphicsFactory();
             org.kamatech.chess.api.IPhysicsFactory physicsFactory = new org.kamatech.chess.PhysicsFactory();
@@ -166,29 +154,27 @@ public class ChessClient {
             // Start the game immediately to show the board
             javax.swing.SwingUtilities.invokeLater(() -> {
                 try {
-                    System.out.println("Starting GUI for player: " + assignedPlayerColor);
+                    log.info("Starting GUI for player: {}", assignedPlayerColor);
                     game.startGame();
-                    System.out.println("Game board displayed - waiting for other player...");
+                    log.info("Game board displayed - waiting for other player...");
                 } catch (Exception e) {
-                    System.err.println("Game error: " + e.getMessage());
-                    e.printStackTrace();
+                    log.error("Game error: {}", e.getMessage(), e);
                 }
             });
 
         } catch (Exception e) {
-            System.err.println("Error initializing game: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error initializing game: {}", e.getMessage(), e);
         }
     }    private void startGameLogicAfterBothPlayersConnected() {
         if (game == null) {
-            System.err.println("Cannot start game logic - game not initialized");
+            log.warn("Cannot start game logic - game not initialized");
             return;
         }
 
         // Start the game logic components in Swing Event Dispatch Thread (EDT)
         javax.swing.SwingUtilities.invokeLater(() -> {
             try {
-                System.out.println("Starting game logic for player: " + assignedPlayerColor);
+                log.info("Starting game logic for player: {}", assignedPlayerColor);
                 
                 // Start the command processing components if they exist
                 if (game instanceof ClientGame) {
@@ -197,101 +183,176 @@ public class ChessClient {
                     clientGame.enableGameplay();
                 }
                 
-                System.out.println("Game logic started - gameplay enabled!");
+                log.info("Game logic started - gameplay enabled!");
             } catch (Exception e) {
-                System.err.println("Game logic error: " + e.getMessage());
-                e.printStackTrace();
+                log.error("Game logic error: {}", e.getMessage(), e);
             }
         });
     }
     
     private void handleServerMessages() {
         try {
-            String message;
-            while (connected && (message = reader.readLine()) != null) {
-                System.out.println("Received from server: " + message);
-                
-                // Process special messages
-                if (message.equals("GAME_START")) {
-                    System.out.println("Both players connected - Game starting!");
-                    // Now we can actually start the game logic
-                    if (game != null) {
-                        startGameLogicAfterBothPlayersConnected();
-                    } else {
-                        System.err.println("Cannot start game - game not initialized");
+            byte[] frame = new byte[64];
+            int[] frameLength = new int[1];
+            while (connected) {
+                if (!binaryInput) {
+                    String message = WireProtocol.readLine(reader, CHARSET);
+                    if (message == null) {
+                        break;
                     }
-                    continue;
-                } else if (message.equals("PLAYER_DISCONNECTED")) {
-                    System.out.println("Other player disconnected!");
-                    continue;
-                } else if (message.startsWith("INVALID_COMMAND:")) {
-                    System.out.println("Server rejected command: " + message.substring("INVALID_COMMAND:".length()));
-                    continue;
-                } else if (message.startsWith("PLAYER_ROLE:")) {
-                    String role = message.substring("PLAYER_ROLE:".length());
-                    System.out.println("Assigned player role: " + role);
-                    
-                    // Set color according to role from server
-                    if (role.equals("WHITE")) {
-                        assignedPlayerColor = org.kamatech.chess.Command.Player.WHITE;
-                    } else if (role.equals("BLACK")) {
-                        assignedPlayerColor = org.kamatech.chess.Command.Player.BLACK;
-                    }
-                    
-                    // Create and start the game immediately to show the board
-                    initializeAndShowGame();
-                    continue;
-                } else if (message.startsWith("WAITING_FOR_PLAYER:")) {
-                    String waitingMessage = message.substring("WAITING_FOR_PLAYER:".length());
-                    System.out.println("Server says: " + waitingMessage);
-                    showWaitingMessage(waitingMessage);
-                    continue;
-                } else if (message.equals("CLEAR_WAITING")) {
-                    System.out.println("Clearing waiting message...");
-                    hideWaitingMessage();
-                    continue;
-                } else if (message.equals("PLAYER_DISCONNECTED")) {
-                    System.out.println("Other player disconnected");
-                    showWaitingMessage("השחקן השני התנתק<br>ממתין לשחקן חדש...");
+                    handleServerMessage(message);
                     continue;
                 }
-                
-                // This is an approved command from server - convert message to command and add to queue
-                try {
-                    Command command = new Command(message);
+                frame = WireProtocol.readFrame(reader, frame, frameLength);
+                if (frame == null) {
+                    break;
+                }
+                Command command = WireProtocol.decodeCommand(frame, frameLength[0]);
+                if (command != null) {
+                    // Approved command as a binary frame - no text to parse
                     commandQueue.offer(command);
-                    System.out.println("Added approved command to queue: " + message);
-                } catch (Exception e) {
-                    System.err.println("Error parsing approved server command: " + e.getMessage());
+                    log.debug("Added approved command to queue: {}", command.getRawCommand());
+                } else if (frame[0] == WireProtocol.OP_TEXT) {
+                    handleServerMessage(WireProtocol.decodeText(frame, frameLength[0]));
+                } else {
+                    log.warn("Unknown frame from server, opcode {}", frame[0]);
                 }
             }
         } catch (IOException e) {
             if (connected) {
-                System.err.println("Lost connection to server: " + e.getMessage());
+                log.warn("Lost connection to server: {}", e.getMessage());
             }
         } finally {
             connected = false;
         }
     }
     
+    private void handleServerMessage(String message) {
+        log.debug("Received from server: {}", message);
+        
+        // Process special messages
+        if (message.equals(WireProtocol.OFFER)) {
+            // Take the binary protocol - everything we send from here on is framed
+            synchronized (sendLock) {
+                writer.println(WireProtocol.ACCEPT);
+                binaryOutput = true;
+            }
+            log.debug("Switching to the binary protocol");
+            return;
+        } else if (message.equals(WireProtocol.SWITCH)) {
+            // Last text line from the server
+            binaryInput = true;
+            return;
+        } else if (message.equals("GAME_START")) {
+            log.info("Both players connected - Game starting!");
+            // Now we can actually start the game logic
+            if (game != null) {
+                startGameLogicAfterBothPlayersConnected();
+            } else {
+                log.warn("Cannot start game - game not initialized");
+            }
+            return;
+        } else if (message.equals("PLAYER_DISCONNECTED")) {
+            log.info("Other player disconnected!");
+            return;
+        } else if (message.startsWith("INVALID_COMMAND:")) {
+            log.debug("Server rejected command: {}", message.substring("INVALID_COMMAND:".length()));
+            return;
+        } else if (message.startsWith("PLAYER_ROLE:")) {
+            String role = message.substring("PLAYER_ROLE:".length());
+            log.info("Assigned player role: {}", role);
+            
+            // Set color according to role from server
+            if (role.equals("WHITE")) {
+                assignedPlayerColor = org.kamatech.chess.Command.Player.WHITE;
+            } else if (role.equals("BLACK")) {
+                assignedPlayerColor = org.kamatech.chess.Command.Player.BLACK;
+            }
+            
+            // Create and start the game immediately to show the board
+            initializeAndShowGame();
+            return;
+        } else if (message.startsWith(ClientCommandProcessor.REJECTED)) {
+            // Goes through the command queue so it is matched in order with the approved commands
+            commandQueue.offer(Command.createGameControl(message));
+            log.debug("Server rejected command: {}", message.substring(ClientCommandProcessor.REJECTED.length()));
+            return;
+        } else if (message.startsWith("BOARD_SNAPSHOT:")) {
+            // Rejoined a running match - BOARD_SNAPSHOT:moves played:board, the later moves follow as commands
+            String snapshot = message.substring(message.indexOf(':', "BOARD_SNAPSHOT:".length()) + 1);
+            if (game != null) {
+                game.restoreSnapshot(snapshot);
+            } else {
+                log.warn("Cannot restore snapshot - game not initialized");
+            }
+            return;
+        } else if (message.startsWith("WAITING_FOR_PLAYER:")) {
+            String waitingMessage = message.substring("WAITING_FOR_PLAYER:".length());
+            log.info("Server says: {}", waitingMessage);
+            showWaitingMessage(waitingMessage);
+            return;
+        } else if (message.equals("CLEAR_WAITING")) {
+            log.info("Clearing waiting message...");
+            hideWaitingMessage();
+            return;
+        } else if (message.equals("PLAYER_DISCONNECTED")) {
+            log.info("Other player disconnected");
+            showWaitingMessage("השחקן השני התנתק<br>ממתין לשחקן חדש...");
+            return;
+        }
+        
+        // This is an approved command from server - convert message to command and add to queue
+        try {
+            Command command = new Command(message);
+            commandQueue.offer(command);
+            log.debug("Added approved command to queue: {}", message);
+        } catch (Exception e) {
+            log.warn("Error parsing approved server command: {}", e.getMessage());
+        }
+    }
+    
     public void sendCommandToServer(String command) {
         if (connected && writer != null) {
-            writer.println(command);
-            System.out.println("Sent to server: " + command);
+            synchronized (sendLock) {
+                if (binaryOutput) {
+                    writeFrame(WireProtocol.encodeText(command));
+                } else {
+                    writer.println(command);
+                }
+            }
+            log.debug("Sent to server: {}", command);
         } else {
-            System.err.println("Not connected to server!");
+            log.warn("Not connected to server!");
         }
     }
     
     public void sendCommandToServer(org.kamatech.chess.Command command) {
-        if (command != null) {
-            sendCommandToServer(command.toString());
-        }
+        sendCommand(command);
     }
     
+    /**
+     * Send a command - a binary frame with a sequence number once the server took the offer, else its text
+     */
     public void sendCommand(Command command) {
-        if (command != null) {
-            sendCommandToServer(command.toString());
+        if (command == null) {
+            return;
+        }
+        synchronized (sendLock) {
+            if (connected && binaryOutput) {
+                writeFrame(WireProtocol.encode(command, nextSequence, System.currentTimeMillis()));
+                nextSequence = (nextSequence + 1) & 0xFFFF;
+                log.debug("Sent to server: {} (binary)", command.getRawCommand());
+                return;
+            }
+        }
+        sendCommandToServer(command.getRawCommand());
+    }
+    
+    private void writeFrame(byte[] frame) {
+        try {
+            output.write(frame);
+        } catch (IOException e) {
+            log.warn("Error sending to server: {}", e.getMessage());
         }
     }
     
@@ -305,13 +366,13 @@ public class ChessClient {
         try {
             if (reader != null) reader.close();
         } catch (IOException e) {
-            System.err.println("Error closing reader: " + e.getMessage());
+            log.warn("Error closing reader: {}", e.getMessage());
         }
         
         try {
             if (writer != null) writer.close();
         } catch (Exception e) {
-            System.err.println("Error closing writer: " + e.getMessage());
+            log.warn("Error closing writer: {}", e.getMessage());
         }
         
         try {
@@ -319,13 +380,13 @@ public class ChessClient {
                 socket.close();
             }
         } catch (IOException e) {
-            System.err.println("Error closing socket: " + e.getMessage());
+            log.warn("Error closing socket: {}", e.getMessage());
         }
         
         // Close waiting dialog if open
         hideWaitingMessage();
         
-        System.out.println("Disconnected from server");
+        log.info("Disconnected from server");
     }
     
     /**
@@ -357,7 +418,7 @@ public class ChessClient {
             waitingDialog.setLocationRelativeTo(parentFrame);
             waitingDialog.setResizable(false);
             
-            System.out.println("Showing waiting dialog: " + message);
+            log.info("Showing waiting dialog: {}", message);
             waitingDialog.setVisible(true);
         });
     }
@@ -368,7 +429,7 @@ public class ChessClient {
     private void hideWaitingMessage() {
         javax.swing.SwingUtilities.invokeLater(() -> {
             if (waitingDialog != null) {
-                System.out.println("Hiding waiting dialog");
+                log.info("Hiding waiting dialog");
                 waitingDialog.setVisible(false);
                 waitingDialog.dispose();
                 waitingDialog = null;
@@ -1,24 +1,28 @@
 package chess;
 
-import java.awt.event.KeyEvent;
-import java.util.concurrent.BlockingQueue;
-
 import org.kamatech.chess.Command;
 import org.kamatech.chess.Game;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 /**
  * Handles processing approved commands from server
  * Clean separation: Server → Queue → Game Execution
  */
 public class ClientCommandProcessor {
+    private static final Logger log = LoggerFactory.getLogger(ClientCommandProcessor.class);
+
+    static final String REJECTED = "COMMAND_REJECTED:";
+
     private final Game game;
     private final Command.Player playerColor;
-    private final BlockingQueue<Command> commandsFromServer;
+    private final CommandRing commandsFromServer;
     private Thread processorThread;
     private volatile boolean running;
     
     public ClientCommandProcessor(Game game, Command.Player playerColor, 
-                                 BlockingQueue<Command> commandsFromServer) {
+                                 CommandRing commandsFromServer) {
         this.game = game;
         this.playerColor = playerColor;
         this.commandsFromServer = commandsFromServer;
@@ -39,7 +43,7 @@ public class ClientCommandProcessor {
         processorThread.setName("ServerCommandProcessor-" + playerColor);
         processorThread.start();
         
-        System.out.println("✓ ClientCommandProcessor started for player: " + playerColor);
+        log.debug("✓ ClientCommandProcessor started for player: {}", playerColor);
     }
     
     /**
@@ -56,30 +60,32 @@ public class ClientCommandProcessor {
      * Main processor loop - reads approved commands and executes them
      */
     private void runProcessorLoop() {
-        System.out.println("Command processor started for player: " + playerColor);
+        log.debug("Command processor started for player: {}", playerColor);
         
         while (running) {
             try {
                 // Read approved command from queue (blocks until there's a command)
                 Command command = commandsFromServer.take();
+                if (command == null) {
+                    break; // queue closed
+                }
                 
                 // Execute the approved command in the game
-                System.out.println("✓ [SERVER → GAME] Processing approved server command: " + command.getRawCommand());
+                log.debug("✓ [SERVER → GAME] Processing approved server command: {}", command.getRawCommand());
                 
                 // Convert the command back to keyboard event and execute in original game
                 executeApprovedCommand(command);
                 
             } catch (InterruptedException e) {
-                System.out.println("Command processor interrupted");
+                log.debug("Command processor interrupted");
                 break;
             } catch (Exception e) {
-                System.err.println("Error processing approved command: " + e.getMessage());
-                e.printStackTrace();
+                log.error("Error processing approved command: {}", e.getMessage(), e);
             }
         }
 
         
-        System.out.println("Command processor stopped");
+        log.debug("Command processor stopped");
     }
     
     /**
@@ -87,83 +93,29 @@ public class ClientCommandProcessor {
      */
     private void executeApprovedCommand(Command command) {
         try {
-            System.out.println("🔍 DEBUG: Processing command: " + command.getRawCommand());
-            System.out.println("🔍 DEBUG: Command type: " + command.getCommandType());
-            System.out.println("🔍 DEBUG: Key input: " + command.getKeyInput());
-            System.out.println("🔍 DEBUG: Player: " + command.getPlayer());
-            
-            // Convert the command back to simulated keyboard event
-            KeyEvent keyEvent = convertCommandToKeyEvent(command);
-            
-            if (keyEvent != null) {
-                System.out.println("🔍 DEBUG: Converted to KeyEvent - keyCode: " + keyEvent.getKeyCode());
-                
-                // Use the dedicated method for server-approved commands
+            if (command.getCommandType() == Command.CommandType.GAME_CONTROL
+                    && command.getRawCommand().startsWith(REJECTED)) {
+                // Refused own command - undo its prediction, in order with the approved ones
                 if (game instanceof ClientGame) {
-                    ((ClientGame) game).executeServerApprovedCommand(keyEvent);
-                } else {
-                    game.handleRawKeyPressed(keyEvent);
+                    ((ClientGame) game).rejectServerCommand(command.getRawCommand().substring(REJECTED.length()));
                 }
-                System.out.println("✅ Executed approved command in game: " + command.getRawCommand());
+                return;
+            }
+            if (game instanceof ClientGame && command.getPlayer() == playerColor) {
+                // Own command - confirms or corrects what was predicted when the key was pressed
+                ((ClientGame) game).acceptServerCommand(command);
+                log.debug("✅ Confirmed own command: {}", command.getRawCommand());
+                return;
+            }
+
+            // Typed dispatch - the key input goes straight to the game's action for it
+            if (game.processKeyInput(command)) {
+                log.debug("✅ Executed approved command in game: {}", command.getRawCommand());
             } else {
-                System.out.println("❌ Could not convert command to key event: " + command.getRawCommand());
+                log.debug("❌ No game action for command: {}", command.getRawCommand());
             }
         } catch (Exception e) {
-            System.err.println("Error executing approved command: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
-    
-    /**
-     * Convert command back to keyboard event
-     */
-    private KeyEvent convertCommandToKeyEvent(Command command) {
-        if (command.getCommandType() != Command.CommandType.KEY_INPUT) {
-            return null;
-        }
-        
-        String keyInput = command.getKeyInput();
-        Command.Player player = command.getPlayer();
-        
-        // Mapping of commands to keys
-        int keyCode = getKeyCodeForCommand(keyInput, player);
-        if (keyCode == -1) {
-            return null;
-        }
-        
-        // Create simulated keyboard event
-        return new KeyEvent(
-            new java.awt.Button(), // simple component as source
-            KeyEvent.KEY_PRESSED,
-            System.currentTimeMillis(),
-            0, // modifiers
-            keyCode,
-            KeyEvent.CHAR_UNDEFINED
-        );
-    }
-    
-    /**
-     * Get key code according to command and player
-     */
-    private int getKeyCodeForCommand(String keyInput, Command.Player player) {
-        switch (keyInput) {
-            case "MOVEMENT_UP":
-                return (player == Command.Player.WHITE) ? KeyEvent.VK_W : KeyEvent.VK_UP;
-            case "MOVEMENT_DOWN":
-                return (player == Command.Player.WHITE) ? KeyEvent.VK_S : KeyEvent.VK_DOWN;
-            case "MOVEMENT_LEFT":
-                return (player == Command.Player.WHITE) ? KeyEvent.VK_A : KeyEvent.VK_LEFT;
-            case "MOVEMENT_RIGHT":
-                return (player == Command.Player.WHITE) ? KeyEvent.VK_D : KeyEvent.VK_RIGHT;
-            case "SELECT_OR_MOVE":
-                return (player == Command.Player.WHITE) ? KeyEvent.VK_SPACE : KeyEvent.VK_ENTER;
-            case "JUMP":
-                // Left Shift for WHITE, Right Shift for BLACK
-                return (player == Command.Player.WHITE) ? KeyEvent.VK_SHIFT : KeyEvent.VK_SHIFT;
-            case "HOVER_TO_SELECT":
-                return (player == Command.Player.WHITE) ? KeyEvent.VK_C : KeyEvent.VK_V;
-            default:
-                return -1;
+            log.error("Error executing approved command: {}", e.getMessage(), e);
         }
     }
     
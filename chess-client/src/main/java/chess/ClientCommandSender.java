@@ -1,21 +1,25 @@
 package chess;
 
-import java.util.concurrent.BlockingQueue;
 import org.kamatech.chess.Command;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 /**
  * Handles sending keyboard commands to server for validation
  * Clean separation: Keyboard → Queue → Server
  */
 public class ClientCommandSender {
+    private static final Logger log = LoggerFactory.getLogger(ClientCommandSender.class);
+
     private final ChessClient client;
     private final Command.Player playerColor;
-    private final BlockingQueue<Command> keyboardInputQueue;
+    private final CommandRing keyboardInputQueue;
     private Thread senderThread;
     private volatile boolean running;
     
     public ClientCommandSender(ChessClient client, Command.Player playerColor, 
-                              BlockingQueue<Command> keyboardInputQueue) {
+                              CommandRing keyboardInputQueue) {
         this.client = client;
         this.playerColor = playerColor;
         this.keyboardInputQueue = keyboardInputQueue;
@@ -36,7 +40,7 @@ public class ClientCommandSender {
         senderThread.setName("ServerSender-" + playerColor);
         senderThread.start();
         
-        System.out.println("✓ ClientCommandSender started for player: " + playerColor);
+        log.debug("✓ ClientCommandSender started for player: {}", playerColor);
     }
     
     /**
@@ -53,39 +57,46 @@ public class ClientCommandSender {
      * Main sender loop - reads from queue and sends to server
      */
     private void runSenderLoop() {
-        System.out.println("Server sender thread started for player: " + playerColor);
+        log.debug("Server sender thread started for player: {}", playerColor);
         
         while (running) {
             try {
                 // Read command from keyboard input queue (blocks until there's a command)
                 Command command = keyboardInputQueue.take();
+                if (command == null) {
+                    break; // queue closed
+                }
                 
-                // Send command to server for validation
-                client.sendCommandToServer(command.getRawCommand());
-                System.out.println("✓ [QUEUE → SERVER] Sent to server for validation: " + command.getRawCommand());
+                // Send command to server for validation - framed when the server took the binary protocol
+                client.sendCommand(command);
+                log.debug("✓ [QUEUE → SERVER] Sent to server for validation: {}", command.getRawCommand());
                 
             } catch (InterruptedException e) {
-                System.out.println("Server sender thread interrupted");
+                log.debug("Server sender thread interrupted");
                 break;
             } catch (Exception e) {
-                System.err.println("Error sending command to server: " + e.getMessage());
-                e.printStackTrace();
+                log.error("Error sending command to server: {}", e.getMessage(), e);
             }
         }
         
-        System.out.println("Server sender thread stopped");
+        log.debug("Server sender thread stopped");
     }
     
     /**
-     * Add command to sending queue
+     * Add command to sending queue - never waits
+     * False when it will not be sent: coalesced into the same key still queued, or refused by a full or closed queue
      */
-    public void queueCommand(Command command) {
+    public boolean queueCommand(Command command) {
         try {
-            keyboardInputQueue.offer(command);
-            System.out.println("✓ [KEYBOARD → QUEUE] Added to keyboard queue: " + command.getRawCommand());
+            if (keyboardInputQueue.offer(command)) {
+                log.debug("✓ [KEYBOARD → QUEUE] Added to keyboard queue: {}", command.getRawCommand());
+                return true;
+            }
+            log.debug("✗ Keyboard queue full - overflow policy left out: {}", command.getRawCommand());
         } catch (Exception e) {
-            System.err.println("✗ Error adding command to keyboard queue: " + e.getMessage());
+            log.warn("✗ Error adding command to keyboard queue: {}", command.getRawCommand(), e);
         }
+        return false;
     }
     
     /**
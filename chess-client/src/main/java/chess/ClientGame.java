@@ -1,32 +1,43 @@
 package chess;
 
 import java.awt.event.KeyEvent;
-import java.util.concurrent.BlockingQueue;
 
 import org.kamatech.chess.Board;
 import org.kamatech.chess.Command;
 import org.kamatech.chess.Game;
+import org.kamatech.chess.InputAction;
 import org.kamatech.chess.api.IGraphicsFactory;
 import org.kamatech.chess.api.IPhysicsFactory;
 import org.kamatech.chess.api.IPieceFactory;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 /**
  * Client version of the game - new clean architecture
  * [Keyboard] → [Queue: Keyboard Input] → [Thread: Send to Server] → [Server]
  * [Game Loop] ← [Queue: Commands from Server] ← [Thread: Receive from Server] ← [Server validates & broadcasts]
+ * The player's own cursor and selection keys are predicted - shown at once and reconciled with the
+ * server's answer by an {@link InputPredictor}; -Dchess.prediction=false waits for the server instead.
  */
 public class ClientGame extends Game {
+    private static final Logger log = LoggerFactory.getLogger(ClientGame.class);
+
+    private static final boolean PREDICTION = Boolean.parseBoolean(System.getProperty("chess.prediction", "true"));
+
     private final ChessClient client;
     private final Command.Player myPlayerColor;
     
-    // Two separate queues for clean architecture
-    private final BlockingQueue<Command> keyboardInputQueue = new java.util.concurrent.LinkedBlockingQueue<>();
-    private final BlockingQueue<Command> commandsFromServer;
+    // Two separate queues for clean architecture - bounded rings, one thread on each side
+    private final CommandRing keyboardInputQueue = new CommandRing(CommandRing.OverflowPolicy.KEYBOARD);
+    private final CommandRing commandsFromServer;
     
     // Clean separation into dedicated classes
     private ClientCommandSender commandSender;
     private ClientCommandProcessor commandProcessor;
     private KeyboardCommandConverter keyboardConverter;
+    // Own commands sent and not answered yet - game thread only
+    private final InputPredictor<PlayerInput> predictor;
     
     // Gameplay state
     private volatile boolean gameplayEnabled = false;
@@ -34,7 +45,7 @@ public class ClientGame extends Game {
     public ClientGame(Board board, IPieceFactory pieceFactory, 
                      IGraphicsFactory graphicsFactory, IPhysicsFactory physicsFactory,
                      ChessClient client, Command.Player playerColor, 
-                     BlockingQueue<Command> commandsFromServer) {
+                     CommandRing commandsFromServer) {
         super(board, pieceFactory, graphicsFactory, physicsFactory);
         this.client = client;
         this.myPlayerColor = playerColor;
@@ -44,6 +55,22 @@ public class ClientGame extends Game {
         this.commandSender = new ClientCommandSender(client, playerColor, keyboardInputQueue);
         this.commandProcessor = new ClientCommandProcessor(this, playerColor, commandsFromServer);
         this.keyboardConverter = new KeyboardCommandConverter(playerColor);
+        this.predictor = new InputPredictor<>(new InputPredictor.Model<PlayerInput>() {
+            @Override
+            public PlayerInput captureInput() {
+                return ClientGame.this.captureInput(myPlayerColor);
+            }
+
+            @Override
+            public void restoreInput(PlayerInput state) {
+                ClientGame.this.restoreInput(myPlayerColor, state);
+            }
+
+            @Override
+            public void apply(Command command) {
+                applyKeyInput(command);
+            }
+        });
         
         // Set current player info in GraphicsFactory
         org.kamatech.chess.GraphicsFactory.setCurrentPlayerInfo(playerColor.toString());
@@ -73,22 +100,22 @@ public class ClientGame extends Game {
      */
     private void displayPlayerInfo() {
         String playerName = (myPlayerColor == Command.Player.WHITE) ? "White Player (WASD)" : "Black Player (Arrows)";
-        System.out.println("=== " + playerName + " ===");
+        log.info("=== {} ===", playerName);
         
         if (myPlayerColor == Command.Player.WHITE) {
-            System.out.println("Movement keys: WASD");
-            System.out.println("Select piece: C (after navigating to piece)");
-            System.out.println("Execute move: Space");
-            System.out.println("How to play: WASD to navigate -> C to select -> WASD to move -> Space to execute");
+            log.info("Movement keys: WASD");
+            log.info("Select piece: C (after navigating to piece)");
+            log.info("Execute move: Space");
+            log.info("How to play: WASD to navigate -> C to select -> WASD to move -> Space to execute");
         } else {
-            System.out.println("Movement keys: Arrow keys");
-            System.out.println("Select piece: V (after navigating to piece)");
-            System.out.println("Execute move: Enter");
-            System.out.println("How to play: Arrows to navigate -> V to select -> Arrows to move -> Enter to execute");
+            log.info("Movement keys: Arrow keys");
+            log.info("Select piece: V (after navigating to piece)");
+            log.info("Execute move: Enter");
+            log.info("How to play: Arrows to navigate -> V to select -> Arrows to move -> Enter to execute");
         }
         
-        System.out.println("*** Commands are sent to server for approval and executed only if they are legal ***");
-        System.out.println("*** NEW ARCHITECTURE: Keyboard → Queue → Thread → Server → Validate → Broadcast → Game ***");
+        log.info("*** Commands are sent to server for approval and executed only if they are legal ***");
+        log.info("*** NEW ARCHITECTURE: Keyboard → Queue → Thread → Server → Validate → Broadcast → Game ***");
     }
     
     /**
@@ -96,14 +123,14 @@ public class ClientGame extends Game {
      */
     private void displayWaitingInfo() {
         String playerName = (myPlayerColor == Command.Player.WHITE) ? "White Player (WASD)" : "Black Player (Arrows)";
-        System.out.println("=== " + playerName + " ===");
-        System.out.println("BOARD DISPLAYED - Waiting for other player to connect...");
-        System.out.println("You can see the board but cannot move pieces yet.");
+        log.info("=== {} ===", playerName);
+        log.info("BOARD DISPLAYED - Waiting for other player to connect...");
+        log.info("You can see the board but cannot move pieces yet.");
         
         if (myPlayerColor == Command.Player.WHITE) {
-            System.out.println("Your controls will be: WASD (movement), C (select), Space (execute)");
+            log.info("Your controls will be: WASD (movement), C (select), Space (execute)");
         } else {
-            System.out.println("Your controls will be: Arrow Keys (movement), V (select), Enter (execute)");
+            log.info("Your controls will be: Arrow Keys (movement), V (select), Enter (execute)");
         }
     }
     
@@ -114,7 +141,7 @@ public class ClientGame extends Game {
     public void handleRawKeyPressed(KeyEvent e) {
         // Check if gameplay is enabled
         if (!gameplayEnabled) {
-            System.out.println("Gameplay not enabled yet - waiting for other player. Key ignored: " + e.getKeyCode());
+            log.debug("Gameplay not enabled yet - waiting for other player. Key ignored: {}", e.getKeyCode());
             return;
         }
         
@@ -124,16 +151,16 @@ public class ClientGame extends Game {
         if (command != null && command.getPlayer() == myPlayerColor) {
             // Check if client is connected to server
             if (client != null && client.isConnected()) {
-                // Server mode: Add command to sending queue - the command sender will handle it
-                commandSender.queueCommand(command);
-                System.out.println("🌐 Server mode: Sent command to server for validation: " + command.getRawCommand());
+                // Server mode: predict it on the game thread, then the command sender takes it to the server
+                runOnGameThread(() -> sendToServer(command));
+                log.debug("🌐 Server mode: Sent command to server for validation: {}", command.getRawCommand());
             } else {
                 // Offline/Local mode: Execute directly without server validation
-                System.out.println("🔧 Local mode: Server not connected - executing command directly");
+                log.debug("🔧 Local mode: Server not connected - executing command directly");
                 super.handleRawKeyPressed(e);
             }
         } else if (command != null) {
-            System.out.println("Ignoring command for other player: " + command.getRawCommand());
+            log.debug("Ignoring command for other player: {}", command.getRawCommand());
         } else {
             // Not a converted command - pass to parent for processing
             super.handleRawKeyPressed(e);
@@ -141,13 +168,46 @@ public class ClientGame extends Game {
     }
     
     /**
-     * Handle approved commands from server - bypass client-to-server logic
-     * This method executes commands directly without sending them back to server
+     * Own command approved by the server - confirms its prediction or applies it
+     */
+    public void acceptServerCommand(Command command) {
+        runOnGameThread(() -> predictor.accepted(command));
+    }
+
+    /**
+     * Own command refused by the server (COMMAND_REJECTED) - undoes its prediction
      */
-    public void executeServerApprovedCommand(KeyEvent e) {
-        // Call parent implementation directly - no server validation needed
-        super.handleRawKeyPressed(e);
+    public void rejectServerCommand(String rawCommand) {
+        runOnGameThread(() -> predictor.rejected(rawCommand));
     }
+
+    /**
+     * Register an own command with the predictor and queue it for the server - on the game thread
+     */
+    private void sendToServer(Command command) {
+        boolean predict = PREDICTION && isPredictable(command);
+        int sequence = predictor.send(command, predict);
+        if (!commandSender.queueCommand(command)) {
+            // Left out by the keyboard queue - the server will never answer it
+            predictor.withdraw(sequence);
+            return;
+        }
+        log.debug("Command #{} {}: {} ({} outstanding)", sequence, predict ? "predicted" : "waits for server",
+                command.getRawCommand(), predictor.getOutstandingCount());
+    }
+
+    /**
+     * Only input state is predicted - cursor and pending moves, selecting a piece; moves and jumps wait for the server
+     */
+    private boolean isPredictable(Command command) {
+        InputAction action = InputAction.of(command.getKeyInput());
+        if (action.isMovement() || action == InputAction.HOVER_TO_SELECT) {
+            return true;
+        }
+        // Outside movement mode SELECT_OR_MOVE selects; inside it executes the move
+        return action == InputAction.SELECT_OR_MOVE && !captureInput(myPlayerColor).isMovementMode();
+    }
+
     
     /**
      * Stop the game
@@ -167,6 +227,10 @@ public class ClientGame extends Game {
         if (commandProcessor != null) {
             commandProcessor.stop();
         }
+        keyboardInputQueue.close();
+        commandsFromServer.close();
+        log.info("Keyboard queue: {}", keyboardInputQueue);
+        log.info("Server command queue: {}", commandsFromServer);
     }
     
     /**
@@ -186,7 +250,7 @@ public class ClientGame extends Game {
      */
     public void enableGameplay() {
         gameplayEnabled = true;
-        System.out.println("Gameplay enabled for player: " + myPlayerColor);
+        log.info("Gameplay enabled for player: {}", myPlayerColor);
         
         // Re-display player info to remind about controls
         displayPlayerInfo();
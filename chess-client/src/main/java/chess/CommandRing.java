@@ -0,0 +1,285 @@
+package chess;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.kamatech.chess.Command;
+import org.kamatech.chess.InputAction;
+
+/**
+ * Bounded single-producer/single-consumer queue of commands between two client threads
+ * A ring of slots with one index per side, so passing a command takes no lock and no allocation.
+ * When the ring is full its overflow policy decides: a LOSSLESS ring makes the producer wait for
+ * room, so nothing is ever left out; a KEYBOARD ring never makes its producer - the game loop - wait,
+ * it coalesces a repeated movement key into the same press still queued and refuses anything else.
+ * Capacity and wait strategy come from -Dchess.queueCapacity=1024 and -Dchess.queueWait=park|spin.
+ */
+public final class CommandRing {
+
+    public static final int DEFAULT_CAPACITY = Integer.getInteger("chess.queueCapacity", 1024);
+
+    // How long a producer waiting for room sleeps between looks
+    private static final long FULL_PARK_NANOS = 50_000;
+    // Empty looks before a parking consumer goes to sleep
+    private static final int SPINS_BEFORE_PARK = 100;
+
+    /**
+     * How a side waits for the other - spinning keeps a core busy, parking sleeps until signalled
+     */
+    public enum WaitStrategy {
+        BUSY_SPIN, PARK;
+
+        static WaitStrategy fromProperty() {
+            return "spin".equalsIgnoreCase(System.getProperty("chess.queueWait")) ? BUSY_SPIN : PARK;
+        }
+    }
+
+    /**
+     * Which commands a full ring may leave out instead of waiting for room
+     */
+    public enum OverflowPolicy {
+        // None - the producer waits; for the server's stream, where every command changes the board
+        LOSSLESS,
+        // All of them - the producer never waits; for own key presses, whose sender takes them back
+        KEYBOARD
+    }
+
+    /**
+     * What a full ring does with a new command
+     */
+    enum Overflow {
+        // Same key as the newest queued command - that press stands for both
+        COALESCE,
+        // Refused - the producer is told and takes the command back
+        DROP,
+        // Wait for the consumer to make room
+        WAIT
+    }
+
+    private final Command[] slots;
+    private final int mask;
+    private final WaitStrategy waitStrategy;
+    private final OverflowPolicy overflowPolicy;
+    // Next slot to take - written by the consumer only
+    private final AtomicLong head = new AtomicLong();
+    // Next slot to fill - written by the producer only
+    private final AtomicLong tail = new AtomicLong();
+    private volatile Thread parkedConsumer;
+    private volatile boolean closed;
+
+    // Producer side only
+    private long cachedHead;
+    private Command lastOffered;
+
+    // Consumer side only
+    private long cachedTail;
+
+    // Metrics - each written by the producer only
+    private volatile long offeredCount;
+    private volatile long coalescedCount;
+    private volatile long droppedCount;
+    private volatile long fullWaitCount;
+    private volatile int maxDepth;
+
+    public CommandRing(OverflowPolicy overflowPolicy) {
+        this(DEFAULT_CAPACITY, WaitStrategy.fromProperty(), overflowPolicy);
+    }
+
+    /**
+     * Capacity is rounded up to a power of two
+     */
+    public CommandRing(int capacity, WaitStrategy waitStrategy, OverflowPolicy overflowPolicy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new Command[size];
+        this.mask = size - 1;
+        this.waitStrategy = waitStrategy;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Queue a command - producer thread only
+     * False when the overflow policy coalesced or refused it, or the ring was closed
+     */
+    public boolean offer(Command command) {
+        long t = tail.get();
+        if (t - cachedHead == slots.length) {
+            cachedHead = head.get();
+            if (t - cachedHead == slots.length) {
+                Overflow overflow = overflowFor(overflowPolicy, command, lastOffered);
+                if (overflow == Overflow.COALESCE) {
+                    coalescedCount++;
+                    return false;
+                }
+                if (overflow == Overflow.DROP) {
+                    droppedCount++;
+                    return false;
+                }
+                if (!awaitRoom(t)) {
+                    return false;
+                }
+            }
+        }
+        if (closed) {
+            return false;
+        }
+        slots[(int) t & mask] = command;
+        if (waitStrategy == WaitStrategy.PARK) {
+            // Full fence - either the consumer sees the command or we see it parked
+            tail.set(t + 1);
+            Thread consumer = parkedConsumer;
+            if (consumer != null) {
+                LockSupport.unpark(consumer);
+            }
+        } else {
+            tail.lazySet(t + 1);
+        }
+        lastOffered = command;
+        offeredCount++;
+        int depth = (int) (t + 1 - head.get());
+        if (depth > maxDepth) {
+            maxDepth = depth;
+        }
+        return true;
+    }
+
+    /**
+     * Next command, waiting for one - consumer thread only
+     * Null once the ring is closed and empty
+     */
+    public Command take() throws InterruptedException {
+        int idle = 0;
+        while (true) {
+            Command command = poll();
+            if (command != null) {
+                return command;
+            }
+            if (closed) {
+                return null;
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (waitStrategy == WaitStrategy.BUSY_SPIN || ++idle < SPINS_BEFORE_PARK) {
+                Thread.onSpinWait();
+                continue;
+            }
+            parkedConsumer = Thread.currentThread();
+            if (isEmpty() && !closed) {
+                LockSupport.park(this);
+            }
+            parkedConsumer = null;
+        }
+    }
+
+    /**
+     * Next command, null when the ring is empty - consumer thread only
+     */
+    public Command poll() {
+        long h = head.get();
+        if (h == cachedTail) {
+            cachedTail = tail.get();
+            if (h == cachedTail) {
+                return null;
+            }
+        }
+        int index = (int) h & mask;
+        Command command = slots[index];
+        slots[index] = null;
+        head.lazySet(h + 1);
+        return command;
+    }
+
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    public boolean isEmpty() {
+        return tail.get() == head.get();
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * Refuse further commands and release both sides - a producer waiting for room, a consumer in take
+     */
+    public void close() {
+        closed = true;
+        Thread consumer = parkedConsumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    public long getOfferedCount() {
+        return offeredCount;
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Times the producer found a LOSSLESS ring full and waited
+     */
+    public long getFullWaitCount() {
+        return fullWaitCount;
+    }
+
+    /**
+     * Deepest the ring has been
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("depth=%d/%d max=%d offered=%d coalesced=%d dropped=%d full waits=%d",
+                size(), slots.length, maxDepth, offeredCount, coalescedCount, droppedCount, fullWaitCount);
+    }
+
+    /**
+     * The overflow policy - LOSSLESS waits; KEYBOARD coalesces repeated movement keys and refuses the rest
+     */
+    static Overflow overflowFor(OverflowPolicy policy, Command command, Command newest) {
+        if (policy == OverflowPolicy.LOSSLESS) {
+            return Overflow.WAIT;
+        }
+        if (command.getCommandType() == Command.CommandType.KEY_INPUT && InputAction.of(command).isMovement()
+                && newest != null && newest.getRawCommand().equals(command.getRawCommand())) {
+            return Overflow.COALESCE;
+        }
+        return Overflow.DROP;
+    }
+
+    // Wait until the consumer frees a slot - false when closed or interrupted first
+    private boolean awaitRoom(long t) {
+        fullWaitCount++;
+        while (t - (cachedHead = head.get()) == slots.length) {
+            if (closed) {
+                return false;
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            if (waitStrategy == WaitStrategy.BUSY_SPIN) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(this, FULL_PARK_NANOS);
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,207 @@
+package chess;
+
+import java.util.ArrayDeque;
+
+import org.kamatech.chess.Command;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Client-side prediction of the player's own input, reconciled with the server's stream
+ * Own commands that only change input state (cursor, hover, selection, pending move) are applied when
+ * the key is pressed and kept until the server answers; commands that move pieces wait for the server.
+ * The server answers a client's commands in the order they were sent - an echo when accepted,
+ * COMMAND_REJECTED when not - so the oldest outstanding command is always the one answered.
+ * A rejected prediction rolls the input back to the state before it, and a command applied late
+ * goes in under the predictions made after it; in both cases those predictions are replayed on top.
+ * Not thread-safe - used from the game thread only.
+ */
+public class InputPredictor<S> {
+    private static final Logger log = LoggerFactory.getLogger(InputPredictor.class);
+
+    /**
+     * The input state being predicted and the rules that change it
+     */
+    public interface Model<S> {
+        S captureInput();
+
+        void restoreInput(S state);
+
+        void apply(Command command);
+    }
+
+    /**
+     * A command sent to the server and not answered yet
+     */
+    private static final class Outstanding<S> {
+        final int sequence;
+        final Command command;
+        final boolean predicted;
+        S before; // input state before the prediction was applied, null when not predicted
+
+        Outstanding(int sequence, Command command, boolean predicted) {
+            this.sequence = sequence;
+            this.command = command;
+            this.predicted = predicted;
+        }
+    }
+
+    private final Model<S> model;
+    private final ArrayDeque<Outstanding<S>> outstanding = new ArrayDeque<>();
+    private int nextSequence = 0;
+    private long confirmed = 0;
+    private long rolledBack = 0;
+
+    public InputPredictor(Model<S> model) {
+        this.model = model;
+    }
+
+    /**
+     * Own command about to go to the server - applied now when predict is set
+     * Returns its sequence number
+     */
+    public int send(Command command, boolean predict) {
+        Outstanding<S> entry = new Outstanding<>(nextSequence, command, predict);
+        nextSequence = (nextSequence + 1) & 0xFFFF;
+        if (predict) {
+            entry.before = model.captureInput();
+            model.apply(command);
+        }
+        outstanding.addLast(entry);
+        return entry.sequence;
+    }
+
+    /**
+     * The command just sent never left the client - its prediction is undone and its sequence number reused
+     * Only the newest command can be withdrawn; false when the sequence is not the newest outstanding
+     */
+    public boolean withdraw(int sequence) {
+        Outstanding<S> newest = outstanding.peekLast();
+        if (newest == null || newest.sequence != sequence) {
+            log.warn("Withdrawal of a command not newest outstanding: #{}", sequence);
+            return false;
+        }
+        outstanding.pollLast();
+        nextSequence = sequence;
+        if (newest.predicted) {
+            // Nothing was predicted after it, so nothing to replay
+            rolledBack++;
+            model.restoreInput(newest.before);
+        }
+        return true;
+    }
+
+    /**
+     * Own command from the server's authoritative stream
+     */
+    public void accepted(Command command) {
+        Outstanding<S> oldest = outstanding.peekFirst();
+        if (oldest == null) {
+            model.apply(command); // not sent from here - e.g. the moves after a reconnect snapshot
+            return;
+        }
+        if (!oldest.command.getRawCommand().equals(command.getRawCommand())) {
+            // Lost track of the order - take the server's word and drop every prediction
+            log.warn("Prediction out of order: expected {}, server sent {}",
+                    oldest.command.getRawCommand(), command.getRawCommand());
+            rollBackAll();
+            model.apply(command);
+            return;
+        }
+        outstanding.pollFirst();
+        if (oldest.predicted) {
+            confirmed++;
+            return;
+        }
+        // Applied late - under the predictions made since
+        Outstanding<S> firstPredicted = firstPredicted();
+        if (firstPredicted == null) {
+            model.apply(command);
+            return;
+        }
+        model.restoreInput(firstPredicted.before);
+        model.apply(command);
+        replay();
+    }
+
+    /**
+     * Own command the server refused - COMMAND_REJECTED:rawCommand
+     */
+    public void rejected(String rawCommand) {
+        Outstanding<S> oldest = outstanding.peekFirst();
+        if (oldest == null || !oldest.command.getRawCommand().equals(rawCommand)) {
+            log.warn("Rejection of a command not outstanding: {}", rawCommand);
+            rollBackAll();
+            return;
+        }
+        outstanding.pollFirst();
+        if (!oldest.predicted) {
+            return;
+        }
+        rolledBack++;
+        model.restoreInput(oldest.before);
+        replay();
+    }
+
+    /**
+     * Apply the outstanding predictions again, oldest first, on top of the current input state
+     */
+    private void replay() {
+        for (Outstanding<S> entry : outstanding) {
+            if (entry.predicted) {
+                entry.before = model.captureInput();
+                model.apply(entry.command);
+            }
+        }
+    }
+
+    private void rollBackAll() {
+        Outstanding<S> firstPredicted = firstPredicted();
+        if (firstPredicted != null) {
+            model.restoreInput(firstPredicted.before);
+        }
+        rolledBack += countPredicted();
+        outstanding.clear();
+    }
+
+    private Outstanding<S> firstPredicted() {
+        for (Outstanding<S> entry : outstanding) {
+            if (entry.predicted) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private int countPredicted() {
+        int count = 0;
+        for (Outstanding<S> entry : outstanding) {
+            if (entry.predicted) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Commands sent and not answered by the server yet
+     */
+    public int getOutstandingCount() {
+        return outstanding.size();
+    }
+
+    /**
+     * Predictions the server confirmed
+     */
+    public long getConfirmedCount() {
+        return confirmed;
+    }
+
+    /**
+     * Predictions undone because the server refused them, they were never sent or the stream went out of order
+     */
+    public long getRolledBackCount() {
+        return rolledBack;
+    }
+}
@@ -7,100 +7,78 @@ import org.kamatech.chess.Command;
 /**
  * Converts keyboard events to commands
  * Clean separation of keyboard input logic
+ * Table driven: every command the player's keys can send is built once, a key press only looks it up.
+ * The commands are shared between key presses, so their timestamp is the converter's creation time.
  */
 public class KeyboardCommandConverter {
-    
+
+    // Key codes covered by the table - every game key except Shift is below it
+    private static final int KEY_CODES = 128;
+    // Key location no Shift event has - a converter without a jump key
+    private static final int NO_KEY_LOCATION = -1;
+
     private final Command.Player myPlayerColor;
+    // My player's command per key code, null for keys that send nothing
+    private final Command[] commandsByKeyCode = new Command[KEY_CODES];
+    // Shift sends JUMP only from my player's side of the keyboard
+    private final int jumpKeyLocation;
+    private final Command jumpCommand;
     
     public KeyboardCommandConverter(Command.Player myPlayerColor) {
         this.myPlayerColor = myPlayerColor;
+
+        if (myPlayerColor == Command.Player.WHITE) {
+            put(KeyEvent.VK_W, "MOVEMENT_UP");
+            put(KeyEvent.VK_S, "MOVEMENT_DOWN");
+            put(KeyEvent.VK_A, "MOVEMENT_LEFT");
+            put(KeyEvent.VK_D, "MOVEMENT_RIGHT");
+            put(KeyEvent.VK_Q, "HOVER_UP");
+            put(KeyEvent.VK_E, "HOVER_DOWN");
+            put(KeyEvent.VK_Z, "HOVER_LEFT");
+            // C is white's hover-right key before its select key
+            put(KeyEvent.VK_C, "HOVER_RIGHT");
+            put(KeyEvent.VK_SPACE, "SELECT_OR_MOVE");
+            jumpKeyLocation = KeyEvent.KEY_LOCATION_LEFT;
+        } else if (myPlayerColor == Command.Player.BLACK) {
+            put(KeyEvent.VK_UP, "MOVEMENT_UP");
+            put(KeyEvent.VK_DOWN, "MOVEMENT_DOWN");
+            put(KeyEvent.VK_LEFT, "MOVEMENT_LEFT");
+            put(KeyEvent.VK_RIGHT, "MOVEMENT_RIGHT");
+            put(KeyEvent.VK_U, "HOVER_UP");
+            put(KeyEvent.VK_O, "HOVER_DOWN");
+            put(KeyEvent.VK_J, "HOVER_LEFT");
+            put(KeyEvent.VK_L, "HOVER_RIGHT");
+            put(KeyEvent.VK_V, "HOVER_TO_SELECT");
+            put(KeyEvent.VK_ENTER, "SELECT_OR_MOVE");
+            jumpKeyLocation = KeyEvent.KEY_LOCATION_RIGHT;
+        } else {
+            // General keys belong to the system player
+            commandsByKeyCode[KeyEvent.VK_ESCAPE] = Command.createGameControl("END_GAME");
+            jumpKeyLocation = NO_KEY_LOCATION;
+        }
+
+        // Number keys 1-8 select a piece of my player
+        for (int pieceIndex = 0; pieceIndex < 8; pieceIndex++) {
+            put(KeyEvent.VK_1 + pieceIndex, "SELECT_PIECE_" + pieceIndex);
+        }
+        jumpCommand = Command.createKeyInput("JUMP", myPlayerColor);
     }
     
     /**
-     * Convert keyboard event to command
+     * Convert keyboard event to command - null for keys that send nothing for my player
      */
     public Command convertKeyEventToCommand(KeyEvent e) {
         int keyCode = e.getKeyCode();
-        
-        // Check if this is a key for my player
-        Command.Player player = determinePlayerFromKeyCode(keyCode);
-        if (player != myPlayerColor) {
-            return null; // Don't send commands for the other player
-        }
-        
-        // Convert key to command
-        if (Command.isWhiteMovementKey(keyCode) || Command.isBlackMovementKey(keyCode)) {
-            String direction = Command.keyCodeToDirection(keyCode);
-            return Command.createKeyInput("MOVEMENT_" + direction, player);
-        }
-        
-        if (Command.isWhiteHoverKey(keyCode) || Command.isBlackHoverKey(keyCode)) {
-            String direction = Command.getHoverDirection(keyCode);
-            return Command.createKeyInput("HOVER_" + direction, player);
-        }
-        
-        if (Command.isNumberKey(keyCode)) {
-            int pieceIndex = Command.numberKeyToIndex(keyCode);
-            return Command.createKeyInput("SELECT_PIECE_" + pieceIndex, player);
+        if (keyCode == KeyEvent.VK_SHIFT) {
+            return e.getKeyLocation() == jumpKeyLocation ? jumpCommand : null;
         }
-        
-        // Handle special keys
-        if (keyCode == KeyEvent.VK_SPACE) {
-            if (player == Command.Player.WHITE) {
-                return Command.createKeyInput("SELECT_OR_MOVE", player);
-            }
-        } else if (keyCode == KeyEvent.VK_ENTER) {
-            if (player == Command.Player.BLACK) {
-                return Command.createKeyInput("SELECT_OR_MOVE", player);
-            }
-        } else if (keyCode == KeyEvent.VK_SHIFT) {
-            int loc = e.getKeyLocation();
-            if ((loc == KeyEvent.KEY_LOCATION_LEFT && player == Command.Player.WHITE) ||
-                (loc == KeyEvent.KEY_LOCATION_RIGHT && player == Command.Player.BLACK)) {
-                return Command.createKeyInput("JUMP", player);
-            }
-        } else if (keyCode == KeyEvent.VK_C) {
-            if (player == Command.Player.WHITE) {
-                return Command.createKeyInput("HOVER_TO_SELECT", player);
-            }
-        } else if (keyCode == KeyEvent.VK_V) {
-            if (player == Command.Player.BLACK) {
-                return Command.createKeyInput("HOVER_TO_SELECT", player);
-            }
-        } else if (keyCode == KeyEvent.VK_ESCAPE) {
-            return Command.createGameControl("END_GAME");
+        if (keyCode < 0 || keyCode >= KEY_CODES) {
+            return null;
         }
-        
-        return null;
+        return commandsByKeyCode[keyCode];
     }
-    
-    /**
-     * Determine player according to key
-     */
-    private Command.Player determinePlayerFromKeyCode(int keyCode) {
-        // WASD keys and additional keys for white player
-        if (Command.isWhiteMovementKey(keyCode) || Command.isWhiteHoverKey(keyCode) ||
-            keyCode == KeyEvent.VK_SPACE || keyCode == KeyEvent.VK_C) {
-            return Command.Player.WHITE;
-        }
-        
-        // Arrow keys and additional keys for black player
-        if (Command.isBlackMovementKey(keyCode) || Command.isBlackHoverKey(keyCode) ||
-            keyCode == KeyEvent.VK_ENTER || keyCode == KeyEvent.VK_V) {
-            return Command.Player.BLACK;
-        }
-        
-        // Number keys - depends on my player
-        if (Command.isNumberKey(keyCode)) {
-            return myPlayerColor;
-        }
-        
-        // SHIFT keys - for JUMP, we need to use myPlayerColor and check location later
-        if (keyCode == KeyEvent.VK_SHIFT) {
-            return myPlayerColor;
-        }
-        
-        // General keys
-        return Command.Player.SYSTEM;
+
+    private void put(int keyCode, String keyInput) {
+        commandsByKeyCode[keyCode] = Command.createKeyInput(keyInput, myPlayerColor);
     }
 }
@@ -0,0 +1,221 @@
+package chess;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.kamatech.chess.Command;
+
+/**
+ * Binary framing of client and server messages - same format as the server's chess.server.WireProtocol
+ *
+ * Negotiation, all in text lines: the server offers {@link #OFFER}; the client answers {@link #ACCEPT}
+ * and sends frames from then on; the server replies {@link #SWITCH} as its last text line and sends
+ * frames after it. Without an offer (an older server) the client keeps the text protocol.
+ *
+ * Frame: varint length of the rest, opcode, then for commands
+ * player, piece, from cell, to cell (one byte each, 0xFF when not set), sequence (2 bytes),
+ * timestamp (low 32 bits of the sender's clock in ms), all big-endian - 12 bytes in all.
+ * {@link #OP_TEXT} frames carry any other message as UTF-8.
+ */
+public final class WireProtocol {
+    public static final String OFFER = "PROTOCOL_OFFER:BINARY1";
+    public static final String ACCEPT = "PROTOCOL_ACCEPT:BINARY1";
+    public static final String SWITCH = "PROTOCOL_SWITCH:BINARY1";
+
+    public static final int OP_TEXT = 0;
+    public static final int OP_SELECT_PIECE = 11;
+    public static final int OP_END_GAME = 13;
+
+    public static final int COMMAND_FRAME_BYTES = 12;
+    public static final int NONE = 0xFF;
+    // Longest frame accepted - commands are 12 bytes, text frames a few dozen
+    public static final int MAX_FRAME_BYTES = 8 * 1024;
+
+    // Key input of each command opcode - the index is the opcode
+    private static final String[] KEY_INPUTS = {
+            null, "MOVEMENT_UP", "MOVEMENT_DOWN", "MOVEMENT_LEFT", "MOVEMENT_RIGHT", "SELECT_OR_MOVE",
+            "HOVER_TO_SELECT", "HOVER_UP", "HOVER_DOWN", "HOVER_LEFT", "HOVER_RIGHT", "SELECT_PIECE_", "JUMP",
+            "END_GAME"
+    };
+    private static final String SELECT_PIECE = "SELECT_PIECE_";
+    private static final Command.Player[] PLAYERS = Command.Player.values();
+
+    private WireProtocol() {
+    }
+
+    /**
+     * Opcode of a command, OP_TEXT when it has none and goes out as text
+     */
+    public static int opcodeOf(Command command) {
+        String keyInput = command.getKeyInput();
+        if (keyInput == null) {
+            return OP_TEXT;
+        }
+        if (command.getCommandType() == Command.CommandType.GAME_CONTROL) {
+            return "END_GAME".equals(keyInput) ? OP_END_GAME : OP_TEXT;
+        }
+        if (command.getCommandType() != Command.CommandType.KEY_INPUT || command.getPlayer() == Command.Player.SYSTEM) {
+            return OP_TEXT;
+        }
+        if (keyInput.startsWith(SELECT_PIECE)) {
+            return pieceIndexOf(keyInput) != NONE ? OP_SELECT_PIECE : OP_TEXT;
+        }
+        for (int opcode = 1; opcode < OP_END_GAME; opcode++) {
+            if (opcode != OP_SELECT_PIECE && KEY_INPUTS[opcode].equals(keyInput)) {
+                return opcode;
+            }
+        }
+        return OP_TEXT;
+    }
+
+    /**
+     * Frame of a command with the sender's sequence number and clock - a text frame when it has no opcode
+     */
+    public static byte[] encode(Command command, int sequence, long timestampMs) {
+        int opcode = opcodeOf(command);
+        if (opcode == OP_TEXT) {
+            return encodeText(command.getRawCommand());
+        }
+        byte[] frame = new byte[COMMAND_FRAME_BYTES];
+        frame[0] = COMMAND_FRAME_BYTES - 1;
+        frame[1] = (byte) opcode;
+        frame[2] = (byte) command.getPlayer().ordinal();
+        frame[3] = (byte) (opcode == OP_SELECT_PIECE ? pieceIndexOf(command.getKeyInput()) : NONE);
+        frame[4] = (byte) NONE;
+        frame[5] = (byte) NONE;
+        frame[6] = (byte) (sequence >>> 8);
+        frame[7] = (byte) sequence;
+        int timestamp = (int) timestampMs;
+        frame[8] = (byte) (timestamp >>> 24);
+        frame[9] = (byte) (timestamp >>> 16);
+        frame[10] = (byte) (timestamp >>> 8);
+        frame[11] = (byte) timestamp;
+        return frame;
+    }
+
+    /**
+     * Text frame of any message
+     */
+    public static byte[] encodeText(String message) {
+        byte[] text = message.getBytes(StandardCharsets.UTF_8);
+        int length = text.length + 1;
+        int prefix = 1;
+        for (int rest = length >>> 7; rest != 0; rest >>>= 7) {
+            prefix++;
+        }
+        byte[] frame = new byte[prefix + length];
+        int offset = 0;
+        for (int value = length; ; value >>>= 7) {
+            if ((value & ~0x7F) == 0) {
+                frame[offset] = (byte) value;
+                break;
+            }
+            frame[offset++] = (byte) ((value & 0x7F) | 0x80);
+        }
+        frame[prefix] = OP_TEXT;
+        System.arraycopy(text, 0, frame, prefix + 1, text.length);
+        return frame;
+    }
+
+    /**
+     * Command of a frame body (opcode onwards) - built from its fields, nothing to parse.
+     * Null for a text frame or an unknown opcode.
+     */
+    public static Command decodeCommand(byte[] body, int length) {
+        int opcode = length > 0 ? body[0] & 0xFF : OP_TEXT;
+        if (opcode == OP_TEXT || opcode >= KEY_INPUTS.length || length < COMMAND_FRAME_BYTES - 1) {
+            return null;
+        }
+        if (opcode == OP_END_GAME) {
+            return Command.createGameControl("END_GAME");
+        }
+        int player = body[1] & 0xFF;
+        Command.Player sender = player < PLAYERS.length ? PLAYERS[player] : Command.Player.SYSTEM;
+        String keyInput = opcode == OP_SELECT_PIECE ? SELECT_PIECE + (body[2] & 0xFF) : KEY_INPUTS[opcode];
+        return Command.createKeyInput(keyInput, sender);
+    }
+
+    /**
+     * Message of a text frame body
+     */
+    public static String decodeText(byte[] body, int length) {
+        return new String(body, 1, length - 1, StandardCharsets.UTF_8);
+    }
+
+    private static int pieceIndexOf(String keyInput) {
+        try {
+            int index = Integer.parseInt(keyInput.substring(SELECT_PIECE.length()));
+            return index >= 0 && index < NONE ? index : NONE;
+        } catch (NumberFormatException e) {
+            return NONE;
+        }
+    }
+
+    /**
+     * Reads one line, bytes up to '\n' in the given charset, null at end of stream
+     * Reads byte by byte, so nothing after the line is consumed - the caller may switch to frames
+     */
+    public static String readLine(InputStream in, Charset charset) throws IOException {
+        byte[] line = new byte[64];
+        int length = 0;
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b < 0) {
+                return length == 0 ? null : new String(line, 0, length, charset);
+            }
+            if (length == line.length) {
+                if (length >= MAX_FRAME_BYTES) {
+                    throw new IOException("Line longer than " + MAX_FRAME_BYTES + " bytes");
+                }
+                line = Arrays.copyOf(line, length * 2);
+            }
+            line[length++] = (byte) b;
+        }
+        if (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+        return new String(line, 0, length, charset);
+    }
+
+    /**
+     * Reads one frame body (opcode onwards) into the buffer, growing it when needed
+     * Returns the buffer holding the body, or null at end of stream; lengthOut[0] gets the body length
+     */
+    public static byte[] readFrame(InputStream in, byte[] buffer, int[] lengthOut) throws IOException {
+        int length = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                if (shift == 0) {
+                    return null;
+                }
+                throw new EOFException("Stream ended inside a frame length");
+            }
+            length |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+            if (shift >= 14) {
+                throw new IOException("Frame length too long");
+            }
+        }
+        if (length <= 0 || length > MAX_FRAME_BYTES) {
+            throw new IOException("Bad frame length " + length);
+        }
+        byte[] body = buffer.length >= length ? buffer : new byte[length];
+        int filled = 0;
+        while (filled < length) {
+            int count = in.read(body, filled, length - filled);
+            if (count < 0) {
+                throw new EOFException("Stream ended inside a frame");
+            }
+            filled += count;
+        }
+        lengthOut[0] = length;
+        return body;
+    }
+}
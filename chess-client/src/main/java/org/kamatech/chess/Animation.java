@@ -0,0 +1,52 @@
+package org.kamatech.chess;
+
+/**
+ * Animation clock of one piece - when it entered its current state
+ * Owned by the piece's State and restarted on every state change, so two pieces of the same
+ * type animate independently. The frame shown is derived from the time since the state began.
+ */
+public final class Animation {
+    private static final long REST_CYCLE_NANOS = 10_000_000_000L; // STANDARD_COOLDOWN_MS
+    private static final long CYCLE_NANOS = 16_000_000L;          // UPDATE_INTERVAL_MS
+
+    private long stateEnterNanos;
+
+    public Animation() {
+        this(System.nanoTime());
+    }
+
+    public Animation(long stateEnterNanos) {
+        this.stateEnterNanos = stateEnterNanos;
+    }
+
+    /**
+     * Start counting frames again from the first one
+     */
+    public void restart(long nowNanos) {
+        this.stateEnterNanos = nowNanos;
+    }
+
+    public long getStateEnterNanos() {
+        return stateEnterNanos;
+    }
+
+    /**
+     * Frame of this clock's animation at a time
+     */
+    public int frameIndex(State.PieceState state, int frameCount, long nowNanos) {
+        return frameIndex(stateEnterNanos, state, frameCount, nowNanos);
+    }
+
+    /**
+     * Frame of an animation that entered a state at stateEnterNanos - one cycle through all frames
+     * takes the whole cooldown while resting, and one update interval otherwise
+     */
+    public static int frameIndex(long stateEnterNanos, State.PieceState state, int frameCount, long nowNanos) {
+        if (frameCount <= 1) {
+            return 0;
+        }
+        long elapsed = Math.max(0, nowNanos - stateEnterNanos);
+        long cycle = state == State.PieceState.REST ? REST_CYCLE_NANOS : CYCLE_NANOS;
+        return (int) ((elapsed % cycle) * frameCount / cycle);
+    }
+}
@@ -0,0 +1,305 @@
+package org.kamatech.chess;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Game assets (sprites, board.png, moves.txt, board.csv, WAVs) by classpath path
+ * The list of assets comes from the prebuilt assets.idx resource, so the same code enumerates
+ * them from an exploded classes folder or from inside a jar; without an index the classpath
+ * folder is scanned. loadAll() reads everything on a thread pool, decoding images once.
+ */
+public class AssetManager {
+    private static final Logger log = LoggerFactory.getLogger(AssetManager.class);
+
+    public static final String INDEX = "assets.idx";
+    // Read by logback, not a game asset
+    static final String LOGGING_CONFIG = "logback.xml";
+
+    /**
+     * Called from the loader threads after each asset
+     */
+    public interface ProgressListener {
+        void onProgress(int loaded, int total, String path);
+    }
+
+    private static volatile AssetManager shared;
+
+    private final ClassLoader classLoader;
+    private final List<String> paths;
+    private final Map<String, byte[]> bytes = new ConcurrentHashMap<>();
+    private final Map<String, BufferedImage> images = new ConcurrentHashMap<>();
+
+    public AssetManager(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+        this.paths = Collections.unmodifiableList(readIndex(classLoader));
+    }
+
+    /**
+     * The assets of the game's own classpath
+     */
+    public static AssetManager get() {
+        AssetManager assets = shared;
+        if (assets == null) {
+            synchronized (AssetManager.class) {
+                assets = shared;
+                if (assets == null) {
+                    assets = new AssetManager(AssetManager.class.getClassLoader());
+                    shared = assets;
+                }
+            }
+        }
+        return assets;
+    }
+
+    /**
+     * Progress printed to the console in steps of 10%
+     */
+    public static ProgressListener consoleProgress() {
+        AtomicInteger lastStep = new AtomicInteger(-1);
+        return (loaded, total, path) -> {
+            int step = loaded * 10 / Math.max(1, total);
+            if (lastStep.getAndAccumulate(step, Math::max) < step) {
+                log.info("Loading assets: {}/{}", loaded, total);
+            }
+        };
+    }
+
+    /**
+     * Assets of a resources folder on disk - for tests and tools
+     */
+    public static AssetManager fromDirectory(File root) throws IOException {
+        return new AssetManager(new URLClassLoader(new URL[] {root.toURI().toURL()}, null));
+    }
+
+    /**
+     * Every file under a resources folder as a sorted classpath path, without the index itself
+     * and the logging configuration
+     */
+    public static List<String> scan(File root) {
+        List<String> result = new ArrayList<>();
+        scan(root, "", result);
+        result.remove(INDEX);
+        result.remove(LOGGING_CONFIG);
+        Collections.sort(result);
+        return result;
+    }
+
+    private static void scan(File dir, String prefix, List<String> result) {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (file.isDirectory()) {
+                scan(file, prefix + file.getName() + "/", result);
+            } else {
+                result.add(prefix + file.getName());
+            }
+        }
+    }
+
+    private static List<String> readIndex(ClassLoader classLoader) {
+        List<String> result = new ArrayList<>();
+        try (InputStream in = classLoader.getResourceAsStream(INDEX)) {
+            if (in != null) {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (!line.isEmpty() && !line.startsWith("#")) {
+                        result.add(line);
+                    }
+                }
+                return result;
+            }
+        } catch (IOException e) {
+            log.warn("Could not read {}: {}", INDEX, e.getMessage());
+        }
+
+        // No index - only an exploded classes folder can be listed
+        log.warn("{} not found, scanning the classpath folder", INDEX);
+        URL root = classLoader.getResource("pieces");
+        if (root != null && root.getProtocol().equals("file")) {
+            try {
+                return scan(new File(root.toURI()).getParentFile());
+            } catch (Exception e) {
+                log.warn("Could not scan assets: {}", e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * All indexed asset paths
+     */
+    public List<String> getPaths() {
+        return paths;
+    }
+
+    /**
+     * Indexed asset paths starting with a prefix, in index order
+     */
+    public List<String> list(String prefix) {
+        List<String> result = new ArrayList<>();
+        for (String path : paths) {
+            if (path.startsWith(prefix)) {
+                result.add(path);
+            }
+        }
+        return result;
+    }
+
+    public boolean exists(String path) {
+        return images.containsKey(path) || bytes.containsKey(path) || classLoader.getResource(path) != null;
+    }
+
+    /**
+     * Read and decode every indexed asset on a pool of threads - already loaded ones are skipped
+     */
+    public void loadAll(ProgressListener listener) throws InterruptedException {
+        loadAll("", listener);
+    }
+
+    /**
+     * Read and decode the indexed assets under a prefix on a pool of threads
+     */
+    public void loadAll(String prefix, ProgressListener listener) throws InterruptedException {
+        List<String> paths = list(prefix);
+        int threads = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), 8));
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "asset-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            AtomicInteger loaded = new AtomicInteger();
+            int total = paths.size();
+            List<Future<?>> pending = new ArrayList<>();
+            for (String path : paths) {
+                pending.add(pool.submit(() -> {
+                    try {
+                        if (isImage(path)) {
+                            image(path);
+                        } else {
+                            bytes(path);
+                        }
+                    } catch (IOException e) {
+                        log.warn("Could not load asset {}: {}", path, e.getMessage());
+                    }
+                    if (listener != null) {
+                        listener.onProgress(loaded.incrementAndGet(), total, path);
+                    }
+                }));
+            }
+            for (Future<?> future : pending) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    log.warn("Asset loader failed: {}", e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Raw content of an asset, read once
+     */
+    public byte[] bytes(String path) throws IOException {
+        byte[] content = bytes.get(path);
+        if (content == null) {
+            try (InputStream in = classLoader.getResourceAsStream(path)) {
+                if (in == null) {
+                    throw new FileNotFoundException("Resource not found: " + path);
+                }
+                content = in.readAllBytes();
+            }
+            bytes.put(path, content);
+        }
+        return content;
+    }
+
+    public InputStream stream(String path) throws IOException {
+        return new ByteArrayInputStream(bytes(path));
+    }
+
+    /**
+     * Non-empty trimmed lines of a text asset
+     */
+    public List<String> lines(String path) throws IOException {
+        List<String> result = new ArrayList<>();
+        for (String line : new String(bytes(path), StandardCharsets.UTF_8).split("\\R")) {
+            line = line.trim();
+            if (!line.isEmpty()) {
+                result.add(line);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Image asset decoded once into the screen's pixel format
+     */
+    public BufferedImage image(String path) throws IOException {
+        BufferedImage image = images.get(path);
+        if (image == null) {
+            BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(bytes(path)));
+            if (decoded == null) {
+                throw new IOException("Unsupported image: " + path);
+            }
+            image = createCompatibleImage(decoded.getWidth(), decoded.getHeight());
+            Graphics2D g = image.createGraphics();
+            g.drawImage(decoded, 0, 0, null);
+            g.dispose();
+            images.put(path, image);
+            bytes.remove(path); // the decoded image is what gets used
+        }
+        return image;
+    }
+
+    /**
+     * Translucent image in the screen's pixel format, so drawing it needs no conversion
+     */
+    static BufferedImage createCompatibleImage(int width, int height) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            return config.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        }
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+
+    private static boolean isImage(String path) {
+        return path.toLowerCase().endsWith(".png");
+    }
+}
@@ -0,0 +1,233 @@
+package org.kamatech.chess;
+
+import java.util.Map;
+
+/**
+ * Immutable picture of the board for the renderer
+ * Captured on the game thread, the only thread that mutates pieces, and published through a
+ * volatile field; the paint thread draws from it without touching live Piece objects.
+ */
+public final class BoardSnapshot {
+    public static final BoardSnapshot EMPTY = new BoardSnapshot(new PieceView[0], PlayerView.NONE, PlayerView.NONE, 0, 0);
+
+    /**
+     * Where pieces are drawn when that is not their board position - moving pieces between ticks
+     */
+    public interface DrawPositions {
+        DrawPositions NONE = (piece, xy) -> false;
+
+        /**
+         * Put the drawn x and y into xy and return true, or false to draw the piece where it is
+         */
+        boolean find(Piece piece, double[] xy);
+    }
+
+    /**
+     * One piece as it was when the snapshot was taken
+     */
+    public static final class PieceView {
+        private final String key;
+        private final String id;
+        private final boolean white;
+        private final double x;
+        private final double y;
+        private final State.PieceState state;
+        private final long remainingStateMs;
+        private final long stateEnterNanos;
+
+        public PieceView(String key, String id, boolean white, double x, double y,
+                State.PieceState state, long remainingStateMs, long stateEnterNanos) {
+            this.key = key;
+            this.id = id;
+            this.white = white;
+            this.x = x;
+            this.y = y;
+            this.state = state;
+            this.remainingStateMs = remainingStateMs;
+            this.stateEnterNanos = stateEnterNanos;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public boolean isWhite() {
+            return white;
+        }
+
+        public double getX() {
+            return x;
+        }
+
+        public double getY() {
+            return y;
+        }
+
+        public State.PieceState getState() {
+            return state;
+        }
+
+        public long getRemainingStateMs() {
+            return remainingStateMs;
+        }
+
+        /**
+         * When the piece entered its state, on its own animation clock
+         */
+        public long getStateEnterNanos() {
+            return stateEnterNanos;
+        }
+    }
+
+    /**
+     * One player's cursor, hover and selection as it was when the snapshot was taken
+     */
+    public static final class PlayerView {
+        // No player - the cursor is off the board, so none is drawn
+        public static final PlayerView NONE = new PlayerView(-1, -1, null, null, false, -1, -1);
+
+        private final int cursorX;
+        private final int cursorY;
+        private final String hoveredPiece;
+        private final String selectedPiece;
+        private final boolean inMovementMode;
+        private final double visualX;
+        private final double visualY;
+
+        public PlayerView(int cursorX, int cursorY, String hoveredPiece, String selectedPiece,
+                boolean inMovementMode, double visualX, double visualY) {
+            this.cursorX = cursorX;
+            this.cursorY = cursorY;
+            this.hoveredPiece = hoveredPiece;
+            this.selectedPiece = selectedPiece;
+            this.inMovementMode = inMovementMode;
+            this.visualX = visualX;
+            this.visualY = visualY;
+        }
+
+        public int getCursorX() {
+            return cursorX;
+        }
+
+        public int getCursorY() {
+            return cursorY;
+        }
+
+        public String getHoveredPiece() {
+            return hoveredPiece;
+        }
+
+        public String getSelectedPiece() {
+            return selectedPiece;
+        }
+
+        public boolean isInMovementMode() {
+            return inMovementMode;
+        }
+
+        public double getVisualX() {
+            return visualX;
+        }
+
+        public double getVisualY() {
+            return visualY;
+        }
+    }
+
+    private final PieceView[] pieces;
+    private final PlayerView white;
+    private final PlayerView black;
+    private final long takenAtMs;
+    private final long takenAtNanos;
+
+    private BoardSnapshot(PieceView[] pieces, PlayerView white, PlayerView black, long takenAtMs,
+            long takenAtNanos) {
+        this.pieces = pieces;
+        this.white = white;
+        this.black = black;
+        this.takenAtMs = takenAtMs;
+        this.takenAtNanos = takenAtNanos;
+    }
+
+    /**
+     * Copy the current pieces - call on the thread that owns them
+     */
+    public static BoardSnapshot capture(Map<String, Piece> pieces, PlayerView white, PlayerView black) {
+        return capture(pieces, DrawPositions.NONE, white, black);
+    }
+
+    /**
+     * Copy the current pieces, drawn where the positions say - call on the thread that owns them
+     */
+    public static BoardSnapshot capture(Map<String, Piece> pieces, DrawPositions positions, PlayerView white,
+            PlayerView black) {
+        long now = System.currentTimeMillis();
+        long nowNanos = System.nanoTime();
+        PieceView[] views = new PieceView[pieces.size()];
+        double[] xy = new double[2];
+        int i = 0;
+        for (Map.Entry<String, Piece> entry : pieces.entrySet()) {
+            Piece piece = entry.getValue();
+            State state = piece.getState();
+            if (!positions.find(piece, xy)) {
+                xy[0] = piece.getX();
+                xy[1] = piece.getY();
+            }
+            views[i++] = new PieceView(entry.getKey(), piece.getId(), piece.isWhite(), xy[0], xy[1],
+                    state != null ? state.getCurrentState() : State.PieceState.IDLE,
+                    state != null ? state.getRemainingStateTime() : 0,
+                    state != null ? state.getAnimation().getStateEnterNanos() : nowNanos);
+        }
+        return new BoardSnapshot(views, white, black, now, nowNanos);
+    }
+
+    public int size() {
+        return pieces.length;
+    }
+
+    public PieceView get(int index) {
+        return pieces[index];
+    }
+
+    /**
+     * Piece with a map key, or null
+     */
+    public PieceView find(String key) {
+        for (PieceView piece : pieces) {
+            if (piece.key.equals(key)) {
+                return piece;
+            }
+        }
+        return null;
+    }
+
+    public PlayerView getWhite() {
+        return white;
+    }
+
+    public PlayerView getBlack() {
+        return black;
+    }
+
+    public long getTakenAtMs() {
+        return takenAtMs;
+    }
+
+    /**
+     * When the snapshot was taken, on the clock of Animation
+     */
+    public long getTakenAtNanos() {
+        return takenAtNanos;
+    }
+
+    /**
+     * Cooldown left on a piece at paint time, counting down from when the snapshot was taken
+     */
+    public long remainingStateMs(PieceView piece, long nowMs) {
+        return Math.max(0, piece.remainingStateMs - (nowMs - takenAtMs));
+    }
+}
@@ -0,0 +1,194 @@
+package org.kamatech.chess;
+
+/**
+ * Board cells whose pixels changed between two snapshots and have to be repainted
+ * A cell is dirty when a piece moved into or out of it, its sprite frame or cooldown label
+ * changed, or a cursor, hover or selection border on it came or went. Dirty cells are handed
+ * to the painter as rectangles: runs of cells in a row, joined with the same run in the rows below.
+ */
+public final class DirtyCells {
+
+    /**
+     * Receives one dirty rectangle, in cells
+     */
+    public interface RectConsumer {
+        void accept(int cellX, int cellY, int widthCells, int heightCells);
+    }
+
+    private final int widthCells;
+    private final int heightCells;
+    private final boolean[] dirty;
+    private final boolean[] emitted;
+    private int count;
+
+    public DirtyCells(int widthCells, int heightCells) {
+        this.widthCells = widthCells;
+        this.heightCells = heightCells;
+        this.dirty = new boolean[widthCells * heightCells];
+        this.emitted = new boolean[widthCells * heightCells];
+    }
+
+    public int getWidthCells() {
+        return widthCells;
+    }
+
+    public int getHeightCells() {
+        return heightCells;
+    }
+
+    public void markCell(int x, int y) {
+        if (x >= 0 && y >= 0 && x < widthCells && y < heightCells && !dirty[y * widthCells + x]) {
+            dirty[y * widthCells + x] = true;
+            count++;
+        }
+    }
+
+    /**
+     * Mark the cells covered by something drawn at a board position - up to four while it travels
+     */
+    public void markArea(double x, double y) {
+        int left = (int) Math.floor(x);
+        int top = (int) Math.floor(y);
+        int right = (int) Math.ceil(x);
+        int bottom = (int) Math.ceil(y);
+        for (int cy = top; cy <= bottom; cy++) {
+            for (int cx = left; cx <= right; cx++) {
+                markCell(cx, cy);
+            }
+        }
+    }
+
+    public void markAll() {
+        for (int i = 0; i < dirty.length; i++) {
+            dirty[i] = true;
+        }
+        count = dirty.length;
+    }
+
+    public void clear() {
+        for (int i = 0; i < dirty.length; i++) {
+            dirty[i] = false;
+        }
+        count = 0;
+    }
+
+    public boolean isDirty(int x, int y) {
+        return dirty[y * widthCells + x];
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Mark every cell that is painted differently in next than in previous
+     */
+    public void collect(BoardSnapshot previous, BoardSnapshot next) {
+        for (int i = 0; i < next.size(); i++) {
+            BoardSnapshot.PieceView piece = next.get(i);
+            BoardSnapshot.PieceView before = i < previous.size() && previous.get(i).getKey().equals(piece.getKey())
+                    ? previous.get(i) : previous.find(piece.getKey());
+            if (before == null) {
+                markArea(piece.getX(), piece.getY());
+            } else if (!GraphicsFactory.paintsSame(previous, before, next, piece)) {
+                markArea(before.getX(), before.getY());
+                markArea(piece.getX(), piece.getY());
+            }
+        }
+        // Captured and promoted pieces
+        for (int i = 0; i < previous.size(); i++) {
+            BoardSnapshot.PieceView before = previous.get(i);
+            BoardSnapshot.PieceView after = i < next.size() && next.get(i).getKey().equals(before.getKey())
+                    ? next.get(i) : next.find(before.getKey());
+            if (after == null) {
+                markArea(before.getX(), before.getY());
+            }
+        }
+        collect(previous, previous.getWhite(), next, next.getWhite());
+        collect(previous, previous.getBlack(), next, next.getBlack());
+    }
+
+    private void collect(BoardSnapshot previous, BoardSnapshot.PlayerView before,
+            BoardSnapshot next, BoardSnapshot.PlayerView after) {
+        if (before.getCursorX() != after.getCursorX() || before.getCursorY() != after.getCursorY()) {
+            markCell(before.getCursorX(), before.getCursorY());
+            markCell(after.getCursorX(), after.getCursorY());
+        }
+        if (!equal(before.getHoveredPiece(), after.getHoveredPiece())) {
+            markPiece(previous, before.getHoveredPiece());
+            markPiece(next, after.getHoveredPiece());
+        }
+        if (!equal(before.getSelectedPiece(), after.getSelectedPiece())
+                || before.getVisualX() != after.getVisualX() || before.getVisualY() != after.getVisualY()) {
+            markSelection(previous, before);
+            markSelection(next, after);
+        }
+    }
+
+    private void markPiece(BoardSnapshot snapshot, String key) {
+        BoardSnapshot.PieceView piece = key != null ? snapshot.find(key) : null;
+        if (piece != null) {
+            markArea(piece.getX(), piece.getY());
+        }
+    }
+
+    // The selection border is drawn at the visual position while a move is being aimed
+    private void markSelection(BoardSnapshot snapshot, BoardSnapshot.PlayerView player) {
+        markPiece(snapshot, player.getSelectedPiece());
+        if (player.getSelectedPiece() != null && player.getVisualX() >= 0 && player.getVisualY() >= 0) {
+            markArea(player.getVisualX(), player.getVisualY());
+        }
+    }
+
+    private static boolean equal(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    /**
+     * Hand the dirty cells to a consumer as rectangles, merged greedily row by row
+     */
+    public void forEachRect(RectConsumer consumer) {
+        for (int i = 0; i < emitted.length; i++) {
+            emitted[i] = false;
+        }
+        for (int y = 0; y < heightCells; y++) {
+            int x = 0;
+            while (x < widthCells) {
+                if (!dirty[y * widthCells + x] || emitted[y * widthCells + x]) {
+                    x++;
+                    continue;
+                }
+                // Run of dirty cells in this row...
+                int end = x;
+                while (end + 1 < widthCells && dirty[y * widthCells + end + 1] && !emitted[y * widthCells + end + 1]) {
+                    end++;
+                }
+                // ...continued down while the rows below have the same run dirty
+                int bottom = y;
+                while (bottom + 1 < heightCells && runDirty(bottom + 1, x, end)) {
+                    bottom++;
+                }
+                for (int cy = y; cy <= bottom; cy++) {
+                    for (int cx = x; cx <= end; cx++) {
+                        emitted[cy * widthCells + cx] = true;
+                    }
+                }
+                consumer.accept(x, y, end - x + 1, bottom - y + 1);
+                x = end + 1;
+            }
+        }
+    }
+
+    private boolean runDirty(int y, int from, int to) {
+        for (int x = from; x <= to; x++) {
+            if (!dirty[y * widthCells + x] || emitted[y * widthCells + x]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
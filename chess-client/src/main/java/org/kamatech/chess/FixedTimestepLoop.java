@@ -0,0 +1,244 @@
+package org.kamatech.chess;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Fixed-timestep game loop with separate logic and render rates
+ * Logic ticks run at a fixed interval on a nanoTime schedule; frames are rendered at their own
+ * rate with the fraction of the current tick that has elapsed, so positions can be interpolated.
+ * Between deadlines the thread parks instead of spinning.
+ * Each tick is given the simulation time, which advances by exactly one tick length per tick from the
+ * start time - catch-up ticks each see their own time, and ticks dropped after a stall are never simulated.
+ * Other threads hand work to the loop with {@link #execute(Runnable)}, so the loop thread is
+ * the single writer of game state; tasks run as soon as the loop wakes up, before any tick.
+ */
+public class FixedTimestepLoop implements Runnable {
+    private static final Logger log = LoggerFactory.getLogger(FixedTimestepLoop.class);
+
+    // Catch-up limit - after a long stall, skip ticks instead of running a burst
+    private static final int MAX_TICKS_PER_WAKEUP = 5;
+
+    public interface Tick {
+        /**
+         * @param simulationMs game time at the end of this tick - the start time plus the ticks run so far
+         */
+        void tick(long simulationMs);
+    }
+
+    public interface Render {
+        /**
+         * @param alpha fraction of the current tick elapsed at render time, 0 <= alpha < 1
+         */
+        void render(double alpha);
+    }
+
+    private final long tickNanos;
+    private final long renderNanos;
+    private final long startMs;
+    private final Tick tick;
+    private final Render render;
+    private final Stats stats = new Stats();
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private volatile boolean running = true;
+    private volatile Thread loopThread;
+
+    /**
+     * Loop whose simulation time starts at 0
+     */
+    public FixedTimestepLoop(int ticksPerSecond, int framesPerSecond, Tick tick, Render render) {
+        this(ticksPerSecond, framesPerSecond, 0, tick, render);
+    }
+
+    /**
+     * Loop whose simulation time carries on from startMs - e.g. the game time a previous loop ended at
+     */
+    public FixedTimestepLoop(int ticksPerSecond, int framesPerSecond, long startMs, Tick tick, Render render) {
+        if (ticksPerSecond <= 0 || framesPerSecond <= 0) {
+            throw new IllegalArgumentException("Tick and render rates must be positive: "
+                    + ticksPerSecond + "/" + framesPerSecond);
+        }
+        this.tickNanos = TimeUnit.SECONDS.toNanos(1) / ticksPerSecond;
+        this.renderNanos = TimeUnit.SECONDS.toNanos(1) / framesPerSecond;
+        this.startMs = startMs;
+        this.tick = tick;
+        this.render = render;
+    }
+
+    /**
+     * Run the loop on the calling thread until {@link #stop()}
+     */
+    @Override
+    public void run() {
+        loopThread = Thread.currentThread();
+        long simulatedNanos = 0; // kept in nanoseconds so rates like 30/s do not lose a millisecond a tick
+        long start = System.nanoTime();
+        long nextTick = start + tickNanos;
+        long nextRender = start;
+        long lastTick = start;
+
+        while (running) {
+            runTasks();
+            long now = System.nanoTime();
+
+            int ticks = 0;
+            while (now - nextTick >= 0 && ticks < MAX_TICKS_PER_WAKEUP) {
+                stats.recordTick(now - nextTick);
+                simulatedNanos += tickNanos;
+                tick.tick(startMs + TimeUnit.NANOSECONDS.toMillis(simulatedNanos));
+                lastTick = nextTick;
+                nextTick += tickNanos;
+                ticks++;
+            }
+            if (now - nextTick >= 0) {
+                // Still behind after catching up - drop the backlog
+                stats.recordSkipped((now - nextTick) / tickNanos + 1);
+                lastTick = now;
+                nextTick = now + tickNanos;
+            }
+
+            if (now - nextRender >= 0) {
+                stats.recordFrame(now - nextRender);
+                double alpha = Math.min(0.999, Math.max(0.0, (double) (now - lastTick) / tickNanos));
+                render.render(alpha);
+                nextRender += renderNanos;
+                if (now - nextRender >= 0) {
+                    nextRender = now + renderNanos; // don't render a burst of stale frames
+                }
+            }
+
+            long wait = Math.min(nextTick, nextRender) - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(this, wait);
+            }
+            if (Thread.interrupted()) {
+                break;
+            }
+        }
+        running = false;
+    }
+
+    /**
+     * Run a task on the loop thread - wakes the loop up instead of waiting for the next tick
+     * Tasks still queued when the loop stops are dropped.
+     */
+    public void execute(Runnable task) {
+        tasks.add(task);
+        Thread thread = loopThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Whether the caller is the thread running this loop
+     */
+    public boolean isLoopThread() {
+        return Thread.currentThread() == loopThread;
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.warn("Game loop task failed", e);
+            }
+        }
+    }
+
+    public void stop() {
+        running = false;
+        Thread thread = loopThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    public long getRenderNanos() {
+        return renderNanos;
+    }
+
+    public Stats getStats() {
+        return stats;
+    }
+
+    /**
+     * Frame-time statistics - lateness of ticks and frames against their deadlines
+     */
+    public static final class Stats {
+        private long ticks;
+        private long frames;
+        private long skippedTicks;
+        private long tickLatenessSum;
+        private long tickLatenessMax;
+        private long frameLatenessSum;
+        private long frameLatenessMax;
+
+        synchronized void recordTick(long latenessNanos) {
+            ticks++;
+            tickLatenessSum += latenessNanos;
+            tickLatenessMax = Math.max(tickLatenessMax, latenessNanos);
+        }
+
+        synchronized void recordFrame(long latenessNanos) {
+            frames++;
+            frameLatenessSum += latenessNanos;
+            frameLatenessMax = Math.max(frameLatenessMax, latenessNanos);
+        }
+
+        synchronized void recordSkipped(long count) {
+            skippedTicks += count;
+        }
+
+        public synchronized long getTicks() {
+            return ticks;
+        }
+
+        public synchronized long getFrames() {
+            return frames;
+        }
+
+        public synchronized long getSkippedTicks() {
+            return skippedTicks;
+        }
+
+        public synchronized double getAverageTickJitterMs() {
+            return ticks == 0 ? 0 : tickLatenessSum / 1e6 / ticks;
+        }
+
+        public synchronized double getMaxTickJitterMs() {
+            return tickLatenessMax / 1e6;
+        }
+
+        public synchronized double getAverageFrameJitterMs() {
+            return frames == 0 ? 0 : frameLatenessSum / 1e6 / frames;
+        }
+
+        public synchronized double getMaxFrameJitterMs() {
+            return frameLatenessMax / 1e6;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format("ticks=%d frames=%d skipped=%d tick jitter avg=%.2fms max=%.2fms"
+                            + " frame jitter avg=%.2fms max=%.2fms",
+                    ticks, frames, skippedTicks, getAverageTickJitterMs(), getMaxTickJitterMs(),
+                    getAverageFrameJitterMs(), getMaxFrameJitterMs());
+        }
+    }
+}
@@ -8,29 +8,39 @@ import org.kamatech.chess.events.*;
 import org.kamatech.chess.listeners.*;
 import java.awt.event.KeyEvent;
 import java.io.*;
-import java.net.URL;
 import java.util.*;
-import javax.imageio.ImageIO;
 import java.util.List;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 /**
  * Main game class that orchestrates all game components
  * Manages board state, command processing, physics, and game flow
  */
 public class Game {
-    private static final boolean DEBUG = false; // Set to true for debug output
+    private static final Logger log = LoggerFactory.getLogger(Game.class);
 
     private final Board board;
     private final Graphics graphics;
     private final Physics physics;
     private final GameLogger logger;
-    private final Map<String, Piece> pieces;
+    private final PieceIndex pieceIndex; // pieces by key, by cell and key by piece
+    private final Map<String, Piece> pieces; // read-only view of pieceIndex
     private final IPieceFactory pieceFactory;
     private final IGraphicsFactory graphicsFactory;
     private final IPhysicsFactory physicsFactory;
     private final JFrame frame;
-    private boolean running;
-    private long lastUpdateTime;
+    private volatile boolean running;
+    private volatile FixedTimestepLoop gameLoop;
+    // What the paint thread draws - replaced by the game thread every frame, never mutated
+    private volatile BoardSnapshot snapshot = BoardSnapshot.EMPTY;
+    // Cells changed by published snapshots and not yet repainted - guarded by itself
+    private final DirtyCells dirtyCells;
+    private boolean repaintScheduled;
+    private int[] dirtyRects = new int[0]; // x, y, width, height in pixels - EDT only
+    private final RenderStats renderStats = new RenderStats();
+    private JPanel gameBoardPanel;
     private final Set<Integer> pressedKeys;
     private String selectedPieceWhite; // Selected piece for white player
     private String selectedPieceBlack; // Selected piece for black player
@@ -50,8 +60,9 @@ public class Game {
     private double whiteVisualX = -1, whiteVisualY = -1; // Visual position for white piece
     private double blackVisualX = -1, blackVisualY = -1; // Visual position for black piece
 
-    // Background image
+    // Background image, kept scaled to the window
     private java.awt.image.BufferedImage backgroundImage;
+    private ScaledLayer backgroundLayer;
 
     private void updateVisualPosition(Command.Player player) {
         try {
@@ -69,7 +80,7 @@ public class Game {
                 }
             }
         } catch (Exception e) {
-            System.err.println("Error updating visual position: " + e.getMessage());
+            log.warn("Error updating visual position: {}", e.getMessage());
         }
     }
 
@@ -119,12 +130,49 @@ public class Game {
     private SoundPlayer soundPlayer;
     private int moveCounter = 0;
 
-    private static final long UPDATE_INTERVAL_MS = 33; // ~30 FPS for slower updates
+    // Logic ticks and rendered frames per second - -Dchess.tickRate / -Dchess.renderRate or the setters
+    private int tickRate = Integer.getInteger("chess.tickRate", 30);
+    private int renderRate = Integer.getInteger("chess.renderRate", 60);
+    private static final long MOVE_DURATION_MS = 2000; // travel time of a non-capturing move
+
+    // In-flight moves, advanced by the game loop
+    private final MovementEngine movementEngine = new MovementEngine(this::onPieceArrived);
+    // When the pieces' timed states run out, advanced by the game loop
+    private final StateTimers stateTimers = new StateTimers(0);
+    // Game time of the last logic tick - moved on by the loop's fixed steps only, never read off the wall clock
+    private long simulationMs;
+    // Game-thread work that arrived before startGame, such as a rejoin snapshot
+    private final StartGate startGate = new StartGate();
+
+    // Key commands from the server go straight to the action methods
+    private final InputAction.Target actions = new InputAction.Target() {
+        @Override
+        public void moveCursorOrPending(Command.Player player, int dx, int dy) {
+            Game.this.moveCursorOrPending(player, dx, dy);
+        }
+
+        @Override
+        public void selectOrMove(Command.Player player) {
+            Game.this.selectOrMove(player);
+        }
+
+        @Override
+        public void selectFromHover(Command.Player player) {
+            Game.this.selectFromHover(player);
+        }
+
+        @Override
+        public void jump(Command.Player player) {
+            Game.this.jump(player);
+        }
+    };
 
     public Game(Board board, IPieceFactory pieceFactory, IGraphicsFactory graphicsFactory,
             IPhysicsFactory physicsFactory) {
         this.board = board;
-        this.pieces = new HashMap<>();
+        this.pieceIndex = new PieceIndex(board.getWidthCells(), board.getHeightCells(), stateTimers);
+        this.pieces = pieceIndex.asMap();
+        this.dirtyCells = new DirtyCells(board.getWidthCells(), board.getHeightCells());
         this.pieceFactory = pieceFactory;
         this.graphicsFactory = graphicsFactory;
         this.physicsFactory = physicsFactory;
@@ -132,7 +180,6 @@ public class Game {
         this.physics = physicsFactory.createPhysics("", null);
         this.logger = new GameLogger();
         this.running = false;
-        this.lastUpdateTime = System.currentTimeMillis();
         this.pressedKeys = new HashSet<>();
         this.selectedPieceWhite = null;
         this.selectedPieceBlack = null;
@@ -167,8 +214,8 @@ public class Game {
                 Graphics2D g2d = (Graphics2D) g;
 
                 // Draw background image scaled to panel size
-                if (backgroundImage != null) {
-                    g2d.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
+                if (backgroundLayer != null) {
+                    backgroundLayer.draw(g2d, 0, 0, getWidth(), getHeight());
                 }
             }
         };
@@ -191,20 +238,19 @@ public class Game {
         });
 
         // Create game board panel (center) - transparent to show background
-        JPanel gameBoardPanel = new JPanel() {
+        this.gameBoardPanel = new JPanel() {
             @Override
             protected void paintComponent(java.awt.Graphics g) {
                 // Don't call super.paintComponent to keep transparency
                 Graphics2D g2d = (Graphics2D) g;
+                Rectangle clip = g2d.getClipBounds();
+                renderStats.onPaint(clip != null ? clip.width : getWidth(), clip != null ? clip.height : getHeight());
 
                 // Calculate responsive board size - use percentage of available space
                 int panelWidth = getWidth();
                 int panelHeight = getHeight();
-                
-                // Use 90% of the smaller dimension to ensure board fits nicely
-                int maxBoardSize = (int) (Math.min(panelWidth, panelHeight) * 0.9);
-                int boardSize = Math.max(400, maxBoardSize); // Minimum size of 400
-                
+                int boardSize = GraphicsFactory.boardSize(panelWidth, panelHeight);
+
                 int centerX = (panelWidth - boardSize) / 2;
                 int centerY = (panelHeight - boardSize) / 2;
 
@@ -212,13 +258,7 @@ public class Game {
                 g2d.translate(centerX, centerY);
 
                 // Use GraphicsFactory to draw everything - responsive board size
-                GraphicsFactory.drawGameBoard(g2d, board, pieces,
-                        hoveredPieceWhite, hoveredPieceBlack,
-                        selectedPieceWhite, selectedPieceBlack,
-                        whiteInMovementMode, blackInMovementMode,
-                        whiteVisualX, whiteVisualY, blackVisualX, blackVisualY,
-                        whiteCursorX, whiteCursorY, blackCursorX, blackCursorY,
-                        boardSize, boardSize);
+                GraphicsFactory.drawGameBoard(g2d, board, snapshot, boardSize, boardSize);
 
                 // Reset translation
                 g2d.translate(-centerX, -centerY);
@@ -353,10 +393,12 @@ public class Game {
             }
         });
 
-        // Load background image
+        // Load background image and decode all piece sprites up front
         loadBackgroundImage();
+        GraphicsFactory.preloadSprites();
 
         initializeGame();
+        publishSnapshot();
     }
 
     /**
@@ -374,7 +416,7 @@ public class Game {
 
         } catch (Exception e) {
             // Fall back to default pieces
-            pieces.putAll(pieceFactory.createDefaultPieces());
+            pieceIndex.putAll(pieceFactory.createDefaultPieces());
         }
     }
 
@@ -383,14 +425,11 @@ public class Game {
      */
     private void loadBackgroundImage() {
         try {
-            InputStream is = getClass().getResourceAsStream("/background.png");
-            if (is == null) {
-                throw new IOException("Resource not found: /background.png");
-            }
-            backgroundImage = ImageIO.read(is);
-            System.out.println("Background image loaded successfully from resources.");
+            backgroundImage = AssetManager.get().image("background.png");
+            backgroundLayer = new ScaledLayer(backgroundImage);
+            log.info("Background image loaded successfully from resources.");
         } catch (Exception e) {
-            System.out.println("Could not load background image: " + e.getMessage());
+            log.warn("Could not load background image: {}", e.getMessage());
             // Create a simple gradient background if image loading fails
             backgroundImage = new java.awt.image.BufferedImage(1200, 1200, java.awt.image.BufferedImage.TYPE_INT_RGB);
             java.awt.Graphics2D g2d = backgroundImage.createGraphics();
@@ -402,8 +441,9 @@ public class Game {
             g2d.setPaint(gradient);
             g2d.fillRect(0, 0, 1200, 1200);
             g2d.dispose();
+            backgroundLayer = new ScaledLayer(backgroundImage);
 
-            System.out.println("Created default gradient background");
+            log.info("Created default gradient background");
         }
     }
 
@@ -411,18 +451,16 @@ public class Game {
      * Load pieces from board.csv using PieceFactory
      */
     private void loadPiecesFromBoardCsv() {
-        InputStream boardCsvStream = getClass().getClassLoader().getResourceAsStream("pieces/board.csv");
-    
-        if (boardCsvStream == null) {
-            pieces.putAll(pieceFactory.createDefaultPieces());
+        if (!AssetManager.get().exists("pieces/board.csv")) {
+            pieceIndex.putAll(pieceFactory.createDefaultPieces());
             return;
         }
     
         try {
-            pieces.putAll(pieceFactory.createPiecesFromBoardCsv());
+            pieceIndex.putAll(pieceFactory.createPiecesFromBoardCsv());
         } catch (Exception e) {
-            System.err.println("Error loading from board.csv: " + e.getMessage());
-            pieces.putAll(pieceFactory.createDefaultPieces());
+            log.warn("Error loading from board.csv: {}", e.getMessage());
+            pieceIndex.putAll(pieceFactory.createDefaultPieces());
         }
     }
 
@@ -440,11 +478,15 @@ public class Game {
 
         // Auto-select first piece for each player
         autoSelectFirstPieces();
-
-        // Start game loop in separate thread
-        Thread gameLoop = new Thread(this::gameLoop);
-        gameLoop.setDaemon(true);
-        gameLoop.start();
+        publishSnapshot();
+
+        // Start game loop in separate thread - work held for the start runs first, on top of the setup above
+        FixedTimestepLoop loop = new FixedTimestepLoop(tickRate, renderRate, simulationMs, this::update, this::render);
+        gameLoop = loop;
+        startGate.open(loop::execute);
+        Thread loopThread = new Thread(loop, "game-loop");
+        loopThread.setDaemon(true);
+        loopThread.start();
     }
 
     /**
@@ -461,70 +503,314 @@ public class Game {
         hoveredPieceWhite = findPieceIdAt(whiteCursorX, whiteCursorY);
         hoveredPieceBlack = findPieceIdAt(blackCursorX, blackCursorY);
 
-        System.out.println("Initialized white cursor at (7,7), hovering: " + 
-                          (hoveredPieceWhite != null ? hoveredPieceWhite : "empty square"));
-        System.out.println("Initialized black cursor at (0,0), hovering: " + 
-                          (hoveredPieceBlack != null ? hoveredPieceBlack : "empty square"));
+        log.debug("Initialized white cursor at (7,7), hovering: {}",
+                (hoveredPieceWhite != null ? hoveredPieceWhite : "empty square"));
+        log.debug("Initialized black cursor at (0,0), hovering: {}",
+                (hoveredPieceBlack != null ? hoveredPieceBlack : "empty square"));
 
         // Don't auto-select pieces anymore - let players choose manually
         selectedPieceWhite = null;
         selectedPieceBlack = null;
     }
 
+    /**
+     * Replace the board with the server's snapshot ("placement:white:black:cooldowns", as in BOARD_SNAPSHOT)
+     * Used when rejoining a running match - the moves played after the snapshot follow as normal commands.
+     * A snapshot that arrives before startGame is applied when the game starts, after its own setup.
+     */
+    public void restoreSnapshot(String snapshot) {
+        Runnable apply = () -> applySnapshot(snapshot);
+        if (!startGate.hold(apply)) {
+            runOnGameThread(apply);
+        }
+    }
+
+    private void applySnapshot(String snapshot) {
+        String[] parts = snapshot.split(":", -1);
+        for (String key : new ArrayList<>(pieces.keySet())) {
+            movementEngine.cancel(pieceIndex.remove(key));
+        }
+
+        // Placement rows from y=0, white upper case, black lower case, digits for runs of empty squares
+        String[] rows = parts[0].split("/");
+        for (int y = 0; y < rows.length; y++) {
+            int x = 0;
+            for (char c : rows[y].toCharArray()) {
+                if (Character.isDigit(c)) {
+                    x += c - '0';
+                    continue;
+                }
+                String pieceId = Character.toUpperCase(c) + (Character.isUpperCase(c) ? "W" : "B");
+                Piece piece = pieceFactory.createPiece(pieceId, x, y);
+                if (piece != null) {
+                    pieceIndex.put(pieceId + y + x, piece); // same keys as board.csv pieces
+                }
+                x++;
+            }
+        }
+
+        restoreInput(Command.Player.WHITE, parts[1].split(","));
+        restoreInput(Command.Player.BLACK, parts[2].split(","));
+        int cooling = restoreCooldowns(parts[3]);
+        log.info("Restored server snapshot: {} pieces, {} not ready", pieces.size(), cooling);
+    }
+
+    /**
+     * Pieces not ready yet - "square,travelMs,readyMs" entries joined by ';', times counted from when it was sent
+     * The placement already has them on their target square, so they rest until the server's cooldown ends.
+     */
+    private int restoreCooldowns(String cooldowns) {
+        if (cooldowns.isEmpty()) {
+            return 0;
+        }
+        int restored = 0;
+        for (String entry : cooldowns.split(";")) {
+            String[] fields = entry.split(",");
+            int square = Integer.parseInt(fields[0]);
+            String key = findPieceIdAt(square % board.getWidthCells(), square / board.getWidthCells());
+            Piece piece = key != null ? pieces.get(key) : null;
+            if (piece != null && piece.getState() != null) {
+                piece.getState().restFor(Long.parseLong(fields[2]));
+                restored++;
+            }
+        }
+        return restored;
+    }
+
+    /**
+     * Cursor, selection, movement mode and pending move of one player - "x,y,selectedSquare,mode,dx,dy"
+     */
+    private void restoreInput(Command.Player player, String[] input) {
+        int cursorX = Integer.parseInt(input[0]);
+        int cursorY = Integer.parseInt(input[1]);
+        int selectedSquare = Integer.parseInt(input[2]);
+        String selected = selectedSquare < 0 ? null
+                : findPieceIdAt(selectedSquare % board.getWidthCells(), selectedSquare / board.getWidthCells());
+        boolean movementMode = "1".equals(input[3]);
+        applyInput(player, new PlayerInput(cursorX, cursorY, findPieceIdAt(cursorX, cursorY), selected, movementMode,
+                Integer.parseInt(input[4]), Integer.parseInt(input[5]), -1, -1));
+        if (movementMode) {
+            updateVisualPosition(player);
+        }
+    }
+
+    /**
+     * Everything a player's key presses change without moving a piece - what the client predicts
+     */
+    public static final class PlayerInput {
+        final int cursorX;
+        final int cursorY;
+        final String hovered;
+        final String selected;
+        final boolean movementMode;
+        final int pendingDx;
+        final int pendingDy;
+        final double visualX;
+        final double visualY;
+
+        PlayerInput(int cursorX, int cursorY, String hovered, String selected, boolean movementMode,
+                    int pendingDx, int pendingDy, double visualX, double visualY) {
+            this.cursorX = cursorX;
+            this.cursorY = cursorY;
+            this.hovered = hovered;
+            this.selected = selected;
+            this.movementMode = movementMode;
+            this.pendingDx = pendingDx;
+            this.pendingDy = pendingDy;
+            this.visualX = visualX;
+            this.visualY = visualY;
+        }
+
+        public boolean isMovementMode() {
+            return movementMode;
+        }
+    }
+
+    /**
+     * Current input state of a player - on the game thread
+     */
+    protected PlayerInput captureInput(Command.Player player) {
+        if (player == Command.Player.WHITE) {
+            return new PlayerInput(whiteCursorX, whiteCursorY, hoveredPieceWhite, selectedPieceWhite,
+                    whiteInMovementMode, whitePendingDx, whitePendingDy, whiteVisualX, whiteVisualY);
+        }
+        return new PlayerInput(blackCursorX, blackCursorY, hoveredPieceBlack, selectedPieceBlack,
+                blackInMovementMode, blackPendingDx, blackPendingDy, blackVisualX, blackVisualY);
+    }
+
+    /**
+     * Put a player's input state back - on the game thread
+     * A selected or hovered piece that is gone since (captured, promoted) is dropped.
+     */
+    protected void restoreInput(Command.Player player, PlayerInput input) {
+        String hovered = input.hovered != null && pieces.containsKey(input.hovered) ? input.hovered
+                : findPieceIdAt(input.cursorX, input.cursorY);
+        String selected = input.selected != null && pieces.containsKey(input.selected) ? input.selected : null;
+        applyInput(player, new PlayerInput(input.cursorX, input.cursorY, hovered, selected, input.movementMode,
+                input.pendingDx, input.pendingDy, input.visualX, input.visualY));
+    }
+
+    private void applyInput(Command.Player player, PlayerInput input) {
+        if (player == Command.Player.WHITE) {
+            whiteCursorX = input.cursorX;
+            whiteCursorY = input.cursorY;
+            hoveredPieceWhite = input.hovered;
+            selectedPieceWhite = input.selected;
+            whiteInMovementMode = input.movementMode;
+            whitePendingDx = input.pendingDx;
+            whitePendingDy = input.pendingDy;
+            whiteVisualX = input.visualX;
+            whiteVisualY = input.visualY;
+        } else {
+            blackCursorX = input.cursorX;
+            blackCursorY = input.cursorY;
+            hoveredPieceBlack = input.hovered;
+            selectedPieceBlack = input.selected;
+            blackInMovementMode = input.movementMode;
+            blackPendingDx = input.pendingDx;
+            blackPendingDy = input.pendingDy;
+            blackVisualX = input.visualX;
+            blackVisualY = input.visualY;
+        }
+    }
+
     /**
      * Stop the game
      */
     public void stopGame() {
         running = false;
+        stopGameLoop();
         logger.logCommand(Command.createGameControl("GAME_STOPPED"));
         logger.saveLogs();
         logger.printGameStats();
     }
 
+    private void stopGameLoop() {
+        FixedTimestepLoop loop = gameLoop;
+        if (loop != null) {
+            loop.stop();
+        }
+    }
+
+    /**
+     * Update game state - one fixed logic tick, every time-based system at the loop's simulation time
+     */
+    private void update(long simulationMs) {
+        this.simulationMs = simulationMs;
+        // Advance in-flight moves - arrivals set REST before the states below are updated
+        movementEngine.update(simulationMs);
+
+        // Move on the piece states whose time ran out - the rest are not touched
+        stateTimers.advance(simulationMs);
+
+        // Check for game end conditions
+        checkGameEndConditions();
+    }
+
     /**
-     * Main game loop
+     * Render current frame, alpha is how far we are into the next logic tick
      */
-    private void gameLoop() {
-        while (running) {
-            long currentTime = System.currentTimeMillis();
-            long deltaTime = currentTime - lastUpdateTime;
-
-            if (deltaTime >= UPDATE_INTERVAL_MS) {
-                update(deltaTime);
-                render();
-                lastUpdateTime = currentTime;
+    private void render(double alpha) {
+        // Draw moving pieces between tick positions, then repaint the cells that changed
+        movementEngine.interpolate(alpha, 1000L / tickRate);
+        publishSnapshot();
+
+        if (RenderStats.ENABLED) {
+            String stats = renderStats.report(System.currentTimeMillis());
+            if (stats != null) {
+                log.info("{}", stats);
             }
+        }
+    }
 
-            try {
-                Thread.sleep(1); // Prevent 100% CPU usage
-            } catch (InterruptedException e) {
-                break;
+    /**
+     * Copy pieces and player state for the paint thread - only from the thread that mutates them
+     * The cells painted differently than in the previous snapshot are queued for repainting.
+     */
+    private void publishSnapshot() {
+        BoardSnapshot previous = snapshot;
+        BoardSnapshot next = BoardSnapshot.capture(pieces, movementEngine,
+                new BoardSnapshot.PlayerView(whiteCursorX, whiteCursorY, hoveredPieceWhite, selectedPieceWhite,
+                        whiteInMovementMode, whiteVisualX, whiteVisualY),
+                new BoardSnapshot.PlayerView(blackCursorX, blackCursorY, hoveredPieceBlack, selectedPieceBlack,
+                        blackInMovementMode, blackVisualX, blackVisualY));
+        snapshot = next;
+
+        synchronized (dirtyCells) {
+            dirtyCells.collect(previous, next);
+            if (dirtyCells.isEmpty() || repaintScheduled) {
+                return;
             }
+            repaintScheduled = true;
         }
+        SwingUtilities.invokeLater(this::repaintDirtyCells);
     }
 
     /**
-     * Update game state
+     * Repaint the queued dirty cells of the board panel - on the EDT
      */
-    private void update(long deltaTimeMs) {
-        // Update all piece states and animations
-        for (Piece piece : pieces.values()) {
-            State state = piece.getState();
-            if (state != null) {
-                state.update(); // Call without parameters for now
+    private void repaintDirtyCells() {
+        int panelWidth = gameBoardPanel.getWidth();
+        int panelHeight = gameBoardPanel.getHeight();
+        int boardSize = GraphicsFactory.boardSize(panelWidth, panelHeight);
+        int originX = (panelWidth - boardSize) / 2;
+        int originY = (panelHeight - boardSize) / 2;
+        int cellWidth = boardSize / board.getWidthCells();
+        int cellHeight = boardSize / board.getHeightCells();
+        int pad = GraphicsFactory.CELL_OVERDRAW;
+
+        // Take the cells under the lock, paint outside it so the game thread never waits on painting
+        int[] count = {0};
+        synchronized (dirtyCells) {
+            repaintScheduled = false;
+            if (dirtyRects.length < dirtyCells.count() * 4) {
+                dirtyRects = new int[dirtyCells.getWidthCells() * dirtyCells.getHeightCells() * 4];
             }
+            dirtyCells.forEachRect((cellX, cellY, widthCells, heightCells) -> {
+                int i = count[0]++ * 4;
+                dirtyRects[i] = originX + cellX * cellWidth - pad;
+                dirtyRects[i + 1] = originY + cellY * cellHeight - pad;
+                dirtyRects[i + 2] = widthCells * cellWidth + 2 * pad;
+                dirtyRects[i + 3] = heightCells * cellHeight + 2 * pad;
+            });
+            dirtyCells.clear();
+        }
+        if (!gameBoardPanel.isShowing()) {
+            return; // the first paint of the window draws everything
         }
+        for (int i = 0; i < count[0] * 4; i += 4) {
+            gameBoardPanel.paintImmediately(dirtyRects[i], dirtyRects[i + 1], dirtyRects[i + 2], dirtyRects[i + 3]);
+        }
+    }
 
-        // Check for game end conditions
-        checkGameEndConditions();
+    /**
+     * Show a state change now - while the loop runs, the next rendered frame repaints what changed
+     */
+    private void requestRepaint() {
+        FixedTimestepLoop loop = gameLoop;
+        if (loop == null || !loop.isRunning()) {
+            publishSnapshot();
+        }
     }
 
     /**
-     * Render current frame
+     * Run a state change on the game thread - the single writer of pieces and selections
+     * Before the loop starts (and after it stops) nothing else is mutating, so it runs right here.
      */
-    private void render() {
-        // Just request a repaint of the frame
-        frame.repaint();
+    protected void runOnGameThread(Runnable action) {
+        FixedTimestepLoop loop = gameLoop;
+        if (loop != null && loop.isRunning() && !loop.isLoopThread()) {
+            loop.execute(action);
+        } else {
+            action.run();
+            if (loop == null || !loop.isRunning()) {
+                publishSnapshot();
+            }
+        }
+    }
+
+    public BoardSnapshot getSnapshot() {
+        return snapshot;
     }
 
     /**
@@ -549,6 +835,7 @@ public class Game {
      */
     private void endGame(Command.Player winner, String reason) {
         running = false;
+        stopGameLoop();
         logger.logCommand(Command.createGameControl("GAME_ENDED: " + reason));
         logger.saveLogs();
 
@@ -567,8 +854,13 @@ public class Game {
 
     /**
      * Raw KeyListener entry point: preserves existing logic before full migration
+     * Called from the EDT and the server command thread, the key is applied on the game thread.
      */
     public void handleRawKeyPressed(KeyEvent e) {
+        runOnGameThread(() -> applyRawKeyPressed(e));
+    }
+
+    private void applyRawKeyPressed(KeyEvent e) {
         int keyCode = e.getKeyCode();
         // Track pressed keys for movement hold detection
         pressedKeys.add(keyCode);
@@ -576,12 +868,12 @@ public class Game {
         // Handle jump via Shift keys
         if (keyCode == KeyEvent.VK_SHIFT) {
             int loc = e.getKeyLocation();
-            if (loc == KeyEvent.KEY_LOCATION_LEFT && selectedPieceWhite != null) {
+            if (loc == KeyEvent.KEY_LOCATION_LEFT) {
                 // Left Shift: white jump
-                executeCommand(Command.createJump(selectedPieceWhite, Command.Player.WHITE));
-            } else if (loc == KeyEvent.KEY_LOCATION_RIGHT && selectedPieceBlack != null) {
+                jump(Command.Player.WHITE);
+            } else if (loc == KeyEvent.KEY_LOCATION_RIGHT) {
                 // Right Shift: black jump
-                executeCommand(Command.createJump(selectedPieceBlack, Command.Player.BLACK));
+                jump(Command.Player.BLACK);
             }
             return;
         }
@@ -589,60 +881,11 @@ public class Game {
         switch (keyCode) {
             case KeyEvent.VK_SPACE:
                 // White player: SPACE for piece selection or movement execution
-                if (!whiteInMovementMode) {
-                    // Try to select piece at current cursor position
-                    trySelectPieceAtCursor(Command.Player.WHITE);
-                    // If successful selection, enter movement mode
-                    if (selectedPieceWhite != null) {
-                        whiteInMovementMode = true;
-                        whitePendingDx = 0;
-                        whitePendingDy = 0;
-                        initializeVisualPosition(Command.Player.WHITE);
-                        System.out.println("White player entered movement mode with " + selectedPieceWhite);
-                    }
-                } else if (whiteInMovementMode) {
-                    // Execute accumulated move if exists
-                    if ((whitePendingDx != 0 || whitePendingDy != 0) && selectedPieceWhite != null) {
-                        // Create move command for validation and execution
-                        Command moveCommand = Command.createKeyInput("MOVE", Command.Player.WHITE);
-                        executeCommand(moveCommand);
-
-                        // Note: State will be managed by the animation in movePieceStepByStep
-                    }
-                    // Exit movement mode
-                    whiteInMovementMode = false;
-                    // Note: Don't reset visual position here - it should stay with the piece
-                    System.out.println("White player exited movement mode");
-                }
+                selectOrMove(Command.Player.WHITE);
                 break;
-
             case KeyEvent.VK_ENTER:
                 // Black player: ENTER for piece selection or movement execution
-                if (!blackInMovementMode) {
-                    // Try to select piece at current cursor position
-                    trySelectPieceAtCursor(Command.Player.BLACK);
-                    // If successful selection, enter movement mode
-                    if (selectedPieceBlack != null) {
-                        blackInMovementMode = true;
-                        blackPendingDx = 0;
-                        blackPendingDy = 0;
-                        initializeVisualPosition(Command.Player.BLACK);
-                        System.out.println("Black player entered movement mode with " + selectedPieceBlack);
-                    }
-                } else if (blackInMovementMode) {
-                    // Execute accumulated move if exists
-                    if ((blackPendingDx != 0 || blackPendingDy != 0) && selectedPieceBlack != null) {
-                        // Create move command for validation and execution
-                        Command moveCommand = Command.createKeyInput("MOVE", Command.Player.BLACK);
-                        executeCommand(moveCommand);
-
-                        // Note: State will be managed by the animation in movePieceStepByStep
-                    }
-                    // Exit movement mode
-                    blackInMovementMode = false;
-                    // Note: Don't reset visual position here - it should stay with the piece
-                    System.out.println("Black player exited movement mode");
-                }
+                selectOrMove(Command.Player.BLACK);
                 break;
             case KeyEvent.VK_ESCAPE:
                 // Exit movement modes
@@ -662,94 +905,30 @@ public class Game {
 
             // WHITE PLAYER Controls (WASD) - Always allow cursor movement
             case KeyEvent.VK_W:
-                if (!whiteInMovementMode) {
-                    selectPieceWithDirection(Command.Player.WHITE, "UP");
-                } else {
-                    // Always allow cursor movement - no validation here
-                    whitePendingDy--;
-                    updateVisualPosition(Command.Player.WHITE);
-                    frame.repaint(); // Immediate visual feedback
-                    System.out.println("White player pending move: dx=" + whitePendingDx + ", dy=" + whitePendingDy);
-                }
+                moveCursorOrPending(Command.Player.WHITE, 0, -1);
                 break;
             case KeyEvent.VK_S:
-                if (!whiteInMovementMode) {
-                    selectPieceWithDirection(Command.Player.WHITE, "DOWN");
-                } else {
-                    // Always allow cursor movement - no validation here
-                    whitePendingDy++;
-                    updateVisualPosition(Command.Player.WHITE);
-                    frame.repaint(); // Immediate visual feedback
-                    System.out.println("White player pending move: dx=" + whitePendingDx + ", dy=" + whitePendingDy);
-                }
+                moveCursorOrPending(Command.Player.WHITE, 0, 1);
                 break;
             case KeyEvent.VK_A:
-                if (!whiteInMovementMode) {
-                    selectPieceWithDirection(Command.Player.WHITE, "LEFT");
-                } else {
-                    // Always allow cursor movement - no validation here
-                    whitePendingDx--;
-                    updateVisualPosition(Command.Player.WHITE);
-                    frame.repaint(); // Immediate visual feedback
-                    System.out.println("White player pending move: dx=" + whitePendingDx + ", dy=" + whitePendingDy);
-                }
+                moveCursorOrPending(Command.Player.WHITE, -1, 0);
                 break;
             case KeyEvent.VK_D:
-                if (!whiteInMovementMode) {
-                    selectPieceWithDirection(Command.Player.WHITE, "RIGHT");
-                } else {
-                    // Always allow cursor movement - no validation here
-                    whitePendingDx++;
-                    updateVisualPosition(Command.Player.WHITE);
-                    frame.repaint(); // Immediate visual feedback
-                    System.out.println("White player pending move: dx=" + whitePendingDx + ", dy=" + whitePendingDy);
-                }
+                moveCursorOrPending(Command.Player.WHITE, 1, 0);
                 break;
 
             // BLACK PLAYER Controls (Arrow Keys) - Always allow cursor movement
             case KeyEvent.VK_UP:
-                if (!blackInMovementMode) {
-                    selectPieceWithDirection(Command.Player.BLACK, "UP");
-                } else {
-                    // Always allow cursor movement - no validation here
-                    blackPendingDy--;
-                    updateVisualPosition(Command.Player.BLACK);
-                    frame.repaint(); // Immediate visual feedback
-                    System.out.println("Black player pending move: dx=" + blackPendingDx + ", dy=" + blackPendingDy);
-                }
+                moveCursorOrPending(Command.Player.BLACK, 0, -1);
                 break;
             case KeyEvent.VK_DOWN:
-                if (!blackInMovementMode) {
-                    selectPieceWithDirection(Command.Player.BLACK, "DOWN");
-                } else {
-                    // Always allow cursor movement - no validation here
-                    blackPendingDy++;
-                    updateVisualPosition(Command.Player.BLACK);
-                    frame.repaint(); // Immediate visual feedback
-                    System.out.println("Black player pending move: dx=" + blackPendingDx + ", dy=" + blackPendingDy);
-                }
+                moveCursorOrPending(Command.Player.BLACK, 0, 1);
                 break;
             case KeyEvent.VK_LEFT:
-                if (!blackInMovementMode) {
-                    selectPieceWithDirection(Command.Player.BLACK, "LEFT");
-                } else {
-                    // Always allow cursor movement - no validation here
-                    blackPendingDx--;
-                    updateVisualPosition(Command.Player.BLACK);
-                    frame.repaint(); // Immediate visual feedback
-                    System.out.println("Black player pending move: dx=" + blackPendingDx + ", dy=" + blackPendingDy);
-                }
+                moveCursorOrPending(Command.Player.BLACK, -1, 0);
                 break;
             case KeyEvent.VK_RIGHT:
-                if (!blackInMovementMode) {
-                    selectPieceWithDirection(Command.Player.BLACK, "RIGHT");
-                } else {
-                    // Always allow cursor movement - no validation here
-                    blackPendingDx++;
-                    updateVisualPosition(Command.Player.BLACK);
-                    frame.repaint(); // Immediate visual feedback
-                    System.out.println("Black player pending move: dx=" + blackPendingDx + ", dy=" + blackPendingDy);
-                }
+                moveCursorOrPending(Command.Player.BLACK, 1, 0);
                 break;
         }
 
@@ -767,46 +946,23 @@ public class Game {
             // Hover to Selection conversion
             case KeyEvent.VK_C:
                 // White player: Convert current hover to selection
-                if (hoveredPieceWhite != null) {
-                    if (pieces.get(hoveredPieceWhite).isWhite()) {
-                        selectedPieceWhite = hoveredPieceWhite;
-                        // Initialize visual position for selection border
-                        initializeVisualPosition(Command.Player.WHITE);
-                        frame.repaint(); // Force repaint to show selection
-                        System.out.println("White selected from hover: " + selectedPieceWhite);
-                        Command selectCommand = Command.createGameControl("SELECT_FROM_HOVER:" + selectedPieceWhite);
-                        logger.logCommand(selectCommand);
-                    } else {
-                        System.out.println("*** SELECTION REJECTED: White player cannot select black piece " + hoveredPieceWhite + " ***");
-                    }
-                }
+                selectFromHover(Command.Player.WHITE);
                 break;
             case KeyEvent.VK_V:
                 // Black player: Convert current hover to selection
-                if (hoveredPieceBlack != null) {
-                    if (!pieces.get(hoveredPieceBlack).isWhite()) {
-                        selectedPieceBlack = hoveredPieceBlack;
-                        // Initialize visual position for selection border
-                        initializeVisualPosition(Command.Player.BLACK);
-                        frame.repaint(); // Force repaint to show selection
-                        System.out.println("Black selected from hover: " + selectedPieceBlack);
-                        Command selectCommand = Command.createGameControl("SELECT_FROM_HOVER:" + selectedPieceBlack);
-                        logger.logCommand(selectCommand);
-                    } else {
-                        System.out.println("*** SELECTION REJECTED: Black player cannot select white piece " + hoveredPieceBlack + " ***");
-                    }
-                }
+                selectFromHover(Command.Player.BLACK);
                 break;
             case KeyEvent.VK_M:
                 // Legacy key for black player selection (keeping for compatibility)
                 if (hoveredPieceBlack != null) {
                     if (!pieces.get(hoveredPieceBlack).isWhite()) {
                         selectedPieceBlack = hoveredPieceBlack;
-                        System.out.println("Black selected from hover: " + selectedPieceBlack);
+                        log.debug("Black selected from hover: {}", selectedPieceBlack);
                         Command selectCommand = Command.createGameControl("SELECT_FROM_HOVER:" + selectedPieceBlack);
                         logger.logCommand(selectCommand);
                     } else {
-                        System.out.println("*** SELECTION REJECTED: Black player cannot select white piece " + hoveredPieceBlack + " ***");
+                        log.debug("*** SELECTION REJECTED: Black player cannot select white piece {} ***",
+                                hoveredPieceBlack);
                     }
                 }
                 break;
@@ -820,6 +976,129 @@ public class Game {
         }
     }
 
+    /**
+     * Apply a server-approved key command - dispatched straight to its action, on the game thread
+     * Returns false for commands without an action on the client
+     */
+    public boolean processKeyInput(Command command) {
+        if (InputAction.of(command) == InputAction.NONE) {
+            return false;
+        }
+        runOnGameThread(() -> applyKeyInput(command));
+        return true;
+    }
+
+    /**
+     * Apply a key command through the game's own rules - on the game thread
+     * Returns false when the command has no action on the client
+     */
+    protected boolean applyKeyInput(Command command) {
+        return InputAction.dispatch(command, actions);
+    }
+
+    /**
+     * Movement keys move the cursor, or grow the pending move while in movement mode
+     */
+    private void moveCursorOrPending(Command.Player player, int dx, int dy) {
+        boolean isWhite = player == Command.Player.WHITE;
+        if (!(isWhite ? whiteInMovementMode : blackInMovementMode)) {
+            selectPieceWithDirection(player, dx, dy);
+            return;
+        }
+        // Always allow cursor movement - no validation here
+        if (isWhite) {
+            whitePendingDx += dx;
+            whitePendingDy += dy;
+            log.debug("White player pending move: dx={}, dy={}", whitePendingDx, whitePendingDy);
+        } else {
+            blackPendingDx += dx;
+            blackPendingDy += dy;
+            log.debug("Black player pending move: dx={}, dy={}", blackPendingDx, blackPendingDy);
+        }
+        updateVisualPosition(player);
+        requestRepaint(); // Immediate visual feedback
+    }
+
+    /**
+     * Select the own piece under the cursor and enter movement mode,
+     * or execute the pending move and leave movement mode
+     */
+    private void selectOrMove(Command.Player player) {
+        boolean isWhite = player == Command.Player.WHITE;
+        if (!(isWhite ? whiteInMovementMode : blackInMovementMode)) {
+            // Try to select piece at current cursor position
+            trySelectPieceAtCursor(player);
+            String selected = isWhite ? selectedPieceWhite : selectedPieceBlack;
+            // If successful selection, enter movement mode
+            if (selected != null) {
+                if (isWhite) {
+                    whiteInMovementMode = true;
+                    whitePendingDx = 0;
+                    whitePendingDy = 0;
+                } else {
+                    blackInMovementMode = true;
+                    blackPendingDx = 0;
+                    blackPendingDy = 0;
+                }
+                initializeVisualPosition(player);
+                log.debug("{} player entered movement mode with {}", player, selected);
+            }
+            return;
+        }
+        // Execute accumulated move if exists
+        boolean hasPendingMove = isWhite
+                ? (whitePendingDx != 0 || whitePendingDy != 0) && selectedPieceWhite != null
+                : (blackPendingDx != 0 || blackPendingDy != 0) && selectedPieceBlack != null;
+        if (hasPendingMove) {
+            // Create move command for validation and execution
+            executeCommand(Command.createKeyInput("MOVE", player));
+            // Note: State will be managed by the animation in movePieceStepByStep
+        }
+        // Exit movement mode
+        if (isWhite) {
+            whiteInMovementMode = false;
+        } else {
+            blackInMovementMode = false;
+        }
+        // Note: Don't reset visual position here - it should stay with the piece
+        log.debug("{} player exited movement mode", player);
+    }
+
+    /**
+     * Turn the hovered piece into the selection, when it is the player's own
+     */
+    private void selectFromHover(Command.Player player) {
+        boolean isWhite = player == Command.Player.WHITE;
+        String hovered = isWhite ? hoveredPieceWhite : hoveredPieceBlack;
+        if (hovered == null) {
+            return;
+        }
+        if (pieces.get(hovered).isWhite() != isWhite) {
+            log.debug("*** SELECTION REJECTED: {} player cannot select {} ***", player, hovered);
+            return;
+        }
+        if (isWhite) {
+            selectedPieceWhite = hovered;
+        } else {
+            selectedPieceBlack = hovered;
+        }
+        // Initialize visual position for selection border
+        initializeVisualPosition(player);
+        requestRepaint(); // Force repaint to show selection
+        log.debug("{} selected from hover: {}", player, hovered);
+        logger.logCommand(Command.createGameControl("SELECT_FROM_HOVER:" + hovered));
+    }
+
+    /**
+     * Jump the player's selected piece by its pending offset
+     */
+    private void jump(Command.Player player) {
+        String selected = player == Command.Player.WHITE ? selectedPieceWhite : selectedPieceBlack;
+        if (selected != null) {
+            executeCommand(Command.createJump(selected, player));
+        }
+    }
+
     /**
      * Temporary delegate for InputHandler compatibility
      */
@@ -859,7 +1138,7 @@ public class Game {
      * Public entry to process commands from external executors
      */
     public void processCommand(Command command) {
-        executeCommand(command);
+        runOnGameThread(() -> executeCommand(command));
     }
 
     /**
@@ -873,12 +1152,12 @@ public class Game {
                 : pieces.get(selectedPieceBlack);
 
         if (piece == null) {
-            System.out.println("No piece selected for " + player + " - move not executed");
+            log.debug("No piece selected for {} - move not executed", player);
             return;
         }
 
         if (!piece.getState().canPerformAction()) {
-            System.out.println("Piece " + piece.getId() + " cannot perform action due to state - move not executed");
+            log.debug("Piece {} cannot perform action due to state - move not executed", piece.getId());
             return;
         }
 
@@ -888,17 +1167,17 @@ public class Game {
 
         // Check if there's any pending movement
         if (dx == 0 && dy == 0) {
-            System.out.println("No pending movement for " + player + " - move not executed");
+            log.debug("No pending movement for {} - move not executed", player);
             return;
         }
 
-        System.out.println("Attempting to execute move for " + player + ": dx=" + dx + ", dy=" + dy);
+        log.debug("Attempting to execute move for {}: dx={}, dy={}", player, dx, dy);
 
         // Try to move the piece step by step - validation happens inside movePieceStepByStep
         movePieceStepByStep(piece, dx, dy);
 
         // Force repaint to see the change immediately
-        frame.repaint();
+        requestRepaint();
     }
 
     /**
@@ -920,7 +1199,7 @@ public class Game {
 
         // Publish sound event for jump FIRST - always play sound regardless of outcome
         SoundEvent jumpSound = new SoundEvent(SoundEvent.SoundType.JUMP);
-        System.out.println("DEBUG: Publishing JUMP sound event");
+        log.debug("Publishing JUMP sound event");
         eventBus.publish(jumpSound);
 
         // Determine pending jump deltas and reset
@@ -959,45 +1238,30 @@ public class Game {
 
         // Set jump state
         piece.getState().setState(State.PieceState.JUMP);
-        System.out.println("Piece " + pieceId + " jumped to (" + nextX + "," + nextY + ")");
+        log.debug("Piece {} jumped to ({},{})", pieceId, nextX, nextY);
     }
 
     /**
      * Move cursor for a player using direction keys (board-based navigation)
      */
-    private void selectPieceWithDirection(Command.Player player, String direction) {
+    private void selectPieceWithDirection(Command.Player player, int dx, int dy) {
         // Get current cursor position
         int currentX = (player == Command.Player.WHITE) ? whiteCursorX : blackCursorX;
         int currentY = (player == Command.Player.WHITE) ? whiteCursorY : blackCursorY;
 
-        // Calculate new cursor position based on direction
-        int newX = currentX;
-        int newY = currentY;
-
-        switch (direction) {
-            case "UP":
-                newY = Math.max(0, currentY - 1);
-                break;
-            case "DOWN":
-                newY = Math.min(board.getHeightCells() - 1, currentY + 1);
-                break;
-            case "LEFT":
-                newX = Math.max(0, currentX - 1);
-                break;
-            case "RIGHT":
-                newX = Math.min(board.getWidthCells() - 1, currentX + 1);
-                break;
-        }
+        // One cell in the direction, clamped to the board
+        int newX = Math.max(0, Math.min(board.getWidthCells() - 1, currentX + dx));
+        int newY = Math.max(0, Math.min(board.getHeightCells() - 1, currentY + dy));
 
         // Update cursor position
         if (player == Command.Player.WHITE) {
             whiteCursorX = newX;
             whiteCursorY = newY;
-            System.out.println("White cursor moved to (" + newX + "," + newY + ")");
+            log.debug("White cursor moved to ({},{})", newX, newY);
         } else {
             blackCursorX = newX;
             blackCursorY = newY;
-            System.out.println("Black cursor moved to (" + newX + "," + newY + ")");
+            log.debug("Black cursor moved to ({},{})", newX, newY);
         }
 
         // Update hovered piece (if any exists at this position)
@@ -1005,16 +1269,16 @@ public class Game {
         if (player == Command.Player.WHITE) {
             hoveredPieceWhite = pieceIdAtPosition;
             if (pieceIdAtPosition != null) {
-                System.out.println("White cursor hovering over: " + pieceIdAtPosition);
+                log.debug("White cursor hovering over: {}", pieceIdAtPosition);
             } else {
-                System.out.println("White cursor on empty square");
+                log.debug("White cursor on empty square");
             }
         } else {
             hoveredPieceBlack = pieceIdAtPosition;
             if (pieceIdAtPosition != null) {
-                System.out.println("Black cursor hovering over: " + pieceIdAtPosition);
+                log.debug("Black cursor hovering over: {}", pieceIdAtPosition);
             } else {
-                System.out.println("Black cursor on empty square");
+                log.debug("Black cursor on empty square");
             }
         }
     }
@@ -1031,7 +1295,7 @@ public class Game {
         String pieceIdAtCursor = findPieceIdAt(cursorX, cursorY);
 
         if (pieceIdAtCursor == null) {
-            System.out.println("*** SELECTION REJECTED: No piece at cursor position (" + cursorX + "," + cursorY + ") ***");
+            log.debug("*** SELECTION REJECTED: No piece at cursor position ({},{}) ***", cursorX, cursorY);
             return;
         }
 
@@ -1043,7 +1307,8 @@ public class Game {
         if (!isPieceValid) {
             String playerColor = (player == Command.Player.WHITE) ? "White" : "Black";
             String pieceColor = piece.isWhite() ? "white" : "black";
-            System.out.println("*** SELECTION REJECTED: " + playerColor + " player cannot select " + pieceColor + " piece " + pieceIdAtCursor + " ***");
+            log.debug("*** SELECTION REJECTED: {} player cannot select {} piece {} ***",
+                    playerColor, pieceColor, pieceIdAtCursor);
             return;
         }
 
@@ -1052,16 +1317,16 @@ public class Game {
             selectedPieceWhite = pieceIdAtCursor;
             // Initialize visual position to match actual piece position
             initializeVisualPosition(Command.Player.WHITE);
-            System.out.println("White selected piece: " + selectedPieceWhite + " at (" + cursorX + "," + cursorY + ")");
+            log.debug("White selected piece: {} at ({},{})", selectedPieceWhite, cursorX, cursorY);
         } else {
             selectedPieceBlack = pieceIdAtCursor;
             // Initialize visual position to match actual piece position
             initializeVisualPosition(Command.Player.BLACK);
-            System.out.println("Black selected piece: " + selectedPieceBlack + " at (" + cursorX + "," + cursorY + ")");
+            log.debug("Black selected piece: {} at ({},{})", selectedPieceBlack, cursorX, cursorY);
         }
 
         // Force repaint to show selection immediately
-        frame.repaint();
+        requestRepaint();
 
         // Log the selection
         Command selectCommand = Command.createGameControl("SELECT_PIECE:" + pieceIdAtCursor);
@@ -1104,16 +1369,16 @@ public class Game {
                 (player == Command.Player.BLACK && newHoveredPiece.contains("B"));
 
         if (!pieceColorMatches) {
-            System.out.println("ERROR: Attempted to hover over piece of wrong color: " + newHoveredPiece);
+            log.warn("Attempted to hover over piece of wrong color: {}", newHoveredPiece);
             return;
         }
 
         if (player == Command.Player.WHITE) {
             hoveredPieceWhite = newHoveredPiece;
-            System.out.println("*** WHITE HOVER CHANGED TO: " + hoveredPieceWhite + " ***");
+            log.debug("*** WHITE HOVER CHANGED TO: {} ***", hoveredPieceWhite);
         } else {
             hoveredPieceBlack = newHoveredPiece;
-            System.out.println("*** BLACK HOVER CHANGED TO: " + hoveredPieceBlack + " ***");
+            log.debug("*** BLACK HOVER CHANGED TO: {} ***", hoveredPieceBlack);
         }
     }
 
@@ -1128,45 +1393,48 @@ public class Game {
         double nextX = currentX + dx;
         double nextY = currentY + dy;
 
-        System.out.println("DEBUG: Current position: (" + currentX + "," + currentY + ")");
-        System.out.println("DEBUG: Next position: (" + nextX + "," + nextY + ")");
-        System.out.println("DEBUG: Requested move: (" + dx + "," + dy + ")");
+        log.debug("Current position: ({},{})", currentX, currentY);
+        log.debug("Next position: ({},{})", nextX, nextY);
+        log.debug("Requested move: ({},{})", dx, dy);
 
         // Check if this move is allowed by the piece's moves.txt file
         if (!isValidMoveForPiece(piece, dx, dy)) {
-            System.out.println("*** MOVE REJECTED: " + piece.getId() + " cannot move (" + dx + "," + dy + ") - not allowed by piece movement rules! ***");
+            log.debug("*** MOVE REJECTED: {} cannot move ({},{}) - not allowed by piece movement rules! ***",
+                    piece.getId(), dx, dy);
             return;
         }
 
         // Check board boundaries
         if (nextX < 0 || nextX >= board.getWidthCells() ||
                 nextY < 0 || nextY >= board.getHeightCells()) {
-            System.out.println("*** MOVE REJECTED: " + piece.getId() + " cannot move to (" + nextX + "," + nextY + ") - out of bounds! ***");
+            log.debug("*** MOVE REJECTED: {} cannot move to ({},{}) - out of bounds! ***", piece.getId(), nextX, nextY);
             return;
         }
 
         // Check path blocking (knights can jump over pieces)
         if (!isKnight(piece) && isPathBlocked(piece.getX(), piece.getY(), nextX, nextY)) {
-            System.out.println("*** MOVE REJECTED: " + piece.getId() + " cannot move to (" + nextX + "," + nextY + ") - path is blocked! ***");
+            log.debug("*** MOVE REJECTED: {} cannot move to ({},{}) - path is blocked! ***",
+                    piece.getId(), nextX, nextY);
             return;
         }
 
         // Check for collisions with other pieces
         Piece collidingPiece = findPieceAt(nextX, nextY);
         if (collidingPiece != null && !collidingPiece.equals(piece)) {
-            System.out.println("DEBUG: Collision detected with " + collidingPiece.getId());
+            log.debug("Collision detected with {}", collidingPiece.getId());
 
             // Check if this is a valid capture (different colors)
             if (piece.isWhite() != collidingPiece.isWhite()) {
-                System.out.println("DEBUG: Valid capture! " + piece.getId() + " can capture " + collidingPiece.getId());
+                log.debug("Valid capture! {} can capture {}", piece.getId(), collidingPiece.getId());
                 handleCollision(piece, collidingPiece);
                 
                 // Update visual position after capture
                 updateVisualPositionAfterMove(piece, nextX, nextY);
                 
-                System.out.println("DEBUG: Capture completed!");
+                log.debug("Capture completed!");
             } else {
-                System.out.println("*** MOVE REJECTED: " + piece.getId() + " cannot capture " + collidingPiece.getId() + " - same color! ***");
+                log.debug("*** MOVE REJECTED: {} cannot capture {} - same color! ***",
+                        piece.getId(), collidingPiece.getId());
                 return;
             }
         } else {
@@ -1176,72 +1444,38 @@ public class Game {
 
             // Publish sound event for move
             SoundEvent moveSound = new SoundEvent(SoundEvent.SoundType.MOVE);
-            System.out.println("DEBUG: Publishing MOVE sound event");
+            log.debug("Publishing MOVE sound event");
             eventBus.publish(moveSound);
 
             // Publish move event for regular move (no capture)
             publishMoveEvent(piece, currentX, currentY, nextX, nextY, null);
 
-            // Create animation thread
-            new Thread(() -> {
-                try {
-                    double progress = 0;
-                    while (progress < 1.0) {
-                        // Calculate interpolated position
-                        double interpX = piece.getX() + (nextX - piece.getX()) * progress;
-                        double interpY = piece.getY() + (nextY - piece.getY()) * progress;
-                        piece.setPosition(interpX, interpY);
-
-                        // Update progress
-                        progress += 0.05; // Slower progress for smoother, slower animation
-                        Thread.sleep(100); // Slower animation timing
-
-                        // Request repaint
-                        frame.repaint();
-                    }
-
-                    // Ensure final position is exact
-                    piece.setPosition(nextX, nextY);
+            // Travel is advanced by the game loop, arrival is handled in onPieceArrived
+            movementEngine.start(piece, nextX, nextY, simulationMs, MOVE_DURATION_MS);
 
-                    // Update visual position to match the new piece position
-                    updateVisualPositionAfterMove(piece, nextX, nextY);
-
-                    // Check for pawn promotion after move
-                    if (shouldPromotePawn(piece, nextY)) {
-                        String movingKey = getPieceIdFromPiece(piece);
-                        promotePawnToQueen(movingKey, piece);
-                        return; // Exit early since piece was replaced
-                    }
-
-                    // Set back to REST state
-                    piece.getState().setState(State.PieceState.REST);
-
-                    // Final repaint
-                    frame.repaint();
-
-                } catch (InterruptedException e) {
-                    // Handle interruption if needed
-                    piece.setPosition(nextX, nextY);
-
-                    // Update visual position even if interrupted
-                    updateVisualPositionAfterMove(piece, nextX, nextY);
-
-                    // Check for pawn promotion even if interrupted
-                    if (shouldPromotePawn(piece, nextY)) {
-                        String movingKey = getPieceIdFromPiece(piece);
-                        promotePawnToQueen(movingKey, piece);
-                        return; // Exit early since piece was replaced
-                    }
+            log.debug("Piece {} moving to ({},{})", piece.getId(), nextX, nextY);
+        }
 
-                    piece.getState().setState(State.PieceState.REST);
-                    frame.repaint();
-                }
-            }).start();
+        // No need for immediate repaint here as the game loop renders the movement
+    }
 
-            System.out.println("DEBUG: Piece " + piece.getId() + " moving to (" + nextX + "," + nextY + ")");
+    /**
+     * A moving piece reached its target cell (game loop thread)
+     */
+    private void onPieceArrived(Piece piece, double x, double y) {
+        // Update visual position to match the new piece position
+        updateVisualPositionAfterMove(piece, x, y);
+
+        // Check for pawn promotion after move
+        if (shouldPromotePawn(piece, y)) {
+            String movingKey = getPieceIdFromPiece(piece);
+            promotePawnToQueen(movingKey, piece);
+            return; // Exit early since piece was replaced
         }
 
-        // No need for immediate repaint here as animation thread handles it
+        // Set back to REST state
+        piece.getState().setState(State.PieceState.REST);
+        requestRepaint();
     }
 
     /**
@@ -1299,138 +1533,37 @@ public class Game {
      * Get piece ID from piece object
      */
     private String getPieceIdFromPiece(Piece piece) {
-        for (Map.Entry<String, Piece> entry : pieces.entrySet()) {
-            if (entry.getValue() == piece) {
-                return entry.getKey();
-            }
-        }
-        return piece.getId(); // fallback
+        String key = pieceIndex.keyOf(piece);
+        return key != null ? key : piece.getId(); // fallback
     }
 
     /**
      * Check if a move is valid for a piece based on its moves.txt file
+     * Moves are compiled once per piece type, so validation does not parse or allocate
      */
     private boolean isValidMoveForPiece(Piece piece, int dx, int dy) {
         // Get the piece's moves from its state
         State state = piece.getState();
         if (state == null || state.getMoves() == null) {
-            System.out.println("DEBUG: No moves defined for piece " + piece.getId() + ", allowing all moves");
+            log.debug("No moves defined for piece {}, allowing all moves", piece.getId());
             return true; // If no moves defined, allow all moves
         }
 
-        Moves moves = state.getMoves();
-        List<String> movesList = moves.getAllowedMoves();
-
-        if (movesList == null || movesList.isEmpty()) {
-            System.out.println("DEBUG: Empty moves list for piece " + piece.getId() + ", allowing all moves");
-            return true; // If moves list is empty, allow all moves
-        }
-
-        System.out.println("DEBUG: Checking moves for piece " + piece.getId() + ": " + movesList);
-
-        // Check if the requested move matches any of the allowed moves
-        for (String moveStr : movesList) {
-            if (moveStr.trim().isEmpty())
-                continue;
-
-            try {
-                // Parse move string (format: "dx,dy")
-                String[] parts = moveStr.split(",");
-                if (parts.length >= 2) {
-                    int allowedDx = Integer.parseInt(parts[0].trim());
-                    int allowedDy = Integer.parseInt(parts[1].trim());
-
-                    // Check if this move matches the requested move
-                    if (allowedDx == dx && allowedDy == dy) {
-                        System.out.println("DEBUG: Move (" + dx + "," + dy + ") is allowed for " + piece.getId());
-                        return true;
-                    }
-
-                    // Also check negative direction (for bidirectional moves)
-                    if (allowedDx == -dx && allowedDy == -dy) {
-                        System.out.println("DEBUG: Move (" + dx + "," + dy + ") is allowed (reverse direction) for "
-                                + piece.getId());
-                        return true;
-                    }
-                }
-            } catch (NumberFormatException e) {
-                System.out.println("DEBUG: Invalid move format in moves.txt: " + moveStr);
-            }
-        }
-
-        System.out.println("DEBUG: Move (" + dx + "," + dy + ") is NOT allowed for " + piece.getId());
-        System.out.println("DEBUG: Available moves: " + movesList);
-
-        // Temporary fallback - allow basic moves for common pieces
-        String pieceType = piece.getId().substring(0, 1);
-        System.out.println("DEBUG: Piece type: " + pieceType + ", trying fallback moves");
-
-        switch (pieceType) {
-            case "P": // Pawn
-                // Check if it's a forward move (dy = 1 for black, dy = -1 for white)
+        switch (state.getMoves().classify(piece.getId(), dx, dy)) {
+            case Moves.ALLOWED:
+                return true;
+            case Moves.CAPTURE_ONLY:
+                // Pawn diagonal - only if there's an enemy piece to capture
+                Piece targetPiece = findPieceAt(piece.getX() + dx, piece.getY() + dy);
+                return targetPiece != null && targetPiece.isWhite() != piece.isWhite();
+            case Moves.FIRST_MOVE_ONLY:
+                // Pawn's initial two-square move
                 boolean isWhitePawn = piece.getId().contains("W");
-                int forwardDirection = isWhitePawn ? -1 : 1; // White moves up (-y), Black moves down (+y)
-
-                // Allow diagonal captures
-                if (Math.abs(dx) == 1 && dy == forwardDirection) {
-                    // Only allow diagonal moves if there's an enemy piece to capture
-                    double nextX = piece.getX() + dx;
-                    double nextY = piece.getY() + dy;
-                    Piece targetPiece = findPieceAt(nextX, nextY);
-                    if (targetPiece != null && targetPiece.isWhite() != piece.isWhite()) {
-                        System.out.println("DEBUG: Allowing pawn capture move");
-                        return true;
-                    }
-                    return false;
-                }
-
-                // Allow forward moves
-                if (dx == 0) {
-                    // Check if this is the pawn's first move
-                    boolean isStartingPosition = (isWhitePawn && piece.getY() == 6)
-                            || (!isWhitePawn && piece.getY() == 1);
-
-                    // One square forward is always allowed
-                    if (dy == forwardDirection) {
-                        System.out.println("DEBUG: Allowing regular pawn move");
-                        return true;
-                    }
-
-                    // Two squares forward only on first move
-                    if (isStartingPosition && dy == (forwardDirection * 2)) {
-                        System.out.println("DEBUG: Allowing pawn's initial two-square move");
-                        return true;
-                    }
-                }
-                break;
-            case "R": // Rook
-                if ((dx == 0 && Math.abs(dy) == 1) || (Math.abs(dx) == 1 && dy == 0)) {
-                    System.out.println("DEBUG: Allowing rook move as fallback");
-                    return true;
-                }
-                break;
-            case "N": // Knight
-                if ((Math.abs(dx) == 2 && Math.abs(dy) == 1) || (Math.abs(dx) == 1 && Math.abs(dy) == 2)) {
-                    System.out.println("DEBUG: Allowing knight move as fallback");
-                    return true;
-                }
-                break;
-            case "B": // Bishop
-                if (Math.abs(dx) == 1 && Math.abs(dy) == 1) {
-                    System.out.println("DEBUG: Allowing bishop move as fallback");
-                    return true;
-                }
-                break;
-            case "Q": // Queen
-            case "K": // King
-                if ((Math.abs(dx) <= 1 && Math.abs(dy) <= 1) && !(dx == 0 && dy == 0)) {
-                    System.out.println("DEBUG: Allowing queen/king move as fallback");
-                    return true;
-                }
-                break;
+                return (isWhitePawn && piece.getY() == 6) || (!isWhitePawn && piece.getY() == 1);
+            default:
+                log.debug("Move ({},{}) is NOT allowed for {}", dx, dy, piece.getId());
+                return false;
         }
-
-        return false;
     }
 
     /**
@@ -1445,36 +1578,21 @@ public class Game {
      * Knights are exempt from this check as they can jump
      */
     private boolean isPathBlocked(double fromX, double fromY, double toX, double toY) {
-        // Calculate direction
-        int deltaX = (int)(toX - fromX);
-        int deltaY = (int)(toY - fromY);
-        
+        int deltaX = (int) (toX - fromX);
+        int deltaY = (int) (toY - fromY);
+
         // For single-step moves, no path checking needed
         if (Math.abs(deltaX) <= 1 && Math.abs(deltaY) <= 1) {
             return false;
         }
-        
-        // Calculate step direction
-        int stepX = deltaX == 0 ? 0 : (deltaX > 0 ? 1 : -1);
-        int stepY = deltaY == 0 ? 0 : (deltaY > 0 ? 1 : -1);
-        
+
         // Check each square in the path (excluding start and end positions)
-        double checkX = fromX + stepX;
-        double checkY = fromY + stepY;
-        
-        while (checkX != toX || checkY != toY) {
-            // Check if there's a piece at this position
-            Piece blockingPiece = findPieceAt(checkX, checkY);
-            if (blockingPiece != null) {
-                System.out.println("DEBUG: Path blocked by " + blockingPiece.getId() + " at (" + checkX + "," + checkY + ")");
-                return true;
-            }
-            
-            // Move to next square in path
-            checkX += stepX;
-            checkY += stepY;
+        Piece blockingPiece = pieceIndex.firstBlocker(fromX, fromY, toX, toY);
+        if (blockingPiece != null) {
+            log.debug("Path blocked by {} at ({},{})",
+                    blockingPiece.getId(), blockingPiece.getX(), blockingPiece.getY());
+            return true;
         }
-        
         return false; // Path is clear
     }
 
@@ -1491,30 +1609,22 @@ public class Game {
             double toY = targetPiece.getY();
 
             // Find map keys for moving and target pieces
-            String movingKey = null;
-            String targetKey = null;
-            for (Map.Entry<String, Piece> e : pieces.entrySet()) {
-                if (e.getValue() == movingPiece)
-                    movingKey = e.getKey();
-                if (e.getValue() == targetPiece)
-                    targetKey = e.getKey();
-            }
+            String movingKey = pieceIndex.keyOf(movingPiece);
+            String targetKey = pieceIndex.keyOf(targetPiece);
 
             // Get captured piece type for event
             String capturedPieceType = getPieceTypeFromId(targetKey);
 
-            // Remove the captured piece
+            // Remove the captured piece (and stop it if it was on its way somewhere)
+            movementEngine.cancel(targetPiece);
             if (targetKey != null) {
-                pieces.remove(targetKey);
-                if (DEBUG)
-                    System.out.println("DEBUG: Removed captured piece " + targetKey);
+                pieceIndex.remove(targetKey);
+                log.debug("Removed captured piece {}", targetKey);
             }
 
             // Move attacking piece to target position
             movingPiece.setPosition(targetPiece.getX(), targetPiece.getY());
-            if (DEBUG)
-                System.out.println("DEBUG: Moved piece " + movingKey + " to position " + targetPiece.getX() + ","
-                        + targetPiece.getY());
+            log.debug("Moved piece {} to position {},{}", movingKey, targetPiece.getX(), targetPiece.getY());
 
             // Check for pawn promotion after capture
             if (shouldPromotePawn(movingPiece, targetPiece.getY())) {
@@ -1524,7 +1634,7 @@ public class Game {
 
             // Publish sound event for eat
             SoundEvent eatSound = new SoundEvent(SoundEvent.SoundType.EAT);
-            System.out.println("DEBUG: Publishing EAT sound event");
+            log.debug("Publishing EAT sound event");
             eventBus.publish(eatSound);
 
             // Publish move event with capture information
@@ -1544,7 +1654,7 @@ public class Game {
             // Set piece to rest state after capture (like after regular move)
             movingPiece.getState().setState(State.PieceState.REST);
 
-            System.out.println(String.format("%s captured %s!", logKey, logCaptured));
+            log.debug("{} captured {}!", logKey, logCaptured);
 
             // Check if game ended due to king capture
             checkGameEndConditions();
@@ -1555,35 +1665,14 @@ public class Game {
      * Find piece at specific coordinates
      */
     private Piece findPieceAt(double x, double y) {
-        double tolerance = 0.1; // Small tolerance
-
-        for (Piece piece : pieces.values()) {
-            double distance = Math.sqrt(
-                    Math.pow(piece.getX() - x, 2) +
-                            Math.pow(piece.getY() - y, 2));
-            if (distance <= tolerance) {
-                return piece;
-            }
-        }
-        return null;
+        return pieceIndex.pieceAt(x, y);
     }
 
     /**
      * Find piece ID at specific coordinates
      */
     private String findPieceIdAt(double x, double y) {
-        double tolerance = 0.1; // Small tolerance
-
-        for (Map.Entry<String, Piece> entry : pieces.entrySet()) {
-            Piece piece = entry.getValue();
-            double distance = Math.sqrt(
-                    Math.pow(piece.getX() - x, 2) +
-                            Math.pow(piece.getY() - y, 2));
-            if (distance <= tolerance) {
-                return entry.getKey();
-            }
-        }
-        return null;
+        return pieceIndex.keyAt(x, y);
     }
 
     /**
@@ -1609,11 +1698,11 @@ public class Game {
 
             if (newQueen != null) {
                 // Remove the pawn from pieces map
-                pieces.remove(pawnKey);
+                pieceIndex.remove(pawnKey);
 
                 // Add the new queen with a unique key
                 String newQueenKey = queenId + "_promoted_" + System.currentTimeMillis();
-                pieces.put(newQueenKey, newQueen);
+                pieceIndex.put(newQueenKey, newQueen);
 
                 // Update selected piece if this was the selected pawn
                 if (pawnKey.equals(selectedPieceWhite)) {
@@ -1631,17 +1720,16 @@ public class Game {
                     hoveredPieceBlack = newQueenKey;
                 }
 
-                System.out.println("PAWN PROMOTION: " + pawnKey + " promoted to " + newQueenKey + " at (" + pawn.getX()
-                        + "," + pawn.getY() + ")");
+                log.info("PAWN PROMOTION: {} promoted to {} at ({},{})",
+                        pawnKey, newQueenKey, pawn.getX(), pawn.getY());
 
                 // Force repaint to show the new queen
-                frame.repaint();
+                requestRepaint();
             } else {
-                System.err.println("ERROR: Failed to create queen for promotion of " + pawnKey);
+                log.error("Failed to create queen for promotion of {}", pawnKey);
             }
         } catch (Exception e) {
-            System.err.println("ERROR: Exception during pawn promotion: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Exception during pawn promotion: {}", e.getMessage(), e);
         }
     }
 
@@ -1666,6 +1754,10 @@ public class Game {
      * Select a piece by ID for a specific player
      */
     public void selectPiece(String pieceId, Command.Player player) {
+        runOnGameThread(() -> applySelectPiece(pieceId, player));
+    }
+
+    private void applySelectPiece(String pieceId, Command.Player player) {
         if (pieces.containsKey(pieceId)) {
             Piece piece = pieces.get(pieceId);
 
@@ -1683,9 +1775,9 @@ public class Game {
                 piece.getState().setState(State.PieceState.IDLE);
                 Command selectCommand = Command.createGameControl("SELECT_PIECE:" + pieceId);
                 logger.logCommand(selectCommand);
-                System.out.println(player + " selected piece: " + pieceId);
+                log.debug("{} selected piece: {}", player, pieceId);
             } else {
-                System.out.println(player + " cannot select opponent's piece: " + pieceId);
+                log.debug("{} cannot select opponent's piece: {}", player, pieceId);
             }
         }
     }
@@ -1703,7 +1795,8 @@ public class Game {
     }
 
     public void keyReleased(KeyEvent e) {
-        pressedKeys.remove(e.getKeyCode());
+        int keyCode = e.getKeyCode();
+        runOnGameThread(() -> pressedKeys.remove(keyCode));
         // Don't automatically set pieces to REST - let the player decide when to stop
         // moving
     }
@@ -1732,6 +1825,28 @@ public class Game {
         return new HashMap<>(pieces);
     }
 
+    /**
+     * Change the logic tick rate - takes effect on the next startGame
+     */
+    public void setTickRate(int ticksPerSecond) {
+        this.tickRate = ticksPerSecond;
+    }
+
+    /**
+     * Change the render rate - takes effect on the next startGame
+     */
+    public void setRenderRate(int framesPerSecond) {
+        this.renderRate = framesPerSecond;
+    }
+
+    /**
+     * Frame-time statistics of the running game loop, null before startGame
+     */
+    public FixedTimestepLoop.Stats getGameLoopStats() {
+        FixedTimestepLoop loop = gameLoop;
+        return loop != null ? loop.getStats() : null;
+    }
+
     public boolean isRunning() {
         return running;
     }
@@ -1756,7 +1871,7 @@ public class Game {
     public Game clone() {
         Game cloned = new Game(board.clone(), pieceFactory, graphicsFactory, physicsFactory);
         for (Map.Entry<String, Piece> entry : pieces.entrySet()) {
-            cloned.pieces.put(entry.getKey(), entry.getValue().clone());
+            cloned.pieceIndex.put(entry.getKey(), entry.getValue().clone());
         }
         return cloned;
     }
@@ -1766,14 +1881,15 @@ public class Game {
             try {
                 // Create initial board image
                 Img boardImg = new Img();
-                URL boardPath = Game.class.getClassLoader().getResource("board.png");
-                if (boardPath == null) {
+                AssetManager assets = AssetManager.get();
+                assets.loadAll(AssetManager.consoleProgress());
+                if (!assets.exists("board.png")) {
                     throw new RuntimeException("board.png file not found in resources directory");
                 }
                 try {
-                    boardImg.read(boardPath.getPath(), new Dimension(800, 800), true, null);
+                    boardImg.readAsset(assets, "board.png", new Dimension(800, 800), true);
                 } catch (Exception e) {
-                    System.out.println("Could not load board from project root, creating default board");
+                    log.debug("Could not load board from project root, creating default board");
                     // Create a simple colored board if image loading fails
                     java.awt.image.BufferedImage defaultBoard = new java.awt.image.BufferedImage(800, 800,
                             java.awt.image.BufferedImage.TYPE_INT_RGB);
@@ -1816,7 +1932,7 @@ public class Game {
                 game.startGame();
 
             } catch (Exception e) {
-                e.printStackTrace();
+                log.error("Game error: {}", e.getMessage(), e);
                 JOptionPane.showMessageDialog(null,
                         "Error starting game: " + e.getMessage(),
                         "Error",
@@ -4,11 +4,16 @@ import java.util.*;
 import java.io.*;
 import java.nio.file.*;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 /**
  * Game logger for tracking moves, commands, and scoring
  * Maintains separate logs for each player and calculates scores
  */
 public class GameLogger {
+    private static final Logger log = LoggerFactory.getLogger(GameLogger.class);
+
     private final List<Command> gameLog;
     private final Map<Command.Player, List<Command>> playerLogs;
     private final Map<Command.Player, Integer> playerScores;
@@ -36,7 +41,7 @@ public class GameLogger {
         try {
             Files.createDirectories(Paths.get(logDirectory));
         } catch (Exception e) {
-            System.err.println("Could not create log directory: " + e.getMessage());
+            log.warn("Could not create log directory: {}", e.getMessage());
         }
     }
 
@@ -59,7 +64,7 @@ public class GameLogger {
         gameLog.add(command);
         playerLogs.get(command.getPlayer()).add(command);
 
-        System.out.println("LOGGED: " + command.toString());
+        log.debug("LOGGED: {}", command.toString());
     }
 
     /**
@@ -75,8 +80,8 @@ public class GameLogger {
         // Add points to capturing player
         playerScores.put(capturingPlayer, playerScores.get(capturingPlayer) + points);
 
-        System.out.println(String.format("CAPTURE: %s captured %s (+%d points) - Total: %d",
-                capturingPlayer, capturedPieceId, points, playerScores.get(capturingPlayer)));
+        log.info("CAPTURE: {} captured {} (+{} points) - Total: {}",
+                capturingPlayer, capturedPieceId, points, playerScores.get(capturingPlayer));
     }
 
     /**
@@ -137,10 +142,10 @@ public class GameLogger {
             // Save scores
             saveScoresToFile();
 
-            System.out.println("Logs saved to " + logDirectory);
+            log.info("Logs saved to {}", logDirectory);
 
         } catch (Exception e) {
-            System.err.println("Error saving logs: " + e.getMessage());
+            log.warn("Error saving logs: {}", e.getMessage());
         }
     }
 
@@ -199,26 +204,25 @@ public class GameLogger {
     }
 
     /**
-     * Print current game statistics
+     * Log current game statistics at INFO
      */
     public void printGameStats() {
-        System.out.println("\n=== GAME STATISTICS ===");
-        System.out.println("Total commands: " + gameLog.size());
+        log.info("=== GAME STATISTICS ===");
+        log.info("Total commands: {}", gameLog.size());
 
         for (Command.Player player : Command.Player.values()) {
             if (player != Command.Player.SYSTEM) {
                 int score = playerScores.get(player);
                 int moves = playerLogs.get(player).size();
-                System.out.println(String.format("%s: %d points (%d moves)",
-                        player.name(), score, moves));
+                log.info("{}: {} points ({} moves)", player.name(), score, moves);
             }
         }
 
         Command.Player winner = getWinner();
         if (winner != null) {
-            System.out.println("Current leader: " + winner.name());
+            log.info("Current leader: {}", winner.name());
         }
-        System.out.println("=======================\n");
+        log.info("=======================");
     }
 
     /**
@@ -232,6 +236,6 @@ public class GameLogger {
         for (Command.Player player : playerScores.keySet()) {
             playerScores.put(player, 0);
         }
-        System.out.println("Game logs cleared for new game");
+        log.info("Game logs cleared for new game");
     }
 }
@@ -4,21 +4,18 @@ import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics2D;
+import java.awt.Stroke;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
-import java.net.URL;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-
-import javax.imageio.ImageIO;
 
 import org.kamatech.chess.api.IGraphicsFactory;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 public class GraphicsFactory implements IGraphicsFactory {
+    private static final Logger log = LoggerFactory.getLogger(GraphicsFactory.class);
+
     // Static field to hold current player info for display
     private static String currentPlayerInfo = null;
     
@@ -35,9 +32,57 @@ public class GraphicsFactory implements IGraphicsFactory {
     public static void clearCurrentPlayerInfo() {
         currentPlayerInfo = null;
     }
-    // Sprite cache and timing for animations
-    private static final Map<String, List<BufferedImage>> spriteCache = new HashMap<>();
-    private static final Map<String, Long> stateEnterTime = new HashMap<>();
+    // All sprite frames, decoded and packed once - see preloadSprites()
+    private static volatile SpriteAtlas spriteAtlas;
+    // board.png at the current board size
+    private static volatile ScaledLayer boardLayer;
+    // Room for borders drawn across the edge of a cell
+    static final int CELL_OVERDRAW = 4;
+
+    // Paint resources, shared so drawing a frame allocates nothing
+    private static final Color HOVER_OUTER = new Color(138, 43, 226);         // Blue violet
+    private static final Color HOVER_INNER = new Color(186, 85, 211);         // Medium orchid
+    private static final Color SELECTION_WHITE = new Color(0, 255, 127);      // Bright spring green
+    private static final Color SELECTION_BLACK = new Color(255, 20, 147);     // Deep pink
+    private static final Color CURSOR_WHITE = new Color(0, 191, 255, 255);    // Deep sky blue
+    private static final Color CURSOR_WHITE_CORNER = new Color(224, 255, 255, 255); // Light cyan
+    private static final Color CURSOR_BLACK = new Color(255, 140, 0, 255);    // Dark orange
+    private static final Color CURSOR_BLACK_CORNER = new Color(255, 69, 0, 255); // Red-orange
+    private static final Color REMAINING_TIME = new Color(0, 0, 255, 200);
+    private static final Color INFO_WHITE_BG = new Color(255, 255, 255, 200); // Semi-transparent white
+    private static final Color INFO_BLACK_BG = new Color(100, 100, 100, 200); // Semi-transparent gray
+    private static final Stroke STROKE_1 = new BasicStroke(1.0f);
+    private static final Stroke STROKE_1_5 = new BasicStroke(1.5f);
+    private static final Stroke STROKE_2 = new BasicStroke(2.0f);
+    private static final Stroke STROKE_4 = new BasicStroke(4.0f);
+    private static final Stroke STROKE_6 = new BasicStroke(6);
+    private static final Stroke STROKE_8 = new BasicStroke(8.0f);
+    private static final Font PIECE_ID_FONT = new Font("Arial", Font.BOLD, 12);
+    private static final Font REMAINING_TIME_FONT = new Font("Arial", Font.BOLD, 14);
+    private static final Font INFO_TITLE_FONT = new Font("Arial", Font.BOLD, 18);
+    private static final Font INFO_CONTROLS_FONT = new Font("Arial", Font.PLAIN, 14);
+    // Remaining time labels by tenths of a second, formatted the first time they show
+    private static final String[] REMAINING_TIME_LABELS = new String[1200];
+
+    /**
+     * Decode every piece sprite now instead of on the paint thread the first time it shows
+     */
+    public static SpriteAtlas preloadSprites() {
+        SpriteAtlas atlas = spriteAtlas;
+        if (atlas == null) {
+            synchronized (GraphicsFactory.class) {
+                atlas = spriteAtlas;
+                if (atlas == null) {
+                    long start = System.currentTimeMillis();
+                    atlas = SpriteAtlas.load();
+                    spriteAtlas = atlas;
+                    log.info("Loaded {} sprite frames in {}ms",
+                            atlas.getFrameCount(), System.currentTimeMillis() - start);
+                }
+            }
+        }
+        return atlas;
+    }
 
     /**
      * Create a Graphics handler for a Piece instance.
@@ -60,106 +105,86 @@ public class GraphicsFactory implements IGraphicsFactory {
      * This method was moved from Game.java to separate graphics concerns
      */
     public static BufferedImage getSpriteForPiece(Piece piece) {
-        String pieceId = piece.getId();
-        // Determine folder name based on state
-        State.PieceState ps = piece.getState().getCurrentState();
-        String stateName = mapStateToSpriteName(ps);
-        String cacheKey = pieceId + "_" + stateName;
-
-        List<BufferedImage> frames = spriteCache.get(cacheKey);
-        if (frames == null) {
-            frames = loadSprites(pieceId, stateName);
-            spriteCache.put(cacheKey, frames);
-            stateEnterTime.put(cacheKey, System.currentTimeMillis());
-        }
+        State state = piece.getState();
+        return getSpriteForPiece(piece.getId(), state.getCurrentState(), state.getAnimation().getStateEnterNanos());
+    }
 
+    /**
+     * Sprite frame of a piece id in a state, on the clock of the piece that entered it at stateEnterNanos
+     */
+    public static BufferedImage getSpriteForPiece(String pieceId, State.PieceState ps, long stateEnterNanos) {
+        List<BufferedImage> frames = preloadSprites().getFrames(pieceId, SpriteAtlas.stateFolder(ps));
         if (frames.isEmpty()) {
             return null;
         }
+        return frames.get(Animation.frameIndex(stateEnterNanos, ps, frames.size(), System.nanoTime()));
+    }
 
-        long elapsed = System.currentTimeMillis() - stateEnterTime.get(cacheKey);
-        long stateDuration;
-        if (piece.getState().getCurrentState() == State.PieceState.REST) {
-            stateDuration = 10000; // STANDARD_COOLDOWN_MS
-        } else {
-            stateDuration = 16; // UPDATE_INTERVAL_MS
-        }
-        double frameDuration = (double) stateDuration / frames.size();
-        int index = (int) ((elapsed / frameDuration) % frames.size());
-        return frames.get(index);
+    /**
+     * Draw the current sprite frame of a piece from the pre-scaled atlas, false when it has no sprites
+     */
+    private static boolean drawSprite(Graphics2D g2d, SpriteAtlas atlas, BoardSnapshot.PieceView piece,
+            long nowNanos, int x, int y, int width, int height) {
+        int frame = spriteFrame(piece, nowNanos);
+        return frame >= 0 && atlas.draw(g2d, SpriteAtlas.spriteSet(piece.getId()), piece.getState(),
+                frame, x, y, width, height);
     }
 
     /**
-     * Map piece state to sprite folder name
+     * Sprite frame a piece shows at a time, -1 when it has no sprites in its state
      */
-    private static String mapStateToSpriteName(State.PieceState state) {
-        switch (state) {
-            case REST:
-                return "long_rest";
-            case SHORT_REST:
-                return "short_rest";
-            case EXHAUST:
-                return "exhaust";
-            default:
-                return state.name().toLowerCase();
+    static int spriteFrame(BoardSnapshot.PieceView piece, long nowNanos) {
+        int frameCount = preloadSprites().getFrameCount(SpriteAtlas.spriteSet(piece.getId()), piece.getState());
+        if (frameCount == 0) {
+            return -1;
         }
+        return Animation.frameIndex(piece.getStateEnterNanos(), piece.getState(), frameCount, nowNanos);
     }
 
     /**
-     * Load all sprite frames for a given piece state
-     * This method was moved from Game.java to separate graphics concerns
+     * Whether a piece is drawn with the same pixels in two snapshots - the board around it aside
      */
-    private static List<BufferedImage> loadSprites(String pieceId, String stateFolder) {
-        List<BufferedImage> frames = new ArrayList<>();
-    
-        String folderPath = "pieces/" + pieceId + "/states/" + stateFolder + "/sprites";
-        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-    
-        try {
-            URL dirURL = classLoader.getResource(folderPath);
-            if (dirURL != null && dirURL.getProtocol().equals("file")) {
-                File dir = new File(dirURL.toURI());
-                File[] files = dir.listFiles((d, name) -> name.toLowerCase().endsWith(".png"));
-                if (files != null) {
-                    Arrays.sort(files); // sort by name (e.g. 1.png, 2.png...)
-                    for (File f : files) {
-                        try {
-                            frames.add(ImageIO.read(f));
-                        } catch (IOException e) {
-                            System.err.println("Error reading sprite: " + f.getName());
-                        }
-                    }
-                }
-            } else {
-                System.err.println("Sprites folder not found: " + folderPath);
-            }
-        } catch (Exception e) {
-            System.err.println("Could not load sprites: " + e.getMessage());
-        }
-    
-        return frames;
+    static boolean paintsSame(BoardSnapshot previous, BoardSnapshot.PieceView before,
+            BoardSnapshot next, BoardSnapshot.PieceView after) {
+        return before.getX() == after.getX() && before.getY() == after.getY()
+                && before.getState() == after.getState() && before.isWhite() == after.isWhite()
+                && before.getId().equals(after.getId())
+                && spriteFrame(before, previous.getTakenAtNanos()) == spriteFrame(after, next.getTakenAtNanos())
+                && remainingTimeTenths(previous.remainingStateMs(before, previous.getTakenAtMs()))
+                        == remainingTimeTenths(next.remainingStateMs(after, next.getTakenAtMs()));
+    }
+
+    /**
+     * Side of the square board drawn in a panel - 90% of the smaller dimension, at least 400
+     */
+    public static int boardSize(int panelWidth, int panelHeight) {
+        return Math.max(400, (int) (Math.min(panelWidth, panelHeight) * 0.9));
     }
 
     /**
      * Draw a piece with fallback graphics if sprite loading fails
      */
     public static void drawPieceFallback(Graphics2D g2d, Piece piece, int x, int y, int cellWidth, int cellHeight) {
-        String pieceId = piece.getId();
-        Color pieceColor = piece.isWhite() ? Color.WHITE : Color.BLACK;
+        drawPieceFallback(g2d, piece.getId(), piece.isWhite(), x, y, cellWidth, cellHeight);
+    }
+
+    private static void drawPieceFallback(Graphics2D g2d, String pieceId, boolean isWhite,
+            int x, int y, int cellWidth, int cellHeight) {
+        Color pieceColor = isWhite ? Color.WHITE : Color.BLACK;
 
         // Set piece color based on type
         if (pieceId.startsWith("K"))
-            pieceColor = piece.isWhite() ? Color.YELLOW : Color.ORANGE;
+            pieceColor = isWhite ? Color.YELLOW : Color.ORANGE;
         else if (pieceId.startsWith("Q"))
-            pieceColor = piece.isWhite() ? Color.PINK : Color.MAGENTA;
+            pieceColor = isWhite ? Color.PINK : Color.MAGENTA;
         else if (pieceId.startsWith("R"))
-            pieceColor = piece.isWhite() ? Color.CYAN : Color.BLUE;
+            pieceColor = isWhite ? Color.CYAN : Color.BLUE;
         else if (pieceId.startsWith("B"))
-            pieceColor = piece.isWhite() ? Color.GREEN : Color.DARK_GRAY;
+            pieceColor = isWhite ? Color.GREEN : Color.DARK_GRAY;
         else if (pieceId.startsWith("N"))
-            pieceColor = piece.isWhite() ? Color.LIGHT_GRAY : Color.GRAY;
+            pieceColor = isWhite ? Color.LIGHT_GRAY : Color.GRAY;
         else if (pieceId.startsWith("P"))
-            pieceColor = piece.isWhite() ? Color.WHITE : Color.BLACK;
+            pieceColor = isWhite ? Color.WHITE : Color.BLACK;
 
         g2d.setColor(pieceColor);
         g2d.fillOval(x + 10, y + 10, cellWidth - 20, cellHeight - 20);
@@ -170,7 +195,7 @@ public class GraphicsFactory implements IGraphicsFactory {
 
         // Draw piece ID
         g2d.setColor(Color.RED);
-        g2d.setFont(new Font("Arial", Font.BOLD, 12));
+        g2d.setFont(PIECE_ID_FONT);
         String displayId = pieceId.length() > 2 ? pieceId.substring(0, 2) : pieceId;
         g2d.drawString(displayId, x + cellWidth / 2 - 10, y + cellHeight / 2 + 5);
     }
@@ -181,17 +206,17 @@ public class GraphicsFactory implements IGraphicsFactory {
      */
     public static void drawHoverEffect(Graphics2D g2d, int x, int y, int cellWidth, int cellHeight) {
         // Draw THICK PURPLE BORDER around the piece (over the sprite)
-        g2d.setColor(new Color(138, 43, 226)); // Blue violet color - distinct from selection colors
-        g2d.setStroke(new BasicStroke(8.0f)); // Very thick border
+        g2d.setColor(HOVER_OUTER); // Distinct from selection colors
+        g2d.setStroke(STROKE_8); // Very thick border
         g2d.drawRect(x + 2, y + 2, cellWidth - 4, cellHeight - 4);
 
         // Draw SECOND border for even more visibility
-        g2d.setColor(new Color(186, 85, 211)); // Medium orchid - lighter purple
-        g2d.setStroke(new BasicStroke(4.0f));
+        g2d.setColor(HOVER_INNER); // Lighter purple
+        g2d.setStroke(STROKE_4);
         g2d.drawRect(x + 6, y + 6, cellWidth - 12, cellHeight - 12);
 
         // Reset stroke
-        g2d.setStroke(new BasicStroke(1.0f));
+        g2d.setStroke(STROKE_1);
     }
 
     /**
@@ -201,15 +226,15 @@ public class GraphicsFactory implements IGraphicsFactory {
     public static void drawSelectionBorder(Graphics2D g2d, int x, int y, int cellWidth, int cellHeight,
             boolean isWhite) {
         if (isWhite) {
-            g2d.setColor(new Color(0, 255, 127)); // Bright spring green for white player
-            g2d.setStroke(new BasicStroke(6));
+            g2d.setColor(SELECTION_WHITE);
+            g2d.setStroke(STROKE_6);
             g2d.drawRect(x + 1, y + 1, cellWidth - 2, cellHeight - 2);
         } else {
-            g2d.setColor(new Color(255, 20, 147)); // Deep pink for black player
-            g2d.setStroke(new BasicStroke(6));
+            g2d.setColor(SELECTION_BLACK);
+            g2d.setStroke(STROKE_6);
             g2d.drawRect(x + 3, y + 3, cellWidth - 6, cellHeight - 6);
         }
-        g2d.setStroke(new BasicStroke(1)); // Reset stroke
+        g2d.setStroke(STROKE_1); // Reset stroke
     }
 
     /**
@@ -218,35 +243,39 @@ public class GraphicsFactory implements IGraphicsFactory {
     private static void drawCursorIndicators(Graphics2D g2d, int cellWidth, int cellHeight,
             int whiteCursorX, int whiteCursorY, int blackCursorX, int blackCursorY) {
         
-        // Draw white cursor (bright cyan border - more vibrant)
-        int whiteX = whiteCursorX * cellWidth;
-        int whiteY = whiteCursorY * cellHeight;
-        g2d.setColor(new Color(0, 191, 255, 255)); // Deep sky blue - bright and distinctive
-        g2d.setStroke(new BasicStroke(1.5f)); // Even thinner stroke
-        g2d.drawRect(whiteX + 3, whiteY + 3, cellWidth - 6, cellHeight - 6);
-        
-        // Draw white cursor corner markers - more prominent
-        g2d.setColor(new Color(224, 255, 255, 255)); // Light cyan corners
-        g2d.setStroke(new BasicStroke(2.0f));
+        // Draw white cursor (bright cyan border - more vibrant) - a cursor off the board is hidden
+        boolean whiteShown = whiteCursorX >= 0 && whiteCursorY >= 0;
         int cornerSize = 10;
-        // Top-left corner
-        g2d.drawLine(whiteX + 3, whiteY + 3, whiteX + 3 + cornerSize, whiteY + 3);
-        g2d.drawLine(whiteX + 3, whiteY + 3, whiteX + 3, whiteY + 3 + cornerSize);
-        // Top-right corner
-        g2d.drawLine(whiteX + cellWidth - 3 - cornerSize, whiteY + 3, whiteX + cellWidth - 3, whiteY + 3);
-        g2d.drawLine(whiteX + cellWidth - 3, whiteY + 3, whiteX + cellWidth - 3, whiteY + 3 + cornerSize);
+        if (whiteShown) {
+            int whiteX = whiteCursorX * cellWidth;
+            int whiteY = whiteCursorY * cellHeight;
+            g2d.setColor(CURSOR_WHITE); // Bright and distinctive
+            g2d.setStroke(STROKE_1_5); // Even thinner stroke
+            g2d.drawRect(whiteX + 3, whiteY + 3, cellWidth - 6, cellHeight - 6);
+
+            // Draw white cursor corner markers - more prominent
+            g2d.setColor(CURSOR_WHITE_CORNER);
+            g2d.setStroke(STROKE_2);
+            // Top-left corner
+            g2d.drawLine(whiteX + 3, whiteY + 3, whiteX + 3 + cornerSize, whiteY + 3);
+            g2d.drawLine(whiteX + 3, whiteY + 3, whiteX + 3, whiteY + 3 + cornerSize);
+            // Top-right corner
+            g2d.drawLine(whiteX + cellWidth - 3 - cornerSize, whiteY + 3, whiteX + cellWidth - 3, whiteY + 3);
+            g2d.drawLine(whiteX + cellWidth - 3, whiteY + 3, whiteX + cellWidth - 3, whiteY + 3 + cornerSize);
+        }
 
         // Draw black cursor (bright orange border) - only if different position
-        if (blackCursorX != whiteCursorX || blackCursorY != whiteCursorY) {
+        if (blackCursorX >= 0 && blackCursorY >= 0
+                && (!whiteShown || blackCursorX != whiteCursorX || blackCursorY != whiteCursorY)) {
             int blackX = blackCursorX * cellWidth;
             int blackY = blackCursorY * cellHeight;
-            g2d.setColor(new Color(255, 140, 0, 255)); // Dark orange - very vibrant and different
-            g2d.setStroke(new BasicStroke(1.5f)); // Even thinner stroke
+            g2d.setColor(CURSOR_BLACK); // Very vibrant and different
+            g2d.setStroke(STROKE_1_5); // Even thinner stroke
             g2d.drawRect(blackX + 3, blackY + 3, cellWidth - 6, cellHeight - 6);
             
             // Draw black cursor corner markers - more prominent
-            g2d.setColor(new Color(255, 69, 0, 255)); // Red-orange corners
-            g2d.setStroke(new BasicStroke(2.0f));
+            g2d.setColor(CURSOR_BLACK_CORNER);
+            g2d.setStroke(STROKE_2);
             // Bottom-left corner
             g2d.drawLine(blackX + 3, blackY + cellHeight - 3 - cornerSize, blackX + 3, blackY + cellHeight - 3);
             g2d.drawLine(blackX + 3, blackY + cellHeight - 3, blackX + 3 + cornerSize, blackY + cellHeight - 3);
@@ -256,52 +285,28 @@ public class GraphicsFactory implements IGraphicsFactory {
         }
         
         // Reset stroke
-        g2d.setStroke(new BasicStroke(1.0f));
+        g2d.setStroke(STROKE_1);
     }
 
     /**
      * Draw the complete board with all pieces
      * This method was moved from Game.java to separate graphics concerns
      */
-    public static void drawGameBoard(Graphics2D g2d, Board board, Map<String, Piece> pieces,
-            String hoveredPieceWhite, String hoveredPieceBlack,
-            String selectedPieceWhite, String selectedPieceBlack,
-            boolean whiteInMovementMode, boolean blackInMovementMode,
-            double whiteVisualX, double whiteVisualY, double blackVisualX, double blackVisualY,
-            int whiteCursorX, int whiteCursorY, int blackCursorX, int blackCursorY,
+    public static void drawGameBoard(Graphics2D g2d, Board board, BoardSnapshot snapshot,
             int panelWidth, int panelHeight) {
-        drawGameBoard(g2d, board, pieces, hoveredPieceWhite, hoveredPieceBlack,
-                     selectedPieceWhite, selectedPieceBlack, whiteInMovementMode, blackInMovementMode,
-                     whiteVisualX, whiteVisualY, blackVisualX, blackVisualY,
-                     whiteCursorX, whiteCursorY, blackCursorX, blackCursorY,
-                     panelWidth, panelHeight, null);
+        drawGameBoard(g2d, board, snapshot, panelWidth, panelHeight, null);
     }
     
-    public static void drawGameBoard(Graphics2D g2d, Board board, Map<String, Piece> pieces,
-            String hoveredPieceWhite, String hoveredPieceBlack,
-            String selectedPieceWhite, String selectedPieceBlack,
-            boolean whiteInMovementMode, boolean blackInMovementMode,
-            double whiteVisualX, double whiteVisualY, double blackVisualX, double blackVisualY,
-            int whiteCursorX, int whiteCursorY, int blackCursorX, int blackCursorY,
+    public static void drawGameBoard(Graphics2D g2d, Board board, BoardSnapshot snapshot,
             int panelWidth, int panelHeight, String currentPlayerColor) {
-        // Draw board background
-        g2d.drawImage(board.getImage().getImage(), 0, 0, panelWidth, panelHeight, null);
-
-        // Calculate cell dimensions
-        int cellWidth = panelWidth / board.getWidthCells();
-        int cellHeight = panelHeight / board.getHeightCells();
-
-        // Draw cursor indicators
-        drawCursorIndicators(g2d, cellWidth, cellHeight, 
-                           whiteCursorX, whiteCursorY, blackCursorX, blackCursorY);
+        ScaledLayer layer = boardLayer;
+        if (layer == null || layer.getSource() != board.getImage().getImage()) {
+            layer = new ScaledLayer(board.getImage().getImage());
+            boardLayer = layer;
+        }
+        drawBoard(g2d, layer, preloadSprites(), board.getWidthCells(), board.getHeightCells(), snapshot,
+                panelWidth, panelHeight);
 
-        // Draw all pieces
-        drawAllPieces(g2d, pieces, cellWidth, cellHeight,
-                hoveredPieceWhite, hoveredPieceBlack,
-                selectedPieceWhite, selectedPieceBlack,
-                whiteInMovementMode, blackInMovementMode,
-                whiteVisualX, whiteVisualY, blackVisualX, blackVisualY);
-        
         // Draw player info if available
         if (currentPlayerInfo != null) {
             drawPlayerInfo(g2d, currentPlayerInfo, "", panelWidth, panelHeight);
@@ -310,103 +315,144 @@ public class GraphicsFactory implements IGraphicsFactory {
         }
     }
 
+    /**
+     * Draw the board, cursors and pieces with a given board layer and sprite atlas
+     * Each of them is kept at one size, so a renderer drawing at another size brings its own.
+     */
+    static void drawBoard(Graphics2D g2d, ScaledLayer layer, SpriteAtlas atlas, int widthCells, int heightCells,
+            BoardSnapshot snapshot, int panelWidth, int panelHeight) {
+        // Draw board background - pre-scaled, so a partial repaint is a clipped copy
+        layer.draw(g2d, 0, 0, panelWidth, panelHeight);
+
+        // Calculate cell dimensions
+        int cellWidth = panelWidth / widthCells;
+        int cellHeight = panelHeight / heightCells;
+
+        BoardSnapshot.PlayerView white = snapshot.getWhite();
+        BoardSnapshot.PlayerView black = snapshot.getBlack();
+
+        // Draw cursor indicators
+        drawCursorIndicators(g2d, cellWidth, cellHeight, 
+                           white.getCursorX(), white.getCursorY(), black.getCursorX(), black.getCursorY());
+
+        // Draw all pieces
+        drawAllPieces(g2d, atlas, snapshot, cellWidth, cellHeight);
+    }
+
     /**
      * Draw all pieces with their sprites, hover effects, and selection borders
+     * Animation frames and cooldowns are shown as of when the snapshot was taken, so a snapshot is
+     * always painted the same way; pieces outside the clip are skipped.
      */
-    private static void drawAllPieces(Graphics2D g2d, Map<String, Piece> pieces, int cellWidth, int cellHeight,
-            String hoveredPieceWhite, String hoveredPieceBlack,
-            String selectedPieceWhite, String selectedPieceBlack,
-            boolean whiteInMovementMode, boolean blackInMovementMode,
-            double whiteVisualX, double whiteVisualY, double blackVisualX, double blackVisualY) {
+    static void drawAllPieces(Graphics2D g2d, BoardSnapshot snapshot, int cellWidth, int cellHeight) {
+        drawAllPieces(g2d, preloadSprites(), snapshot, cellWidth, cellHeight);
+    }
+
+    private static void drawAllPieces(Graphics2D g2d, SpriteAtlas atlas, BoardSnapshot snapshot,
+            int cellWidth, int cellHeight) {
+        String hoveredPieceWhite = snapshot.getWhite().getHoveredPiece();
+        String hoveredPieceBlack = snapshot.getBlack().getHoveredPiece();
+        String selectedPieceWhite = snapshot.getWhite().getSelectedPiece();
+        String selectedPieceBlack = snapshot.getBlack().getSelectedPiece();
+        long now = snapshot.getTakenAtMs();
+        long nowNanos = snapshot.getTakenAtNanos();
+
         // FIRST: Draw all pieces with sprites and hover effects
-        for (Map.Entry<String, Piece> entry : pieces.entrySet()) {
-            String key = entry.getKey();
-            Piece piece = entry.getValue();
+        for (int i = 0; i < snapshot.size(); i++) {
+            BoardSnapshot.PieceView piece = snapshot.get(i);
+            String key = piece.getKey();
 
             // Calculate piece position in pixels
             int x = (int) (piece.getX() * cellWidth);
             int y = (int) (piece.getY() * cellHeight);
+            if (!g2d.hitClip(x - CELL_OVERDRAW, y - CELL_OVERDRAW, cellWidth + 2 * CELL_OVERDRAW,
+                    cellHeight + 2 * CELL_OVERDRAW)) {
+                continue;
+            }
 
             // Check if this piece is hovered (but not if it's already selected)
             boolean isHovered = (key.equals(hoveredPieceWhite) && !key.equals(selectedPieceWhite))
                     || (key.equals(hoveredPieceBlack) && !key.equals(selectedPieceBlack));
 
-            // Draw sprite
-            BufferedImage spriteImage = getSpriteForPiece(piece);
-            if (spriteImage != null) {
-                // Draw real sprite image first
-                g2d.drawImage(spriteImage, x + 5, y + 5, cellWidth - 10, cellHeight - 10, null);
-
+            // Draw sprite - already scaled to the cell in the atlas
+            if (drawSprite(g2d, atlas, piece, nowNanos, x + 5, y + 5, cellWidth - 10, cellHeight - 10)) {
                 // THEN draw hover border OVER the sprite for maximum visibility
                 if (isHovered) {
                     drawHoverEffect(g2d, x, y, cellWidth, cellHeight);
                 }
             } else {
                 // Fallback to colored circles if sprite loading fails
-                drawPieceFallback(g2d, piece, x, y, cellWidth, cellHeight);
+                drawPieceFallback(g2d, piece.getId(), piece.isWhite(), x, y, cellWidth, cellHeight);
             }
 
             // Draw remaining rest time for any state with non-zero cooldown
-            drawRemainingTime(g2d, piece, x, y, cellWidth, cellHeight);
+            drawRemainingTime(g2d, snapshot.remainingStateMs(piece, now), x, y, cellWidth, cellHeight);
         }
 
         // SECOND: Draw selection borders
-        drawSelectionBorders(g2d, pieces, cellWidth, cellHeight, selectedPieceWhite, selectedPieceBlack,
-                whiteInMovementMode, blackInMovementMode,
-                whiteVisualX, whiteVisualY, blackVisualX, blackVisualY);
+        drawSelectionBorder(g2d, snapshot, snapshot.getWhite(), true, cellWidth, cellHeight);
+        drawSelectionBorder(g2d, snapshot, snapshot.getBlack(), false, cellWidth, cellHeight);
     }
 
     /**
      * Draw remaining time for pieces in cooldown states
      */
-    private static void drawRemainingTime(Graphics2D g2d, Piece piece, int x, int y, int cellWidth, int cellHeight) {
-        long remMs = piece.getState().getRemainingStateTime();
+    private static void drawRemainingTime(Graphics2D g2d, long remMs, int x, int y, int cellWidth, int cellHeight) {
         if (remMs > 0) {
-            String remText = String.format("%.1f", remMs / 1000.0);
-            g2d.setColor(new Color(0, 0, 255, 200));
-            g2d.setFont(new Font("Arial", Font.BOLD, 14));
-            g2d.drawString(remText, x + cellWidth / 2 - 10, y + cellHeight / 2 + 5);
+            g2d.setColor(REMAINING_TIME);
+            g2d.setFont(REMAINING_TIME_FONT);
+            g2d.drawString(remainingTimeLabel(remMs), x + cellWidth / 2 - 10, y + cellHeight / 2 + 5);
         }
     }
 
     /**
-     * Draw selection borders for selected pieces
+     * Remaining time in seconds with one decimal, as String.format("%.1f") prints it
      */
-    private static void drawSelectionBorders(Graphics2D g2d, Map<String, Piece> pieces, int cellWidth, int cellHeight,
-            String selectedPieceWhite, String selectedPieceBlack,
-            boolean whiteInMovementMode, boolean blackInMovementMode,
-            double whiteVisualX, double whiteVisualY, double blackVisualX, double blackVisualY) {
-        for (Map.Entry<String, Piece> entry : pieces.entrySet()) {
-            String key = entry.getKey();
-            Piece piece = entry.getValue();
-
-            // Calculate piece position - ALWAYS use visual position if available for selected pieces
-            int x, y;
-            if (key.equals(selectedPieceWhite) && whiteVisualX >= 0 && whiteVisualY >= 0) {
-                // White piece - use visual position (whether in movement mode or not)
-                x = (int) (whiteVisualX * cellWidth);
-                y = (int) (whiteVisualY * cellHeight);
-            } else if (key.equals(selectedPieceBlack) && blackVisualX >= 0 && blackVisualY >= 0) {
-                // Black piece - use visual position (whether in movement mode or not)
-                x = (int) (blackVisualX * cellWidth);
-                y = (int) (blackVisualY * cellHeight);
-            } else {
-                // Not selected or no visual position - use real position
-                x = (int) (piece.getX() * cellWidth);
-                y = (int) (piece.getY() * cellHeight);
-            }
+    static String remainingTimeLabel(long remMs) {
+        long tenths = remainingTimeTenths(remMs);
+        if (tenths >= REMAINING_TIME_LABELS.length) {
+            return String.format("%.1f", remMs / 1000.0);
+        }
+        String label = REMAINING_TIME_LABELS[(int) tenths];
+        if (label == null) {
+            label = String.format("%.1f", tenths / 10.0);
+            REMAINING_TIME_LABELS[(int) tenths] = label;
+        }
+        return label;
+    }
 
-            // Draw selection borders based on the actual piece color property, not its ID
-            // White player can only highlight white pieces
-            if (key.equals(selectedPieceWhite) && piece.isWhite()) {
-                drawSelectionBorder(g2d, x, y, cellWidth, cellHeight, true);
-            }
+    /**
+     * Remaining time as drawn, in tenths of a second - -1 when no time is drawn
+     */
+    static long remainingTimeTenths(long remMs) {
+        return remMs > 0 ? (remMs + 50) / 100 : -1;
+    }
 
-            // Black player can only highlight black pieces
-            if (key.equals(selectedPieceBlack) && !piece.isWhite()) {
-                drawSelectionBorder(g2d, x, y, cellWidth, cellHeight, false);
-            }
+    /**
+     * Draw the selection border of one player's selected piece
+     */
+    private static void drawSelectionBorder(Graphics2D g2d, BoardSnapshot snapshot, BoardSnapshot.PlayerView player,
+            boolean isWhite, int cellWidth, int cellHeight) {
+        if (player.getSelectedPiece() == null) {
+            return;
+        }
+        BoardSnapshot.PieceView piece = snapshot.find(player.getSelectedPiece());
+
+        // A player can only highlight pieces of their own color, by the piece property, not its ID
+        if (piece == null || piece.isWhite() != isWhite) {
+            return;
+        }
+
+        // Calculate piece position - ALWAYS use visual position if available for selected pieces
+        int x, y;
+        if (player.getVisualX() >= 0 && player.getVisualY() >= 0) {
+            x = (int) (player.getVisualX() * cellWidth);
+            y = (int) (player.getVisualY() * cellHeight);
+        } else {
+            x = (int) (piece.getX() * cellWidth);
+            y = (int) (piece.getY() * cellHeight);
         }
+        drawSelectionBorder(g2d, x, y, cellWidth, cellHeight, isWhite);
     }
     
     /**
@@ -419,7 +465,7 @@ public class GraphicsFactory implements IGraphicsFactory {
         java.awt.Font originalFont = g2d.getFont();
         
         // Set font for player info
-        g2d.setFont(new java.awt.Font("Arial", java.awt.Font.BOLD, 18));
+        g2d.setFont(INFO_TITLE_FONT);
         java.awt.FontMetrics fm = g2d.getFontMetrics();
         
         // Determine colors and text based on player
@@ -431,11 +477,11 @@ public class GraphicsFactory implements IGraphicsFactory {
         if ("WHITE".equals(playerColor)) {
             playerText = "White Player";
             controlsText = "WASD + C + Space";
-            playerBgColor = new java.awt.Color(255, 255, 255, 200); // Semi-transparent white
+            playerBgColor = INFO_WHITE_BG;
         } else {
             playerText = "Black Player";
             controlsText = "Arrows + V + Enter";
-            playerBgColor = new java.awt.Color(100, 100, 100, 200); // Semi-transparent gray
+            playerBgColor = INFO_BLACK_BG;
             textColor = java.awt.Color.WHITE;
         }
         
@@ -466,7 +512,7 @@ public class GraphicsFactory implements IGraphicsFactory {
         g2d.drawString(playerText, textX, textY);
         
         // Draw controls text
-        g2d.setFont(new java.awt.Font("Arial", java.awt.Font.PLAIN, 14));
+        g2d.setFont(INFO_CONTROLS_FONT);
         fm = g2d.getFontMetrics();
         controlsTextWidth = fm.stringWidth(controlsText);
         textX = boxX + (boxWidth - controlsTextWidth) / 2;
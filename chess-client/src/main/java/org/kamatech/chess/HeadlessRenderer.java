@@ -0,0 +1,85 @@
+package org.kamatech.chess;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Draws board positions off screen, without a window - for spectator thumbnails and tests
+ * Renders what GraphicsFactory.drawGameBoard draws into an image of a fixed size, with a board
+ * layer and sprite atlas of its own scaled to that size, and encodes it as PNG, recompressing only
+ * the board rows that changed since earlier snapshots. Needs no display,
+ * so it runs with -Djava.awt.headless=true. An instance reuses one image, so use one per thread.
+ */
+public class HeadlessRenderer {
+    public static final int BOARD_CELLS = 8;
+
+    private final int size;
+    private final ScaledLayer boardLayer;
+    private final SpriteAtlas atlas;
+    private final BufferedImage image;
+    private final PngEncoder png;
+
+    /**
+     * Renderer of size x size pixel images, using the game's board.png and piece sprites
+     */
+    public HeadlessRenderer(int size) throws IOException {
+        this.size = size;
+        this.boardLayer = new ScaledLayer(AssetManager.get().image("board.png"));
+        this.atlas = GraphicsFactory.preloadSprites().copy();
+        // The board is opaque - no alpha channel to draw or encode
+        this.image = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        // One board row per band - a move only changes the bands of the rows it touches
+        this.png = new PngEncoder(size / BOARD_CELLS);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Draw a snapshot - the returned image is reused by the next call
+     */
+    public BufferedImage render(BoardSnapshot snapshot) {
+        Graphics2D g = image.createGraphics();
+        try {
+            GraphicsFactory.drawBoard(g, boardLayer, atlas, BOARD_CELLS, BOARD_CELLS, snapshot, size, size);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * Draw a snapshot and encode it as a PNG file
+     */
+    public byte[] renderPng(BoardSnapshot snapshot) {
+        return png.encode(render(snapshot));
+    }
+
+    public PngEncoder getEncoder() {
+        return png;
+    }
+
+    /**
+     * A position in board.csv format - one row per line, piece ids such as "PW" or "KB" separated
+     * by commas, empty for an empty cell. Pieces are idle and no cursors are shown.
+     */
+    public static BoardSnapshot position(List<String> rows) {
+        Map<String, Piece> pieces = new LinkedHashMap<>();
+        for (int row = 0; row < Math.min(rows.size(), BOARD_CELLS); row++) {
+            String[] cols = rows.get(row).split(",", -1);
+            for (int col = 0; col < Math.min(cols.length, BOARD_CELLS); col++) {
+                String pieceId = cols[col].trim();
+                if (pieceId.length() >= 2) {
+                    // Same keys as PieceFactory gives the pieces of board.csv
+                    pieces.put(pieceId + row + col, new Piece(pieceId, null, col, row, pieceId.charAt(1) == 'W'));
+                }
+            }
+        }
+        return BoardSnapshot.capture(pieces, BoardSnapshot.PlayerView.NONE, BoardSnapshot.PlayerView.NONE);
+    }
+}
@@ -128,7 +128,33 @@ public class Img implements Cloneable {
             throw new IllegalArgumentException("Unsupported image: " + path);
 
         lastLoadedPath = path;
+        resize(targetSize, keepAspect);
+        return this;
+    }
+
+    /**
+     * Load an image asset by classpath path - works from an exploded folder and from a jar
+     */
+    public Img readAsset(AssetManager assets, String path, Dimension targetSize, boolean keepAspect) {
+        if (mockMode) {
+            operations.add("readAsset:" + path + " target:" + targetSize + " keepAspect:" + keepAspect);
+            lastLoadedPath = path;
+            img = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
+            return this;
+        }
 
+        try {
+            img = assets.image(path);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot load image: " + path);
+        }
+
+        lastLoadedPath = path;
+        resize(targetSize, keepAspect);
+        return this;
+    }
+
+    private void resize(Dimension targetSize, boolean keepAspect) {
         if (targetSize != null) {
             int tw = targetSize.width, th = targetSize.height;
             int w = img.getWidth(), h = img.getHeight();
@@ -156,7 +182,6 @@ public class Img implements Cloneable {
             g.dispose();
             img = dst;
         }
-        return this;
     }
 
     public Img read(String path) {
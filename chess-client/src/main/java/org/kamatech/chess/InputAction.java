@@ -0,0 +1,121 @@
+package org.kamatech.chess;
+
+/**
+ * What a player's key command does to the game - the typed form of a KEY_INPUT command's key input
+ * Commands from the server are dispatched straight to the game's action methods through
+ * {@link #dispatch}; the keyboard triggers the same methods from its key codes.
+ */
+public enum InputAction {
+    MOVEMENT_UP(0, -1),
+    MOVEMENT_DOWN(0, 1),
+    MOVEMENT_LEFT(-1, 0),
+    MOVEMENT_RIGHT(1, 0),
+    SELECT_OR_MOVE(0, 0),
+    HOVER_TO_SELECT(0, 0),
+    JUMP(0, 0),
+    // HOVER_*, SELECT_PIECE_* and unknown input - accepted by the server, no change to the client's game
+    NONE(0, 0);
+
+    /**
+     * The game's action methods, one per input action
+     */
+    public interface Target {
+        /**
+         * Move the cursor by one cell, or grow the pending move while in movement mode
+         */
+        void moveCursorOrPending(Command.Player player, int dx, int dy);
+
+        /**
+         * Select the own piece under the cursor, or execute the pending move and leave movement mode
+         */
+        void selectOrMove(Command.Player player);
+
+        void selectFromHover(Command.Player player);
+
+        void jump(Command.Player player);
+    }
+
+    private final int dx;
+    private final int dy;
+
+    InputAction(int dx, int dy) {
+        this.dx = dx;
+        this.dy = dy;
+    }
+
+    public int getDx() {
+        return dx;
+    }
+
+    public int getDy() {
+        return dy;
+    }
+
+    public boolean isMovement() {
+        return dx != 0 || dy != 0;
+    }
+
+    /**
+     * Action of a command's key input, NONE for anything without one
+     */
+    public static InputAction of(String keyInput) {
+        if (keyInput == null) {
+            return NONE;
+        }
+        switch (keyInput) {
+            case "MOVEMENT_UP":
+                return MOVEMENT_UP;
+            case "MOVEMENT_DOWN":
+                return MOVEMENT_DOWN;
+            case "MOVEMENT_LEFT":
+                return MOVEMENT_LEFT;
+            case "MOVEMENT_RIGHT":
+                return MOVEMENT_RIGHT;
+            case "SELECT_OR_MOVE":
+                return SELECT_OR_MOVE;
+            case "HOVER_TO_SELECT":
+                return HOVER_TO_SELECT;
+            case "JUMP":
+                return JUMP;
+            default:
+                return NONE;
+        }
+    }
+
+    /**
+     * Action of a command, NONE unless it is a KEY_INPUT command with one
+     */
+    public static InputAction of(Command command) {
+        if (command.getCommandType() != Command.CommandType.KEY_INPUT) {
+            return NONE;
+        }
+        return of(command.getKeyInput());
+    }
+
+    /**
+     * Call the target's action for a command - returns false when the command has none
+     */
+    public static boolean dispatch(Command command, Target target) {
+        InputAction action = of(command);
+        Command.Player player = command.getPlayer();
+        switch (action) {
+            case MOVEMENT_UP:
+            case MOVEMENT_DOWN:
+            case MOVEMENT_LEFT:
+            case MOVEMENT_RIGHT:
+                target.moveCursorOrPending(player, action.dx, action.dy);
+                return true;
+            case SELECT_OR_MOVE:
+                target.selectOrMove(player);
+                return true;
+            case HOVER_TO_SELECT:
+                target.selectFromHover(player);
+                return true;
+            case JUMP:
+                target.jump(player);
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package org.kamatech.chess;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * In-flight piece movements as data, advanced by the game loop
+ * Replaces one animation thread per move: a movement is a start cell, a target cell,
+ * a start time and a duration, and every tick moves the piece along the line between them.
+ */
+public class MovementEngine implements BoardSnapshot.DrawPositions {
+
+    /**
+     * Called on the game loop thread when a piece reached its target cell
+     */
+    public interface ArrivalListener {
+        void onArrived(Piece piece, double x, double y);
+    }
+
+    /**
+     * One piece travelling between two cells
+     */
+    public static final class Movement {
+        private final Piece piece;
+        private final double fromX;
+        private final double fromY;
+        private final double toX;
+        private final double toY;
+        private final long startTimeMs;
+        private final long durationMs;
+        private boolean drawn;  // interpolated at the last render, guarded by the engine
+        private double drawnX;
+        private double drawnY;
+
+        Movement(Piece piece, double fromX, double fromY, double toX, double toY, long startTimeMs, long durationMs) {
+            this.piece = piece;
+            this.fromX = fromX;
+            this.fromY = fromY;
+            this.toX = toX;
+            this.toY = toY;
+            this.startTimeMs = startTimeMs;
+            this.durationMs = durationMs;
+        }
+
+        public Piece getPiece() {
+            return piece;
+        }
+
+        public double getToX() {
+            return toX;
+        }
+
+        public double getToY() {
+            return toY;
+        }
+
+        public long getArrivalTimeMs() {
+            return startTimeMs + durationMs;
+        }
+    }
+
+    private final ArrivalListener arrivalListener;
+    private final List<Movement> movements = new ArrayList<>(); // guarded by this
+    private final List<Movement> arrived = new ArrayList<>();   // only touched by update()
+    private long lastUpdateMs;                                  // guarded by this
+
+    public MovementEngine(ArrivalListener arrivalListener) {
+        this.arrivalListener = arrivalListener;
+    }
+
+    /**
+     * Start moving a piece from its current position to a target cell
+     * A piece that is already moving is re-targeted from where it is now
+     */
+    public synchronized void start(Piece piece, double toX, double toY, long nowMs, long durationMs) {
+        cancel(piece);
+        movements.add(new Movement(piece, piece.getX(), piece.getY(), toX, toY, nowMs, durationMs));
+    }
+
+    /**
+     * Forget a piece's movement - for a piece that got captured or replaced on the way
+     */
+    public synchronized boolean cancel(Piece piece) {
+        Iterator<Movement> iterator = movements.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().piece == piece) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Advance every movement to the given time and deliver arrivals
+     * Arrival listeners run outside the engine lock, so they may start new movements
+     */
+    public void update(long nowMs) {
+        synchronized (this) {
+            lastUpdateMs = nowMs;
+            Iterator<Movement> iterator = movements.iterator();
+            while (iterator.hasNext()) {
+                Movement movement = iterator.next();
+                movement.drawn = false; // drawn at the tick position until the next interpolate()
+                long elapsed = nowMs - movement.startTimeMs;
+                if (elapsed >= movement.durationMs) {
+                    iterator.remove();
+                    arrived.add(movement);
+                } else if (elapsed > 0) {
+                    double progress = (double) elapsed / movement.durationMs;
+                    movement.piece.setPosition(
+                            movement.fromX + (movement.toX - movement.fromX) * progress,
+                            movement.fromY + (movement.toY - movement.fromY) * progress);
+                }
+            }
+        }
+
+        for (int i = 0; i < arrived.size(); i++) {
+            Movement movement = arrived.get(i);
+            // Ensure final position is exact
+            movement.piece.setPosition(movement.toX, movement.toY);
+            if (arrivalListener != null) {
+                arrivalListener.onArrived(movement.piece, movement.toX, movement.toY);
+            }
+        }
+        arrived.clear();
+    }
+
+    /**
+     * Work out where moving pieces are a fraction of a tick after the last update
+     * For rendering between logic ticks - pieces keep their tick positions, so lookups by cell never
+     * depend on the frame rate, and arrivals are still only delivered by update().
+     */
+    public synchronized void interpolate(double alpha, long tickMs) {
+        long renderTimeMs = lastUpdateMs + (long) (alpha * tickMs);
+        for (Movement movement : movements) {
+            long elapsed = renderTimeMs - movement.startTimeMs;
+            movement.drawn = elapsed > 0 && elapsed < movement.durationMs;
+            if (movement.drawn) {
+                double progress = (double) elapsed / movement.durationMs;
+                movement.drawnX = movement.fromX + (movement.toX - movement.fromX) * progress;
+                movement.drawnY = movement.fromY + (movement.toY - movement.fromY) * progress;
+            }
+        }
+    }
+
+    /**
+     * Where the last interpolate() placed a moving piece
+     */
+    @Override
+    public synchronized boolean find(Piece piece, double[] xy) {
+        for (Movement movement : movements) {
+            if (movement.piece == piece) {
+                if (!movement.drawn) {
+                    return false;
+                }
+                xy[0] = movement.drawnX;
+                xy[1] = movement.drawnY;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public synchronized boolean isMoving(Piece piece) {
+        for (Movement movement : movements) {
+            if (movement.piece == piece) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public synchronized int getActiveCount() {
+        return movements.size();
+    }
+}
@@ -1,14 +1,150 @@
 package org.kamatech.chess;
 
+import java.util.Arrays;
 import java.util.List;
 
 public class Moves implements Cloneable {
+    // Verdicts of classify()
+    public static final int DENIED = 0;
+    public static final int ALLOWED = 1;
+    public static final int CAPTURE_ONLY = 2;    // only onto an enemy piece
+    public static final int FIRST_MOVE_ONLY = 3; // only from the pawn start row
+
+    // Offsets -7..7 in both directions, one cell per (dx, dy)
+    private static final int RANGE = 7;
+    private static final int SPAN = 2 * RANGE + 1;
+
+    // Built-in rules per piece type, used when moves.txt does not allow a move
+    private static final byte[] NO_FALLBACK = new byte[SPAN * SPAN];
+    private static final byte[] WHITE_PAWN = pawnRules(-1);
+    private static final byte[] BLACK_PAWN = pawnRules(1);
+    private static final byte[] ROOK_STEP = stepRules(true, false);
+    private static final byte[] BISHOP_STEP = stepRules(false, true);
+    private static final byte[] KING_STEP = stepRules(true, true);
+    private static final byte[] KNIGHT_JUMP = knightRules();
+
     private final List<String> allowedMoves;
     private final long cooldown;
+    // moves.txt compiled once: "dx,dy" entries and their reverse, tagged entries do not parse as offsets
+    private final boolean allowsAll;
+    private final boolean[] patterns = new boolean[SPAN * SPAN];
+    private final int[] farPatterns; // dx, dy pairs beyond RANGE
 
     public Moves(List<String> allowedMoves, long cooldown) {
         this.allowedMoves = allowedMoves;
         this.cooldown = cooldown;
+        this.allowsAll = allowedMoves == null || allowedMoves.isEmpty();
+        this.farPatterns = allowsAll ? new int[0] : compile(allowedMoves, patterns);
+    }
+
+    /**
+     * Parse "dx,dy" entries into the pattern table, returns the ones that do not fit in it
+     */
+    private static int[] compile(List<String> allowedMoves, boolean[] patterns) {
+        int[] far = new int[0];
+        for (String moveStr : allowedMoves) {
+            if (moveStr.trim().isEmpty()) {
+                continue;
+            }
+            int dx;
+            int dy;
+            try {
+                String[] parts = moveStr.split(",");
+                if (parts.length < 2) {
+                    continue;
+                }
+                dx = Integer.parseInt(parts[0].trim());
+                dy = Integer.parseInt(parts[1].trim());
+            } catch (NumberFormatException e) {
+                continue; // e.g. the pawns' "1,0:non_capture" - pawns use the built-in rules
+            }
+            if (Math.abs(dx) <= RANGE && Math.abs(dy) <= RANGE) {
+                patterns[index(dx, dy)] = true;
+                patterns[index(-dx, -dy)] = true; // bidirectional
+            } else {
+                far = Arrays.copyOf(far, far.length + 2);
+                far[far.length - 2] = dx;
+                far[far.length - 1] = dy;
+            }
+        }
+        return far;
+    }
+
+    /**
+     * Verdict for moving a piece by (dx, dy): moves.txt first, then the piece type's built-in rules
+     * Allocation free - callers resolve CAPTURE_ONLY and FIRST_MOVE_ONLY against the board
+     */
+    public int classify(String pieceId, int dx, int dy) {
+        if (allowsAll) {
+            return ALLOWED;
+        }
+        boolean inRange = Math.abs(dx) <= RANGE && Math.abs(dy) <= RANGE;
+        if (inRange && patterns[index(dx, dy)]) {
+            return ALLOWED;
+        }
+        for (int i = 0; i < farPatterns.length; i += 2) {
+            if ((farPatterns[i] == dx && farPatterns[i + 1] == dy) || (farPatterns[i] == -dx && farPatterns[i + 1] == -dy)) {
+                return ALLOWED;
+            }
+        }
+        return inRange ? fallbackFor(pieceId)[index(dx, dy)] : DENIED;
+    }
+
+    public boolean allowsAllMoves() {
+        return allowsAll;
+    }
+
+    private static byte[] fallbackFor(String pieceId) {
+        switch (pieceId.charAt(0)) {
+            case 'P':
+                return pieceId.contains("W") ? WHITE_PAWN : BLACK_PAWN;
+            case 'R':
+                return ROOK_STEP;
+            case 'N':
+                return KNIGHT_JUMP;
+            case 'B':
+                return BISHOP_STEP;
+            case 'Q':
+            case 'K':
+                return KING_STEP;
+            default:
+                return NO_FALLBACK;
+        }
+    }
+
+    private static int index(int dx, int dy) {
+        return (dx + RANGE) * SPAN + (dy + RANGE);
+    }
+
+    private static byte[] pawnRules(int forward) {
+        byte[] rules = new byte[SPAN * SPAN];
+        rules[index(0, forward)] = ALLOWED;
+        rules[index(0, 2 * forward)] = FIRST_MOVE_ONLY;
+        rules[index(-1, forward)] = CAPTURE_ONLY;
+        rules[index(1, forward)] = CAPTURE_ONLY;
+        return rules;
+    }
+
+    private static byte[] stepRules(boolean straight, boolean diagonal) {
+        byte[] rules = new byte[SPAN * SPAN];
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                boolean isDiagonal = dx != 0 && dy != 0;
+                if ((dx != 0 || dy != 0) && (isDiagonal ? diagonal : straight)) {
+                    rules[index(dx, dy)] = ALLOWED;
+                }
+            }
+        }
+        return rules;
+    }
+
+    private static byte[] knightRules() {
+        byte[] rules = new byte[SPAN * SPAN];
+        int[][] jumps = {{2, 1}, {2, -1}, {-2, 1}, {-2, -1}, {1, 2}, {1, -2}, {-1, 2}, {-1, -2}};
+        for (int[] jump : jumps) {
+            rules[index(jump[0], jump[1])] = ALLOWED;
+        }
+        return rules;
     }
 
     public List<String> getAllowedMoves() {
@@ -10,6 +10,14 @@ public class Piece implements Cloneable {
     private double positionY; // Position in meters
     private long lastMoveTime;
     private boolean isWhite;
+    private PositionListener positionListener;
+
+    /**
+     * Notified after every position change - lets an index follow the piece
+     */
+    public interface PositionListener {
+        void onPositionChanged(Piece piece, double oldX, double oldY);
+    }
 
     public Piece(String id, State state) {
         this.id = id;
@@ -60,8 +68,18 @@ public class Piece implements Cloneable {
     }
 
     public void setPosition(double x, double y) {
+        double oldX = this.positionX;
+        double oldY = this.positionY;
         this.positionX = x;
         this.positionY = y;
+        PositionListener listener = positionListener;
+        if (listener != null) {
+            listener.onPositionChanged(this, oldX, oldY);
+        }
+    }
+
+    public void setPositionListener(PositionListener positionListener) {
+        this.positionListener = positionListener;
     }
 
     public boolean isWhite() {
@@ -114,6 +132,7 @@ public class Piece implements Cloneable {
         try {
             Piece cloned = (Piece) super.clone();
             cloned.state = state.clone();
+            cloned.positionListener = null; // a clone is not part of the original's index
             // Note: primitive fields (positionX, positionY, etc.) are automatically copied
             return cloned;
         } catch (CloneNotSupportedException e) {
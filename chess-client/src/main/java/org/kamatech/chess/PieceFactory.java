@@ -19,10 +19,18 @@ import org.kamatech.chess.api.IGraphicsFactory;
 import org.kamatech.chess.api.IPhysicsFactory;
 import org.kamatech.chess.api.IPieceFactory;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 public class PieceFactory implements IPieceFactory {
+    private static final Logger log = LoggerFactory.getLogger(PieceFactory.class);
+
     private final IGraphicsFactory graphicsFactory;
     private final IPhysicsFactory physicsFactory;
+    private final AssetManager assets = AssetManager.get();
     private Map<String, Piece> pieceTemplates;
+    // Compiled moves per piece code and cooldown - moves.txt is read once, pieces share the tables
+    private final Map<String, Moves> movesCache = new HashMap<>();
 
     public PieceFactory(IGraphicsFactory graphicsFactory, IPhysicsFactory physicsFactory) {
         this.graphicsFactory = graphicsFactory;
@@ -37,7 +45,7 @@ public class PieceFactory implements IPieceFactory {
      * Initialize piece templates from real piece directories
      */
     private void initializePieceTemplates() {
-        String basePath = "/pieces/";
+        String basePath = "pieces/";
 
         // List of actual piece directories in the pieces folder
         String[] pieceDirectories = { "PB", "PW", "RB", "RW", "NB", "NW", "BB", "BW", "QB", "QW", "KB", "KW" };
@@ -45,15 +53,17 @@ public class PieceFactory implements IPieceFactory {
         for (String pieceCode : pieceDirectories) {
             try {
                 // Load moves from the piece's moves.txt file
-                File movesFile = getResourceAsFile(basePath + pieceCode + "/moves.txt");
-                Moves moves = loadMovesFromFile(movesFile.getAbsolutePath());
+                Moves moves = loadMoves(pieceCode);
 
                 // Create physics with real moves data
                 Physics physics = physicsFactory.createPhysics(pieceCode, moves);
 
                 // Load graphics configuration from piece directory
-                File configFile = getResourceAsFile(basePath + pieceCode + "/states/idle/config.json");
-                Graphics graphics = graphicsFactory.createGraphics(pieceCode, configFile.getAbsolutePath());
+                String configPath = basePath + pieceCode + "/states/idle/config.json";
+                if (!assets.exists(configPath)) {
+                    throw new FileNotFoundException("Resource not found: " + configPath);
+                }
+                Graphics graphics = graphicsFactory.createGraphics(pieceCode, configPath);
 
                 // Create state with moves
                 State state = new State(moves, graphics, physics);
@@ -65,37 +75,35 @@ public class PieceFactory implements IPieceFactory {
                 Piece piece = new Piece(pieceCode, state, 0, 0, isWhite);
                 pieceTemplates.put(pieceCode, piece);
 
-                System.out.println("Loaded real piece template: " + pieceCode);
+                log.debug("Loaded real piece template: {}", pieceCode);
 
             } catch (Exception e) {
-                System.err.println("Error loading piece " + pieceCode + ": " + e.getMessage());
+                log.warn("Error loading piece {}: {}", pieceCode, e.getMessage());
                 // Create fallback piece
                 createFallbackPiece(pieceCode);
             }
         }
 
-        System.out.println("Initialized " + pieceTemplates.size() + " piece templates from real data");
+        log.info("Initialized {} piece templates from real data", pieceTemplates.size());
     }
 
     /**
-     * Load moves from a moves.txt file
+     * Load moves from a piece's moves.txt
      */
-    private Moves loadMovesFromFile(String movesFilePath) {
+    private Moves loadMoves(String pieceCode) {
         List<String> movesList = new ArrayList<>();
+        String movesPath = "pieces/" + pieceCode + "/moves.txt";
 
-        try (java.io.BufferedReader reader = new java.io.BufferedReader(new java.io.FileReader(movesFilePath))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
-                if (!line.isEmpty() && !line.startsWith("#")) { // Skip comments
+        try {
+            for (String line : assets.lines(movesPath)) {
+                if (!line.startsWith("#")) { // Skip comments
                     movesList.add(line);
                 }
             }
         } catch (Exception e) {
-            System.err.println("Could not load moves from " + movesFilePath + ": " + e.getMessage());
+            log.warn("Could not load moves from {}: {}", movesPath, e.getMessage());
             // Use default moves based on piece type
-            String pieceType = extractPieceType(movesFilePath);
-            movesList = getDefaultMovesForPieceType(pieceType);
+            movesList = getDefaultMovesForPieceType(pieceCode.substring(0, 1));
         }
 
         return new Moves(movesList, 1000); // 1 second cooldown
@@ -104,7 +112,9 @@ public class PieceFactory implements IPieceFactory {
     /**
      * Helper method to get a File from a resource path,
      * works both in IDE and from inside a JAR by extracting to temp file if needed.
+     * @deprecated read resources through {@link AssetManager}, which needs no temp files
      */
+    @Deprecated
     public static File getResourceAsFile(String resourcePath) throws IOException, URISyntaxException {
         URL resourceUrl = PieceFactory.class.getResource(resourcePath);
         if (resourceUrl == null) {
@@ -131,20 +141,6 @@ public class PieceFactory implements IPieceFactory {
         }
     }
 
-    /**
-     * Extract piece type from file path
-     */
-    private String extractPieceType(String filePath) {
-        // Extract piece code from path like "pieces\PB\moves.txt"
-        String[] parts = filePath.split("\\\\");
-        for (String part : parts) {
-            if (part.length() == 2 && (part.endsWith("B") || part.endsWith("W"))) {
-                return part.substring(0, 1); // Return just the piece type (P, R, N, etc.)
-            }
-        }
-        return "P"; // Default to pawn
-    }
-
     /**
      * Create a fallback piece when real data loading fails
      */
@@ -160,7 +156,7 @@ public class PieceFactory implements IPieceFactory {
         Piece piece = new Piece(pieceCode, state, 0, 0, isWhite);
 
         pieceTemplates.put(pieceCode, piece);
-        System.out.println("Created fallback piece: " + pieceCode);
+        log.debug("Created fallback piece: {}", pieceCode);
     }
 
     /**
@@ -238,7 +234,7 @@ public class PieceFactory implements IPieceFactory {
                 Piece piece = new Piece(template.getId(), template.getState().clone(), x, y, template.isWhite());
                 return piece;
             } catch (Exception e) {
-                System.err.println("Error cloning piece template: " + e.getMessage());
+                log.warn("Error cloning piece template: {}", e.getMessage());
             }
         }
 
@@ -281,30 +277,27 @@ public class PieceFactory implements IPieceFactory {
             return piece;
 
         } catch (Exception e) {
-            System.err.println("Error creating piece " + pieceCode + ": " + e.getMessage());
+            log.warn("Error creating piece {}: {}", pieceCode, e.getMessage());
             return null;
         }
     }
 
     /**
      * Load moves for a piece type from moves.txt, using custom cooldown
+     * Read and compiled once per piece code and cooldown
      */
-    private Moves loadMovesWithCooldown(String pieceCode, long cooldownMs) {
+    private synchronized Moves loadMovesWithCooldown(String pieceCode, long cooldownMs) {
+        return movesCache.computeIfAbsent(pieceCode + "@" + cooldownMs, key -> readMoves(pieceCode, cooldownMs));
+    }
+
+    private Moves readMoves(String pieceCode, long cooldownMs) {
         List<String> movesList = new ArrayList<>();
-        String resourcePath = "/pieces/" + pieceCode + "/moves.txt";
+        String resourcePath = "pieces/" + pieceCode + "/moves.txt";
     
         try {
-            File movesFile = getResourceAsFile(resourcePath);
-            try (java.io.BufferedReader reader = new java.io.BufferedReader(new java.io.FileReader(movesFile))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    if (!line.trim().isEmpty()) {
-                        movesList.add(line.trim());
-                    }
-                }
-            }
+            movesList.addAll(assets.lines(resourcePath));
         } catch (Exception e) {
-            System.err.println("Error reading moves for " + pieceCode + ": " + e.getMessage());
+            log.warn("Error reading moves for {}: {}", pieceCode, e.getMessage());
             // default single-step move
             movesList.clear();
             movesList.add("1,0");
@@ -321,16 +314,14 @@ public class PieceFactory implements IPieceFactory {
         Map<String, Piece> pieces = new HashMap<>();
         try {
             // Step 1: Try to load the file from resources
-            InputStream inputStream = getClass().getClassLoader().getResourceAsStream("pieces/board.csv");
-
-            if (inputStream == null) {
-                System.err.println("board.csv not found, loading default pieces");
+            if (!assets.exists("pieces/board.csv")) {
+                log.warn("board.csv not found, loading default pieces");
                 pieces.putAll(createDefaultPieces());
                 return pieces;
             }
 
-            // Step 2: Read the file with BufferedReader
-            BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream));
+            // Step 2: Read the rows
+            BufferedReader reader = new BufferedReader(new InputStreamReader(assets.stream("pieces/board.csv")));
             int row = 0;
             String line;
             while ((line = reader.readLine()) != null && row < 8) {
@@ -341,17 +332,17 @@ public class PieceFactory implements IPieceFactory {
                         Piece piece = createPiece(pieceId, col, row);
                         if (piece != null) {
                             pieces.put(pieceId + "" + row + "" + col, piece);
-                            System.out.println("Created piece: " + pieceId + " at (" + col + ", " + row + ")");
+                            log.debug("Created piece: {} at ({}, {})", pieceId, col, row);
                         }
                     }
                 }
                 row++;
             }
             reader.close();
-            System.out.println("Loaded " + pieces.size() + " pieces from board.csv");
+            log.info("Loaded {} pieces from board.csv", pieces.size());
 
         } catch (Exception e) {
-            System.err.println("Could not load from board.csv, creating default pieces: " + e.getMessage());
+            log.warn("Could not load from board.csv, creating default pieces: {}", e.getMessage());
             pieces.putAll(createDefaultPieces());
         }
         return pieces;
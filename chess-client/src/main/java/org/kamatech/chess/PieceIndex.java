@@ -0,0 +1,205 @@
+package org.kamatech.chess;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The game's pieces by map key, plus an occupancy grid and a reverse index
+ * The grid follows every Piece.setPosition, so a cell lookup is O(1) and a path check
+ * is O(path) instead of a distance check against every piece on the board.
+ * With the game's StateTimers, the states of the pieces in here expire on those timers.
+ */
+public class PieceIndex implements Piece.PositionListener {
+    // Same tolerance the old linear findPieceAt used
+    static final double TOLERANCE = 0.1;
+
+    private final int width;
+    private final int height;
+    private final Map<String, Piece> pieces = new HashMap<>();
+    private final Map<Piece, String> keys = new IdentityHashMap<>();
+    private final Map<String, Piece> view = Collections.unmodifiableMap(pieces);
+    private final Piece[] cells;
+    private final StateTimers timers;
+
+    public PieceIndex(int width, int height) {
+        this(width, height, null);
+    }
+
+    public PieceIndex(int width, int height, StateTimers timers) {
+        this.width = width;
+        this.height = height;
+        this.cells = new Piece[width * height];
+        this.timers = timers;
+    }
+
+    /**
+     * Add a piece under a key, replacing whatever piece had that key
+     */
+    public void put(String key, Piece piece) {
+        remove(key);
+        pieces.put(key, piece);
+        keys.put(piece, key);
+        piece.setPositionListener(this);
+        if (timers != null && piece.getState() != null) {
+            piece.getState().setTimers(timers);
+        }
+        occupy(piece);
+    }
+
+    public void putAll(Map<String, Piece> newPieces) {
+        for (Map.Entry<String, Piece> entry : newPieces.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Remove the piece with a key, returns it or null
+     */
+    public Piece remove(String key) {
+        Piece piece = pieces.remove(key);
+        if (piece != null) {
+            keys.remove(piece);
+            piece.setPositionListener(null);
+            if (timers != null && piece.getState() != null) {
+                piece.getState().setTimers(null);
+            }
+            vacate(piece, piece.getX(), piece.getY());
+        }
+        return piece;
+    }
+
+    public Piece get(String key) {
+        return pieces.get(key);
+    }
+
+    public boolean containsKey(String key) {
+        return pieces.containsKey(key);
+    }
+
+    /**
+     * Map key of a piece in this index, null when it is not in here
+     */
+    public String keyOf(Piece piece) {
+        return keys.get(piece);
+    }
+
+    /**
+     * Piece within TOLERANCE of a position, or null
+     */
+    public Piece pieceAt(double x, double y) {
+        int cell = exactCell(x, y);
+        if (cell >= 0) {
+            return cells[cell];
+        }
+        // Off the board or between cells - nothing indexed there, fall back to a scan
+        for (Piece piece : pieces.values()) {
+            if (isNear(piece, x, y)) {
+                return piece;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Map key of the piece within TOLERANCE of a position, or null
+     */
+    public String keyAt(double x, double y) {
+        Piece piece = pieceAt(x, y);
+        return piece == null ? null : keys.get(piece);
+    }
+
+    /**
+     * First piece on the squares strictly between from and to (straight or diagonal), or null
+     */
+    public Piece firstBlocker(double fromX, double fromY, double toX, double toY) {
+        int deltaX = (int) (toX - fromX);
+        int deltaY = (int) (toY - fromY);
+        int stepX = Integer.signum(deltaX);
+        int stepY = Integer.signum(deltaY);
+        double checkX = fromX + stepX;
+        double checkY = fromY + stepY;
+        while (checkX != toX || checkY != toY) {
+            Piece piece = pieceAt(checkX, checkY);
+            if (piece != null) {
+                return piece;
+            }
+            checkX += stepX;
+            checkY += stepY;
+        }
+        return null;
+    }
+
+    /**
+     * Read-only live view of the pieces by key
+     */
+    public Map<String, Piece> asMap() {
+        return view;
+    }
+
+    public int size() {
+        return pieces.size();
+    }
+
+    @Override
+    public void onPositionChanged(Piece piece, double oldX, double oldY) {
+        vacate(piece, oldX, oldY);
+        occupy(piece);
+    }
+
+    private void occupy(Piece piece) {
+        int cell = nearestCell(piece.getX(), piece.getY());
+        if (cell >= 0 && isNear(piece, cellX(cell), cellY(cell))) {
+            cells[cell] = piece;
+        }
+    }
+
+    private void vacate(Piece piece, double oldX, double oldY) {
+        int cell = nearestCell(oldX, oldY);
+        if (cell < 0 || cells[cell] != piece) {
+            return;
+        }
+        cells[cell] = null;
+        // Two pieces can share a cell (a jump onto an own piece) - let the other one show again
+        for (Piece other : pieces.values()) {
+            if (other != piece && isNear(other, cellX(cell), cellY(cell))) {
+                cells[cell] = other;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Grid cell of a whole-number position on the board, -1 otherwise
+     */
+    private int exactCell(double x, double y) {
+        if (x != Math.rint(x) || y != Math.rint(y)) {
+            return -1;
+        }
+        return nearestCell(x, y);
+    }
+
+    private int nearestCell(double x, double y) {
+        long cx = Math.round(x);
+        long cy = Math.round(y);
+        if (cx < 0 || cx >= width || cy < 0 || cy >= height) {
+            return -1;
+        }
+        return (int) cy * width + (int) cx;
+    }
+
+    private int cellX(int cell) {
+        return cell % width;
+    }
+
+    private int cellY(int cell) {
+        return cell / width;
+    }
+
+    private static boolean isNear(Piece piece, double x, double y) {
+        double dx = piece.getX() - x;
+        double dy = piece.getY() - y;
+        return dx * dx + dy * dy <= TOLERANCE * TOLERANCE;
+    }
+}
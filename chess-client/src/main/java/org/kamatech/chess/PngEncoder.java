@@ -0,0 +1,207 @@
+package org.kamatech.chess;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Minimal PNG encoder for opaque TYPE_INT_RGB images, fast for a series of similar images
+ * Reads the pixels straight from the image's int array and filters every row with "Sub". The
+ * rows are deflated in bands that are flushed independently, and a band's compressed bytes are
+ * cached by its content: in a series of board positions most bands did not change, so only the
+ * changed ones are compressed again. ImageIO's writer converts the raster and tries every filter
+ * on every row, which costs several times more. Not thread-safe - one per thread.
+ */
+public final class PngEncoder {
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] ZLIB_HEADER = {0x78, 0x01};
+    private static final byte[] FINAL_EMPTY_BLOCK = {0x03, 0x00};
+    private static final int FILTER_SUB = 1;
+    private static final int CACHED_BANDS = 64;
+
+    private final int bandRows;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+    private final CRC32 crc = new CRC32();
+    private final Adler32 adler = new Adler32();
+    private final ByteArrayOutputStream idat = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final Map<Band, byte[]> bands = new LinkedHashMap<Band, byte[]>(CACHED_BANDS * 2, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Band, byte[]> eldest) {
+            return size() > CACHED_BANDS;
+        }
+    };
+    private byte[] raw = new byte[0];
+    private byte[] compressed = new byte[0];
+    private int cacheHits;
+    private int cacheMisses;
+
+    /**
+     * Encoder caching bands of bandRows rows - a board row of cells is a good band
+     */
+    public PngEncoder(int bandRows) {
+        this.bandRows = Math.max(1, bandRows);
+    }
+
+    public byte[] encode(BufferedImage image) {
+        if (image.getType() != BufferedImage.TYPE_INT_RGB) {
+            throw new IllegalArgumentException("Only TYPE_INT_RGB images are supported");
+        }
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        int stride = 1 + width * 3;
+        if (raw.length < stride * height) {
+            raw = new byte[stride * height];
+        }
+
+        // Each byte minus the same byte of the pixel on its left
+        int pos = 0;
+        for (int y = 0; y < height; y++) {
+            raw[pos++] = FILTER_SUB;
+            int left = 0;
+            int row = y * width;
+            for (int x = 0; x < width; x++) {
+                int rgb = pixels[row + x];
+                raw[pos++] = (byte) ((rgb >> 16) - (left >> 16));
+                raw[pos++] = (byte) ((rgb >> 8) - (left >> 8));
+                raw[pos++] = (byte) (rgb - left);
+                left = rgb;
+            }
+        }
+
+        // zlib stream: header, the bands, an empty final block, checksum of all filtered rows
+        idat.reset();
+        idat.write(ZLIB_HEADER, 0, ZLIB_HEADER.length);
+        for (int top = 0; top < height; top += bandRows) {
+            byte[] band = compressBand(top * stride, Math.min(bandRows, height - top) * stride);
+            idat.write(band, 0, band.length);
+        }
+        idat.write(FINAL_EMPTY_BLOCK, 0, FINAL_EMPTY_BLOCK.length);
+        adler.reset();
+        adler.update(raw, 0, pos);
+        byte[] word = new byte[4];
+        putInt(word, 0, (int) adler.getValue());
+        idat.write(word, 0, 4);
+
+        out.reset();
+        out.write(SIGNATURE, 0, SIGNATURE.length);
+        byte[] header = new byte[13];
+        putInt(header, 0, width);
+        putInt(header, 4, height);
+        header[8] = 8; // bits per channel
+        header[9] = 2; // truecolor RGB
+        writeChunk("IHDR", header, 13);
+        byte[] data = idat.toByteArray();
+        writeChunk("IDAT", data, data.length);
+        writeChunk("IEND", header, 0);
+        return out.toByteArray();
+    }
+
+    public int getCacheHits() {
+        return cacheHits;
+    }
+
+    public int getCacheMisses() {
+        return cacheMisses;
+    }
+
+    // Raw deflate of one band, ending on a full flush so it can follow any other band
+    private byte[] compressBand(int offset, int length) {
+        Band lookup = new Band(raw, offset, length);
+        byte[] cached = bands.get(lookup);
+        if (cached != null) {
+            cacheHits++;
+            return cached;
+        }
+        cacheMisses++;
+        if (compressed.length < length + 1024) {
+            compressed = new byte[length + 1024];
+        }
+        deflater.reset();
+        deflater.setInput(raw, offset, length);
+        int size = 0;
+        while (true) {
+            size += deflater.deflate(compressed, size, compressed.length - size, Deflater.FULL_FLUSH);
+            if (size < compressed.length) {
+                break;
+            }
+            compressed = Arrays.copyOf(compressed, compressed.length * 2);
+        }
+        byte[] result = Arrays.copyOf(compressed, size);
+        bands.put(lookup.copy(), result);
+        return result;
+    }
+
+    private void writeChunk(String type, byte[] data, int length) {
+        byte[] word = new byte[4];
+        putInt(word, 0, length);
+        out.write(word, 0, 4);
+        byte[] typeBytes = {(byte) type.charAt(0), (byte) type.charAt(1), (byte) type.charAt(2), (byte) type.charAt(3)};
+        out.write(typeBytes, 0, 4);
+        out.write(data, 0, length);
+        crc.reset();
+        crc.update(typeBytes, 0, 4);
+        crc.update(data, 0, length);
+        putInt(word, 0, (int) crc.getValue());
+        out.write(word, 0, 4);
+    }
+
+    private static void putInt(byte[] target, int offset, int value) {
+        target[offset] = (byte) (value >>> 24);
+        target[offset + 1] = (byte) (value >>> 16);
+        target[offset + 2] = (byte) (value >>> 8);
+        target[offset + 3] = (byte) value;
+    }
+
+    /**
+     * Filtered rows of a band, compared by content
+     */
+    private static final class Band {
+        private final byte[] bytes;
+        private final int offset;
+        private final int length;
+        private final int hash;
+
+        Band(byte[] bytes, int offset, int length) {
+            this.bytes = bytes;
+            this.offset = offset;
+            this.length = length;
+            CRC32 crc = new CRC32();
+            crc.update(bytes, offset, length);
+            this.hash = (int) crc.getValue();
+        }
+
+        private Band(byte[] bytes, int hash) {
+            this.bytes = bytes;
+            this.offset = 0;
+            this.length = bytes.length;
+            this.hash = hash;
+        }
+
+        Band copy() {
+            return new Band(Arrays.copyOfRange(bytes, offset, offset + length), hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Band)) {
+                return false;
+            }
+            Band band = (Band) other;
+            return hash == band.hash && Arrays.equals(bytes, offset, offset + length,
+                    band.bytes, band.offset, band.offset + band.length);
+        }
+    }
+}
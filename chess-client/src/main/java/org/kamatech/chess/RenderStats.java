@@ -0,0 +1,66 @@
+package org.kamatech.chess;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pixels repainted per second and CPU used by the painting thread (the EDT)
+ * The painter reports each clip it paints; report() turns the totals since the last
+ * report into rates. Printed every few seconds when started with -Dchess.renderStats=true
+ */
+public final class RenderStats {
+    public static final boolean ENABLED = Boolean.getBoolean("chess.renderStats");
+    public static final long REPORT_INTERVAL_MS = 5000;
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final AtomicLong pixels = new AtomicLong();
+    private final AtomicLong paints = new AtomicLong();
+    private volatile long paintThreadId = -1;
+    private long windowStartMs;
+    private long windowStartCpuNanos;
+
+    public RenderStats() {
+        this.windowStartMs = System.currentTimeMillis();
+    }
+
+    /**
+     * Called by the painter with the size of the area it repainted
+     */
+    public void onPaint(int width, int height) {
+        pixels.addAndGet((long) width * height);
+        paints.incrementAndGet();
+        if (paintThreadId < 0) {
+            paintThreadId = Thread.currentThread().getId();
+            windowStartCpuNanos = cpuNanos();
+        }
+    }
+
+    /**
+     * Rates since the previous report, null until a report interval has passed
+     */
+    public String report(long nowMs) {
+        long elapsedMs = nowMs - windowStartMs;
+        if (elapsedMs < REPORT_INTERVAL_MS) {
+            return null;
+        }
+        long cpu = cpuNanos();
+        long paintedPixels = pixels.getAndSet(0);
+        long paintCount = paints.getAndSet(0);
+        String line = String.format("Render: %.2f Mpx/s in %.0f paints/s, EDT CPU %.1f%%",
+                paintedPixels * 1000.0 / elapsedMs / 1e6, paintCount * 1000.0 / elapsedMs,
+                cpu >= 0 && windowStartCpuNanos >= 0 ? (cpu - windowStartCpuNanos) / 1e4 / elapsedMs : 0.0);
+        windowStartMs = nowMs;
+        windowStartCpuNanos = cpu;
+        return line;
+    }
+
+    // CPU time of the painting thread, -1 when unknown
+    private long cpuNanos() {
+        long id = paintThreadId;
+        if (id < 0 || !threads.isThreadCpuTimeSupported()) {
+            return -1;
+        }
+        return threads.getThreadCpuTime(id);
+    }
+}
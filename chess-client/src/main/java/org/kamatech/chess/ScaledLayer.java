@@ -0,0 +1,43 @@
+package org.kamatech.chess;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+/**
+ * A static image kept scaled to the size it is drawn at
+ * Scaling happens once per size instead of on every paint, so repainting part of the
+ * board or background is a plain clipped copy.
+ */
+public final class ScaledLayer {
+    private final Image source;
+    private volatile BufferedImage scaled;
+
+    public ScaledLayer(Image source) {
+        this.source = source;
+    }
+
+    public Image getSource() {
+        return source;
+    }
+
+    /**
+     * Draw the image stretched to width x height, rescaling only when that size changed
+     */
+    public void draw(Graphics2D g2d, int x, int y, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        BufferedImage image = scaled;
+        if (image == null || image.getWidth() != width || image.getHeight() != height) {
+            image = AssetManager.createCompatibleImage(width, height);
+            Graphics2D g = image.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(source, 0, 0, width, height, null);
+            g.dispose();
+            scaled = image;
+        }
+        g2d.drawImage(image, x, y, null);
+    }
+}
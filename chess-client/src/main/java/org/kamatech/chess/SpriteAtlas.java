@@ -0,0 +1,243 @@
+package org.kamatech.chess;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Every sprite frame of every piece, decoded once and packed into one pre-scaled image
+ * Frames under pieces/<id>/states/<state>/sprites are decoded in parallel up front by the
+ * AssetManager, and drawn into a single atlas at the current sprite size. Painting a
+ * piece is then an unscaled copy out of the atlas; the atlas is only rebuilt when the size changes.
+ */
+public class SpriteAtlas {
+    private static final Logger log = LoggerFactory.getLogger(SpriteAtlas.class);
+
+    private static final String PIECES_FOLDER = "pieces";
+    private static final String PIECE_TYPES = "KQRBNP";
+    private static final State.PieceState[] STATES = State.PieceState.values();
+    /** Sprite sets - one per piece type and color, see spriteSet() */
+    public static final int SPRITE_SETS = PIECE_TYPES.length() * 2;
+
+    private final Map<String, List<BufferedImage>> frames;  // "<id>_<state>" -> decoded frames
+    private final Map<String, Integer> firstSlot;           // "<id>_<state>" -> atlas slot of frame 0
+    private final int slotCount;
+    // [sprite set][PieceState ordinal] - the same slots without building a key on the paint thread
+    private final int[][] firstSlotByState = new int[SPRITE_SETS][STATES.length];
+    private final int[][] frameCountByState = new int[SPRITE_SETS][STATES.length];
+    private volatile Scaled scaled;
+
+    /**
+     * The atlas drawn at one sprite size - slots laid out row by row, each one a view into the atlas
+     */
+    private static final class Scaled {
+        final BufferedImage image;
+        final BufferedImage[] slots;
+        final int width;
+        final int height;
+
+        Scaled(BufferedImage image, BufferedImage[] slots, int width, int height) {
+            this.image = image;
+            this.slots = slots;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    SpriteAtlas(Map<String, List<BufferedImage>> frames) {
+        this.frames = frames;
+        this.firstSlot = new HashMap<>();
+        int slot = 0;
+        for (Map.Entry<String, List<BufferedImage>> entry : frames.entrySet()) {
+            firstSlot.put(entry.getKey(), slot);
+            slot += entry.getValue().size();
+        }
+        this.slotCount = slot;
+
+        for (int set = 0; set < SPRITE_SETS; set++) {
+            String pieceId = "" + PIECE_TYPES.charAt(set / 2) + (set % 2 == 0 ? 'W' : 'B');
+            for (State.PieceState state : STATES) {
+                String key = pieceId + "_" + stateFolder(state);
+                List<BufferedImage> list = frames.get(key);
+                if (list != null) {
+                    firstSlotByState[set][state.ordinal()] = firstSlot.get(key);
+                    frameCountByState[set][state.ordinal()] = list.size();
+                }
+            }
+        }
+    }
+
+    /**
+     * Sprite set of a piece id such as "PW" or "KB", -1 when it is not a known type and color
+     */
+    public static int spriteSet(String pieceId) {
+        if (pieceId == null || pieceId.length() < 2) {
+            return -1;
+        }
+        int type = PIECE_TYPES.indexOf(pieceId.charAt(0));
+        char color = pieceId.charAt(1);
+        if (type < 0 || (color != 'W' && color != 'B')) {
+            return -1;
+        }
+        return type * 2 + (color == 'W' ? 0 : 1);
+    }
+
+    /**
+     * Sprite folder of a piece state
+     */
+    public static String stateFolder(State.PieceState state) {
+        switch (state) {
+            case REST:
+                return "long_rest";
+            case SHORT_REST:
+                return "short_rest";
+            case EXHAUST:
+                return "exhaust";
+            default:
+                return state.name().toLowerCase();
+        }
+    }
+
+    /**
+     * Decode all piece sprites of the game's assets on a pool of threads
+     */
+    public static SpriteAtlas load() {
+        try {
+            return load(AssetManager.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new SpriteAtlas(Collections.emptyMap());
+        }
+    }
+
+    /**
+     * Decode all sprites under pieces/<id>/states/<state>/sprites on a pool of threads
+     */
+    public static SpriteAtlas load(AssetManager assets) throws InterruptedException {
+        assets.loadAll(PIECES_FOLDER + "/", null);
+
+        // Index order is sorted, so frames come in file name order (1.png, 2.png...)
+        Map<String, List<BufferedImage>> frames = new LinkedHashMap<>();
+        for (String path : assets.list(PIECES_FOLDER + "/")) {
+            String[] parts = path.split("/");
+            if (parts.length != 6 || !parts[2].equals("states") || !parts[4].equals("sprites")
+                    || !parts[5].toLowerCase().endsWith(".png")) {
+                continue;
+            }
+            try {
+                frames.computeIfAbsent(parts[1] + "_" + parts[3], key -> new ArrayList<>()).add(assets.image(path));
+            } catch (IOException e) {
+                log.warn("Error reading sprite: {} {}", path, e.getMessage());
+            }
+        }
+        if (frames.isEmpty()) {
+            log.warn("No sprites found under {}", PIECES_FOLDER);
+        }
+        for (Map.Entry<String, List<BufferedImage>> entry : frames.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        return new SpriteAtlas(frames);
+    }
+
+    /**
+     * An atlas over the same decoded frames with a scaled copy of its own - for drawing at a second size
+     */
+    public SpriteAtlas copy() {
+        return new SpriteAtlas(frames);
+    }
+
+    /**
+     * Decoded frames of a piece in a sprite state, empty when there are none
+     */
+    public List<BufferedImage> getFrames(String pieceId, String stateName) {
+        List<BufferedImage> list = frames.get(pieceId + "_" + stateName);
+        return list != null ? list : Collections.emptyList();
+    }
+
+    public int getFrameCount() {
+        return slotCount;
+    }
+
+    /**
+     * Number of frames of a sprite set in a state, 0 when there are none
+     */
+    public int getFrameCount(int spriteSet, State.PieceState state) {
+        return spriteSet < 0 ? 0 : frameCountByState[spriteSet][state.ordinal()];
+    }
+
+    /**
+     * Build the atlas for a sprite size unless it already has that size
+     */
+    public void prepare(int width, int height) {
+        Scaled current = scaled;
+        if (current == null || current.width != width || current.height != height) {
+            scaled = scale(width, height);
+        }
+    }
+
+    /**
+     * Draw one frame at a sprite size, false when the piece has no frames in that state
+     */
+    public boolean draw(Graphics2D g2d, String pieceId, String stateName, int frame,
+            int x, int y, int width, int height) {
+        Integer first = firstSlot.get(pieceId + "_" + stateName);
+        if (first == null || width <= 0 || height <= 0) {
+            return false;
+        }
+        drawSlot(g2d, first + frame, x, y, width, height);
+        return true;
+    }
+
+    /**
+     * Draw one frame of a sprite set in a state, false when there are no frames
+     */
+    public boolean draw(Graphics2D g2d, int spriteSet, State.PieceState state, int frame,
+            int x, int y, int width, int height) {
+        int frameCount = getFrameCount(spriteSet, state);
+        if (frameCount == 0 || width <= 0 || height <= 0) {
+            return false;
+        }
+        drawSlot(g2d, firstSlotByState[spriteSet][state.ordinal()] + Math.min(frame, frameCount - 1),
+                x, y, width, height);
+        return true;
+    }
+
+    private void drawSlot(Graphics2D g2d, int slot, int x, int y, int width, int height) {
+        prepare(width, height);
+        // Same size as the target rectangle - a plain copy, no scaling
+        g2d.drawImage(scaled.slots[slot], x, y, null);
+    }
+
+    private Scaled scale(int width, int height) {
+        int columns = Math.max(1, (int) Math.ceil(Math.sqrt(slotCount)));
+        int rows = Math.max(1, (slotCount + columns - 1) / columns);
+        BufferedImage image = AssetManager.createCompatibleImage(columns * width, rows * height);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        for (Map.Entry<String, List<BufferedImage>> entry : frames.entrySet()) {
+            int slot = firstSlot.get(entry.getKey());
+            for (BufferedImage frame : entry.getValue()) {
+                g.drawImage(frame, (slot % columns) * width, (slot / columns) * height, width, height, null);
+                slot++;
+            }
+        }
+        g.dispose();
+
+        BufferedImage[] slots = new BufferedImage[slotCount];
+        for (int slot = 0; slot < slotCount; slot++) {
+            slots[slot] = image.getSubimage((slot % columns) * width, (slot / columns) * height, width, height);
+        }
+        return new Scaled(image, slots, width, height);
+    }
+}
@@ -0,0 +1,40 @@
+package org.kamatech.chess;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Game-thread work that arrives before the game has started, held until startGame hands it to the loop
+ * startGame sets up the board and players first, so work run before it - such as the snapshot a rejoining
+ * client gets right after its role - would be overwritten, and would run on a thread other than the loop.
+ * Thread-safe: once the gate is open, hold refuses and the caller hands the work to the loop itself.
+ */
+final class StartGate {
+    // Held work in arrival order, null once open
+    private List<Runnable> held = new ArrayList<>();
+
+    /**
+     * Keep the work for the start - false when the game has already started
+     */
+    synchronized boolean hold(Runnable task) {
+        if (held == null) {
+            return false;
+        }
+        held.add(task);
+        return true;
+    }
+
+    /**
+     * Hand the held work to the game loop in arrival order - before any work refused from now on
+     */
+    synchronized void open(Executor loop) {
+        if (held == null) {
+            return;
+        }
+        for (Runnable task : held) {
+            loop.execute(task);
+        }
+        held = null;
+    }
+}
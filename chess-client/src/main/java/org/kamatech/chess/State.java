@@ -20,6 +20,10 @@ public class State implements Cloneable {
     private PieceState currentState;
     private long stateStartTime;
     private long stateDuration;
+    private final Animation animation = new Animation();
+    // Expiry of a timed state on the game's timers, while the piece is on the board
+    private final StateTimers.Entry timer = new StateTimers.Entry(this);
+    private StateTimers timers;
 
     public State(Moves moves, Graphics graphics, Physics physics) {
         this.moves = moves;
@@ -54,7 +58,8 @@ public class State implements Cloneable {
 
     public void setState(PieceState newState) {
         this.currentState = newState;
-        this.stateStartTime = System.currentTimeMillis();
+        this.stateStartTime = now();
+        animation.restart(System.nanoTime());
 
         // Set appropriate duration for each state
         // Slow down state durations by doubling the base cooldown
@@ -83,18 +88,93 @@ public class State implements Cloneable {
                 this.stateDuration = 0;
                 break;
         }
+        scheduleExpiry();
+    }
+
+    /**
+     * Rest for a given time from now instead of the cooldown - a piece restored in the middle of its rest
+     */
+    public void restFor(long remainingMs) {
+        setState(PieceState.REST);
+        this.stateDuration = remainingMs;
+        scheduleExpiry();
+    }
+
+    /**
+     * Put this state's expiries on a game's timers, or take them off with null
+     * The timers' time becomes the state's clock; the time the state has already run is kept.
+     */
+    void setTimers(StateTimers timers) {
+        long elapsed = now() - stateStartTime;
+        if (this.timers != null) {
+            this.timers.cancel(timer);
+        }
+        this.timers = timers;
+        this.stateStartTime = now() - elapsed;
+        scheduleExpiry();
+    }
+
+    /**
+     * Called by the timers when the state's duration elapsed
+     */
+    void expire() {
+        PieceState next = nextState();
+        if (next != null) {
+            setState(next);
+        }
+    }
+
+    private void scheduleExpiry() {
+        if (timers == null) {
+            return;
+        }
+        if (nextState() == null || stateDuration == Long.MAX_VALUE) {
+            // IDLE stays, MOVE ends when the piece arrives
+            timers.cancel(timer);
+        } else {
+            timers.schedule(timer, stateStartTime + stateDuration);
+        }
+    }
+
+    // Game time on a board's timers, wall-clock time for a piece on none
+    private long now() {
+        return timers != null ? timers.getCurrentMs() : System.currentTimeMillis();
+    }
+
+    // State the current one turns into when its duration elapses, null for none
+    private PieceState nextState() {
+        switch (currentState) {
+            case MOVE:
+                return PieceState.REST;
+            case JUMP:
+                return PieceState.SHORT_REST;
+            case REST:
+            case SHORT_REST:
+            case EXHAUST:
+                return PieceState.IDLE;
+            default:
+                // Remain in IDLE
+                return null;
+        }
+    }
+
+    /**
+     * This piece's own animation clock, restarted on every state change
+     */
+    public Animation getAnimation() {
+        return animation;
     }
 
     public boolean isStateFinished() {
         if (stateDuration == 0)
             return true;
-        return (System.currentTimeMillis() - stateStartTime) >= stateDuration;
+        return (now() - stateStartTime) >= stateDuration;
     }
 
     public long getRemainingStateTime() {
         if (stateDuration == 0)
             return 0;
-        long elapsed = System.currentTimeMillis() - stateStartTime;
+        long elapsed = now() - stateStartTime;
         return Math.max(0, stateDuration - elapsed);
     }
 
@@ -106,24 +186,9 @@ public class State implements Cloneable {
         // Update physics
         physics.update();
 
-        // Automatic state transitions when duration elapses
+        // Automatic state transitions when duration elapses - the game's timers do this for pieces on its board
         if (isStateFinished()) {
-            switch (currentState) {
-                case MOVE:
-                    setState(PieceState.REST);
-                    break;
-                case JUMP:
-                    setState(PieceState.SHORT_REST);
-                    break;
-                case REST:
-                case SHORT_REST:
-                case EXHAUST:
-                    setState(PieceState.IDLE);
-                    break;
-                default:
-                    // Remain in IDLE
-                    break;
-            }
+            expire();
         }
     }
 
@@ -141,6 +206,7 @@ public class State implements Cloneable {
                 currentState);
         cloned.stateStartTime = this.stateStartTime;
         cloned.stateDuration = this.stateDuration;
+        cloned.animation.restart(this.animation.getStateEnterNanos());
         return cloned;
     }
 }
@@ -0,0 +1,180 @@
+package org.kamatech.chess;
+
+/**
+ * When each piece's timed state (JUMP, REST, SHORT_REST, EXHAUST) runs out, as a hierarchical timer wheel
+ * A state schedules its expiry when it is set; the game loop advances the wheel once per tick and only the
+ * states whose time is up move on, instead of every piece checking the clock every tick.
+ * Level 0 has 256 one-millisecond buckets, each level above 64 buckets as wide as the whole level below;
+ * expiries further out than the top level reaches wait at its far end and are placed again when that comes round.
+ * Its time is the game's simulation time, which states on it read as their clock.
+ * Game loop thread only.
+ */
+public class StateTimers {
+    private static final int LEVEL0_BITS = 8;
+    private static final int LEVEL_BITS = 6;
+    private static final int LEVELS = 4;
+    private static final int LEVEL0_SIZE = 1 << LEVEL0_BITS;
+    private static final int LEVEL_SIZE = 1 << LEVEL_BITS;
+    // Furthest ahead the top level reaches, about 18.6 hours
+    private static final long MAX_DELAY_MS = 1L << (LEVEL0_BITS + (LEVELS - 1) * LEVEL_BITS);
+
+    /**
+     * One state's place on the wheel - owned by the state, so scheduling allocates nothing
+     */
+    static final class Entry {
+        private final State state;
+        private long deadlineMs;
+        private Entry prev;
+        private Entry next;
+
+        Entry(State state) {
+            this.state = state;
+        }
+
+        boolean isScheduled() {
+            return prev != null;
+        }
+    }
+
+    // Bucket heads - empty sentinels, each bucket a circular list
+    private final Entry[][] buckets = new Entry[LEVELS][];
+    // Next millisecond to process - every expiry before it has fired
+    private long nextMs;
+    private int scheduledCount;
+
+    public StateTimers(long nowMs) {
+        this.nextMs = nowMs + 1;
+        for (int level = 0; level < LEVELS; level++) {
+            buckets[level] = new Entry[level == 0 ? LEVEL0_SIZE : LEVEL_SIZE];
+            for (int i = 0; i < buckets[level].length; i++) {
+                Entry head = new Entry(null);
+                head.prev = head;
+                head.next = head;
+                buckets[level][i] = head;
+            }
+        }
+    }
+
+    /**
+     * Fire an entry at a time, replacing any earlier schedule - a time already passed fires on the next tick
+     */
+    void schedule(Entry entry, long deadlineMs) {
+        cancel(entry);
+        entry.deadlineMs = deadlineMs;
+        place(entry);
+        scheduledCount++;
+    }
+
+    void cancel(Entry entry) {
+        if (entry.isScheduled()) {
+            unlink(entry);
+            scheduledCount--;
+        }
+    }
+
+    /**
+     * Move the wheel to a time, expiring every state due by then - each may schedule its next state
+     */
+    public void advance(long nowMs) {
+        while (nextMs <= nowMs) {
+            if (scheduledCount == 0) {
+                // Nothing to fire or cascade on the way
+                nextMs = nowMs + 1;
+                return;
+            }
+            int index = (int) nextMs & (LEVEL0_SIZE - 1);
+            if (index == 0) {
+                cascade(1);
+            }
+            nextMs++; // states set while firing start at the time being fired
+            fire(buckets[0][index]);
+        }
+    }
+
+    /**
+     * States waiting for their expiry
+     */
+    public int getScheduledCount() {
+        return scheduledCount;
+    }
+
+    /**
+     * Time the wheel has been advanced to
+     */
+    public long getCurrentMs() {
+        return nextMs - 1;
+    }
+
+    // Spread the level's bucket for the block we just entered over the levels below, then the level above
+    private void cascade(int level) {
+        int shift = LEVEL0_BITS + (level - 1) * LEVEL_BITS;
+        int index = (int) (nextMs >>> shift) & (LEVEL_SIZE - 1);
+        Entry head = buckets[level][index];
+        Entry entry = detach(head);
+        while (entry != null) {
+            Entry next = entry.next;
+            entry.prev = null;
+            entry.next = null;
+            place(entry);
+            entry = next;
+        }
+        if (index == 0 && level + 1 < LEVELS) {
+            cascade(level + 1);
+        }
+    }
+
+    private void fire(Entry head) {
+        Entry entry = detach(head);
+        while (entry != null) {
+            Entry next = entry.next;
+            entry.prev = null;
+            entry.next = null;
+            scheduledCount--;
+            entry.state.expire();
+            entry = next;
+        }
+    }
+
+    private void place(Entry entry) {
+        long deadline = Math.max(entry.deadlineMs, nextMs);
+        long delay = deadline - nextMs;
+        Entry head;
+        if (delay < LEVEL0_SIZE) {
+            head = buckets[0][(int) deadline & (LEVEL0_SIZE - 1)];
+        } else {
+            if (delay >= MAX_DELAY_MS) {
+                deadline = nextMs + MAX_DELAY_MS - 1;
+                delay = MAX_DELAY_MS - 1;
+            }
+            int level = 1;
+            while (delay >= 1L << (LEVEL0_BITS + level * LEVEL_BITS)) {
+                level++;
+            }
+            int shift = LEVEL0_BITS + (level - 1) * LEVEL_BITS;
+            head = buckets[level][(int) (deadline >>> shift) & (LEVEL_SIZE - 1)];
+        }
+        entry.prev = head.prev;
+        entry.next = head;
+        head.prev.next = entry;
+        head.prev = entry;
+    }
+
+    private static void unlink(Entry entry) {
+        entry.prev.next = entry.next;
+        entry.next.prev = entry.prev;
+        entry.prev = null;
+        entry.next = null;
+    }
+
+    // Empty a bucket, returning its entries as a null-terminated chain
+    private static Entry detach(Entry head) {
+        if (head.next == head) {
+            return null;
+        }
+        Entry first = head.next;
+        head.prev.next = null;
+        head.prev = head;
+        head.next = head;
+        return first;
+    }
+}
@@ -2,23 +2,26 @@ package org.kamatech.chess.events;
 
 import java.util.*;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 public class EventBus {
+    private static final Logger log = LoggerFactory.getLogger(EventBus.class);
+
     private final Map<Class<? extends Event>, List<EventListener<? extends Event>>> listeners = new HashMap<>();
 
     public <T extends Event> void subscribe(Class<T> eventType, EventListener<T> listener) {
         listeners.computeIfAbsent(eventType, k -> new ArrayList<>()).add(listener);
-        System.out.println("DEBUG: EventBus - Subscribed " + listener.getClass().getSimpleName() + " to "
-                + eventType.getSimpleName());
+        log.debug("EventBus - Subscribed {} to {}", listener.getClass().getSimpleName(), eventType.getSimpleName());
     }
 
     public <T extends Event> void publish(T event) {
         List<EventListener<? extends Event>> registered = listeners.getOrDefault(event.getClass(), List.of());
-        System.out.println("DEBUG: EventBus - Publishing " + event.getClass().getSimpleName() + " to "
-                + registered.size() + " listeners");
+        log.debug("EventBus - Publishing {} to {} listeners", event.getClass().getSimpleName(), registered.size());
         for (EventListener<?> listener : registered) {
             @SuppressWarnings("unchecked")
             EventListener<T> typedListener = (EventListener<T>) listener;
-            System.out.println("DEBUG: EventBus - Calling onEvent on " + listener.getClass().getSimpleName());
+            log.debug("EventBus - Calling onEvent on {}", listener.getClass().getSimpleName());
             typedListener.onEvent(event);
         }
     }
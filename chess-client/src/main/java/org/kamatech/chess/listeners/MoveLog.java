@@ -6,14 +6,19 @@ import org.kamatech.chess.events.*;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 public class MoveLog implements EventListener<PieceMovedEvent> {
+    private static final Logger log = LoggerFactory.getLogger(MoveLog.class);
+
     private final List<String> moves = new ArrayList<>();
 
     @Override
     public void onEvent(PieceMovedEvent event) {
         String move = event.from + " → " + event.to;
         moves.add(move);
-        System.out.println("Move added to log: " + move);
+        log.debug("Move added to log: {}", move);
     }
 
     public List<String> getMoves() {
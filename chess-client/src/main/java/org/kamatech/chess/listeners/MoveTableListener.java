@@ -5,7 +5,12 @@ import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 public class MoveTableListener implements EventListener<PieceMovedEvent> {
+    private static final Logger log = LoggerFactory.getLogger(MoveTableListener.class);
+
     private final JTable whiteTable;
     private final JTable blackTable;
     private final DefaultTableModel whiteModel;
@@ -101,7 +106,7 @@ public class MoveTableListener implements EventListener<PieceMovedEvent> {
     private void updateScoreLabels() {
         whiteScoreLabel.setText("Score: " + whiteScore);
         blackScoreLabel.setText("Score: " + blackScore);
-        System.out.println("DEBUG: Updated scores - White: " + whiteScore + ", Black: " + blackScore);
+        log.debug("Updated scores - White: {}, Black: {}", whiteScore, blackScore);
     }
 
     @Override
@@ -118,9 +123,8 @@ public class MoveTableListener implements EventListener<PieceMovedEvent> {
             captureInfo = "x" + event.capturedPiece;
             int pieceValue = getPieceValue(event.capturedPiece);
 
-            System.out.println("DEBUG: Capture detected! Player: " + event.player +
-                    ", Captured piece: " + event.capturedPiece +
-                    ", Value: " + pieceValue);
+            log.debug("Capture detected! Player: {}, Captured piece: {}, Value: {}",
+                    event.player, event.capturedPiece, pieceValue);
 
             // Add points to the capturing player
             if ("WHITE".equals(event.player)) {
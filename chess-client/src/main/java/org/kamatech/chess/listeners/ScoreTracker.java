@@ -2,7 +2,12 @@ package org.kamatech.chess.listeners;
 
 import org.kamatech.chess.events.EventListener;
 import org.kamatech.chess.events.PieceCapturedEvent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 public class ScoreTracker implements EventListener<PieceCapturedEvent> {
+    private static final Logger log = LoggerFactory.getLogger(ScoreTracker.class);
+
     private int score = 0;
 
     @Override
@@ -22,7 +27,7 @@ public class ScoreTracker implements EventListener<PieceCapturedEvent> {
                 score += 9;
                 break;
         }
-        System.out.println("Score updated: " + score);
+        log.debug("Score updated: {}", score);
     }
 
     public int getScore() {
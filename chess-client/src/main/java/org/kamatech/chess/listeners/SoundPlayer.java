@@ -1,5 +1,6 @@
 package org.kamatech.chess.listeners;
 
+import org.kamatech.chess.AssetManager;
 import org.kamatech.chess.events.*;
 import javax.sound.sampled.*;
 
@@ -8,16 +9,20 @@ import java.io.InputStream;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 /**
  * Sound player for chess game events - plays WAV files with AGGRESSIVE settings
  */
 public class SoundPlayer implements EventListener<SoundEvent> {
+    private static final Logger log = LoggerFactory.getLogger(SoundPlayer.class);
 
     private final BlockingQueue<String> soundQueue = new LinkedBlockingQueue<>();
     private volatile boolean running = true;
 
     public SoundPlayer() {
-        System.out.println("DEBUG: SoundPlayer created - AGGRESSIVE WAV playback mode");
+        log.debug("SoundPlayer created - AGGRESSIVE WAV playback mode");
 
         // Pre-load audio system by playing a silent test
         preloadAudioSystem();
@@ -30,15 +35,15 @@ public class SoundPlayer implements EventListener<SoundEvent> {
      */
     private void preloadAudioSystem() {
         try {
-            System.out.println("DEBUG: Pre-loading audio system...");
+            log.debug("Pre-loading audio system...");
 
-            String resourcePath = "/sound/1.wav";
+            String resourcePath = "sound/1.wav";
+            if (!AssetManager.get().exists(resourcePath)) {
+                log.debug("Audio resource not found: {}", resourcePath);
+                return;
+            }
 
-            try (InputStream inputStream = getClass().getResourceAsStream(resourcePath)) {
-                if (inputStream == null) {
-                    System.out.println("DEBUG: Audio resource not found: " + resourcePath);
-                    return;
-                }
+            try (InputStream inputStream = AssetManager.get().stream(resourcePath)) {
 
                 AudioInputStream audioStream = AudioSystem.getAudioInputStream(new BufferedInputStream(inputStream));
                 Mixer.Info[] mixers = AudioSystem.getMixerInfo();
@@ -52,7 +57,7 @@ public class SoundPlayer implements EventListener<SoundEvent> {
                             clip.open(audioStream);
                             // Don't actually play - just initialize
                             clip.close();
-                            System.out.println("DEBUG: Audio system pre-loaded with mixer: " + mixerInfo.getName());
+                            log.debug("Audio system pre-loaded with mixer: {}", mixerInfo.getName());
                             break;
                         }
                     } catch (Exception e) {
@@ -63,7 +68,7 @@ public class SoundPlayer implements EventListener<SoundEvent> {
             }
 
         } catch (Exception e) {
-            System.out.println("DEBUG: Audio pre-loading failed: " + e.getMessage());
+            log.debug("Audio pre-loading failed: {}", e.getMessage());
         }
     }
 
@@ -77,17 +82,17 @@ public class SoundPlayer implements EventListener<SoundEvent> {
                     String fileName = soundQueue.take(); // Blocks until sound available
                     playWavFileSync(fileName);
                 } catch (InterruptedException e) {
-                    System.out.println("DEBUG: Sound worker interrupted");
+                    log.debug("Sound worker interrupted");
                     break;
                 } catch (Exception e) {
-                    System.out.println("ERROR: Sound worker error: " + e.getMessage());
+                    log.warn("Sound worker error: {}", e.getMessage());
                 }
             }
         });
         soundWorker.setDaemon(true);
         soundWorker.setName("SoundPlayer-Worker");
         soundWorker.start();
-        System.out.println("DEBUG: Sound worker thread started");
+        log.debug("Sound worker thread started");
     }
 
     @Override
@@ -96,19 +101,19 @@ public class SoundPlayer implements EventListener<SoundEvent> {
         String fileName;
         switch (event.soundType) {
             case MOVE:
-                System.out.println("DEBUG: Queuing MOVE sound");
+                log.debug("Queuing MOVE sound");
                 fileName = "1.wav";
                 break;
             case JUMP:
-                System.out.println("DEBUG: Queuing JUMP sound");
+                log.debug("Queuing JUMP sound");
                 fileName = "2.wav";
                 break;
             case EAT:
-                System.out.println("DEBUG: Queuing EAT sound");
+                log.debug("Queuing EAT sound");
                 fileName = "3.wav";
                 break;
             default:
-                System.out.println("DEBUG: Unknown sound type: " + event.soundType);
+                log.debug("Unknown sound type: {}", event.soundType);
                 return;
         }
 
@@ -121,25 +126,26 @@ public class SoundPlayer implements EventListener<SoundEvent> {
      * Play a WAV file - clean WAV playback only
      */
     private synchronized void playWavFileSync(String fileName) {
-        System.out.println("DEBUG: Playing WAV file: " + fileName);
+        log.debug("Playing WAV file: {}", fileName);
 
-        String resourcePath = "/sound/" + fileName;
+        String resourcePath = "sound/" + fileName;
+        if (!AssetManager.get().exists(resourcePath)) {
+            log.warn("WAV resource not found: {}", resourcePath);
+            return;
+        }
 
-        try (InputStream inputStream = getClass().getResourceAsStream(resourcePath)) {
-            if (inputStream == null) {
-                System.out.println("ERROR: WAV resource not found: " + resourcePath);
-                return;
-            }
+        // WAV bytes are cached by the AssetManager - no resource lookup per sound
+        try (InputStream inputStream = AssetManager.get().stream(resourcePath)) {
 
             try (BufferedInputStream bufferedIn = new BufferedInputStream(inputStream);
                     AudioInputStream audioStream = AudioSystem.getAudioInputStream(bufferedIn)) {
 
                 Mixer.Info[] mixers = AudioSystem.getMixerInfo();
-                System.out.println("DEBUG: Trying ALL " + mixers.length + " mixers for " + fileName);
+                log.debug("Trying ALL {} mixers for {}", mixers.length, fileName);
 
                 for (int i = 0; i < mixers.length; i++) {
                     try {
-                        System.out.println("DEBUG: Trying mixer " + i + ": " + mixers[i].getName());
+                        log.debug("Trying mixer {}: {}", i, mixers[i].getName());
 
                         Mixer mixer = AudioSystem.getMixer(mixers[i]);
                         DataLine.Info clipInfo = new DataLine.Info(Clip.class, audioStream.getFormat());
@@ -156,7 +162,7 @@ public class SoundPlayer implements EventListener<SoundEvent> {
                             }
 
                             clip.start();
-                            System.out.println("DEBUG: SUCCESS! Playing with mixer " + i + ": " + mixers[i].getName());
+                            log.debug("SUCCESS! Playing with mixer {}: {}", i, mixers[i].getName());
 
                             // Wait for short time
                             Thread.sleep(500);
@@ -164,20 +170,20 @@ public class SoundPlayer implements EventListener<SoundEvent> {
                             clip.stop();
                             clip.close();
 
-                            System.out.println("DEBUG: Successfully played " + fileName + " with mixer " + i);
+                            log.debug("Successfully played {} with mixer {}", fileName, i);
                             return; // SUCCESS - stop trying other mixers
                         }
                     } catch (Exception e) {
-                        System.out.println("DEBUG: Mixer " + i + " failed: " + e.getMessage());
+                        log.debug("Mixer {} failed: {}", i, e.getMessage());
                         // Continue to next mixer
                     }
                 }
 
-                System.out.println("ERROR: ALL MIXERS FAILED for " + fileName);
+                log.warn("ALL MIXERS FAILED for {}", fileName);
             }
 
         } catch (Exception e) {
-            System.out.println("ERROR: Failed to play WAV file: " + e.getMessage());
+            log.warn("Failed to play WAV file: {}", e.getMessage());
         }
     }
 
@@ -18,7 +18,7 @@ public class ClientCommandSenderTest {
 
     private TestChessClient testClient;
     private ClientCommandSender commandSender;
-    private BlockingQueue<Command> commandQueue;
+    private CommandRing commandQueue;
 
     /**
      * Simple test implementation of ChessClient for testing
@@ -43,7 +43,7 @@ public class ClientCommandSenderTest {
     @BeforeEach
     void setUp() {
         testClient = new TestChessClient();
-        commandQueue = new LinkedBlockingQueue<>();
+        commandQueue = new CommandRing(CommandRing.OverflowPolicy.KEYBOARD);
         commandSender = new ClientCommandSender(testClient, Command.Player.WHITE, commandQueue);
     }
 
@@ -164,7 +164,39 @@ public class ClientCommandSenderTest {
         commandSender.queueCommand(testCommand);
 
         // Then
-        assertThat(commandQueue).hasSize(1);
-        assertThat(commandQueue.peek()).isEqualTo(testCommand);
+        assertThat(commandQueue.size()).isEqualTo(1);
+        assertThat(commandQueue.poll()).isEqualTo(testCommand);
+    }
+
+    @Test
+    @DisplayName("Should report a command the full queue left out instead of waiting for room")
+    void shouldReportLeftOutCommand() {
+        // Given - the sender is not running, so nothing drains the queue
+        commandQueue = new CommandRing(1, CommandRing.WaitStrategy.PARK, CommandRing.OverflowPolicy.KEYBOARD);
+        commandSender = new ClientCommandSender(testClient, Command.Player.WHITE, commandQueue);
+
+        // When
+        boolean first = commandSender.queueCommand(Command.createKeyInput("SELECT_OR_MOVE", Command.Player.WHITE));
+        boolean second = commandSender.queueCommand(Command.createKeyInput("JUMP", Command.Player.WHITE));
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(commandQueue.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should stop the sender thread when its queue is closed")
+    void shouldStopWhenQueueClosed() throws InterruptedException {
+        // Given
+        commandSender.start();
+        Thread.sleep(100);
+
+        // When
+        commandQueue.close();
+        Thread.sleep(100);
+
+        // Then
+        assertThat(commandSender.isRunning()).isFalse();
     }
 }
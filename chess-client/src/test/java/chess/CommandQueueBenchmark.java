@@ -0,0 +1,142 @@
+package chess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.kamatech.chess.Command;
+
+/**
+ * Command queue benchmark - latency from offer to take between two threads, for the queues the client
+ * used (LinkedBlockingQueue, ArrayBlockingQueue) and CommandRing with each wait strategy
+ * The producer offers a command every -Dbench.queueIntervalMicros and sleeps in between, like the
+ * reader and game threads do. Busy spin needs a core for the consumer and is skipped on one CPU.
+ * Excluded from the default build, run with: mvn test -Pbenchmark
+ * Sizes: -Dbench.queueCommands=50000 -Dbench.queueIntervalMicros=20
+ */
+@Tag("benchmark")
+@DisplayName("Command Queue Benchmark")
+public class CommandQueueBenchmark {
+
+    private static final int COMMANDS = Integer.getInteger("bench.queueCommands", 50_000);
+    private static final long INTERVAL_NANOS = Integer.getInteger("bench.queueIntervalMicros", 20) * 1000L;
+
+    private interface Queue {
+        void offer(Command command);
+
+        Command take() throws InterruptedException;
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {"LinkedBlockingQueue", "ArrayBlockingQueue", "CommandRing PARK", "CommandRing BUSY_SPIN"})
+    @DisplayName("Offer-to-take latency percentiles")
+    void benchmarkQueueLatency(String kind) throws Exception {
+        if (kind.endsWith("BUSY_SPIN") && Runtime.getRuntime().availableProcessors() < 2) {
+            System.out.printf("%n=== %s ===%nskipped - one CPU%n", kind);
+            return;
+        }
+        Command[] commands = new Command[16];
+        for (int i = 0; i < commands.length; i++) {
+            commands[i] = Command.createKeyInput(i % 2 == 0 ? "MOVEMENT_UP" : "SELECT_OR_MOVE", Command.Player.WHITE);
+        }
+
+        long[] latencies = null;
+        for (int pass = 0; pass < 2; pass++) { // first pass is warm-up
+            latencies = run(queue(kind), commands);
+        }
+
+        Arrays.sort(latencies);
+        System.out.printf("%n=== %s ===%n", kind);
+        System.out.printf("%d commands: p50 %.1f us, p99 %.1f us, p99.9 %.1f us, max %.1f us%n", COMMANDS,
+                percentile(latencies, 0.50) / 1e3, percentile(latencies, 0.99) / 1e3,
+                percentile(latencies, 0.999) / 1e3, latencies[latencies.length - 1] / 1e3);
+    }
+
+    private static long[] run(Queue queue, Command[] commands) throws InterruptedException {
+        long[] sentNanos = new long[COMMANDS];
+        long[] latencies = new long[COMMANDS];
+        Thread consumer = new Thread(() -> {
+            try {
+                for (int i = 0; i < COMMANDS; i++) {
+                    Command command = queue.take();
+                    latencies[i] = System.nanoTime() - sentNanos[i];
+                    if (command != commands[i % commands.length]) {
+                        throw new IllegalStateException("Out of order at " + i);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "queue-benchmark-consumer");
+        consumer.start();
+
+        long next = System.nanoTime();
+        for (int i = 0; i < COMMANDS; i++) {
+            next += INTERVAL_NANOS;
+            long wait;
+            while ((wait = next - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            sentNanos[i] = System.nanoTime();
+            queue.offer(commands[i % commands.length]);
+        }
+        consumer.join(60_000);
+        assertThat(consumer.isAlive()).isFalse();
+        return latencies;
+    }
+
+    private static Queue queue(String kind) {
+        switch (kind) {
+            case "LinkedBlockingQueue":
+                return blocking(new LinkedBlockingQueue<>());
+            case "ArrayBlockingQueue":
+                return blocking(new ArrayBlockingQueue<>(1024));
+            case "CommandRing PARK":
+                return ring(new CommandRing(1024, CommandRing.WaitStrategy.PARK,
+                        CommandRing.OverflowPolicy.LOSSLESS));
+            default:
+                return ring(new CommandRing(1024, CommandRing.WaitStrategy.BUSY_SPIN,
+                        CommandRing.OverflowPolicy.LOSSLESS));
+        }
+    }
+
+    private static Queue blocking(BlockingQueue<Command> queue) {
+        return new Queue() {
+            @Override
+            public void offer(Command command) {
+                queue.offer(command);
+            }
+
+            @Override
+            public Command take() throws InterruptedException {
+                return queue.take();
+            }
+        };
+    }
+
+    private static Queue ring(CommandRing ring) {
+        return new Queue() {
+            @Override
+            public void offer(Command command) {
+                ring.offer(command);
+            }
+
+            @Override
+            public Command take() throws InterruptedException {
+                return ring.take();
+            }
+        };
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+}
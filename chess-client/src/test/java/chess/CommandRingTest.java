@@ -0,0 +1,199 @@
+package chess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.kamatech.chess.Command;
+
+/**
+ * Tests for CommandRing - order, the overflow policy, waiting on both sides and the queue metrics
+ */
+@DisplayName("CommandRing Tests")
+public class CommandRingTest {
+
+    @Test
+    @DisplayName("Should hand commands over in order and round the capacity up to a power of two")
+    void shouldKeepOrder() {
+        // Given
+        CommandRing ring = new CommandRing(5, CommandRing.WaitStrategy.PARK, CommandRing.OverflowPolicy.LOSSLESS);
+        List<Command> taken = new ArrayList<>();
+
+        // When - wraps around the ring twice
+        for (int i = 0; i < 20; i++) {
+            ring.offer(Command.createKeyInput("SELECT_PIECE_" + (i % 8), Command.Player.WHITE));
+            if (i % 3 != 0) {
+                taken.add(ring.poll());
+            }
+        }
+        Command rest;
+        while ((rest = ring.poll()) != null) {
+            taken.add(rest);
+        }
+
+        // Then
+        assertThat(ring.capacity()).isEqualTo(8);
+        assertThat(taken).hasSize(20);
+        for (int i = 0; i < 20; i++) {
+            assertThat(taken.get(i).getKeyInput()).isEqualTo("SELECT_PIECE_" + (i % 8));
+        }
+        assertThat(ring.isEmpty()).isTrue();
+        assertThat(ring.getMaxDepth()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Should coalesce repeated movement keys and refuse the rest at once when a keyboard ring is full")
+    void shouldApplyKeyboardPolicy() {
+        // Given - a full ring whose newest command is MOVEMENT_UP, with no consumer
+        CommandRing ring = new CommandRing(2, CommandRing.WaitStrategy.PARK, CommandRing.OverflowPolicy.KEYBOARD);
+        Command up = Command.createKeyInput("MOVEMENT_UP", Command.Player.BLACK);
+        ring.offer(Command.createKeyInput("HOVER_LEFT", Command.Player.BLACK));
+        ring.offer(up);
+
+        // When - none of these may wait, the producer is the game loop
+        boolean repeatedUp = ring.offer(Command.createKeyInput("MOVEMENT_UP", Command.Player.BLACK));
+        boolean hover = ring.offer(Command.createKeyInput("HOVER_DOWN", Command.Player.BLACK));
+        boolean move = ring.offer(Command.createKeyInput("SELECT_OR_MOVE", Command.Player.BLACK));
+
+        // Then
+        assertThat(repeatedUp).isFalse();
+        assertThat(hover).isFalse();
+        assertThat(move).isFalse();
+        assertThat(ring.size()).isEqualTo(2);
+        assertThat(ring.getCoalescedCount()).isEqualTo(1);
+        assertThat(ring.getDroppedCount()).isEqualTo(2);
+        assertThat(ring.getFullWaitCount()).isZero();
+        assertThat(ring.getOfferedCount()).isEqualTo(2);
+        assertThat(CommandRing.overflowFor(CommandRing.OverflowPolicy.KEYBOARD,
+                Command.createKeyInput("MOVEMENT_DOWN", Command.Player.BLACK), up))
+                .isEqualTo(CommandRing.Overflow.DROP);
+        assertThat(CommandRing.overflowFor(CommandRing.OverflowPolicy.KEYBOARD,
+                Command.createKeyInput("JUMP", Command.Player.BLACK), null))
+                .isEqualTo(CommandRing.Overflow.DROP);
+    }
+
+    @Test
+    @DisplayName("Should wait on every command from the server when a lossless ring is full, even a repeated one")
+    void shouldApplyLosslessPolicy() {
+        // Given
+        Command up = Command.createKeyInput("MOVEMENT_UP", Command.Player.BLACK);
+
+        // Then
+        assertThat(CommandRing.overflowFor(CommandRing.OverflowPolicy.LOSSLESS, up, up))
+                .isEqualTo(CommandRing.Overflow.WAIT);
+        assertThat(CommandRing.overflowFor(CommandRing.OverflowPolicy.LOSSLESS,
+                Command.createKeyInput("HOVER_DOWN", Command.Player.BLACK), up))
+                .isEqualTo(CommandRing.Overflow.WAIT);
+        assertThat(CommandRing.overflowFor(CommandRing.OverflowPolicy.LOSSLESS, Command.parseCommand("WQ e2->e5"), up))
+                .isEqualTo(CommandRing.Overflow.WAIT);
+        assertThat(CommandRing.overflowFor(CommandRing.OverflowPolicy.LOSSLESS,
+                Command.createGameControl("COMMAND_REJECTED:W_JUMP"), up))
+                .isEqualTo(CommandRing.Overflow.WAIT);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(CommandRing.WaitStrategy.class)
+    @DisplayName("Should never drop from a lossless ring - the producer waits for the consumer to make room")
+    void shouldWaitForRoomWithMoves(CommandRing.WaitStrategy waitStrategy) throws Exception {
+        // Given - repeated commands too, which a keyboard ring would coalesce
+        CommandRing ring = new CommandRing(4, waitStrategy, CommandRing.OverflowPolicy.LOSSLESS);
+        int moves = 1000;
+        List<Command> taken = new ArrayList<>();
+        Thread consumer = new Thread(() -> {
+            try {
+                for (int i = 0; i < moves; i++) {
+                    taken.add(ring.take());
+                    if (i % 100 == 0) {
+                        Thread.sleep(1); // let the ring fill up
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "ring-consumer");
+        consumer.start();
+
+        // When
+        for (int i = 0; i < moves; i++) {
+            assertThat(ring.offer(Command.createKeyInput(i % 4 < 2 ? "SELECT_OR_MOVE" : "JUMP",
+                    Command.Player.WHITE))).isTrue();
+        }
+        consumer.join(10_000);
+
+        // Then
+        assertThat(taken).hasSize(moves);
+        assertThat(ring.getOfferedCount()).isEqualTo(moves);
+        assertThat(ring.getFullWaitCount()).isPositive();
+        assertThat(ring.getMaxDepth()).isEqualTo(4);
+        for (int i = 0; i < moves; i++) {
+            assertThat(taken.get(i).getKeyInput()).isEqualTo(i % 4 < 2 ? "SELECT_OR_MOVE" : "JUMP");
+        }
+    }
+
+    @Test
+    @DisplayName("Should end a waiting take when its thread is interrupted and a waiting offer when closed")
+    void shouldReleaseWaitingSides() throws Exception {
+        // Given
+        CommandRing ring = new CommandRing(1, CommandRing.WaitStrategy.PARK, CommandRing.OverflowPolicy.LOSSLESS);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        Thread consumer = new Thread(() -> {
+            try {
+                ring.take();
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+        }, "ring-consumer");
+        consumer.start();
+        Thread.sleep(50);
+
+        // When
+        consumer.interrupt();
+        consumer.join(5000);
+        ring.offer(Command.createKeyInput("JUMP", Command.Player.WHITE));
+        AtomicReference<Boolean> blockedOffer = new AtomicReference<>();
+        Thread producer = new Thread(() -> blockedOffer.set(
+                ring.offer(Command.createKeyInput("JUMP", Command.Player.WHITE))), "ring-producer");
+        producer.start();
+        Thread.sleep(50);
+        ring.close();
+        producer.join(5000);
+
+        // Then
+        assertThat(interrupted).isTrue();
+        assertThat(blockedOffer.get()).isFalse();
+        assertThat(ring.offer(Command.createKeyInput("HOVER_UP", Command.Player.WHITE))).isFalse();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(CommandRing.WaitStrategy.class)
+    @DisplayName("Should wake a take waiting on an empty ring when the ring is closed")
+    void shouldReleaseTakeOnClose(CommandRing.WaitStrategy waitStrategy) throws Exception {
+        // Given
+        CommandRing ring = new CommandRing(4, waitStrategy, CommandRing.OverflowPolicy.LOSSLESS);
+        AtomicReference<Command> taken = new AtomicReference<>(Command.createGameControl("NOT_TAKEN"));
+        Thread consumer = new Thread(() -> {
+            try {
+                taken.set(ring.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "ring-consumer");
+        consumer.start();
+        Thread.sleep(50);
+
+        // When
+        ring.close();
+        consumer.join(5000);
+
+        // Then
+        assertThat(consumer.isAlive()).isFalse();
+        assertThat(taken.get()).isNull();
+    }
+}
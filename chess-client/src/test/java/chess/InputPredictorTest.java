@@ -0,0 +1,328 @@
+package chess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.LongSupplier;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.kamatech.chess.Command;
+
+/**
+ * Tests for InputPredictor - prediction, confirmation, rollback and replay
+ * Ends with a harness that plays a scripted input sequence over a simulated 150ms round trip,
+ * with and without prediction, and measures how long each key takes to show.
+ */
+@DisplayName("InputPredictor Tests")
+public class InputPredictorTest {
+
+    private static final long ONE_WAY_MS = 75;
+    private static final long KEY_INTERVAL_MS = 40;
+
+    @Test
+    @DisplayName("Should show a predicted command at once and keep it when the server confirms")
+    void shouldConfirmPrediction() {
+        // Given
+        CursorModel client = new CursorModel(false, () -> 0);
+        InputPredictor<int[]> predictor = new InputPredictor<>(client);
+        Command up = key("MOVEMENT_UP");
+
+        // When
+        predictor.send(up, true);
+        int[] predicted = client.captureInput();
+        predictor.accepted(up);
+
+        // Then
+        assertThat(predicted).containsExactly(7, 6, 0, 0, 0);
+        assertThat(client.captureInput()).containsExactly(7, 6, 0, 0, 0);
+        assertThat(predictor.getConfirmedCount()).isEqualTo(1);
+        assertThat(predictor.getOutstandingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should roll back a rejected prediction and replay the ones made after it")
+    void shouldRollBackRejected() {
+        // Given - the client selects on (7,6) and grows the pending move, the server refuses the selection
+        CursorModel client = new CursorModel(false, () -> 0);
+        InputPredictor<int[]> predictor = new InputPredictor<>(client);
+        Command up = key("MOVEMENT_UP");
+        Command select = key("SELECT_OR_MOVE");
+        Command left = key("MOVEMENT_LEFT");
+        predictor.send(up, true);
+        predictor.send(select, true);
+        predictor.send(left, true);
+        assertThat(client.captureInput()).containsExactly(7, 6, 1, -1, 0);
+
+        // When
+        predictor.accepted(up);
+        predictor.rejected(select.getRawCommand());
+
+        // Then - without the selection, LEFT moves the cursor instead of the pending move
+        assertThat(client.captureInput()).containsExactly(6, 6, 0, 0, 0);
+        assertThat(predictor.getRolledBackCount()).isEqualTo(1);
+        assertThat(predictor.getOutstandingCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should apply a command that waited for the server under the predictions made after it")
+    void shouldReplayOverLateCommand() {
+        // Given - in movement mode the move itself is not predicted, the keys after it are
+        CursorModel client = new CursorModel(false, () -> 0);
+        InputPredictor<int[]> predictor = new InputPredictor<>(client);
+        Command up = key("MOVEMENT_UP");
+        Command select = key("SELECT_OR_MOVE");
+        Command move = key("SELECT_OR_MOVE");
+        Command left = key("MOVEMENT_LEFT");
+        predictor.send(up, true);
+        predictor.send(select, true);
+        predictor.send(move, false);
+        predictor.send(left, true);
+        assertThat(client.captureInput()).containsExactly(7, 6, 1, -1, 0);
+
+        // When
+        predictor.accepted(up);
+        predictor.accepted(select);
+        predictor.accepted(move);
+
+        // Then - the move ended movement mode, so LEFT now moves the cursor
+        assertThat(client.captureInput()).containsExactly(6, 6, 0, 0, 0);
+        assertThat(predictor.getRolledBackCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should undo the prediction of a command the keyboard queue left out and reuse its number")
+    void shouldWithdrawUnsentCommand() {
+        // Given - LEFT is predicted, then the queue refuses it
+        CursorModel client = new CursorModel(false, () -> 0);
+        InputPredictor<int[]> predictor = new InputPredictor<>(client);
+        Command up = key("MOVEMENT_UP");
+        Command left = key("MOVEMENT_LEFT");
+        predictor.send(up, true);
+        int sequence = predictor.send(left, true);
+
+        // When
+        boolean older = predictor.withdraw(sequence - 1);
+        boolean withdrawn = predictor.withdraw(sequence);
+        int next = predictor.send(key("SELECT_OR_MOVE"), false);
+        predictor.accepted(up);
+
+        // Then - only UP is left and the server's next answer still matches it
+        assertThat(older).isFalse();
+        assertThat(withdrawn).isTrue();
+        assertThat(next).isEqualTo(sequence);
+        assertThat(client.captureInput()).containsExactly(7, 6, 0, 0, 0);
+        assertThat(predictor.getConfirmedCount()).isEqualTo(1);
+        assertThat(predictor.getRolledBackCount()).isEqualTo(1);
+        assertThat(predictor.getOutstandingCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should show own input at once over a 150ms round trip and end in the server's state")
+    void shouldCutInputLatency() {
+        // Given - the same keys, first waiting for the server, then predicted
+        LatencyRun waiting = play(false);
+        LatencyRun predicted = play(true);
+
+        // Then - keys that are not predicted still take one round trip, never longer
+        assertThat(waiting.percentile(0.50)).as("waiting for server, p50 ms").isEqualTo(2 * ONE_WAY_MS);
+        assertThat(waiting.percentile(1.0)).as("waiting for server, max ms").isEqualTo(2 * ONE_WAY_MS);
+        assertThat(predicted.percentile(0.50)).as("predicted, p50 ms").isZero();
+        assertThat(predicted.percentile(1.0)).as("predicted, max ms").isEqualTo(2 * ONE_WAY_MS);
+        assertThat(predicted.shownAtOnce()).as("keys shown at once").isGreaterThan(predicted.latencies.length / 2);
+        assertThat(predicted.rolledBack).isPositive();
+        assertThat(waiting.clientState).containsExactly(waiting.serverState);
+        assertThat(predicted.clientState).containsExactly(predicted.serverState);
+        assertThat(predicted.serverState).containsExactly(waiting.serverState);
+    }
+
+    /**
+     * Play the script against a server one ONE_WAY_MS away, on a simulated clock
+     */
+    private static LatencyRun play(boolean predict) {
+        Simulation simulation = new Simulation();
+        CursorModel client = new CursorModel(false, () -> simulation.now);
+        CursorModel server = new CursorModel(true, () -> simulation.now);
+        InputPredictor<int[]> predictor = new InputPredictor<>(client);
+        String[] script = {"MOVEMENT_UP", "SELECT_OR_MOVE", "MOVEMENT_UP", "SELECT_OR_MOVE",
+                "MOVEMENT_LEFT", "SELECT_OR_MOVE", "MOVEMENT_DOWN", "SELECT_OR_MOVE",
+                "MOVEMENT_LEFT", "MOVEMENT_DOWN", "SELECT_OR_MOVE", "MOVEMENT_UP", "SELECT_OR_MOVE"};
+        List<Command> pressed = new ArrayList<>();
+        Map<Command, Long> pressedAt = new IdentityHashMap<>();
+        for (int round = 0; round < 4; round++) {
+            for (String keyInput : script) {
+                Command command = key(keyInput);
+                long time = pressed.size() * KEY_INTERVAL_MS;
+                pressed.add(command);
+                pressedAt.put(command, time);
+                simulation.at(time, () -> {
+                    predictor.send(command, predict && client.isPredictable(command));
+                    simulation.at(simulation.now + ONE_WAY_MS, () -> {
+                        boolean accepted = server.accepts(command);
+                        if (accepted) {
+                            server.apply(command);
+                        }
+                        simulation.at(simulation.now + ONE_WAY_MS, () -> {
+                            if (accepted) {
+                                predictor.accepted(command);
+                            } else {
+                                predictor.rejected(command.getRawCommand());
+                            }
+                        });
+                    });
+                });
+            }
+        }
+        simulation.run();
+
+        // Keys the server took - each shows once, predicted or not
+        List<Long> latencies = new ArrayList<>();
+        for (Command command : pressed) {
+            if (server.applied.containsKey(command)) {
+                latencies.add(client.applied.get(command) - pressedAt.get(command));
+            }
+        }
+        return new LatencyRun(latencies, client.captureInput(), server.captureInput(), predictor.getRolledBackCount());
+    }
+
+    private static Command key(String keyInput) {
+        return Command.createKeyInput(keyInput, Command.Player.WHITE);
+    }
+
+    /**
+     * Input rules of the client's Game, cut down to one player: cursor from (7,7), own pieces on rows 6 and 7,
+     * SELECT_OR_MOVE selects outside movement mode and moves inside it. The server also knows the own
+     * pieces in column 6 are gone, which the client learns only from its rejections.
+     */
+    private static final class CursorModel implements InputPredictor.Model<int[]> {
+        private final boolean server;
+        private final LongSupplier clock;
+        private int x = 7;
+        private int y = 7;
+        private boolean movementMode;
+        private int pendingDx;
+        private int pendingDy;
+        // When each command was first applied
+        final Map<Command, Long> applied = new IdentityHashMap<>();
+
+        CursorModel(boolean server, LongSupplier clock) {
+            this.server = server;
+            this.clock = clock;
+        }
+
+        boolean isPredictable(Command command) {
+            return !command.getKeyInput().equals("SELECT_OR_MOVE") || !movementMode;
+        }
+
+        boolean accepts(Command command) {
+            if (!command.getKeyInput().equals("SELECT_OR_MOVE") || movementMode) {
+                return true;
+            }
+            return y >= 6 && !(server && x == 6);
+        }
+
+        @Override
+        public int[] captureInput() {
+            return new int[] {x, y, movementMode ? 1 : 0, pendingDx, pendingDy};
+        }
+
+        @Override
+        public void restoreInput(int[] state) {
+            x = state[0];
+            y = state[1];
+            movementMode = state[2] == 1;
+            pendingDx = state[3];
+            pendingDy = state[4];
+        }
+
+        @Override
+        public void apply(Command command) {
+            applied.putIfAbsent(command, clock.getAsLong());
+            switch (command.getKeyInput()) {
+                case "MOVEMENT_UP":
+                    step(0, -1);
+                    break;
+                case "MOVEMENT_DOWN":
+                    step(0, 1);
+                    break;
+                case "MOVEMENT_LEFT":
+                    step(-1, 0);
+                    break;
+                case "MOVEMENT_RIGHT":
+                    step(1, 0);
+                    break;
+                case "SELECT_OR_MOVE":
+                    if (!movementMode) {
+                        movementMode = y >= 6;
+                    } else {
+                        movementMode = false;
+                    }
+                    pendingDx = 0;
+                    pendingDy = 0;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void step(int dx, int dy) {
+            if (movementMode) {
+                pendingDx += dx;
+                pendingDy += dy;
+            } else {
+                x = Math.max(0, Math.min(7, x + dx));
+                y = Math.max(0, Math.min(7, y + dy));
+            }
+        }
+    }
+
+    /**
+     * Events on a simulated clock, run in time order
+     */
+    private static final class Simulation {
+        private final PriorityQueue<long[]> queue = new PriorityQueue<>((a, b) ->
+                a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        private final List<Runnable> actions = new ArrayList<>();
+        long now;
+
+        void at(long time, Runnable action) {
+            queue.add(new long[] {time, actions.size()});
+            actions.add(action);
+        }
+
+        void run() {
+            while (!queue.isEmpty()) {
+                long[] event = queue.poll();
+                now = event[0];
+                actions.get((int) event[1]).run();
+            }
+        }
+    }
+
+    private static final class LatencyRun {
+        final long[] latencies;
+        final int[] clientState;
+        final int[] serverState;
+        final long rolledBack;
+
+        LatencyRun(List<Long> latencies, int[] clientState, int[] serverState, long rolledBack) {
+            this.latencies = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            this.clientState = clientState;
+            this.serverState = serverState;
+            this.rolledBack = rolledBack;
+        }
+
+        long percentile(double p) {
+            return latencies[Math.min(latencies.length - 1, (int) (latencies.length * p))];
+        }
+
+        long shownAtOnce() {
+            return Arrays.stream(latencies).filter(latency -> latency == 0).count();
+        }
+    }
+}
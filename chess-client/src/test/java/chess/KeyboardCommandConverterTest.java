@@ -1,6 +1,7 @@
 package chess;
 
 import java.awt.event.KeyEvent;
+import java.lang.management.ManagementFactory;
 
 import javax.swing.JPanel;
 
@@ -204,4 +205,67 @@ public class KeyboardCommandConverterTest {
         assertThat(cmd5.getKeyInput()).isEqualTo("SELECT_PIECE_4");
         assertThat(cmd5.getRawCommand()).isEqualTo("B_SELECT_PIECE_4");
     }
+
+    @Test
+    @DisplayName("Should return the same command for every press of a key")
+    void shouldReuseCommandsAcrossKeyPresses() {
+        // Given
+        KeyEvent first = new KeyEvent(testComponent, KeyEvent.KEY_PRESSED, System.currentTimeMillis(), 0, KeyEvent.VK_W, 'w');
+        KeyEvent second = new KeyEvent(testComponent, KeyEvent.KEY_PRESSED, System.currentTimeMillis(), 0, KeyEvent.VK_W, 'w');
+
+        // When
+        Command firstCommand = whiteConverter.convertKeyEventToCommand(first);
+        Command secondCommand = whiteConverter.convertKeyEventToCommand(second);
+
+        // Then
+        assertThat(secondCommand).isSameAs(firstCommand);
+        assertThat(new KeyboardCommandConverter(Command.Player.WHITE).convertKeyEventToCommand(first).getRawCommand())
+                .isEqualTo(firstCommand.getRawCommand());
+    }
+
+    @Test
+    @DisplayName("Should not allocate from key event to the keyboard queue")
+    void shouldNotAllocateFromKeyEventToQueue() {
+        // Given - the sender is never started, the test drains its queue
+        CommandRing keyboardQueue = new CommandRing(16, CommandRing.WaitStrategy.PARK, CommandRing.OverflowPolicy.KEYBOARD);
+        ClientCommandSender sender = new ClientCommandSender(null, Command.Player.BLACK, keyboardQueue);
+        int[] keyCodes = {KeyEvent.VK_UP, KeyEvent.VK_LEFT, KeyEvent.VK_ENTER, KeyEvent.VK_V, KeyEvent.VK_3,
+                KeyEvent.VK_W, KeyEvent.VK_F1};
+        KeyEvent[] events = new KeyEvent[keyCodes.length + 1];
+        for (int i = 0; i < keyCodes.length; i++) {
+            events[i] = new KeyEvent(testComponent, KeyEvent.KEY_PRESSED, System.currentTimeMillis(), 0, keyCodes[i],
+                    KeyEvent.CHAR_UNDEFINED);
+        }
+        events[keyCodes.length] = new KeyEvent(testComponent, KeyEvent.KEY_PRESSED, System.currentTimeMillis(), 0,
+                KeyEvent.VK_SHIFT, KeyEvent.CHAR_UNDEFINED, KeyEvent.KEY_LOCATION_RIGHT);
+        pressKeys(events, blackConverter, sender, keyboardQueue, 200_000); // warm-up
+
+        // When
+        long before = allocatedBytes();
+        int queued = pressKeys(events, blackConverter, sender, keyboardQueue, 1_000_000);
+        long allocated = allocatedBytes() - before;
+
+        // Then - a single object per press would be 16 bytes; the slack covers JIT transitions and the counter itself
+        assertThat(queued).isEqualTo(750_000); // W and F1 send nothing for black
+        assertThat((double) allocated / 1_000_000).isLessThan(0.01);
+    }
+
+    private static int pressKeys(KeyEvent[] events, KeyboardCommandConverter converter, ClientCommandSender sender,
+            CommandRing keyboardQueue, int presses) {
+        int queued = 0;
+        for (int i = 0; i < presses; i++) {
+            Command command = converter.convertKeyEventToCommand(events[i % events.length]);
+            if (command != null) {
+                sender.queueCommand(command);
+                keyboardQueue.poll();
+                queued++;
+            }
+        }
+        return queued;
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
 }
@@ -0,0 +1,101 @@
+package chess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Canvas;
+import java.awt.event.KeyEvent;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.kamatech.chess.Command;
+
+/**
+ * Keyboard input benchmark - key presses from KeyEvent to the keyboard queue, through the table-driven
+ * KeyboardCommandConverter and its CommandRing against the old converter, which built the key input
+ * string and a new Command per press and queued it on a LinkedBlockingQueue
+ * Excluded from the default build, run with: mvn test -Pbenchmark
+ * Size: -Dbench.keyPresses=2000000
+ */
+@Tag("benchmark")
+@DisplayName("Keyboard Input Benchmark")
+public class KeyboardInputBenchmark {
+
+    private static final int PRESSES = Integer.getInteger("bench.keyPresses", 2_000_000);
+
+    @Test
+    @DisplayName("Key presses per second and allocation per key press")
+    void benchmarkKeyboardInput() {
+        Canvas source = new Canvas();
+        int[] keyCodes = {KeyEvent.VK_W, KeyEvent.VK_A, KeyEvent.VK_SPACE, KeyEvent.VK_S, KeyEvent.VK_D,
+                KeyEvent.VK_Q, KeyEvent.VK_SPACE, KeyEvent.VK_4};
+        KeyEvent[] events = new KeyEvent[keyCodes.length];
+        for (int i = 0; i < keyCodes.length; i++) {
+            events[i] = new KeyEvent(source, KeyEvent.KEY_PRESSED, 0, 0, keyCodes[i], KeyEvent.CHAR_UNDEFINED);
+        }
+        KeyboardCommandConverter converter = new KeyboardCommandConverter(Command.Player.WHITE);
+
+        for (int pass = 0; pass < 2; pass++) { // first pass is warm-up
+            BlockingQueue<Command> linked = new LinkedBlockingQueue<>();
+            long allocated = allocatedBytes();
+            long start = System.nanoTime();
+            long oldLength = 0;
+            for (int i = 0; i < PRESSES; i++) {
+                Command command = convertOld(events[i % events.length]);
+                linked.offer(command);
+                oldLength += linked.poll().getRawCommand().length();
+            }
+            long oldNanos = System.nanoTime() - start;
+            long oldBytes = allocatedBytes() - allocated;
+
+            CommandRing ring = new CommandRing(1024, CommandRing.WaitStrategy.PARK, CommandRing.OverflowPolicy.KEYBOARD);
+            allocated = allocatedBytes();
+            start = System.nanoTime();
+            long tableLength = 0;
+            for (int i = 0; i < PRESSES; i++) {
+                Command command = converter.convertKeyEventToCommand(events[i % events.length]);
+                ring.offer(command);
+                tableLength += ring.poll().getRawCommand().length();
+            }
+            long tableNanos = System.nanoTime() - start;
+            long tableBytes = allocatedBytes() - allocated;
+
+            assertThat(tableLength).isEqualTo(oldLength);
+            if (pass == 1) {
+                System.out.printf("string-built commands: %,12.0f presses/s %8.1f bytes/press%n",
+                        PRESSES * 1e9 / oldNanos, (double) oldBytes / PRESSES);
+                System.out.printf("command table:         %,12.0f presses/s %8.3f bytes/press%n",
+                        PRESSES * 1e9 / tableNanos, (double) tableBytes / PRESSES);
+                assertThat((double) tableBytes / PRESSES).isLessThan(0.01);
+            }
+        }
+    }
+
+    /**
+     * The old conversion for white's keys: direction strings, concatenated key input, a Command per press
+     */
+    private static Command convertOld(KeyEvent e) {
+        int keyCode = e.getKeyCode();
+        if (Command.isWhiteMovementKey(keyCode)) {
+            return Command.createKeyInput("MOVEMENT_" + Command.keyCodeToDirection(keyCode), Command.Player.WHITE);
+        }
+        if (Command.isWhiteHoverKey(keyCode)) {
+            return Command.createKeyInput("HOVER_" + Command.getHoverDirection(keyCode), Command.Player.WHITE);
+        }
+        if (Command.isNumberKey(keyCode)) {
+            return Command.createKeyInput("SELECT_PIECE_" + Command.numberKeyToIndex(keyCode), Command.Player.WHITE);
+        }
+        if (keyCode == KeyEvent.VK_SPACE) {
+            return Command.createKeyInput("SELECT_OR_MOVE", Command.Player.WHITE);
+        }
+        return null;
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
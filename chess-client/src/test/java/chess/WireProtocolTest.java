@@ -0,0 +1,84 @@
+package chess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.kamatech.chess.Command;
+
+/**
+ * Unit tests for WireProtocol
+ * The byte layout is shared with the server's WireProtocolTest
+ */
+@DisplayName("WireProtocol Tests")
+public class WireProtocolTest {
+
+    @Test
+    @DisplayName("Should encode a command in the shared 12-byte layout")
+    void shouldEncodeCommandFrame() {
+        // Given
+        Command command = Command.createKeyInput("SELECT_OR_MOVE", Command.Player.WHITE);
+
+        // When
+        byte[] frame = WireProtocol.encode(command, 0x0102, 0x0A0B0C0DL);
+
+        // Then
+        assertThat(frame).containsExactly(11, 5, 0, 0xFF, 0xFF, 0xFF, 0x01, 0x02, 0x0A, 0x0B, 0x0C, 0x0D);
+    }
+
+    @Test
+    @DisplayName("Should decode commands without parsing text")
+    void shouldRoundTripCommands() {
+        // Given
+        Command[] commands = {
+                Command.createKeyInput("MOVEMENT_LEFT", Command.Player.BLACK),
+                Command.createKeyInput("HOVER_DOWN", Command.Player.WHITE),
+                Command.createKeyInput("SELECT_PIECE_7", Command.Player.WHITE),
+                Command.createKeyInput("JUMP", Command.Player.BLACK),
+                Command.createGameControl("END_GAME")
+        };
+        for (Command command : commands) {
+            // When
+            byte[] frame = WireProtocol.encode(command, 1, 0);
+            Command decoded = WireProtocol.decodeCommand(Arrays.copyOfRange(frame, 1, frame.length), frame.length - 1);
+
+            // Then
+            assertThat(frame).as(command.getRawCommand()).hasSize(WireProtocol.COMMAND_FRAME_BYTES);
+            assertThat(decoded.getRawCommand()).isEqualTo(command.getRawCommand());
+            assertThat(decoded.getCommandType()).isEqualTo(command.getCommandType());
+            assertThat(decoded.getKeyInput()).isEqualTo(command.getKeyInput());
+        }
+    }
+
+    @Test
+    @DisplayName("Should read text lines up to the switch and frames after it")
+    void shouldReadLinesThenFrames() throws Exception {
+        // Given
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        stream.write(("PLAYER_ROLE:WHITE\r\n" + WireProtocol.SWITCH + "\n").getBytes(StandardCharsets.UTF_8));
+        stream.write(WireProtocol.encodeText("GAME_START"));
+        stream.write(WireProtocol.encode(Command.createKeyInput("MOVEMENT_UP", Command.Player.BLACK), 2, 0));
+        ByteArrayInputStream in = new ByteArrayInputStream(stream.toByteArray());
+        int[] length = new int[1];
+
+        // When
+        String role = WireProtocol.readLine(in, StandardCharsets.UTF_8);
+        String switchLine = WireProtocol.readLine(in, StandardCharsets.UTF_8);
+        byte[] text = WireProtocol.readFrame(in, new byte[4], length);
+        String start = WireProtocol.decodeText(text, length[0]);
+        byte[] frame = WireProtocol.readFrame(in, text, length);
+        Command move = WireProtocol.decodeCommand(frame, length[0]);
+
+        // Then
+        assertThat(role).isEqualTo("PLAYER_ROLE:WHITE");
+        assertThat(switchLine).isEqualTo(WireProtocol.SWITCH);
+        assertThat(start).isEqualTo("GAME_START");
+        assertThat(move.getRawCommand()).isEqualTo("B_MOVEMENT_UP");
+        assertThat(WireProtocol.readFrame(in, frame, length)).isNull();
+    }
+}
@@ -0,0 +1,66 @@
+package org.kamatech.chess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for Animation
+ * Tests the frame math and that every piece runs its animation on its own clock
+ */
+@DisplayName("Animation Tests")
+public class AnimationTest {
+    private static final long MS = 1_000_000L;
+
+    @Test
+    @DisplayName("Should step through all frames once per cycle")
+    void shouldStepThroughFramesPerCycle() {
+        // Given - 4 frames: a 10 second cycle while resting, 16 ms otherwise
+        Animation animation = new Animation(1_000 * MS);
+
+        // Then
+        assertThat(animation.frameIndex(State.PieceState.REST, 4, 1_000 * MS)).isZero();
+        assertThat(animation.frameIndex(State.PieceState.REST, 4, 3_499 * MS)).isZero();
+        assertThat(animation.frameIndex(State.PieceState.REST, 4, 3_500 * MS)).isEqualTo(1);
+        assertThat(animation.frameIndex(State.PieceState.REST, 4, 10_999 * MS)).isEqualTo(3);
+        assertThat(animation.frameIndex(State.PieceState.REST, 4, 11_000 * MS)).isZero();
+        assertThat(animation.frameIndex(State.PieceState.MOVE, 4, 1_008 * MS)).isEqualTo(2);
+        assertThat(animation.frameIndex(State.PieceState.MOVE, 1, 1_008 * MS)).isZero();
+        assertThat(animation.frameIndex(State.PieceState.MOVE, 4, 900 * MS)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should animate two pawns of the same type from their own state changes")
+    void shouldKeepOneClockPerPiece() throws InterruptedException {
+        // Given - two white pawns entering REST 60 ms apart
+        State first = new State(null, null, null);
+        State second = new State(null, null, null);
+        first.setState(State.PieceState.REST);
+        Thread.sleep(60);
+        second.setState(State.PieceState.REST);
+        Map<String, Piece> pieces = new LinkedHashMap<>();
+        pieces.put("PW60", new Piece("PW", first, 0, 6, true));
+        pieces.put("PW61", new Piece("PW", second, 1, 6, true));
+
+        // When
+        BoardSnapshot snapshot = BoardSnapshot.capture(pieces, BoardSnapshot.PlayerView.NONE,
+                BoardSnapshot.PlayerView.NONE);
+        long firstEnter = snapshot.find("PW60").getStateEnterNanos();
+        long secondEnter = snapshot.find("PW61").getStateEnterNanos();
+        second.setState(State.PieceState.IDLE);
+
+        // Then - the clocks are separate, travel with the snapshot and restart on every state change
+        assertThat(secondEnter - firstEnter).isGreaterThanOrEqualTo(60 * MS);
+        assertThat(firstEnter).isEqualTo(first.getAnimation().getStateEnterNanos());
+        assertThat(second.getAnimation().getStateEnterNanos()).isGreaterThan(secondEnter);
+        // 100 frames over the 10 second rest - one frame per 100 ms
+        assertThat(Animation.frameIndex(firstEnter, State.PieceState.REST, 100, firstEnter + 250 * MS))
+                .isEqualTo(2);
+        assertThat(Animation.frameIndex(secondEnter, State.PieceState.REST, 100, firstEnter + 250 * MS))
+                .isLessThan(2);
+    }
+}
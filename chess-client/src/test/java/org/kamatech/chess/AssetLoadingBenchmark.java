@@ -0,0 +1,101 @@
+package org.kamatech.chess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Asset loading benchmark - cold start to the first rendered board, from the classes folder and from a jar
+ * Each run uses a fresh class loader and AssetManager: index, parallel load, atlas build, one full frame.
+ * The first run also pays for JVM and ImageIO warm-up, so both modes are run alternately.
+ * Excluded from the default build, run with: mvn test -Pbenchmark
+ * Size: -Dbench.assetRuns=2 -Dbench.cellSize=100
+ */
+@Tag("benchmark")
+@DisplayName("Asset Loading Benchmark")
+public class AssetLoadingBenchmark {
+
+    private static final int RUNS = Integer.getInteger("bench.assetRuns", 2);
+    private static final int CELL = Integer.getInteger("bench.cellSize", 100);
+    private static final String[] BACK_RANK = {"R", "N", "B", "K", "Q", "B", "N", "R"};
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    @DisplayName("Cold start to first frame - folder and jar packaging")
+    void benchmarkColdStart() throws Exception {
+        File classes = new File(AssetManager.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        File jar = new File(tempDir, "chess-client-assets.jar");
+        writeJar(classes, jar);
+
+        for (int run = 1; run <= RUNS; run++) {
+            for (File root : new File[] {classes, jar}) {
+                try (URLClassLoader classLoader = new URLClassLoader(new URL[] {root.toURI().toURL()}, null)) {
+                    coldStart(run, root == jar ? "jar   " : "folder", classLoader);
+                }
+            }
+        }
+    }
+
+    private static void coldStart(int run, String mode, ClassLoader classLoader) throws Exception {
+        long start = System.nanoTime();
+        AssetManager assets = new AssetManager(classLoader);
+        long indexed = System.nanoTime();
+        assets.loadAll(null);
+        long loaded = System.nanoTime();
+        SpriteAtlas atlas = SpriteAtlas.load(assets);
+        BufferedImage frame = new BufferedImage(8 * CELL, 8 * CELL, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = frame.createGraphics();
+        g.drawImage(assets.image("board.png"), 0, 0, 8 * CELL, 8 * CELL, null);
+        int drawn = 0;
+        for (int x = 0; x < 8; x++) {
+            String[][] column = {{BACK_RANK[x] + "B", "0"}, {"PB", "1"}, {"PW", "6"}, {BACK_RANK[x] + "W", "7"}};
+            for (String[] piece : column) {
+                if (atlas.draw(g, piece[0], "idle", 0, x * CELL + 5, Integer.parseInt(piece[1]) * CELL + 5,
+                        CELL - 10, CELL - 10)) {
+                    drawn++;
+                }
+            }
+        }
+        g.dispose();
+        long firstFrame = System.nanoTime();
+
+        System.out.printf("run %d %s: %3d assets  index %6.1f ms  load %7.1f ms  atlas+frame %6.1f ms"
+                        + "  first frame at %7.1f ms%n",
+                run, mode, assets.getPaths().size(), (indexed - start) / 1e6, (loaded - indexed) / 1e6,
+                (firstFrame - loaded) / 1e6, (firstFrame - start) / 1e6);
+        assertThat(drawn).isEqualTo(32);
+    }
+
+    // Packs the indexed assets the way the module jar holds them
+    private static void writeJar(File classes, File jar) throws IOException {
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            addEntry(out, classes, AssetManager.INDEX);
+            for (String path : new AssetManager(new URLClassLoader(new URL[] {classes.toURI().toURL()}, null))
+                    .getPaths()) {
+                addEntry(out, classes, path);
+            }
+        }
+    }
+
+    private static void addEntry(JarOutputStream out, File classes, String path) throws IOException {
+        out.putNextEntry(new JarEntry(path));
+        out.write(Files.readAllBytes(new File(classes, path).toPath()));
+        out.closeEntry();
+    }
+}
@@ -0,0 +1,106 @@
+package org.kamatech.chess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for AssetManager
+ * Tests the prebuilt asset index and loading assets from a folder and from a jar
+ */
+@DisplayName("AssetManager Tests")
+public class AssetManagerTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    @DisplayName("Should have an index listing exactly the files in src/main/resources")
+    void shouldHaveUpToDateIndex() throws IOException {
+        // Given
+        File resources = new File("src/main/resources");
+        List<String> indexed = new AssetManager(AssetManagerTest.class.getClassLoader()).getPaths();
+
+        // Then - regenerate with the command at the top of assets.idx when this fails
+        assertThat(indexed).containsExactlyElementsOf(AssetManager.scan(resources));
+    }
+
+    @Test
+    @DisplayName("Should enumerate and load assets from inside a jar")
+    void shouldLoadFromJar() throws Exception {
+        // Given - a jar holding an index, a sprite, a moves file and a sound
+        File jar = new File(tempDir, "assets.jar");
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            addEntry(out, AssetManager.INDEX, ("# index\npieces/RW/moves.txt\n"
+                    + "pieces/RW/states/idle/sprites/1.png\nsound/1.wav\n").getBytes(StandardCharsets.UTF_8));
+            addEntry(out, "pieces/RW/moves.txt", "1,0\n\n0,1\n".getBytes(StandardCharsets.UTF_8));
+            addEntry(out, "pieces/RW/states/idle/sprites/1.png", png());
+            addEntry(out, "sound/1.wav", new byte[] {1, 2, 3});
+        }
+        List<String> progress = new CopyOnWriteArrayList<>();
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] {jar.toURI().toURL()}, null)) {
+            AssetManager assets = new AssetManager(classLoader);
+
+            // When
+            assets.loadAll((loaded, total, path) -> progress.add(loaded + "/" + total));
+
+            // Then
+            assertThat(assets.list("pieces/")).containsExactly("pieces/RW/moves.txt",
+                    "pieces/RW/states/idle/sprites/1.png");
+            assertThat(assets.lines("pieces/RW/moves.txt")).containsExactly("1,0", "0,1");
+            assertThat(assets.image("pieces/RW/states/idle/sprites/1.png").getWidth()).isEqualTo(4);
+            assertThat(assets.bytes("sound/1.wav")).containsExactly(1, 2, 3);
+            assertThat(progress).hasSize(3).contains("3/3");
+            assertThat(SpriteAtlas.load(assets).getFrames("RW", "idle")).hasSize(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Should scan a resources folder that has no index")
+    void shouldScanFolderWithoutIndex() throws Exception {
+        // Given
+        File moves = new File(tempDir, "pieces/QW/moves.txt");
+        assertThat(moves.getParentFile().mkdirs()).isTrue();
+        Files.write(moves.toPath(), "1,1\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(tempDir, "board.png").toPath(), png());
+
+        // When
+        AssetManager assets = AssetManager.fromDirectory(tempDir);
+
+        // Then
+        assertThat(assets.getPaths()).containsExactly("board.png", "pieces/QW/moves.txt");
+        assertThat(assets.exists("pieces/QW/moves.txt")).isTrue();
+        assertThat(assets.exists("pieces/QB/moves.txt")).isFalse();
+    }
+
+    private static void addEntry(JarOutputStream out, String name, byte[] content) throws IOException {
+        out.putNextEntry(new JarEntry(name));
+        out.write(content);
+        out.closeEntry();
+    }
+
+    private static byte[] png() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB), "png", out);
+        return out.toByteArray();
+    }
+}
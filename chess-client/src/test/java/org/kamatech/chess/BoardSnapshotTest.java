@@ -0,0 +1,213 @@
+package org.kamatech.chess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for BoardSnapshot
+ * Tests that snapshots are detached from live pieces, and that painting from published snapshots
+ * is safe while moves and captures are funneled through the game loop thread
+ */
+@DisplayName("BoardSnapshot Tests")
+public class BoardSnapshotTest {
+    private static final BoardSnapshot.PlayerView WHITE = new BoardSnapshot.PlayerView(7, 7, "RW", null, false, -1, -1);
+
+    @Test
+    @DisplayName("Should keep the captured picture when pieces change afterwards")
+    void shouldBeDetachedFromLivePieces() {
+        // Given
+        PieceIndex index = new PieceIndex(8, 8);
+        Piece rook = new Piece("RW", null, 0, 7, true);
+        index.put("RW", rook);
+        index.put("PB", new Piece("PB", null, 0, 1, false));
+
+        // When
+        BoardSnapshot snapshot = BoardSnapshot.capture(index.asMap(), WHITE, BoardSnapshot.PlayerView.NONE);
+        rook.setPosition(0, 3);
+        index.remove("PB");
+
+        // Then
+        assertThat(snapshot.size()).isEqualTo(2);
+        assertThat(snapshot.find("RW").getY()).isEqualTo(7.0);
+        assertThat(snapshot.find("PB").isWhite()).isFalse();
+        assertThat(snapshot.find("PB").getState()).isEqualTo(State.PieceState.IDLE);
+        assertThat(snapshot.getWhite().getHoveredPiece()).isEqualTo("RW");
+        assertThat(snapshot.find("QW")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should count a cooldown down from when the snapshot was taken")
+    void shouldCountDownRemainingStateTime() {
+        // Given - a rook starting its 2 second rest
+        State state = new State(null, null, null);
+        state.setState(State.PieceState.REST);
+        Piece rook = new Piece("RW", state, 0, 7, true);
+        BoardSnapshot snapshot = BoardSnapshot.capture(Map.of("RW", rook), WHITE, BoardSnapshot.PlayerView.NONE);
+        BoardSnapshot.PieceView view = snapshot.find("RW");
+        long now = System.currentTimeMillis();
+
+        // Then
+        assertThat(view.getState()).isEqualTo(State.PieceState.REST);
+        assertThat(snapshot.remainingStateMs(view, now)).isBetween(1500L, 2000L);
+        assertThat(snapshot.remainingStateMs(view, now + 1000)).isBetween(500L, 1000L);
+        assertThat(snapshot.remainingStateMs(view, now + 5000)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should paint consistent snapshots while thousands of moves and captures are applied")
+    void shouldPaintWhilePiecesChange() throws InterruptedException {
+        // Given - a full board driven by a fast game loop, every change submitted from writer threads
+        int writers = 2;
+        int commandsPerWriter = Integer.getInteger("test.snapshot.commands", 5_000);
+        PieceIndex index = new PieceIndex(8, 8);
+        MovementEngine engine = new MovementEngine((piece, x, y) -> { });
+        int nextId = placeStartingPieces(index);
+        AtomicInteger spawned = new AtomicInteger(nextId);
+        Holder holder = new Holder(BoardSnapshot.capture(index.asMap(), WHITE, BoardSnapshot.PlayerView.NONE));
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        AtomicInteger applied = new AtomicInteger();
+        AtomicInteger captures = new AtomicInteger();
+
+        FixedTimestepLoop loop = new FixedTimestepLoop(1000, 1000,
+                simulationMs -> engine.update(System.currentTimeMillis()),
+                alpha -> {
+                    engine.interpolate(alpha, 1);
+                    holder.snapshot = BoardSnapshot.capture(index.asMap(), engine, WHITE,
+                            BoardSnapshot.PlayerView.NONE);
+                });
+        Thread loopThread = new Thread(loop, "game-loop");
+        loopThread.start();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            long seed = 42 + w;
+            threads.add(new Thread(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < commandsPerWriter; i++) {
+                    int fromCell = random.nextInt(64);
+                    int toCell = random.nextInt(64);
+                    loop.execute(() -> {
+                        try {
+                            if (!loop.isLoopThread()) {
+                                throw new AssertionError("Mutation off the game loop thread");
+                            }
+                            applyMoveOrCapture(index, engine, fromCell, toCell, captures, spawned);
+                            applied.incrementAndGet();
+                        } catch (Throwable t) {
+                            failures.add(t);
+                        }
+                    });
+                }
+            }, "writer-" + w));
+        }
+
+        // Painters read whatever snapshot is published, like the EDT does
+        AtomicInteger paints = new AtomicInteger();
+        for (int p = 0; p < 2; p++) {
+            threads.add(new Thread(() -> {
+                while (applied.get() < writers * commandsPerWriter && failures.isEmpty()) {
+                    try {
+                        paint(holder.snapshot);
+                        paints.incrementAndGet();
+                    } catch (Throwable t) {
+                        failures.add(t);
+                    }
+                }
+            }, "painter-" + p));
+        }
+
+        // When
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join(30_000);
+        }
+        Thread.sleep(20); // at least one more frame
+        loop.stop();
+        loopThread.join(1000);
+
+        // Then
+        assertThat(failures).isEmpty();
+        assertThat(applied.get()).isEqualTo(writers * commandsPerWriter);
+        assertThat(captures.get()).isPositive();
+        assertThat(paints.get()).isPositive();
+        BoardSnapshot last = holder.snapshot;
+        assertThat(last.size()).isEqualTo(index.size());
+        for (int i = 0; i < last.size(); i++) {
+            BoardSnapshot.PieceView view = last.get(i);
+            assertThat(index.get(view.getKey())).isNotNull();
+        }
+    }
+
+    private static final class Holder {
+        volatile BoardSnapshot snapshot;
+
+        Holder(BoardSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+    }
+
+    private static int placeStartingPieces(PieceIndex index) {
+        int id = 0;
+        for (int x = 0; x < 8; x++) {
+            for (int y : new int[] {0, 1, 6, 7}) {
+                boolean white = y >= 6;
+                String key = "P" + (white ? "W" : "B") + id++;
+                index.put(key, new Piece(key, null, x, y, white));
+            }
+        }
+        return id;
+    }
+
+    /**
+     * Move the piece on a cell, capturing whatever stands on the target; refill an emptied board
+     */
+    private static void applyMoveOrCapture(PieceIndex index, MovementEngine engine, int fromCell, int toCell,
+            AtomicInteger captures, AtomicInteger spawned) {
+        Piece mover = index.pieceAt(fromCell % 8, fromCell / 8);
+        if (mover == null) {
+            if (index.size() < 8) {
+                String key = "P" + (toCell % 2 == 0 ? "W" : "B") + spawned.getAndIncrement();
+                index.put(key, new Piece(key, null, fromCell % 8, fromCell / 8, toCell % 2 == 0));
+            }
+            return;
+        }
+        Piece target = index.pieceAt(toCell % 8, toCell / 8);
+        if (target != null && target != mover) {
+            engine.cancel(target);
+            index.remove(index.keyOf(target));
+            captures.incrementAndGet();
+        }
+        engine.start(mover, toCell % 8, toCell / 8, System.currentTimeMillis(), 5);
+    }
+
+    /**
+     * Everything the renderer reads from a snapshot
+     */
+    private static void paint(BoardSnapshot snapshot) {
+        Set<String> keys = new HashSet<>();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < snapshot.size(); i++) {
+            BoardSnapshot.PieceView piece = snapshot.get(i);
+            if (!keys.add(piece.getKey())) {
+                throw new AssertionError("Piece painted twice: " + piece.getKey());
+            }
+            if (piece.getX() < 0 || piece.getX() > 7 || piece.getY() < 0 || piece.getY() > 7) {
+                throw new AssertionError("Piece off the board: " + piece.getKey());
+            }
+            if (piece.isWhite() != piece.getKey().startsWith("PW") || snapshot.remainingStateMs(piece, now) < 0) {
+                throw new AssertionError("Torn piece: " + piece.getKey());
+            }
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package org.kamatech.chess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Button;
+import java.awt.Canvas;
+import java.awt.Component;
+import java.awt.GraphicsEnvironment;
+import java.awt.event.KeyEvent;
+import java.lang.management.ManagementFactory;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Command dispatch benchmark - server-approved commands applied through InputAction against the old
+ * round trip through a synthetic KeyEvent and the key-code switch of Game.handleRawKeyPressed
+ * Both paths call the same counting action target, so only the dispatch itself is measured.
+ * The old path built a Button per command as the event source; headless runs use a Canvas instead.
+ * Excluded from the default build, run with: mvn test -Pbenchmark
+ * Size: -Dbench.dispatchCommands=1000000
+ */
+@Tag("benchmark")
+@DisplayName("Command Dispatch Benchmark")
+public class CommandDispatchBenchmark {
+
+    private static final int COMMANDS = Integer.getInteger("bench.dispatchCommands", 1_000_000);
+
+    @Test
+    @DisplayName("Approved commands per second and allocation per command")
+    void benchmarkDispatch() {
+        String[] keyInputs = {"MOVEMENT_UP", "MOVEMENT_LEFT", "SELECT_OR_MOVE", "MOVEMENT_DOWN",
+                "MOVEMENT_RIGHT", "SELECT_OR_MOVE", "HOVER_TO_SELECT", "MOVEMENT_UP"};
+        Command[] commands = new Command[keyInputs.length * 2];
+        for (int i = 0; i < keyInputs.length; i++) {
+            commands[2 * i] = Command.createKeyInput(keyInputs[i], Command.Player.WHITE);
+            commands[2 * i + 1] = Command.createKeyInput(keyInputs[i], Command.Player.BLACK);
+        }
+        boolean headless = GraphicsEnvironment.isHeadless();
+
+        CountingTarget keyEventTarget = new CountingTarget();
+        CountingTarget typedTarget = new CountingTarget();
+        for (int pass = 0; pass < 2; pass++) { // first pass is warm-up
+            KeyEventDispatch keyEvents = new KeyEventDispatch(keyEventTarget, headless);
+            keyEventTarget.reset();
+            long allocated = allocatedBytes();
+            long start = System.nanoTime();
+            for (int i = 0; i < COMMANDS; i++) {
+                keyEvents.apply(commands[i % commands.length]);
+            }
+            long keyEventNanos = System.nanoTime() - start;
+            long keyEventBytes = allocatedBytes() - allocated;
+
+            typedTarget.reset();
+            allocated = allocatedBytes();
+            start = System.nanoTime();
+            for (int i = 0; i < COMMANDS; i++) {
+                InputAction.dispatch(commands[i % commands.length], typedTarget);
+            }
+            long typedNanos = System.nanoTime() - start;
+            long typedBytes = allocatedBytes() - allocated;
+
+            if (pass == 1) {
+                System.out.printf("KeyEvent round trip: %,12.0f commands/s %8.1f bytes/command%n",
+                        COMMANDS * 1e9 / keyEventNanos, (double) keyEventBytes / COMMANDS);
+                System.out.printf("typed dispatch:      %,12.0f commands/s %8.3f bytes/command%n",
+                        COMMANDS * 1e9 / typedNanos, (double) typedBytes / COMMANDS);
+                assertThat((double) typedBytes / COMMANDS).isLessThan(0.01);
+            }
+        }
+        assertThat(typedTarget.total).isEqualTo(keyEventTarget.total);
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * The old path: ClientCommandProcessor.toKeyEvent, then the key-code switch of handleRawKeyPressed
+     */
+    private static final class KeyEventDispatch {
+        private final InputAction.Target target;
+        private final boolean headless;
+        private final Set<Integer> pressedKeys = new HashSet<>();
+
+        KeyEventDispatch(InputAction.Target target, boolean headless) {
+            this.target = target;
+            this.headless = headless;
+        }
+
+        void apply(Command command) {
+            int keyCode = keyCodeFor(command.getKeyInput(), command.getPlayer());
+            if (keyCode == -1) {
+                return;
+            }
+            Component source = headless ? new Canvas() : new Button();
+            KeyEvent e = new KeyEvent(source, KeyEvent.KEY_PRESSED, System.currentTimeMillis(), 0, keyCode,
+                    KeyEvent.CHAR_UNDEFINED);
+
+            pressedKeys.add(e.getKeyCode());
+            switch (e.getKeyCode()) {
+                case KeyEvent.VK_SPACE:
+                    target.selectOrMove(Command.Player.WHITE);
+                    break;
+                case KeyEvent.VK_ENTER:
+                    target.selectOrMove(Command.Player.BLACK);
+                    break;
+                case KeyEvent.VK_W:
+                    target.moveCursorOrPending(Command.Player.WHITE, 0, -1);
+                    break;
+                case KeyEvent.VK_S:
+                    target.moveCursorOrPending(Command.Player.WHITE, 0, 1);
+                    break;
+                case KeyEvent.VK_A:
+                    target.moveCursorOrPending(Command.Player.WHITE, -1, 0);
+                    break;
+                case KeyEvent.VK_D:
+                    target.moveCursorOrPending(Command.Player.WHITE, 1, 0);
+                    break;
+                case KeyEvent.VK_UP:
+                    target.moveCursorOrPending(Command.Player.BLACK, 0, -1);
+                    break;
+                case KeyEvent.VK_DOWN:
+                    target.moveCursorOrPending(Command.Player.BLACK, 0, 1);
+                    break;
+                case KeyEvent.VK_LEFT:
+                    target.moveCursorOrPending(Command.Player.BLACK, -1, 0);
+                    break;
+                case KeyEvent.VK_RIGHT:
+                    target.moveCursorOrPending(Command.Player.BLACK, 1, 0);
+                    break;
+                default:
+                    break;
+            }
+            switch (e.getKeyCode()) {
+                case KeyEvent.VK_C:
+                    target.selectFromHover(Command.Player.WHITE);
+                    break;
+                case KeyEvent.VK_V:
+                    target.selectFromHover(Command.Player.BLACK);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private static int keyCodeFor(String keyInput, Command.Player player) {
+            boolean white = player == Command.Player.WHITE;
+            switch (keyInput) {
+                case "MOVEMENT_UP":
+                    return white ? KeyEvent.VK_W : KeyEvent.VK_UP;
+                case "MOVEMENT_DOWN":
+                    return white ? KeyEvent.VK_S : KeyEvent.VK_DOWN;
+                case "MOVEMENT_LEFT":
+                    return white ? KeyEvent.VK_A : KeyEvent.VK_LEFT;
+                case "MOVEMENT_RIGHT":
+                    return white ? KeyEvent.VK_D : KeyEvent.VK_RIGHT;
+                case "SELECT_OR_MOVE":
+                    return white ? KeyEvent.VK_SPACE : KeyEvent.VK_ENTER;
+                case "HOVER_TO_SELECT":
+                    return white ? KeyEvent.VK_C : KeyEvent.VK_V;
+                default:
+                    return -1;
+            }
+        }
+    }
+
+    private static final class CountingTarget implements InputAction.Target {
+        long total;
+
+        void reset() {
+            total = 0;
+        }
+
+        @Override
+        public void moveCursorOrPending(Command.Player player, int dx, int dy) {
+            total += 1 + dx + 3 * dy;
+        }
+
+        @Override
+        public void selectOrMove(Command.Player player) {
+            total += 10 + player.ordinal();
+        }
+
+        @Override
+        public void selectFromHover(Command.Player player) {
+            total += 20 + player.ordinal();
+        }
+
+        @Override
+        public void jump(Command.Player player) {
+            total += 30 + player.ordinal();
+        }
+    }
+}
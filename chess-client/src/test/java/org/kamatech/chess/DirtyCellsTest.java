@@ -0,0 +1,100 @@
+package org.kamatech.chess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for DirtyCells
+ * Tests which cells a change between two snapshots dirties, and merging them into rectangles
+ */
+@DisplayName("DirtyCells Tests")
+public class DirtyCellsTest {
+
+    @Test
+    @DisplayName("Should dirty only the cells of moved, captured and newly hovered pieces")
+    void shouldDirtyOnlyChangedCells() {
+        // Given - sprite-less pieces, so only position, state and borders decide their pixels
+        Map<String, Piece> pieces = new LinkedHashMap<>();
+        Piece rook = new Piece("XW", null, 0, 7, true);
+        pieces.put("XW07", rook);
+        pieces.put("XB33", new Piece("XB", null, 3, 3, false));
+        pieces.put("XB55", new Piece("XB", null, 5, 5, false));
+        BoardSnapshot.PlayerView cursor = new BoardSnapshot.PlayerView(7, 7, null, null, false, -1, -1);
+        BoardSnapshot before = BoardSnapshot.capture(pieces, cursor, BoardSnapshot.PlayerView.NONE);
+        DirtyCells dirty = new DirtyCells(8, 8);
+
+        // When - nothing changes
+        dirty.collect(before, BoardSnapshot.capture(pieces, cursor, BoardSnapshot.PlayerView.NONE));
+
+        // Then
+        assertThat(dirty.isEmpty()).isTrue();
+
+        // When - the rook is half way from (0,7) to (0,6), XB33 is captured, the cursor hovers XB55
+        rook.setPosition(0, 6.5);
+        pieces.remove("XB33");
+        dirty.collect(before, BoardSnapshot.capture(pieces,
+                new BoardSnapshot.PlayerView(5, 5, "XB55", null, false, -1, -1), BoardSnapshot.PlayerView.NONE));
+
+        // Then
+        assertThat(dirtyCells(dirty)).containsExactlyInAnyOrder("0,6", "0,7", "3,3", "5,5", "7,7");
+    }
+
+    @Test
+    @DisplayName("Should dirty a resting piece when its cooldown label changes")
+    void shouldDirtyCountingDownCooldown() throws InterruptedException {
+        // Given
+        State state = new State(null, null, null);
+        state.setState(State.PieceState.REST);
+        Map<String, Piece> pieces = Map.of("XW", new Piece("XW", state, 2, 4, true));
+        BoardSnapshot before = BoardSnapshot.capture(pieces, BoardSnapshot.PlayerView.NONE,
+                BoardSnapshot.PlayerView.NONE);
+        DirtyCells dirty = new DirtyCells(8, 8);
+
+        // When - more than a tenth of a second later
+        Thread.sleep(150);
+        dirty.collect(before, BoardSnapshot.capture(pieces, BoardSnapshot.PlayerView.NONE,
+                BoardSnapshot.PlayerView.NONE));
+
+        // Then
+        assertThat(dirtyCells(dirty)).contains("2,4");
+    }
+
+    @Test
+    @DisplayName("Should hand dirty cells out as merged rectangles covering each cell once")
+    void shouldMergeIntoRectangles() {
+        // Given - a 2x2 block, a run of three and a single cell
+        DirtyCells dirty = new DirtyCells(8, 8);
+        dirty.markArea(1.5, 1.5);
+        dirty.markCell(4, 6);
+        dirty.markCell(5, 6);
+        dirty.markCell(6, 6);
+        dirty.markCell(7, 0);
+
+        // When
+        List<String> rects = new ArrayList<>();
+        dirty.forEachRect((x, y, w, h) -> rects.add(x + "," + y + " " + w + "x" + h));
+
+        // Then
+        assertThat(dirty.count()).isEqualTo(8);
+        assertThat(rects).containsExactly("7,0 1x1", "1,1 2x2", "4,6 3x1");
+    }
+
+    private static List<String> dirtyCells(DirtyCells dirty) {
+        List<String> cells = new ArrayList<>();
+        for (int y = 0; y < dirty.getHeightCells(); y++) {
+            for (int x = 0; x < dirty.getWidthCells(); x++) {
+                if (dirty.isDirty(x, y)) {
+                    cells.add(x + "," + y);
+                }
+            }
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,137 @@
+package org.kamatech.chess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Dirty region benchmark - repainting only changed cells against repainting the whole board
+ * Plays the board at the render rate on this thread, standing in for the EDT: publish a snapshot,
+ * then paint either the full board or the dirty rectangles. Idle is the starting position with the
+ * cursors still; heavy play keeps pieces travelling, cooling down and the cursors moving.
+ * The old full-frame repaint also redrew the window background and move tables, not counted here.
+ * Excluded from the default build, run with: mvn test -Pbenchmark
+ * Size: -Dbench.repaintSeconds=3 -Dbench.cellSize=100 -Dchess.renderRate=60
+ */
+@Tag("benchmark")
+@DisplayName("Dirty Region Benchmark")
+public class DirtyRegionBenchmark {
+
+    private static final int SECONDS = Integer.getInteger("bench.repaintSeconds", 3);
+    private static final int CELL = Integer.getInteger("bench.cellSize", 100);
+    private static final int RENDER_RATE = Integer.getInteger("chess.renderRate", 60);
+    private static final String[] BACK_RANK = {"R", "N", "B", "K", "Q", "B", "N", "R"};
+
+    @Test
+    @DisplayName("Pixels repainted per second and painting CPU - idle and heavy play")
+    void benchmarkRepaint() throws Exception {
+        Img boardImage = new Img();
+        boardImage.setImage(AssetManager.get().image("board.png"));
+        Board board = new Board(CELL, CELL, 1, 1, 8, 8, boardImage);
+        GraphicsFactory.preloadSprites();
+
+        double[] idleFull = play(board, false, false);
+        double[] idleDirty = play(board, false, true);
+        double[] heavyFull = play(board, true, false);
+        double[] heavyDirty = play(board, true, true);
+
+        System.out.printf("idle:   full %7.2f Mpx/s CPU %5.1f%%   dirty cells %7.2f Mpx/s CPU %5.1f%%%n",
+                idleFull[0], idleFull[1], idleDirty[0], idleDirty[1]);
+        System.out.printf("heavy:  full %7.2f Mpx/s CPU %5.1f%%   dirty cells %7.2f Mpx/s CPU %5.1f%%%n",
+                heavyFull[0], heavyFull[1], heavyDirty[0], heavyDirty[1]);
+
+        assertThat(idleDirty[0]).isLessThan(idleFull[0]);
+        assertThat(heavyDirty[0]).isLessThan(heavyFull[0]);
+    }
+
+    // {megapixels painted per second, percent of a core spent painting}
+    private static double[] play(Board board, boolean heavy, boolean dirtyOnly) throws InterruptedException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        int boardSize = 8 * CELL;
+        BufferedImage target = new BufferedImage(boardSize, boardSize, BufferedImage.TYPE_INT_ARGB_PRE);
+        Random random = new Random(42);
+        Map<String, Piece> pieces = startingPosition();
+        List<Piece> movable = new ArrayList<>(pieces.values());
+        DirtyCells dirty = new DirtyCells(8, 8);
+        BoardSnapshot previous = BoardSnapshot.EMPTY;
+        int cursorX = 7;
+        long pixels = 0;
+        long frameNanos = 1_000_000_000L / RENDER_RATE;
+        int frames = SECONDS * RENDER_RATE;
+
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        long start = System.nanoTime();
+        for (int frame = 0; frame < frames; frame++) {
+            if (heavy) {
+                // Two pieces travelling a tenth of a cell per frame, one move ending every half second
+                for (int i = 0; i < 2; i++) {
+                    Piece piece = movable.get((frame / 30 * 2 + i) % movable.size());
+                    piece.setPosition(piece.getX(), Math.max(0, Math.min(7, piece.getY() + (i == 0 ? 0.1 : -0.1))));
+                }
+                if (frame % 30 == 0) {
+                    movable.get(random.nextInt(movable.size())).getState().setState(State.PieceState.REST);
+                }
+                if (frame % 10 == 0) {
+                    cursorX = random.nextInt(8);
+                }
+            }
+            BoardSnapshot next = BoardSnapshot.capture(pieces,
+                    new BoardSnapshot.PlayerView(cursorX, 7, null, null, false, -1, -1),
+                    new BoardSnapshot.PlayerView(0, 0, null, null, false, -1, -1));
+
+            Graphics2D g = target.createGraphics();
+            if (!dirtyOnly) {
+                GraphicsFactory.drawGameBoard(g, board, next, boardSize, boardSize);
+                pixels += (long) boardSize * boardSize;
+            } else {
+                dirty.collect(previous, next);
+                long[] painted = {0};
+                dirty.forEachRect((x, y, w, h) -> {
+                    int pad = GraphicsFactory.CELL_OVERDRAW;
+                    g.setClip(x * CELL - pad, y * CELL - pad, w * CELL + 2 * pad, h * CELL + 2 * pad);
+                    GraphicsFactory.drawGameBoard(g, board, next, boardSize, boardSize);
+                    painted[0] += (long) (w * CELL + 2 * pad) * (h * CELL + 2 * pad);
+                });
+                dirty.clear();
+                pixels += painted[0];
+            }
+            g.dispose();
+            previous = next;
+
+            long sleep = start + (frame + 1) * frameNanos - System.nanoTime();
+            if (sleep > 0) {
+                Thread.sleep(sleep / 1_000_000, (int) (sleep % 1_000_000));
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double cpu = (threads.getCurrentThreadCpuTime() - cpuStart) / 1e9;
+        return new double[] {pixels / seconds / 1e6, cpu / seconds * 100};
+    }
+
+    private static Map<String, Piece> startingPosition() {
+        Map<String, Piece> pieces = new LinkedHashMap<>();
+        for (int x = 0; x < 8; x++) {
+            addPiece(pieces, BACK_RANK[x] + "B", x, 0);
+            addPiece(pieces, "PB", x, 1);
+            addPiece(pieces, "PW", x, 6);
+            addPiece(pieces, BACK_RANK[x] + "W", x, 7);
+        }
+        return pieces;
+    }
+
+    private static void addPiece(Map<String, Piece> pieces, String id, int x, int y) {
+        pieces.put(id + x + y, new Piece(id, new State(null, null, null), x, y, id.charAt(1) == 'W'));
+    }
+}
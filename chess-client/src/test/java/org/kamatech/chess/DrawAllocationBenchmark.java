@@ -0,0 +1,174 @@
+package org.kamatech.chess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Draw allocation benchmark - heap bytes allocated per drawAllPieces call
+ * Compares per-piece animation clocks and sprite tables indexed by piece type and state against
+ * the shared stateEnterTime map keyed by "<id>_<state>", with paint colors, strokes and fonts
+ * created on every call. Measured with the JVM's per-thread allocation counter.
+ * Excluded from the default build, run with: mvn test -Pbenchmark
+ * Size: -Dbench.drawFrames=2000 -Dbench.cellSize=100
+ */
+@Tag("benchmark")
+@DisplayName("Draw Allocation Benchmark")
+public class DrawAllocationBenchmark {
+
+    private static final int FRAMES = Integer.getInteger("bench.drawFrames", 2000);
+    private static final int CELL = Integer.getInteger("bench.cellSize", 100);
+    private static final String[] BACK_RANK = {"R", "N", "B", "K", "Q", "B", "N", "R"};
+
+    @Test
+    @DisplayName("Bytes allocated per frame - sprites only, and with cooldowns, hover and selection")
+    void benchmarkDrawAllocation() {
+        GraphicsFactory.preloadSprites();
+        BufferedImage target = new BufferedImage(8 * CELL, 8 * CELL, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = target.createGraphics();
+        LegacyPainter legacy = new LegacyPainter();
+
+        BoardSnapshot idle = board(false);
+        BoardSnapshot busy = board(true);
+        long legacyIdle = bytesPerFrame(() -> legacy.drawAllPieces(g, idle, CELL, CELL));
+        long newIdle = bytesPerFrame(() -> GraphicsFactory.drawAllPieces(g, idle, CELL, CELL));
+        long legacyBusy = bytesPerFrame(() -> legacy.drawAllPieces(g, busy, CELL, CELL));
+        long newBusy = bytesPerFrame(() -> GraphicsFactory.drawAllPieces(g, busy, CELL, CELL));
+        g.dispose();
+
+        System.out.printf("sprites only:            legacy %7d B/frame   per-piece clocks %7d B/frame%n",
+                legacyIdle, newIdle);
+        System.out.printf("cooldowns/hover/select:  legacy %7d B/frame   per-piece clocks %7d B/frame%n",
+                legacyBusy, newBusy);
+
+        assertThat(newIdle).isLessThan(legacyIdle);
+        assertThat(newBusy).isLessThan(legacyBusy);
+    }
+
+    // The starting position; when busy every back rank piece rests, with a hovered and a selected piece
+    private static BoardSnapshot board(boolean busy) {
+        Map<String, Piece> pieces = new LinkedHashMap<>();
+        for (int x = 0; x < 8; x++) {
+            addPiece(pieces, BACK_RANK[x] + "B", x, 0, busy);
+            addPiece(pieces, "PB", x, 1, false);
+            addPiece(pieces, "PW", x, 6, false);
+            addPiece(pieces, BACK_RANK[x] + "W", x, 7, busy);
+        }
+        if (!busy) {
+            return BoardSnapshot.capture(pieces, BoardSnapshot.PlayerView.NONE, BoardSnapshot.PlayerView.NONE);
+        }
+        return BoardSnapshot.capture(pieces,
+                new BoardSnapshot.PlayerView(0, 6, "PW06", "RW07", false, -1, -1),
+                new BoardSnapshot.PlayerView(0, 1, "PB01", "RB00", false, -1, -1));
+    }
+
+    private static void addPiece(Map<String, Piece> pieces, String id, int x, int y, boolean resting) {
+        // A 10 minute cooldown outlasts the run
+        State state = new State(new Moves(Collections.emptyList(), 300_000), null, null);
+        if (resting) {
+            state.setState(State.PieceState.REST);
+        }
+        pieces.put(id + x + y, new Piece(id, state, x, y, id.charAt(1) == 'W'));
+    }
+
+    private static long bytesPerFrame(Runnable frame) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        for (int i = 0; i < FRAMES; i++) { // warm-up, lets the JIT settle
+            frame.run();
+        }
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < FRAMES; i++) {
+            frame.run();
+        }
+        return (threads.getThreadAllocatedBytes(thread) - before) / FRAMES;
+    }
+
+    // drawAllPieces as GraphicsFactory had it before per-piece animation clocks
+    private static final class LegacyPainter {
+        private final Map<String, Long> stateEnterTime = new HashMap<>();
+
+        void drawAllPieces(Graphics2D g2d, BoardSnapshot snapshot, int cellWidth, int cellHeight) {
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < snapshot.size(); i++) {
+                BoardSnapshot.PieceView piece = snapshot.get(i);
+                String key = piece.getKey();
+                int x = (int) (piece.getX() * cellWidth);
+                int y = (int) (piece.getY() * cellHeight);
+                boolean isHovered = (key.equals(snapshot.getWhite().getHoveredPiece())
+                        && !key.equals(snapshot.getWhite().getSelectedPiece()))
+                        || (key.equals(snapshot.getBlack().getHoveredPiece())
+                        && !key.equals(snapshot.getBlack().getSelectedPiece()));
+                if (drawSprite(g2d, piece.getId(), piece.getState(), x + 5, y + 5, cellWidth - 10, cellHeight - 10)
+                        && isHovered) {
+                    g2d.setColor(new Color(138, 43, 226));
+                    g2d.setStroke(new BasicStroke(8.0f));
+                    g2d.drawRect(x + 2, y + 2, cellWidth - 4, cellHeight - 4);
+                    g2d.setColor(new Color(186, 85, 211));
+                    g2d.setStroke(new BasicStroke(4.0f));
+                    g2d.drawRect(x + 6, y + 6, cellWidth - 12, cellHeight - 12);
+                    g2d.setStroke(new BasicStroke(1.0f));
+                }
+                long remMs = snapshot.remainingStateMs(piece, now);
+                if (remMs > 0) {
+                    String remText = String.format("%.1f", remMs / 1000.0);
+                    g2d.setColor(new Color(0, 0, 255, 200));
+                    g2d.setFont(new Font("Arial", Font.BOLD, 14));
+                    g2d.drawString(remText, x + cellWidth / 2 - 10, y + cellHeight / 2 + 5);
+                }
+            }
+            drawSelection(g2d, snapshot, snapshot.getWhite(), true, cellWidth, cellHeight);
+            drawSelection(g2d, snapshot, snapshot.getBlack(), false, cellWidth, cellHeight);
+        }
+
+        private boolean drawSprite(Graphics2D g2d, String pieceId, State.PieceState ps,
+                int x, int y, int width, int height) {
+            SpriteAtlas atlas = GraphicsFactory.preloadSprites();
+            String stateName = SpriteAtlas.stateFolder(ps);
+            List<BufferedImage> frames = atlas.getFrames(pieceId, stateName);
+            if (frames.isEmpty()) {
+                return false;
+            }
+            String cacheKey = pieceId + "_" + stateName;
+            Long enterTime = stateEnterTime.get(cacheKey);
+            if (enterTime == null) {
+                enterTime = System.currentTimeMillis();
+                stateEnterTime.put(cacheKey, enterTime);
+            }
+            long elapsed = System.currentTimeMillis() - enterTime;
+            double frameDuration = (ps == State.PieceState.REST ? 10000.0 : 16.0) / frames.size();
+            int frame = (int) ((elapsed / frameDuration) % frames.size());
+            return atlas.draw(g2d, pieceId, stateName, frame, x, y, width, height);
+        }
+
+        private static void drawSelection(Graphics2D g2d, BoardSnapshot snapshot, BoardSnapshot.PlayerView player,
+                boolean isWhite, int cellWidth, int cellHeight) {
+            BoardSnapshot.PieceView piece = player.getSelectedPiece() != null
+                    ? snapshot.find(player.getSelectedPiece()) : null;
+            if (piece == null) {
+                return;
+            }
+            int x = (int) (piece.getX() * cellWidth);
+            int y = (int) (piece.getY() * cellHeight);
+            g2d.setColor(isWhite ? new Color(0, 255, 127) : new Color(255, 20, 147));
+            g2d.setStroke(new BasicStroke(6));
+            g2d.drawRect(x + 1, y + 1, cellWidth - 2, cellHeight - 2);
+            g2d.setStroke(new BasicStroke(1));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package org.kamatech.chess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for FixedTimestepLoop
+ * Tests tick and render pacing, interpolation factor and stopping
+ */
+@DisplayName("FixedTimestepLoop Tests")
+public class FixedTimestepLoopTest {
+
+    @Test
+    @DisplayName("Should tick and render at their own rates")
+    void shouldTickAndRenderAtTheirRates() throws InterruptedException {
+        // Given - 50 ticks and 100 frames per second
+        AtomicInteger ticks = new AtomicInteger();
+        List<Double> alphas = new CopyOnWriteArrayList<>();
+        FixedTimestepLoop loop = new FixedTimestepLoop(50, 100, simulationMs -> ticks.incrementAndGet(), alphas::add);
+        Thread thread = new Thread(loop);
+
+        // When
+        thread.start();
+        Thread.sleep(600);
+        loop.stop();
+        thread.join(1000);
+
+        // Then - about 30 ticks and 60 frames, frames interpolate inside a tick
+        assertThat(thread.isAlive()).isFalse();
+        assertThat(ticks.get()).isBetween(15, 31);
+        assertThat(alphas.size()).isBetween(30, 61);
+        assertThat(alphas).allSatisfy(alpha -> assertThat(alpha).isBetween(0.0, 1.0));
+        assertThat(loop.getStats().getTicks()).isEqualTo(ticks.get());
+        assertThat(loop.getStats().getFrames()).isEqualTo(alphas.size());
+    }
+
+    @Test
+    @DisplayName("Should advance simulation time from the start time by the fixed tick length every tick")
+    void shouldAdvanceSimulationTime() throws InterruptedException {
+        // Given
+        List<Long> times = new CopyOnWriteArrayList<>();
+        FixedTimestepLoop loop = new FixedTimestepLoop(20, 10, 1000, times::add, alpha -> { });
+        Thread thread = new Thread(loop);
+
+        // When
+        thread.start();
+        Thread.sleep(200);
+        loop.stop();
+        thread.join(1000);
+
+        // Then - the same times however late each tick ran
+        assertThat(times).isNotEmpty();
+        for (int i = 0; i < times.size(); i++) {
+            assertThat(times.get(i)).as("tick %d", i).isEqualTo(1000 + 50L * (i + 1));
+        }
+    }
+
+    @Test
+    @DisplayName("Should run submitted tasks on the loop thread without waiting for a tick")
+    void shouldRunTasksOnLoopThread() throws InterruptedException {
+        // Given - one tick and one frame per second, so only a wakeup can run the task in time
+        FixedTimestepLoop loop = new FixedTimestepLoop(1, 1, simulationMs -> { }, alpha -> { });
+        Thread thread = new Thread(loop);
+        thread.start();
+        Thread.sleep(100);
+        List<Thread> ranOn = new CopyOnWriteArrayList<>();
+        List<Boolean> sawLoopThread = new CopyOnWriteArrayList<>();
+
+        // When
+        loop.execute(() -> {
+            ranOn.add(Thread.currentThread());
+            sawLoopThread.add(loop.isLoopThread());
+        });
+        Thread.sleep(200);
+        loop.stop();
+        thread.join(1000);
+
+        // Then
+        assertThat(ranOn).containsExactly(thread);
+        assertThat(sawLoopThread).containsExactly(true);
+        assertThat(loop.isLoopThread()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should return at once when stopped before running")
+    void shouldNotRunAfterStop() {
+        // Given
+        AtomicInteger ticks = new AtomicInteger();
+        FixedTimestepLoop loop = new FixedTimestepLoop(30, 60, simulationMs -> ticks.incrementAndGet(), alpha -> { });
+
+        // When
+        loop.stop();
+        loop.run();
+
+        // Then
+        assertThat(ticks.get()).isZero();
+        assertThat(loop.isRunning()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive rates")
+    void shouldRejectInvalidRates() {
+        assertThatThrownBy(() -> new FixedTimestepLoop(0, 60, simulationMs -> { }, alpha -> { }))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new FixedTimestepLoop(30, -1, simulationMs -> { }, alpha -> { }))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
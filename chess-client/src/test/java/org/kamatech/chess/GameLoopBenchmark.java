@@ -0,0 +1,76 @@
+package org.kamatech.chess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Game loop benchmark - CPU usage and jitter of the fixed-timestep loop against the old sleep(1) spin
+ * Excluded from the default build, run with: mvn test -Pbenchmark
+ * Options: -Dbench.loopSeconds=3 -Dchess.tickRate=30 -Dchess.renderRate=60
+ */
+@Tag("benchmark")
+@DisplayName("Game Loop Benchmark")
+public class GameLoopBenchmark {
+
+    private static final int SECONDS = Integer.getInteger("bench.loopSeconds", 3);
+    private static final int TICK_RATE = Integer.getInteger("chess.tickRate", 30);
+    private static final int RENDER_RATE = Integer.getInteger("chess.renderRate", 60);
+
+    private volatile boolean spinning;
+
+    @Test
+    @DisplayName("CPU usage and jitter")
+    void benchmarkGameLoop() throws InterruptedException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        // Old loop: poll currentTimeMillis with sleep(1), update every 33ms
+        long[] spinUpdates = new long[1];
+        long[] spinLatenessMax = new long[1];
+        spinning = true;
+        Thread spin = new Thread(() -> {
+            long lastUpdate = System.currentTimeMillis();
+            while (spinning) {
+                long currentTime = System.currentTimeMillis();
+                if (currentTime - lastUpdate >= 33) {
+                    spinLatenessMax[0] = Math.max(spinLatenessMax[0], currentTime - lastUpdate - 33);
+                    spinUpdates[0]++;
+                    lastUpdate = currentTime;
+                }
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    break;
+                }
+            }
+        });
+        long spinCpu = measureCpu(threads, spin, () -> spinning = false);
+
+        // New loop
+        FixedTimestepLoop loop = new FixedTimestepLoop(TICK_RATE, RENDER_RATE, simulationMs -> { }, alpha -> { });
+        Thread fixed = new Thread(loop);
+        long fixedCpu = measureCpu(threads, fixed, loop::stop);
+
+        double wallNanos = SECONDS * 1e9;
+        System.out.printf("sleep(1) spin:  CPU %5.2f%% of a core, %d updates, max lateness %dms%n",
+                spinCpu * 100 / wallNanos, spinUpdates[0], spinLatenessMax[0]);
+        System.out.printf("fixed timestep: CPU %5.2f%% of a core, %d/%d Hz, %s%n",
+                fixedCpu * 100 / wallNanos, TICK_RATE, RENDER_RATE, loop.getStats());
+        assertThat(loop.getStats().getTicks()).isGreaterThan(0);
+    }
+
+    private static long measureCpu(ThreadMXBean threads, Thread thread, Runnable stop) throws InterruptedException {
+        thread.start();
+        long cpuBefore = threads.getThreadCpuTime(thread.getId());
+        Thread.sleep(SECONDS * 1000L);
+        long cpu = threads.getThreadCpuTime(thread.getId()) - cpuBefore;
+        stop.run();
+        thread.join(1000);
+        return cpu;
+    }
+}
@@ -0,0 +1,100 @@
+package org.kamatech.chess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Headless render benchmark - spectator snapshots per second on one thread
+ * Renders a series of positions of a game in progress off screen, as drawn images and as encoded
+ * PNG thumbnails, with the renderer's own pre-scaled atlas. Every snapshot is a new position one
+ * move on from the last, so the encoder recompresses only the board rows the move touched.
+ * Excluded from the default build, run with: mvn test -Pbenchmark
+ * Size: -Dbench.snapshots=2000 -Dbench.thumbnailSize=256
+ */
+@Tag("benchmark")
+@DisplayName("Headless Render Benchmark")
+public class HeadlessRenderBenchmark {
+
+    private static final int SNAPSHOTS = Integer.getInteger("bench.snapshots", 2000);
+    private static final int SIZE = Integer.getInteger("bench.thumbnailSize", 256);
+
+    @Test
+    @DisplayName("Snapshots per second - drawn and encoded as PNG")
+    void benchmarkSnapshots() throws Exception {
+        List<BoardSnapshot> positions = positions(SNAPSHOTS);
+        long start = System.nanoTime();
+        HeadlessRenderer renderer = new HeadlessRenderer(SIZE);
+        renderer.render(positions.get(0)); // scales the atlas
+        long setup = System.nanoTime() - start;
+
+        for (int i = 0; i < SNAPSHOTS / 4; i++) { // warm-up
+            renderer.renderPng(positions.get(positions.size() - 1 - i));
+        }
+        start = System.nanoTime();
+        for (int i = 0; i < SNAPSHOTS; i++) {
+            renderer.render(positions.get(i));
+        }
+        double drawn = SNAPSHOTS / ((System.nanoTime() - start) / 1e9);
+
+        long bytes = 0;
+        PngEncoder png = renderer.getEncoder();
+        int hits = png.getCacheHits();
+        int misses = png.getCacheMisses();
+        start = System.nanoTime();
+        for (int i = 0; i < SNAPSHOTS; i++) {
+            bytes += renderer.renderPng(positions.get(i)).length;
+        }
+        double encoded = SNAPSHOTS / ((System.nanoTime() - start) / 1e9);
+
+        System.out.printf("%dpx renderer ready in %.1f ms (sprites preloaded, atlas scaled)%n", SIZE, setup / 1e6);
+        System.out.printf("drawn:       %7.0f snapshots/s%n", drawn);
+        System.out.printf("drawn + PNG: %7.0f snapshots/s, %d bytes each, %.0f%% of board rows from cache%n",
+                encoded, bytes / SNAPSHOTS, 100.0 * (png.getCacheHits() - hits)
+                        / (png.getCacheHits() - hits + png.getCacheMisses() - misses));
+
+        assertThat(encoded).isGreaterThan(0);
+    }
+
+    // The starting position, then one random piece moving to a random cell per position
+    private static List<BoardSnapshot> positions(int count) throws Exception {
+        String[][] cells = new String[8][];
+        List<String> rows = AssetManager.get().lines("pieces/board.csv");
+        for (int row = 0; row < 8; row++) {
+            cells[row] = Arrays.copyOf(row < rows.size() ? rows.get(row).split(",", -1) : new String[0], 8);
+        }
+        Random random = new Random(7);
+        List<BoardSnapshot> positions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int fromRow;
+            int fromCol;
+            do {
+                fromRow = random.nextInt(8);
+                fromCol = random.nextInt(8);
+            } while (cells[fromRow][fromCol] == null || cells[fromRow][fromCol].isEmpty());
+            int toRow = random.nextInt(8);
+            int toCol = random.nextInt(8);
+            if (toRow != fromRow || toCol != fromCol) {
+                cells[toRow][toCol] = cells[fromRow][fromCol];
+                cells[fromRow][fromCol] = "";
+            }
+            List<String> position = new ArrayList<>();
+            for (String[] row : cells) {
+                StringBuilder line = new StringBuilder();
+                for (int col = 0; col < 8; col++) {
+                    line.append(col > 0 ? "," : "").append(row[col] != null ? row[col] : "");
+                }
+                position.add(line.toString());
+            }
+            positions.add(HeadlessRenderer.position(position));
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,82 @@
+package org.kamatech.chess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for HeadlessRenderer
+ * Tests reading positions, drawing the same pixels as the game board and encoding PNG snapshots
+ */
+@DisplayName("HeadlessRenderer Tests")
+public class HeadlessRendererTest {
+    private static final int SIZE = 256;
+
+    @Test
+    @DisplayName("Should read a position in board.csv format")
+    void shouldReadPosition() throws Exception {
+        // When
+        BoardSnapshot start = HeadlessRenderer.position(AssetManager.get().lines("pieces/board.csv"));
+        BoardSnapshot endgame = HeadlessRenderer.position(Arrays.asList(",,,KB", "", "", "", "", "", "QW,,,,,,,KW"));
+
+        // Then
+        assertThat(start.size()).isEqualTo(32);
+        assertThat(endgame.size()).isEqualTo(3);
+        assertThat(endgame.find("KB03").getX()).isEqualTo(3.0);
+        assertThat(endgame.find("KW67").isWhite()).isTrue();
+        assertThat(endgame.find("QW60").getY()).isEqualTo(6.0);
+    }
+
+    @Test
+    @DisplayName("Should draw the same pixels as the game board and encode them as PNG")
+    void shouldRenderLikeGameBoard() throws Exception {
+        // Given
+        BoardSnapshot position = HeadlessRenderer.position(AssetManager.get().lines("pieces/board.csv"));
+        HeadlessRenderer renderer = new HeadlessRenderer(SIZE);
+        Img boardImage = new Img();
+        boardImage.setImage(AssetManager.get().image("board.png"));
+        Board board = new Board(SIZE / 8, SIZE / 8, 1, 1, 8, 8, boardImage);
+        BufferedImage expected = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = expected.createGraphics();
+        GraphicsFactory.drawGameBoard(g, board, position, SIZE, SIZE);
+        g.dispose();
+
+        // When
+        int[] rendered = pixels(renderer.render(position)); // the image is reused by the next call
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(renderer.renderPng(position)));
+        BufferedImage empty = new HeadlessRenderer(SIZE).render(HeadlessRenderer.position(List.of()));
+        // The kings swapped - only the first and last board rows are compressed again
+        List<String> rows = new ArrayList<>(AssetManager.get().lines("pieces/board.csv"));
+        rows.set(0, rows.get(0).replace("KB", "XX"));
+        rows.set(7, rows.get(7).replace("KW", "KB"));
+        rows.set(0, rows.get(0).replace("XX", "KW"));
+        BoardSnapshot swapped = HeadlessRenderer.position(rows);
+        BufferedImage decodedSwap = ImageIO.read(new ByteArrayInputStream(renderer.renderPng(swapped)));
+        int[] expectedSwap = pixels(renderer.render(swapped));
+
+        // Then
+        assertThat(rendered).isEqualTo(pixels(expected));
+        assertThat(decoded.getWidth()).isEqualTo(SIZE);
+        assertThat(pixels(decoded)).isEqualTo(rendered);
+        assertThat(pixels(empty)).isNotEqualTo(pixels(expected));
+        assertThat(pixels(decodedSwap)).isEqualTo(expectedSwap).isNotEqualTo(pixels(expected));
+    }
+
+    private static int[] pixels(BufferedImage image) {
+        int[] rgb = image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+        for (int i = 0; i < rgb.length; i++) {
+            rgb[i] &= 0xFFFFFF;
+        }
+        return rgb;
+    }
+}
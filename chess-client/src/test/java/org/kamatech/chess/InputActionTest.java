@@ -0,0 +1,75 @@
+package org.kamatech.chess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for InputAction - key inputs to typed actions and dispatch to the game's action methods
+ */
+@DisplayName("InputAction Tests")
+public class InputActionTest {
+
+    @Test
+    @DisplayName("Should map every key input the server approves to its action")
+    void shouldMapKeyInputs() {
+        // Then
+        assertThat(InputAction.of("MOVEMENT_UP")).isEqualTo(InputAction.MOVEMENT_UP);
+        assertThat(InputAction.of("MOVEMENT_RIGHT").getDx()).isEqualTo(1);
+        assertThat(InputAction.of("MOVEMENT_DOWN").getDy()).isEqualTo(1);
+        assertThat(InputAction.of("SELECT_OR_MOVE")).isEqualTo(InputAction.SELECT_OR_MOVE);
+        assertThat(InputAction.of("HOVER_TO_SELECT")).isEqualTo(InputAction.HOVER_TO_SELECT);
+        assertThat(InputAction.of("JUMP")).isEqualTo(InputAction.JUMP);
+        assertThat(InputAction.of("HOVER_UP")).isEqualTo(InputAction.NONE);
+        assertThat(InputAction.of("SELECT_PIECE_3")).isEqualTo(InputAction.NONE);
+        assertThat(InputAction.of((String) null)).isEqualTo(InputAction.NONE);
+        assertThat(InputAction.of(Command.createGameControl("END_GAME"))).isEqualTo(InputAction.NONE);
+    }
+
+    @Test
+    @DisplayName("Should call the action method of each command with its player")
+    void shouldDispatchToActions() {
+        // Given
+        RecordingTarget target = new RecordingTarget();
+
+        // When
+        InputAction.dispatch(Command.createKeyInput("MOVEMENT_LEFT", Command.Player.WHITE), target);
+        InputAction.dispatch(Command.createKeyInput("SELECT_OR_MOVE", Command.Player.BLACK), target);
+        InputAction.dispatch(Command.createKeyInput("HOVER_TO_SELECT", Command.Player.WHITE), target);
+        InputAction.dispatch(Command.createKeyInput("JUMP", Command.Player.BLACK), target);
+        boolean hover = InputAction.dispatch(Command.createKeyInput("HOVER_DOWN", Command.Player.WHITE), target);
+
+        // Then
+        assertThat(target.calls).containsExactly(
+                "move WHITE -1,0", "selectOrMove BLACK", "selectFromHover WHITE", "jump BLACK");
+        assertThat(hover).isFalse();
+    }
+
+    private static final class RecordingTarget implements InputAction.Target {
+        final List<String> calls = new ArrayList<>();
+
+        @Override
+        public void moveCursorOrPending(Command.Player player, int dx, int dy) {
+            calls.add("move " + player + " " + dx + "," + dy);
+        }
+
+        @Override
+        public void selectOrMove(Command.Player player) {
+            calls.add("selectOrMove " + player);
+        }
+
+        @Override
+        public void selectFromHover(Command.Player player) {
+            calls.add("selectFromHover " + player);
+        }
+
+        @Override
+        public void jump(Command.Player player) {
+            calls.add("jump " + player);
+        }
+    }
+}
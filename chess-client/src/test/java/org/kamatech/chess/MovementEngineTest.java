@@ -0,0 +1,122 @@
+package org.kamatech.chess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for MovementEngine
+ * Tests tick-driven movement timing, arrivals and cancellation without animation threads
+ */
+@DisplayName("MovementEngine Tests")
+public class MovementEngineTest {
+
+    @Test
+    @DisplayName("Should move a piece linearly and deliver its arrival exactly once")
+    void shouldMovePieceByTicks() {
+        // Given
+        List<Piece> arrivals = new ArrayList<>();
+        MovementEngine engine = new MovementEngine((piece, x, y) -> arrivals.add(piece));
+        Piece rook = new Piece("RW", null, 0, 7, true);
+
+        // When
+        engine.start(rook, 0, 3, 1000, 2000);
+        engine.update(1500);
+
+        // Then - a quarter of the way after a quarter of the time
+        assertThat(rook.getY()).isEqualTo(6.0);
+        assertThat(arrivals).isEmpty();
+
+        // When
+        engine.update(3000);
+        engine.update(3100);
+
+        // Then
+        assertThat(rook.getY()).isEqualTo(3.0);
+        assertThat(arrivals).containsExactly(rook);
+        assertThat(engine.isMoving(rook)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should draw moving pieces between tick positions and leave them on the board at the tick")
+    void shouldInterpolateBetweenTicks() {
+        // Given - ticked at 1000ms, a quarter into the move
+        MovementEngine engine = new MovementEngine((piece, x, y) -> { });
+        PieceIndex index = new PieceIndex(8, 8);
+        Piece rook = new Piece("RW", null, 0, 7, true);
+        index.put("RW", rook);
+        engine.start(rook, 0, 3, 500, 2000);
+        engine.update(1000);
+
+        // When - half way to the next 100ms tick
+        engine.interpolate(0.5, 100);
+        BoardSnapshot snapshot = BoardSnapshot.capture(index.asMap(), engine,
+                BoardSnapshot.PlayerView.NONE, BoardSnapshot.PlayerView.NONE);
+
+        // Then - drawn between ticks, but found where the last tick put it
+        assertThat(snapshot.find("RW").getY()).isEqualTo(7 - 4 * (550.0 / 2000));
+        assertThat(rook.getY()).isEqualTo(6.0);
+        assertThat(index.pieceAt(0, 6)).isSameAs(rook);
+    }
+
+    @Test
+    @DisplayName("Should drop the movement of a captured piece")
+    void shouldCancelCapturedPiece() {
+        // Given
+        List<Piece> arrivals = new ArrayList<>();
+        MovementEngine engine = new MovementEngine((piece, x, y) -> arrivals.add(piece));
+        Piece pawn = new Piece("PB", null, 4, 1, false);
+        engine.start(pawn, 4, 3, 0, 2000);
+        engine.update(1000);
+
+        // When
+        engine.cancel(pawn);
+        engine.update(5000);
+
+        // Then
+        assertThat(arrivals).isEmpty();
+        assertThat(pawn.getY()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should run 1,000 concurrent moves without creating threads and land every piece")
+    void shouldStressThousandMoves() {
+        // Given - 1,000 pieces on a large index, each moving three cells down
+        int moves = 1_000;
+        PieceIndex index = new PieceIndex(1_000, 8);
+        AtomicInteger arrivals = new AtomicInteger();
+        MovementEngine engine = new MovementEngine((piece, x, y) -> arrivals.incrementAndGet());
+        List<Piece> movers = new ArrayList<>();
+        for (int i = 0; i < moves; i++) {
+            Piece piece = new Piece("RW", null, i, 0, true);
+            index.put("RW_" + i, piece);
+            movers.add(piece);
+        }
+        int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+
+        // When - moves start at staggered times, ticks every 33ms like the game loop
+        for (int i = 0; i < moves; i++) {
+            engine.start(movers.get(i), i, 3, i % 100, 2000);
+        }
+        int peakThreads = ManagementFactory.getThreadMXBean().getThreadCount();
+        for (long now = 0; now <= 2200; now += 33) {
+            engine.update(now);
+            peakThreads = Math.max(peakThreads, ManagementFactory.getThreadMXBean().getThreadCount());
+        }
+
+        // Then - no thread per move (a little slack for JVM compiler threads)
+        assertThat(peakThreads - threadsBefore).isLessThan(5);
+        assertThat(arrivals.get()).isEqualTo(moves);
+        assertThat(engine.getActiveCount()).isZero();
+        for (int i = 0; i < moves; i++) {
+            assertThat(index.pieceAt(i, 3)).isSameAs(movers.get(i));
+            assertThat(index.pieceAt(i, 0)).isNull();
+        }
+    }
+}
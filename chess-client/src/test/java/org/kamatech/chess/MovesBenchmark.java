@@ -0,0 +1,97 @@
+package org.kamatech.chess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Move validation benchmark - compiled tables against parsing moves.txt strings per key press
+ * Excluded from the default build, run with: mvn test -Pbenchmark
+ * Size: -Dbench.moveChecks=1000000
+ */
+@Tag("benchmark")
+@DisplayName("Moves Benchmark")
+public class MovesBenchmark {
+
+    private static final int CHECKS = Integer.getInteger("bench.moveChecks", 1_000_000);
+
+    @Test
+    @DisplayName("Queen pattern checks - throughput and allocation")
+    void benchmarkQueenMoves() {
+        List<String> queenMoves = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            queenMoves.add(i + ",0");
+            queenMoves.add("0," + i);
+            queenMoves.add(i + "," + i);
+            queenMoves.add(i + ",-" + i);
+        }
+        Moves moves = new Moves(queenMoves, 1000);
+
+        long parsedAllowed = 0;
+        long compiledAllowed = 0;
+        for (int pass = 0; pass < 2; pass++) { // first pass is warm-up
+            long allocated = allocatedBytes();
+            long start = System.nanoTime();
+            parsedAllowed = 0;
+            for (int i = 0; i < CHECKS; i++) {
+                if (parsedAllows(queenMoves, (i % 15) - 7, ((i / 15) % 15) - 7)) {
+                    parsedAllowed++;
+                }
+            }
+            long parsedNanos = System.nanoTime() - start;
+            long parsedBytes = allocatedBytes() - allocated;
+
+            allocated = allocatedBytes();
+            start = System.nanoTime();
+            compiledAllowed = 0;
+            for (int i = 0; i < CHECKS; i++) {
+                if (moves.classify("QW", (i % 15) - 7, ((i / 15) % 15) - 7) == Moves.ALLOWED) {
+                    compiledAllowed++;
+                }
+            }
+            long compiledNanos = System.nanoTime() - start;
+            long compiledBytes = allocatedBytes() - allocated;
+
+            if (pass == 1) {
+                System.out.printf("parsed:   %7.1f ns/check %8.1f bytes/check%n",
+                        (double) parsedNanos / CHECKS, (double) parsedBytes / CHECKS);
+                System.out.printf("compiled: %7.1f ns/check %8.3f bytes/check%n",
+                        (double) compiledNanos / CHECKS, (double) compiledBytes / CHECKS);
+                assertThat((double) compiledBytes / CHECKS).isLessThan(0.01);
+            }
+        }
+        assertThat(compiledAllowed).isEqualTo(parsedAllowed);
+    }
+
+    // The pattern loop of the old Game.isValidMoveForPiece
+    private static boolean parsedAllows(List<String> movesList, int dx, int dy) {
+        for (String moveStr : movesList) {
+            if (moveStr.trim().isEmpty())
+                continue;
+            try {
+                String[] parts = moveStr.split(",");
+                if (parts.length >= 2) {
+                    int allowedDx = Integer.parseInt(parts[0].trim());
+                    int allowedDy = Integer.parseInt(parts[1].trim());
+                    if ((allowedDx == dx && allowedDy == dy) || (allowedDx == -dx && allowedDy == -dy)) {
+                        return true;
+                    }
+                }
+            } catch (NumberFormatException e) {
+                // skipped
+            }
+        }
+        return false;
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
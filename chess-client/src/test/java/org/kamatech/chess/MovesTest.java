@@ -0,0 +1,184 @@
+package org.kamatech.chess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Unit tests for the compiled move tables in Moves
+ * Every verdict must match the string-parsing validation Game used before
+ */
+@DisplayName("Moves Tests")
+public class MovesTest {
+
+    private static final String[] TARGETS = {"EMPTY", "ENEMY", "OWN"};
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {"PB", "PW", "RB", "RW", "NB", "NW", "BB", "BW", "QB", "QW", "KB", "KW"})
+    @DisplayName("Should give the same verdicts as the old parser for every shipped moves.txt")
+    void shouldMatchLegacyVerdicts(String pieceCode) throws IOException {
+        // Given
+        List<String> movesList = readMovesTxt(pieceCode);
+        Moves moves = new Moves(movesList, 1000);
+        boolean isWhite = pieceCode.endsWith("W");
+
+        for (int y : new int[] {0, 1, 3, 6}) {
+            Piece piece = new Piece(pieceCode, null, 3, y, isWhite);
+            for (int dx = -9; dx <= 9; dx++) {
+                for (int dy = -9; dy <= 9; dy++) {
+                    for (String target : TARGETS) {
+                        // When
+                        boolean compiled = resolve(moves.classify(pieceCode, dx, dy), piece, target);
+                        boolean legacy = legacyIsValidMove(movesList, piece, dx, dy, target);
+
+                        // Then
+                        assertThat(compiled).as("%s at y=%d by (%d,%d) onto %s", pieceCode, y, dx, dy, target)
+                                .isEqualTo(legacy);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should allow everything for an empty moves list and honour far offsets")
+    void shouldHandleEmptyAndFarMoves() {
+        // Given
+        Moves empty = new Moves(new ArrayList<>(), 1000);
+        List<String> far = new ArrayList<>();
+        far.add("9,0");
+        Moves farMoves = new Moves(far, 1000);
+
+        // When & Then
+        assertThat(empty.classify("RW", 5, 3)).isEqualTo(Moves.ALLOWED);
+        assertThat(farMoves.classify("XW", -9, 0)).isEqualTo(Moves.ALLOWED);
+        assertThat(farMoves.classify("XW", 0, 9)).isEqualTo(Moves.DENIED);
+    }
+
+    @Test
+    @DisplayName("Should share compiled tables between clones")
+    void shouldShareTablesBetweenClones() {
+        // Given
+        List<String> list = new ArrayList<>();
+        list.add("1,2");
+        Moves moves = new Moves(list, 1000);
+
+        // When
+        Moves clone = moves.clone();
+
+        // Then
+        assertThat(clone.classify("XW", -1, -2)).isEqualTo(Moves.ALLOWED);
+        assertThat(clone.getAllowedMoves()).isSameAs(moves.getAllowedMoves());
+    }
+
+    // Same resolution as Game.isValidMoveForPiece
+    private static boolean resolve(int verdict, Piece piece, String target) {
+        switch (verdict) {
+            case Moves.ALLOWED:
+                return true;
+            case Moves.CAPTURE_ONLY:
+                return "ENEMY".equals(target);
+            case Moves.FIRST_MOVE_ONLY:
+                boolean isWhitePawn = piece.getId().contains("W");
+                return (isWhitePawn && piece.getY() == 6) || (!isWhitePawn && piece.getY() == 1);
+            default:
+                return false;
+        }
+    }
+
+    // Game.isValidMoveForPiece before the moves were compiled, without its debug output
+    private static boolean legacyIsValidMove(List<String> movesList, Piece piece, int dx, int dy, String target) {
+        if (movesList == null || movesList.isEmpty()) {
+            return true;
+        }
+        for (String moveStr : movesList) {
+            if (moveStr.trim().isEmpty())
+                continue;
+            try {
+                String[] parts = moveStr.split(",");
+                if (parts.length >= 2) {
+                    int allowedDx = Integer.parseInt(parts[0].trim());
+                    int allowedDy = Integer.parseInt(parts[1].trim());
+                    if (allowedDx == dx && allowedDy == dy) {
+                        return true;
+                    }
+                    if (allowedDx == -dx && allowedDy == -dy) {
+                        return true;
+                    }
+                }
+            } catch (NumberFormatException e) {
+                // skipped, like before
+            }
+        }
+
+        String pieceType = piece.getId().substring(0, 1);
+        switch (pieceType) {
+            case "P":
+                boolean isWhitePawn = piece.getId().contains("W");
+                int forwardDirection = isWhitePawn ? -1 : 1;
+                if (Math.abs(dx) == 1 && dy == forwardDirection) {
+                    return "ENEMY".equals(target);
+                }
+                if (dx == 0) {
+                    boolean isStartingPosition = (isWhitePawn && piece.getY() == 6)
+                            || (!isWhitePawn && piece.getY() == 1);
+                    if (dy == forwardDirection) {
+                        return true;
+                    }
+                    if (isStartingPosition && dy == (forwardDirection * 2)) {
+                        return true;
+                    }
+                }
+                break;
+            case "R":
+                if ((dx == 0 && Math.abs(dy) == 1) || (Math.abs(dx) == 1 && dy == 0)) {
+                    return true;
+                }
+                break;
+            case "N":
+                if ((Math.abs(dx) == 2 && Math.abs(dy) == 1) || (Math.abs(dx) == 1 && Math.abs(dy) == 2)) {
+                    return true;
+                }
+                break;
+            case "B":
+                if (Math.abs(dx) == 1 && Math.abs(dy) == 1) {
+                    return true;
+                }
+                break;
+            case "Q":
+            case "K":
+                if ((Math.abs(dx) <= 1 && Math.abs(dy) <= 1) && !(dx == 0 && dy == 0)) {
+                    return true;
+                }
+                break;
+        }
+        return false;
+    }
+
+    // Same filtering as PieceFactory.loadMoves
+    private static List<String> readMovesTxt(String pieceCode) throws IOException {
+        List<String> movesList = new ArrayList<>();
+        try (InputStream in = MovesTest.class.getResourceAsStream("/pieces/" + pieceCode + "/moves.txt");
+                BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    movesList.add(line);
+                }
+            }
+        }
+        return movesList;
+    }
+}
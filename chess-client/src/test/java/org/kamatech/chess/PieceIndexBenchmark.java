@@ -0,0 +1,124 @@
+package org.kamatech.chess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Move validation benchmark - occupancy grid against the old linear findPieceAt scan
+ * Excluded from the default build, run with: mvn test -Pbenchmark
+ * Size: -Dbench.validations=2000000
+ */
+@Tag("benchmark")
+@DisplayName("PieceIndex Benchmark")
+public class PieceIndexBenchmark {
+
+    private static final int VALIDATIONS = Integer.getInteger("bench.validations", 2_000_000);
+
+    // Rook/queen/bishop style moves from the back rows: {fromX, fromY, toX, toY}
+    private static final int[][] MOVES = {
+            {0, 7, 0, 2}, {7, 7, 7, 0}, {4, 7, 4, 1}, {4, 7, 0, 3}, {2, 7, 7, 2},
+            {0, 0, 0, 5}, {7, 0, 7, 6}, {4, 0, 4, 6}, {3, 0, 7, 4}, {5, 0, 0, 5},
+            {0, 5, 7, 5}, {3, 4, 3, 0}, {1, 2, 6, 2}, {6, 3, 2, 3}
+    };
+
+    @Test
+    @DisplayName("Path check plus target lookup on the starting position")
+    void benchmarkMoveValidation() {
+        Map<String, Piece> pieces = startingPosition();
+        PieceIndex index = new PieceIndex(8, 8);
+        index.putAll(pieces);
+
+        int scanVerdicts = 0;
+        int indexVerdicts = 0;
+        for (int pass = 0; pass < 2; pass++) { // first pass is warm-up
+            long start = System.nanoTime();
+            scanVerdicts = 0;
+            for (int i = 0; i < VALIDATIONS; i++) {
+                int[] move = MOVES[i % MOVES.length];
+                if (isLegalByScan(pieces, move)) {
+                    scanVerdicts++;
+                }
+            }
+            long scanNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            indexVerdicts = 0;
+            for (int i = 0; i < VALIDATIONS; i++) {
+                int[] move = MOVES[i % MOVES.length];
+                if (isLegalByIndex(index, move)) {
+                    indexVerdicts++;
+                }
+            }
+            long indexNanos = System.nanoTime() - start;
+
+            if (pass == 1) {
+                System.out.printf("move validation: linear scan %,.0f/s | occupancy grid %,.0f/s | %.1fx%n",
+                        VALIDATIONS / (scanNanos / 1e9), VALIDATIONS / (indexNanos / 1e9),
+                        (double) scanNanos / indexNanos);
+            }
+        }
+        assertThat(indexVerdicts).isEqualTo(scanVerdicts);
+    }
+
+    private static boolean isLegalByIndex(PieceIndex index, int[] move) {
+        Piece mover = index.pieceAt(move[0], move[1]);
+        if (mover == null || index.firstBlocker(move[0], move[1], move[2], move[3]) != null) {
+            return false;
+        }
+        Piece target = index.pieceAt(move[2], move[3]);
+        return target == null || target.isWhite() != mover.isWhite();
+    }
+
+    // The validation path before the index: one distance check per piece per square
+    private static boolean isLegalByScan(Map<String, Piece> pieces, int[] move) {
+        Piece mover = scan(pieces, move[0], move[1]);
+        if (mover == null) {
+            return false;
+        }
+        int stepX = Integer.signum(move[2] - move[0]);
+        int stepY = Integer.signum(move[3] - move[1]);
+        double checkX = move[0] + stepX;
+        double checkY = move[1] + stepY;
+        while (checkX != move[2] || checkY != move[3]) {
+            if (scan(pieces, checkX, checkY) != null) {
+                return false;
+            }
+            checkX += stepX;
+            checkY += stepY;
+        }
+        Piece target = scan(pieces, move[2], move[3]);
+        return target == null || target.isWhite() != mover.isWhite();
+    }
+
+    private static Piece scan(Map<String, Piece> pieces, double x, double y) {
+        double tolerance = 0.1;
+        for (Piece piece : pieces.values()) {
+            double distance = Math.sqrt(
+                    Math.pow(piece.getX() - x, 2) +
+                            Math.pow(piece.getY() - y, 2));
+            if (distance <= tolerance) {
+                return piece;
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, Piece> startingPosition() {
+        String backRank = "RNBKQBNR";
+        Map<String, Piece> pieces = new HashMap<>();
+        for (int x = 0; x < 8; x++) {
+            String type = String.valueOf(backRank.charAt(x));
+            pieces.put(type + "W_" + x + "_7", new Piece(type + "W", null, x, 7, true));
+            pieces.put("PW_" + x + "_6", new Piece("PW", null, x, 6, true));
+            pieces.put(type + "B_" + x + "_0", new Piece(type + "B", null, x, 0, false));
+            pieces.put("PB_" + x + "_1", new Piece("PB", null, x, 1, false));
+        }
+        return pieces;
+    }
+}
@@ -0,0 +1,104 @@
+package org.kamatech.chess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for PieceIndex
+ * Tests that cell lookups and keys follow piece moves, captures and promotions
+ */
+@DisplayName("PieceIndex Tests")
+public class PieceIndexTest {
+
+    private PieceIndex index;
+    private Piece whiteRook;
+    private Piece blackPawn;
+
+    @BeforeEach
+    void setUp() {
+        index = new PieceIndex(8, 8);
+        whiteRook = new Piece("RW", null, 0, 7, true);
+        blackPawn = new Piece("PB", null, 0, 1, false);
+        index.put("RW_0_7", whiteRook);
+        index.put("PB_0_1", blackPawn);
+    }
+
+    @Test
+    @DisplayName("Should find pieces and their keys by cell")
+    void shouldFindPiecesByCell() {
+        // When & Then
+        assertThat(index.pieceAt(0, 7)).isSameAs(whiteRook);
+        assertThat(index.keyAt(0, 1)).isEqualTo("PB_0_1");
+        assertThat(index.pieceAt(0, 4)).isNull();
+        assertThat(index.keyOf(blackPawn)).isEqualTo("PB_0_1");
+    }
+
+    @Test
+    @DisplayName("Should follow Piece.setPosition, including mid-animation positions")
+    void shouldFollowPositionChanges() {
+        // When - animation step between cells
+        whiteRook.setPosition(0, 6.5);
+
+        // Then - the piece is on no cell while travelling
+        assertThat(index.pieceAt(0, 7)).isNull();
+        assertThat(index.pieceAt(0, 6)).isNull();
+
+        // When - arrival
+        whiteRook.setPosition(0, 6);
+
+        // Then
+        assertThat(index.pieceAt(0, 6)).isSameAs(whiteRook);
+    }
+
+    @Test
+    @DisplayName("Should drop removed pieces from the grid and the reverse index")
+    void shouldForgetRemovedPieces() {
+        // When - capture
+        index.remove("PB_0_1");
+        blackPawn.setPosition(3, 3);
+
+        // Then
+        assertThat(index.pieceAt(0, 1)).isNull();
+        assertThat(index.pieceAt(3, 3)).isNull();
+        assertThat(index.keyOf(blackPawn)).isNull();
+        assertThat(index.asMap()).containsOnlyKeys("RW_0_7");
+    }
+
+    @Test
+    @DisplayName("Should show the other piece again when one of two pieces on a cell leaves")
+    void shouldKeepStackedPieces() {
+        // Given - a jump onto an own piece leaves two pieces on one cell
+        Piece whiteKnight = new Piece("NW", null, 1, 7, true);
+        index.put("NW_1_7", whiteKnight);
+        whiteKnight.setPosition(0, 7);
+
+        // When
+        whiteKnight.setPosition(2, 5);
+
+        // Then
+        assertThat(index.pieceAt(0, 7)).isSameAs(whiteRook);
+        assertThat(index.pieceAt(2, 5)).isSameAs(whiteKnight);
+    }
+
+    @Test
+    @DisplayName("Should report the first piece between two cells")
+    void shouldFindFirstBlocker() {
+        // When & Then
+        assertThat(index.firstBlocker(0, 7, 0, 0)).isSameAs(blackPawn);
+        assertThat(index.firstBlocker(0, 7, 0, 2)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should still find pieces off the board")
+    void shouldFindPiecesOffBoard() {
+        // When
+        whiteRook.setPosition(-1, 7);
+
+        // Then
+        assertThat(index.pieceAt(-1, 7)).isSameAs(whiteRook);
+        assertThat(index.pieceAt(0, 7)).isNull();
+    }
+}
@@ -0,0 +1,121 @@
+package org.kamatech.chess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for SpriteAtlas
+ * Tests sprite discovery, frame order and drawing pre-scaled frames out of the atlas
+ */
+@DisplayName("SpriteAtlas Tests")
+public class SpriteAtlasTest {
+
+    @TempDir
+    File resourcesDir;
+
+    @Test
+    @DisplayName("Should load every state of every piece in file name order")
+    void shouldLoadFramesInOrder() throws Exception {
+        // Given
+        writeSprite("RW", "idle", "1.png", Color.RED);
+        writeSprite("RW", "idle", "2.png", Color.GREEN);
+        writeSprite("RW", "move", "1.png", Color.BLUE);
+        writeSprite("PB", "idle", "1.png", Color.YELLOW);
+
+        // When
+        SpriteAtlas atlas = SpriteAtlas.load(AssetManager.fromDirectory(resourcesDir));
+
+        // Then
+        assertThat(atlas.getFrameCount()).isEqualTo(4);
+        assertThat(atlas.getFrames("RW", "idle")).hasSize(2);
+        assertThat(new Color(atlas.getFrames("RW", "idle").get(1).getRGB(5, 5))).isEqualTo(Color.GREEN);
+        assertThat(atlas.getFrames("PB", "idle")).hasSize(1);
+        assertThat(atlas.getFrames("PB", "move")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should draw the requested frame at the requested size, also after a resize")
+    void shouldDrawScaledFrames() throws Exception {
+        // Given
+        writeSprite("RW", "idle", "1.png", Color.RED);
+        writeSprite("RW", "idle", "2.png", Color.GREEN);
+        writeSprite("QB", "jump", "1.png", Color.BLUE);
+        SpriteAtlas atlas = SpriteAtlas.load(AssetManager.fromDirectory(resourcesDir));
+
+        // When / Then - a 10x10 sprite drawn as 40x40 and then as 25x25
+        for (int size : new int[] {40, 25}) {
+            BufferedImage target = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = target.createGraphics();
+            assertThat(atlas.draw(g, "RW", "idle", 1, 10, 10, size, size)).isTrue();
+            assertThat(atlas.draw(g, "QB", "jump", 0, 60, 60, size / 2, size / 2)).isTrue();
+            assertThat(atlas.draw(g, "KW", "idle", 0, 0, 0, size, size)).isFalse();
+            g.dispose();
+
+            assertThat(new Color(target.getRGB(10 + size / 2, 10 + size / 2))).isEqualTo(Color.GREEN);
+            assertThat(new Color(target.getRGB(60 + size / 4, 60 + size / 4))).isEqualTo(Color.BLUE);
+            assertThat(target.getRGB(10 + size + 1, 10 + size / 2) >>> 24).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Should resolve frames by sprite set and piece state")
+    void shouldResolveFramesBySpriteSetAndState() throws Exception {
+        // Given
+        writeSprite("RW", "long_rest", "1.png", Color.RED);
+        writeSprite("RW", "long_rest", "2.png", Color.GREEN);
+        writeSprite("RB", "idle", "1.png", Color.BLUE);
+        SpriteAtlas atlas = SpriteAtlas.load(AssetManager.fromDirectory(resourcesDir));
+        int whiteRook = SpriteAtlas.spriteSet("RW");
+        int blackRook = SpriteAtlas.spriteSet("RB");
+
+        // Then
+        assertThat(whiteRook).isNotEqualTo(blackRook).isBetween(0, SpriteAtlas.SPRITE_SETS - 1);
+        assertThat(SpriteAtlas.spriteSet("XW")).isEqualTo(-1);
+        assertThat(SpriteAtlas.spriteSet("R")).isEqualTo(-1);
+        assertThat(atlas.getFrameCount(whiteRook, State.PieceState.REST)).isEqualTo(2);
+        assertThat(atlas.getFrameCount(whiteRook, State.PieceState.IDLE)).isZero();
+        assertThat(atlas.getFrameCount(blackRook, State.PieceState.IDLE)).isEqualTo(1);
+        assertThat(atlas.getFrameCount(-1, State.PieceState.IDLE)).isZero();
+
+        BufferedImage target = new BufferedImage(50, 50, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = target.createGraphics();
+        assertThat(atlas.draw(g, whiteRook, State.PieceState.REST, 1, 0, 0, 20, 20)).isTrue();
+        assertThat(atlas.draw(g, blackRook, State.PieceState.MOVE, 0, 25, 25, 20, 20)).isFalse();
+        g.dispose();
+        assertThat(new Color(target.getRGB(10, 10))).isEqualTo(Color.GREEN);
+    }
+
+    @Test
+    @DisplayName("Should find the bundled piece sprites on the classpath")
+    void shouldLoadBundledSprites() {
+        // When
+        SpriteAtlas atlas = SpriteAtlas.load();
+
+        // Then
+        assertThat(atlas.getFrameCount()).isPositive();
+        assertThat(atlas.getFrames("KW", "idle")).isNotEmpty();
+        assertThat(atlas.getFrames("PB", "long_rest")).isNotEmpty();
+    }
+
+    private void writeSprite(String pieceId, String state, String name, Color color) throws IOException {
+        File dir = new File(resourcesDir, "pieces/" + pieceId + "/states/" + state + "/sprites");
+        assertThat(dir.mkdirs() || dir.isDirectory()).isTrue();
+        BufferedImage image = new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(color);
+        g.fillRect(0, 0, 10, 10);
+        g.dispose();
+        ImageIO.write(image, "png", new File(dir, name));
+    }
+}
@@ -0,0 +1,141 @@
+package org.kamatech.chess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Sprite render benchmark - pre-scaled atlas against lazy PNG loading and per-frame scaling
+ * Renders a full board off screen: the first frame, the first frame after every piece changed
+ * state (a capture sends pieces into states never drawn before), and steady-state frames.
+ * Excluded from the default build, run with: mvn test -Pbenchmark
+ * Size: -Dbench.spriteFrames=300 -Dbench.cellSize=100
+ */
+@Tag("benchmark")
+@DisplayName("Sprite Render Benchmark")
+public class SpriteRenderBenchmark {
+
+    private static final int FRAMES = Integer.getInteger("bench.spriteFrames", 300);
+    private static final int CELL = Integer.getInteger("bench.cellSize", 100);
+    private static final String[] BACK_RANK = {"R", "N", "B", "K", "Q", "B", "N", "R"};
+
+    @Test
+    @DisplayName("Full board frames - first frame, first state change and steady frame time")
+    void benchmarkBoardFrames() {
+        List<String[]> board = new ArrayList<>(); // {pieceId, x, y}
+        for (int x = 0; x < 8; x++) {
+            board.add(new String[] {BACK_RANK[x] + "B", "" + x, "0"});
+            board.add(new String[] {"PB", "" + x, "1"});
+            board.add(new String[] {"PW", "" + x, "6"});
+            board.add(new String[] {BACK_RANK[x] + "W", "" + x, "7"});
+        }
+        BufferedImage target = new BufferedImage(8 * CELL, 8 * CELL, BufferedImage.TYPE_INT_ARGB_PRE);
+
+        // Old path: nothing up front, PNGs decoded on the paint thread, sprites scaled every frame
+        LazySprites lazy = new LazySprites();
+        long lazyFirst = timeFrame(() -> drawLazy(target, board, lazy, "idle"));
+        long lazyFirstChange = timeFrame(() -> drawLazy(target, board, lazy, "long_rest"));
+        long lazySteady = steadyFrame(() -> drawLazy(target, board, lazy, "long_rest"));
+
+        // New path: parallel decode at startup, atlas built on the first frame at this size
+        long loadStart = System.nanoTime();
+        SpriteAtlas atlas = SpriteAtlas.load();
+        long atlasLoad = System.nanoTime() - loadStart;
+        long atlasFirst = timeFrame(() -> drawAtlas(target, board, atlas, "idle"));
+        long atlasFirstChange = timeFrame(() -> drawAtlas(target, board, atlas, "long_rest"));
+        long atlasSteady = steadyFrame(() -> drawAtlas(target, board, atlas, "long_rest"));
+
+        System.out.printf("startup load: lazy %8.2f ms   atlas %8.2f ms (%d frames)%n",
+                0.0, atlasLoad / 1e6, atlas.getFrameCount());
+        System.out.printf("first frame:  lazy %8.2f ms   atlas %8.2f ms (builds the %dpx atlas)%n",
+                lazyFirst / 1e6, atlasFirst / 1e6, CELL - 10);
+        System.out.printf("first change: lazy %8.2f ms   atlas %8.2f ms%n",
+                lazyFirstChange / 1e6, atlasFirstChange / 1e6);
+        System.out.printf("steady frame: lazy %8.3f ms   atlas %8.3f ms%n",
+                lazySteady / 1e6, atlasSteady / 1e6);
+
+        assertThat(atlas.getFrameCount()).isPositive();
+        assertThat(atlasFirstChange).isLessThan(lazyFirstChange);
+    }
+
+    private static long timeFrame(Runnable frame) {
+        long start = System.nanoTime();
+        frame.run();
+        return System.nanoTime() - start;
+    }
+
+    private static long steadyFrame(Runnable frame) {
+        for (int i = 0; i < FRAMES / 2; i++) { // warm-up
+            frame.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < FRAMES; i++) {
+            frame.run();
+        }
+        return (System.nanoTime() - start) / FRAMES;
+    }
+
+    private static void drawAtlas(BufferedImage target, List<String[]> board, SpriteAtlas atlas, String state) {
+        Graphics2D g = target.createGraphics();
+        for (String[] piece : board) {
+            atlas.draw(g, piece[0], state, 0, Integer.parseInt(piece[1]) * CELL + 5,
+                    Integer.parseInt(piece[2]) * CELL + 5, CELL - 10, CELL - 10);
+        }
+        g.dispose();
+    }
+
+    private static void drawLazy(BufferedImage target, List<String[]> board, LazySprites sprites, String state) {
+        Graphics2D g = target.createGraphics();
+        for (String[] piece : board) {
+            List<BufferedImage> frames = sprites.get(piece[0], state);
+            if (!frames.isEmpty()) {
+                g.drawImage(frames.get(0), Integer.parseInt(piece[1]) * CELL + 5,
+                        Integer.parseInt(piece[2]) * CELL + 5, CELL - 10, CELL - 10, null);
+            }
+        }
+        g.dispose();
+    }
+
+    // The per-state cache and loader GraphicsFactory had before the atlas
+    private static final class LazySprites {
+        private final Map<String, List<BufferedImage>> cache = new HashMap<>();
+
+        List<BufferedImage> get(String pieceId, String stateFolder) {
+            return cache.computeIfAbsent(pieceId + "_" + stateFolder, key -> load(pieceId, stateFolder));
+        }
+
+        private static List<BufferedImage> load(String pieceId, String stateFolder) {
+            List<BufferedImage> frames = new ArrayList<>();
+            String folderPath = "pieces/" + pieceId + "/states/" + stateFolder + "/sprites";
+            try {
+                URL dirURL = Thread.currentThread().getContextClassLoader().getResource(folderPath);
+                if (dirURL != null && dirURL.getProtocol().equals("file")) {
+                    File[] files = new File(dirURL.toURI()).listFiles((d, name) -> name.endsWith(".png"));
+                    if (files != null) {
+                        Arrays.sort(files);
+                        for (File f : files) {
+                            frames.add(ImageIO.read(f));
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                System.err.println("Could not load sprites: " + e.getMessage());
+            }
+            return frames;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.kamatech.chess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for StartGate
+ * Tests that work arriving before the game starts runs on the loop after the start, in arrival order
+ */
+@DisplayName("StartGate Tests")
+public class StartGateTest {
+
+    @Test
+    @DisplayName("Should hold a rejoin snapshot that arrives before the start and hand it to the loop")
+    void shouldHoldUntilStart() {
+        // Given
+        StartGate gate = new StartGate();
+        List<String> ran = new ArrayList<>();
+        List<Runnable> loop = new ArrayList<>();
+
+        // When - the snapshot comes before startGame set up the board, a move after it
+        boolean heldSnapshot = gate.hold(() -> ran.add("snapshot"));
+        ran.add("setup");
+        gate.open(loop::add);
+        boolean heldMove = gate.hold(() -> ran.add("move"));
+        loop.forEach(Runnable::run);
+
+        // Then - the snapshot is applied on the loop, over the setup; the move goes to the loop directly
+        assertThat(heldSnapshot).isTrue();
+        assertThat(heldMove).isFalse();
+        assertThat(ran).containsExactly("setup", "snapshot");
+    }
+
+    @Test
+    @DisplayName("Should keep arrival order when the reader thread hands in work while the game starts")
+    void shouldKeepOrderAcrossStart() throws Exception {
+        // Given - the reader thread sends work the same way Game.restoreSnapshot does
+        StartGate gate = new StartGate();
+        List<Integer> loop = new CopyOnWriteArrayList<>();
+        int tasks = 10_000;
+        CountDownLatch started = new CountDownLatch(1);
+        Thread reader = new Thread(() -> {
+            for (int i = 0; i < tasks; i++) {
+                int task = i;
+                if (!gate.hold(() -> loop.add(task))) {
+                    loop.add(task); // runOnGameThread - the loop's queue
+                }
+                if (i == 100) {
+                    started.countDown();
+                }
+            }
+        }, "reader");
+
+        // When
+        reader.start();
+        started.await();
+        gate.open(task -> task.run());
+        reader.join(5000);
+
+        // Then
+        assertThat(loop).hasSize(tasks);
+        for (int i = 0; i < tasks; i++) {
+            assertThat(loop.get(i)).isEqualTo(i);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package org.kamatech.chess;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * State tick benchmark - the piece-state part of a game tick, every State.update polling the clock against
+ * StateTimers firing only the states whose time ran out
+ * "idle" leaves every piece IDLE; "load" jumps or rests one piece in 16 per tick, with a 5ms cooldown so
+ * states run out while the ticks run back to back. Pieces fill a board just big enough for them.
+ * Excluded from the default build, run with: mvn test -Pbenchmark
+ * Size: -Dbench.stateTicks=20000
+ */
+@Tag("benchmark")
+@DisplayName("State Tick Benchmark")
+public class StateTickBenchmark {
+
+    private static final int TICKS = Integer.getInteger("bench.stateTicks", 20_000);
+    private static final long COOLDOWN_MS = 5;
+
+    @ParameterizedTest(name = "{0} pieces, {1}")
+    @CsvSource({"32, idle", "32, load", "10000, idle", "10000, load"})
+    @DisplayName("Nanoseconds per tick")
+    void benchmarkStateTick(int pieceCount, String mode) {
+        boolean load = mode.equals("load");
+        int side = (int) Math.ceil(Math.sqrt(pieceCount));
+        int ticks = Math.max(200, (int) ((long) TICKS * 32 / pieceCount));
+
+        double pollingNanos = 0;
+        double timerNanos = 0;
+        for (int pass = 0; pass < 2; pass++) { // first pass is warm-up
+            PieceIndex polled = board(side, pieceCount, null);
+            pollingNanos = run(polled, null, ticks, load);
+
+            StateTimers timers = new StateTimers(System.currentTimeMillis());
+            PieceIndex timed = board(side, pieceCount, timers);
+            timerNanos = run(timed, timers, ticks, load);
+        }
+
+        System.out.printf("%n=== %d pieces, %s ===%n", pieceCount, mode);
+        System.out.printf("State.update per piece: %,12.0f ns/tick%n", pollingNanos);
+        System.out.printf("StateTimers:            %,12.0f ns/tick%n", timerNanos);
+    }
+
+    /**
+     * Average cost of the state part of a tick - setting states under load is the moves' cost, not timed
+     */
+    private static double run(PieceIndex index, StateTimers timers, int ticks, boolean load) {
+        Map<String, Piece> pieces = index.asMap();
+        State[] states = new State[pieces.size()];
+        int n = 0;
+        for (Piece piece : pieces.values()) {
+            states[n++] = piece.getState();
+        }
+        long total = 0;
+        int next = 0;
+        for (int tick = 0; tick < ticks; tick++) {
+            if (load) {
+                for (int i = 0; i < Math.max(1, states.length / 16); i++) {
+                    State state = states[next];
+                    next = (next + 1) % states.length;
+                    if (state.getCurrentState() == State.PieceState.IDLE) {
+                        state.setState(i % 2 == 0 ? State.PieceState.JUMP : State.PieceState.REST);
+                    }
+                }
+            }
+            long start = System.nanoTime();
+            if (timers == null) {
+                // Game.update before the timers
+                for (Piece piece : pieces.values()) {
+                    State state = piece.getState();
+                    if (state != null) {
+                        state.update();
+                    }
+                }
+            } else {
+                timers.advance(System.currentTimeMillis());
+            }
+            total += System.nanoTime() - start;
+        }
+        return (double) total / ticks;
+    }
+
+    private static PieceIndex board(int side, int pieceCount, StateTimers timers) {
+        PieceIndex index = new PieceIndex(side, side, timers);
+        Moves moves = new Moves(Collections.emptyList(), COOLDOWN_MS);
+        for (int i = 0; i < pieceCount; i++) {
+            int x = i % side;
+            int y = i / side;
+            State state = new State(moves, null, new Physics(null));
+            index.put("P" + x + "_" + y, new Piece("PW", state, x, y, true));
+        }
+        return index;
+    }
+}
@@ -0,0 +1,136 @@
+package org.kamatech.chess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for StateTimers - timed states expire on the wheel once their duration has run
+ * States on the wheel take its time as their clock, so the tests drive time by hand.
+ */
+@DisplayName("StateTimers Tests")
+public class StateTimersTest {
+
+    @Test
+    @DisplayName("Should move a jump on to short rest and then idle when their durations run out")
+    void shouldExpireStatesInTurn() {
+        // Given - cooldown 100ms: JUMP lasts 66ms, SHORT_REST 100ms
+        StateTimers timers = new StateTimers(1000);
+        State state = state(100);
+        state.setTimers(timers);
+
+        // When
+        state.setState(State.PieceState.JUMP);
+        timers.advance(1065);
+        State.PieceState early = state.getCurrentState();
+        timers.advance(1066);
+        State.PieceState jumped = state.getCurrentState();
+        timers.advance(1165);
+        State.PieceState resting = state.getCurrentState();
+        timers.advance(1166); // SHORT_REST started at the tick that moved the jump on
+
+        // Then
+        assertThat(early).isEqualTo(State.PieceState.JUMP);
+        assertThat(jumped).isEqualTo(State.PieceState.SHORT_REST);
+        assertThat(resting).isEqualTo(State.PieceState.SHORT_REST);
+        assertThat(state.getCurrentState()).isEqualTo(State.PieceState.IDLE);
+        assertThat(timers.getScheduledCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should expire long cooldowns on time through every level of the wheel")
+    void shouldExpireAcrossLevels() {
+        // Given - REST for 300ms, 20s, 4 hours and 40 hours (past the top level's reach)
+        long[] cooldowns = {150, 10_000, 7_200_000, 72_000_000};
+        StateTimers timers = new StateTimers(0);
+        State[] states = new State[cooldowns.length];
+        for (int i = 0; i < cooldowns.length; i++) {
+            states[i] = state(cooldowns[i]);
+            states[i].setTimers(timers);
+            states[i].setState(State.PieceState.REST);
+        }
+
+        for (int i = 0; i < cooldowns.length; i++) {
+            // When
+            timers.advance(cooldowns[i] * 2 - 1);
+            State.PieceState before = states[i].getCurrentState();
+            timers.advance(cooldowns[i] * 2);
+
+            // Then
+            assertThat(before).as("REST of %dms before it ends", cooldowns[i] * 2).isEqualTo(State.PieceState.REST);
+            assertThat(states[i].getCurrentState()).as("REST of %dms", cooldowns[i] * 2)
+                    .isEqualTo(State.PieceState.IDLE);
+        }
+        assertThat(timers.getScheduledCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should drop the timer of a piece taken off the board and of a state that changed first")
+    void shouldCancelTimers() {
+        // Given
+        StateTimers timers = new StateTimers(0);
+        PieceIndex index = new PieceIndex(8, 8, timers);
+        State captured = state(100);
+        State moved = state(100);
+        index.put("PW00", new Piece("PW", captured, 0, 0, true));
+        index.put("PW10", new Piece("PW", moved, 1, 0, true));
+        captured.setState(State.PieceState.REST);
+        moved.setState(State.PieceState.REST);
+
+        // When
+        index.remove("PW00");
+        moved.setState(State.PieceState.MOVE);
+        timers.advance(1000);
+
+        // Then
+        assertThat(timers.getScheduledCount()).isZero();
+        assertThat(captured.getCurrentState()).isEqualTo(State.PieceState.REST);
+        assertThat(moved.getCurrentState()).isEqualTo(State.PieceState.MOVE);
+    }
+
+    @Test
+    @DisplayName("Should end a rest restored from a server snapshot after the time left, not the full cooldown")
+    void shouldExpireRestoredRest() {
+        // Given - cooldown 1s makes a full REST 2s, the server says 300ms are left
+        StateTimers timers = new StateTimers(0);
+        State state = state(1000);
+        state.setTimers(timers);
+
+        // When
+        state.restFor(300);
+        timers.advance(299);
+        State.PieceState resting = state.getCurrentState();
+        timers.advance(300);
+
+        // Then
+        assertThat(resting).isEqualTo(State.PieceState.REST);
+        assertThat(state.getCurrentState()).isEqualTo(State.PieceState.IDLE);
+        assertThat(timers.getScheduledCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep the time a state has run when it moves between the wall clock and the game's timers")
+    void shouldKeepElapsedTimeAcrossClocks() {
+        // Given - a piece that started resting off the board
+        StateTimers timers = new StateTimers(0);
+        State state = state(100);
+        state.setState(State.PieceState.REST);
+        long remaining = state.getRemainingStateTime();
+
+        // When
+        state.setTimers(timers);
+        long onTimers = state.getRemainingStateTime();
+        timers.advance(remaining);
+
+        // Then - REST is 200ms, the few milliseconds it ran on the wall clock count
+        assertThat(onTimers).isBetween(remaining - 5, remaining);
+        assertThat(state.getCurrentState()).isEqualTo(State.PieceState.IDLE);
+    }
+
+    private static State state(long cooldown) {
+        return new State(new Moves(Collections.emptyList(), cooldown), null, new Physics(null));
+    }
+}
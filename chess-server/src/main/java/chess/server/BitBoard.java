@@ -0,0 +1,155 @@
+package chess.server;
+
+/**
+ * Compact 8x8 board - one 64-bit mask per color and piece type
+ * Square index is y * 8 + x, bit n of a mask is square n.
+ * Knight/king attacks and the squares between two aligned squares are precomputed,
+ * so occupancy and path checks are a couple of mask operations.
+ */
+public final class BitBoard {
+    public static final int SIZE = 8;
+    public static final int SQUARES = SIZE * SIZE;
+
+    // Piece codes: color * TYPES + type, EMPTY when nothing is there
+    public static final int EMPTY = -1;
+    public static final int PAWN = 0;
+    public static final int KNIGHT = 1;
+    public static final int BISHOP = 2;
+    public static final int ROOK = 3;
+    public static final int QUEEN = 4;
+    public static final int KING = 5;
+    public static final int TYPES = 6;
+    public static final int WHITE = 0;
+    public static final int BLACK = 1;
+
+    static final long[] KNIGHT_ATTACKS = new long[SQUARES];
+    static final long[] KING_ATTACKS = new long[SQUARES];
+    // Squares strictly between two squares on a common rank, file or diagonal, 0 otherwise
+    static final long[][] BETWEEN = new long[SQUARES][SQUARES];
+
+    static {
+        for (int from = 0; from < SQUARES; from++) {
+            int fx = from % SIZE;
+            int fy = from / SIZE;
+            for (int to = 0; to < SQUARES; to++) {
+                if (to == from) {
+                    continue;
+                }
+                int dx = to % SIZE - fx;
+                int dy = to / SIZE - fy;
+                int adx = Math.abs(dx);
+                int ady = Math.abs(dy);
+                if ((adx == 1 && ady == 2) || (adx == 2 && ady == 1)) {
+                    KNIGHT_ATTACKS[from] |= 1L << to;
+                }
+                if (adx <= 1 && ady <= 1) {
+                    KING_ATTACKS[from] |= 1L << to;
+                }
+                if (adx != 0 && ady != 0 && adx != ady) {
+                    continue; // no common rank, file or diagonal
+                }
+                int stepX = Integer.signum(dx);
+                int stepY = Integer.signum(dy);
+                long between = 0;
+                for (int x = fx + stepX, y = fy + stepY; x != fx + dx || y != fy + dy; x += stepX, y += stepY) {
+                    between |= 1L << (y * SIZE + x);
+                }
+                BETWEEN[from][to] = between;
+            }
+        }
+    }
+
+    private final long[] pieces = new long[2 * TYPES];
+    private final long[] colors = new long[2];
+    private long occupied;
+
+    public BitBoard() {
+    }
+
+    private BitBoard(BitBoard other) {
+        System.arraycopy(other.pieces, 0, pieces, 0, pieces.length);
+        colors[WHITE] = other.colors[WHITE];
+        colors[BLACK] = other.colors[BLACK];
+        occupied = other.occupied;
+    }
+
+    public static int square(int x, int y) {
+        return y * SIZE + x;
+    }
+
+    public static int code(int color, int type) {
+        return color * TYPES + type;
+    }
+
+    public static int colorOf(int code) {
+        return code / TYPES;
+    }
+
+    public static int typeOf(int code) {
+        return code % TYPES;
+    }
+
+    /**
+     * Piece code on a square, EMPTY when nothing is there
+     */
+    public int get(int square) {
+        long bit = 1L << square;
+        if ((occupied & bit) == 0) {
+            return EMPTY;
+        }
+        for (int code = 0; code < pieces.length; code++) {
+            if ((pieces[code] & bit) != 0) {
+                return code;
+            }
+        }
+        return EMPTY;
+    }
+
+    /**
+     * Put a piece code on a square (EMPTY clears it), replacing whatever was there
+     */
+    public void set(int square, int code) {
+        long bit = 1L << square;
+        if ((occupied & bit) != 0) {
+            for (int i = 0; i < pieces.length; i++) {
+                pieces[i] &= ~bit;
+            }
+            colors[WHITE] &= ~bit;
+            colors[BLACK] &= ~bit;
+            occupied &= ~bit;
+        }
+        if (code != EMPTY) {
+            pieces[code] |= bit;
+            colors[colorOf(code)] |= bit;
+            occupied |= bit;
+        }
+    }
+
+    public boolean isOccupied(int square) {
+        return (occupied & (1L << square)) != 0;
+    }
+
+    /**
+     * Any piece strictly between two squares on a common line
+     * Squares that do not share a line (or are adjacent) have nothing in between
+     */
+    public boolean isPathBlocked(int from, int to) {
+        return (BETWEEN[from][to] & occupied) != 0;
+    }
+
+    public long getOccupied() {
+        return occupied;
+    }
+
+    public long getColor(int color) {
+        return colors[color];
+    }
+
+    public long getPieces(int code) {
+        return pieces[code];
+    }
+
+    public BitBoard copy() {
+        return new BitBoard(this);
+    }
+}
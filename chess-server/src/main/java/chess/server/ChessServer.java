@@ -1,37 +1,48 @@
 package chess.server;
 
 import java.io.IOException;
-import java.net.ServerSocket;
-import java.net.Socket;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class ChessServer {
-    private ServerSocket serverSocket;
+    private static final Logger log = LoggerFactory.getLogger(ChessServer.class);
+
+    private volatile ServerTransport transport;
     private volatile boolean running = false;
-    private final Map<String, ClientHandler> clients = new ConcurrentHashMap<>();
-    private ServerChessLogic gameLogic;
-    private ServerMessageBroadcaster broadcaster;
     private final ServerConfig config;
     
-    // Game state tracking
-    private boolean gameStarted = false;
-    private boolean whitePlayerConnected = false;
-    private boolean blackPlayerConnected = false;
-    private final java.util.List<String> gameMoves = new java.util.ArrayList<>();
+    // Every match lives in its own room
+    private final GameRoomManager roomManager;
+    
+    // Drives connection handshakes (delays, GAME_START, resync) off the accept path
+    private final ScheduledExecutorService handshakeScheduler;
     
     public ChessServer() {
-        this.config = ServerConfig.getInstance();
+        this(ServerConfig.getInstance());
+    }
+    
+    ChessServer(ServerConfig config) {
+        this.config = config;
+        this.roomManager = new GameRoomManager(config);
+        this.handshakeScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "handshake-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
     }
     
     public static void main(String[] args) {
         ServerConfig config = ServerConfig.getInstance();
+        ServerLogging.configure(config);
         int port = config.getPort();
         if (args.length > 0) {
             try {
                 port = Integer.parseInt(args[0]);
             } catch (NumberFormatException e) {
-                System.err.println("Invalid port number: " + args[0]);
+                log.error("Invalid port number: {}", args[0]);
                 System.exit(1);
             }
         }
@@ -42,245 +53,127 @@ public class ChessServer {
     
     public void start(int port) {
         try {
-            serverSocket = new ServerSocket(port);
+            transport = createTransport(config.getTransport());
+            transport.bind(port);
             running = true;
             
-            System.out.println("Chess Server started on port " + port);
-            
-            // Initialize minimal game logic - no graphics needed!
-            gameLogic = new ServerChessLogic();
-            System.out.println("Server chess logic initialized");
+            log.info("Chess Server started on port {} ({} transport)", transport.getLocalPort(), config.getTransport());
             
-            // Initialize message broadcaster
-            broadcaster = new ServerMessageBroadcaster(clients);
-            System.out.println("Message broadcaster initialized");
+            // Game logic is created per room when players are matched
+            log.info("Game room manager initialized");
             
-            // Send game started signal
-            ServerCommand gameStartCommand = new ServerCommand("GAME_CONTROL:GAME_STARTED");
-            gameLogic.processValidCommand(gameStartCommand);
-            
-            // Accept client connections
-            while (running) {
-                try {
-                    Socket clientSocket = serverSocket.accept();
-                    handleNewConnection(clientSocket);
-                } catch (IOException e) {
-                    if (running) {
-                        System.err.println("Error accepting client connection: " + e.getMessage());
-                    }
-                }
-            }
+            // Accept client connections until stopped
+            transport.serve();
         } catch (IOException e) {
-            System.err.println("Server startup error: " + e.getMessage());
+            if (running) {
+                log.warn("Server error: {}", e.getMessage());
+            }
         } finally {
             stop();
         }
     }
     
-    private void handleNewConnection(Socket clientSocket) {
-        String clientId = "Client-" + clientSocket.getRemoteSocketAddress().toString();
-        System.out.println("New client connected: " + clientId);
+    /**
+     * Create the network layer named by server.transport
+     */
+    ServerTransport createTransport(String name) {
+        switch (name) {
+            case "blocking":
+                return ThreadPerConnectionTransport.platformThreads(this);
+            case "virtual":
+                return ThreadPerConnectionTransport.virtualThreads(this);
+            case "nio":
+                return new NioSelectorTransport(this);
+            default:
+                throw new RuntimeException("Unknown server.transport: " + name + ". Use blocking, virtual or nio.");
+        }
+    }
+    
+    /**
+     * Called by the transport for every new socket
+     * Returns false when the client must be turned away
+     */
+    public boolean acceptConnection(ClientConnection connection) {
+        String clientId = connection.getClientId();
+        log.info("New client connected: {}", clientId);
         
-        if (clients.size() >= config.getMaxClients()) {
-            try {
-                clientSocket.close();
-                System.out.println("Rejected client (max " + config.getMaxPlayers() + " players): " + clientId);
-            } catch (IOException e) {
-                System.err.println("Error closing excess client: " + e.getMessage());
-            }
-            return;
+        if (roomManager.getClientCount() >= config.getMaxClients()) {
+            log.warn("Rejected client (max {} clients): {}", config.getMaxClients(), clientId);
+            return false;
         }
         
-        try {
-            ClientHandler handler = new ClientHandler(clientSocket, clientId, this);
-            
-            Thread clientThread = new Thread(handler);
-            clientThread.start();
-            
-            // Wait a bit for the connection to be established
-            Thread.sleep(config.getConnectionSetupDelayMs());
-            
-            clients.put(clientId, handler);
-            
-            // Determine player role based on game state
-            String playerRole;
-            if (!gameStarted) {
-                // First game - assign based on connection order
-                playerRole = (clients.size() == 1) ? config.getPlayer1Color() : config.getPlayer2Color();
-                if ("WHITE".equals(playerRole)) {
-                    whitePlayerConnected = true;
-                } else {
-                    blackPlayerConnected = true;
-                }
-            } else {
-                // Game already started - assign missing color
-                if (!whitePlayerConnected) {
-                    playerRole = "WHITE";
-                    whitePlayerConnected = true;
-                } else if (!blackPlayerConnected) {
-                    playerRole = "BLACK";
-                    blackPlayerConnected = true;
-                } else {
-                    // Both connected - shouldn't happen
-                    playerRole = "SPECTATOR";
-                }
-            }
-            
-            handler.sendMessage("PLAYER_ROLE:" + playerRole);
-            handler.setPlayerRole(playerRole); // Store role in handler
-            
-            System.out.println("Client connected successfully: " + clientId + " as " + playerRole + " (Total: " + clients.size() + "/" + config.getMaxPlayers() + ")");
-            System.out.println("Game status: Started=" + gameStarted + ", WHITE=" + whitePlayerConnected + ", BLACK=" + blackPlayerConnected);
-            
-            // Send appropriate message based on game state
-            if (!gameStarted && clients.size() == 1) {
-                // First game, first player - show waiting message
-                handler.sendMessage("WAITING_FOR_PLAYER:" + config.getWaitingMessage());
-                System.out.println("First player connected. Waiting for second player...");
-            } else if (!gameStarted && clients.size() == config.getMaxPlayers()) {
-                // First game, both players connected - start the game
-                
-                // Wait a bit more for player roles to be processed
-                Thread.sleep(config.getConnectionStartDelayMs());
-                
-                // Clear waiting message for all players and start game
-                broadcastMessage("CLEAR_WAITING");
-                Thread.sleep(config.getConnectionClearDelayMs());
-                broadcastMessage("GAME_START");
-                gameStarted = true;
-                System.out.println("Both players connected. Game started!");
-            } else if (gameStarted && whitePlayerConnected && blackPlayerConnected) {
-                // Game already started, player reconnected - send current game state
-                System.out.println("Player reconnected. Sending current game state...");
-                
-                // Send all previous moves to sync the reconnected player
-                for (String move : gameMoves) {
-                    handler.sendMessage(move);
-                    Thread.sleep(50); // Small delay between moves for processing
-                }
-                
-                // Send game start signal to ensure UI is ready
-                handler.sendMessage("GAME_START");
-                System.out.println("Game state synchronized for reconnected player: " + playerRole);
-            } else if (gameStarted && clients.size() == 1) {
-                // Game started but only one player - show waiting message
-                handler.sendMessage("WAITING_FOR_PLAYER:" + config.getWaitingMessage());
-                System.out.println("Player reconnected. Waiting for other player...");
-            }
-            
-        } catch (Exception e) {
-            System.err.println("Error setting up client handler: " + e.getMessage());
+        if (config.isBinaryProtocolEnabled()) {
+            connection.sendMessage(WireProtocol.OFFER);
         }
+        // Role, start and resync run on the handshake scheduler - accept never waits for them
+        new ConnectionHandshake(connection, roomManager, config, handshakeScheduler).start();
+        return true;
     }
     
     public void handleClientMessage(String clientId, String message) {
-        System.out.println("Received from " + clientId + ": " + message);
+        log.debug("Received from {}: {}", clientId, message);
         
         try {
-            // Parse command from client
-            ServerCommand command = parseCommand(message);
-            if (command != null) {
-                System.out.println("Processing command from " + clientId + ": " + message);
-                
-                // Validate command using minimal logic
-                boolean isValid = gameLogic.isValidCommand(command);
-                
-                if (isValid) {
-                    // Process the valid command
-                    gameLogic.processValidCommand(command);
-                    
-                    // Save the move for game state synchronization (only after game started)
-                    if (gameStarted && !message.contains("GAME_CONTROL")) {
-                        gameMoves.add(message);
-                        System.out.println("Move saved to game state: " + message + " (Total moves: " + gameMoves.size() + ")");
-                    }
-                    
-                    // Command is valid - send original command back to all clients
-                    System.out.println("✓ [SERVER BROADCAST] Command valid, broadcasting approved command to all clients");
-                    broadcastMessage(message); // Send original command, not board state
-                } else {
-                    System.out.println("Command invalid, sending rejection to sender");
-                    ClientHandler sender = clients.get(clientId);
-                    if (sender != null) {
-                        sender.sendMessage("COMMAND_REJECTED:" + message);
-                    }
-                }
-            }
+            roomManager.handleClientMessage(clientId, message);
         } catch (Exception e) {
-            System.err.println("Error processing message from " + clientId + ": " + e.getMessage());
+            log.warn("Error processing message from {}: {}", clientId, e.getMessage());
         }
     }
     
-    private ServerCommand parseCommand(String message) {
+    /**
+     * Called by the transport for every command that came in as a binary frame
+     */
+    public void handleClientCommand(String clientId, ServerCommand command) {
+        log.debug("Received from {}: {} (binary)", clientId, command.getRawCommand());
+        
         try {
-            // Simply create command from string
-            ServerCommand command = new ServerCommand(message);
-            return command;
+            roomManager.handleClientCommand(clientId, command);
         } catch (Exception e) {
-            System.err.println("Error parsing command: " + message + " - " + e.getMessage());
+            log.warn("Error processing command from {}: {}", clientId, e.getMessage());
         }
-        return null;
     }
     
-    public void broadcastMessage(String message) {
-        if (broadcaster != null) {
-            broadcaster.broadcastMessage(message);
-        }
+    /**
+     * Whether clients may switch to binary frames after the text handshake
+     */
+    public boolean isBinaryProtocolEnabled() {
+        return config.isBinaryProtocolEnabled();
     }
     
-    public void broadcastMessage(String message, String excludeClientId) {
-        if (broadcaster != null) {
-            broadcaster.broadcastMessage(message, excludeClientId);
-        }
+    public void removeClient(String clientId) {
+        roomManager.removeClient(clientId);
+        log.info("Client disconnected: {} (Rooms: {}, Clients: {})",
+                clientId, roomManager.getRoomCount(), roomManager.getClientCount());
     }
     
-    public void removeClient(String clientId) {
-        // Track which color disconnected
-        ClientHandler handler = clients.get(clientId);
-        if (handler != null) {
-            String disconnectedRole = handler.getPlayerRole();
-            if ("WHITE".equals(disconnectedRole)) {
-                whitePlayerConnected = false;
-                System.out.println("WHITE player disconnected");
-            } else if ("BLACK".equals(disconnectedRole)) {
-                blackPlayerConnected = false;
-                System.out.println("BLACK player disconnected");
-            }
-        }
-        
-        clients.remove(clientId);
-        System.out.println("Client disconnected: " + clientId + " (Remaining: " + clients.size() + "/" + config.getMaxPlayers() + ")");
-        System.out.println("Color status: WHITE=" + whitePlayerConnected + ", BLACK=" + blackPlayerConnected);
-        
-        if (gameStarted && clients.size() == 1) {
-            // Game started but one player disconnected - show waiting message
-            broadcastMessage("WAITING_FOR_PLAYER:" + config.getWaitingMessage());
-            System.out.println("Player disconnected during game. Remaining player waiting for reconnection...");
-        } else if (clients.size() == 0) {
-            // All players disconnected
-            broadcastMessage("PLAYER_DISCONNECTED");
-            System.out.println("All players disconnected.");
-        }
+    /**
+     * Port the server listens on, -1 before it is bound
+     */
+    public int getLocalPort() {
+        ServerTransport current = transport;
+        return current != null ? current.getLocalPort() : -1;
+    }
+    
+    public GameRoomManager getRoomManager() {
+        return roomManager;
+    }
+    
+    ServerConfig getConfig() {
+        return config;
     }
     
     public void stop() {
         running = false;
         
-        // Close all client connections
-        for (ClientHandler client : clients.values()) {
-            client.close();
+        // Stop accepting
+        if (transport != null) {
+            transport.close();
         }
-        clients.clear();
         
-        // Close server socket
-        if (serverSocket != null && !serverSocket.isClosed()) {
-            try {
-                serverSocket.close();
-            } catch (IOException e) {
-                System.err.println("Error closing server socket: " + e.getMessage());
-            }
-        }
+        // Close all rooms and their client connections
+        handshakeScheduler.shutdownNow();
+        roomManager.closeAll();
         
-        System.out.println("Chess Server stopped");
+        log.info("Chess Server stopped");
     }
 }
@@ -1,12 +1,17 @@
 package chess.server;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 /**
  * נקודת הכניסה הראשית לשרת השח
  */
 public class ChessServerMain {
-    
+    private static final Logger log = LoggerFactory.getLogger(ChessServerMain.class);
+
     public static void main(String[] args) {
         ServerConfig config = ServerConfig.getInstance();
+        ServerLogging.configure(config);
         config.printConfiguration();
         
         int port = config.getPort();
@@ -16,29 +21,28 @@ public class ChessServerMain {
             try {
                 port = Integer.parseInt(args[0]);
             } catch (NumberFormatException e) {
-                System.err.println("Invalid port number: " + args[0]);
-                System.err.println("Using default port: " + config.getPort());
+                log.warn("Invalid port number: {}", args[0]);
+                log.warn("Using default port: {}", config.getPort());
                 port = config.getPort();
             }
         }
         
-        System.out.println("=== KFChess Server ===");
-        System.out.println("Starting server on port: " + port);
+        log.info("=== KFChess Server ===");
+        log.info("Starting server on port: {}", port);
         
         try {
             ChessServer server = new ChessServer();
             server.start(port);
             
-            System.out.println("Server started successfully!");
-            System.out.println("Waiting for players to connect...");
-            System.out.println("Press Ctrl+C to stop the server");
+            log.info("Server started successfully!");
+            log.info("Waiting for players to connect...");
+            log.info("Press Ctrl+C to stop the server");
             
             // Keep the server running
             Thread.currentThread().join();
             
         } catch (Exception e) {
-            System.err.println("Failed to start server: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Failed to start server: {}", e.getMessage(), e);
         }
     }
 }
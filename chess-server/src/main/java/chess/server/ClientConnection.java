@@ -0,0 +1,60 @@
+package chess.server;
+
+/**
+ * A connected client as seen by game rooms and the broadcaster
+ * Rooms only talk to clients through this interface, not to sockets
+ */
+public interface ClientConnection {
+
+    /**
+     * Send message to this client
+     */
+    void sendMessage(String message);
+
+    /**
+     * Send a game command - as a binary frame once the client switched protocols, else as its text
+     */
+    default void sendCommand(ServerCommand command) {
+        sendMessage(command.getRawCommand());
+    }
+
+    /**
+     * Bytes queued for this client and not written yet - how far it is behind
+     */
+    default int getQueuedBytes() {
+        return 0;
+    }
+
+    /**
+     * Run a callback once, on the writing thread, when at most this many bytes are left queued
+     * Right away when that is already so - connections that do not queue never fall behind
+     */
+    default void whenDrained(int bytes, Runnable callback) {
+        callback.run();
+    }
+
+    /**
+     * Get client ID
+     */
+    String getClientId();
+
+    /**
+     * Check if the connection is still open
+     */
+    boolean isRunning();
+
+    /**
+     * Set the player role for this client
+     */
+    void setPlayerRole(String role);
+
+    /**
+     * Get the player role for this client
+     */
+    String getPlayerRole();
+
+    /**
+     * Close the connection
+     */
+    void close();
+}
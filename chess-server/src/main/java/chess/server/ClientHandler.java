@@ -1,69 +1,196 @@
 package chess.server;
 
-import java.io.BufferedReader;
+import java.io.BufferedInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.PrintWriter;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Handles individual client connections
- * Clean separation: one client per handler
+ * Clean separation: one client per handler - its reader thread runs {@link #run()}; senders only queue,
+ * and the transport's shared writers {@link #flush()} the queue, so nobody blocks on this client's socket
  */
-public class ClientHandler implements Runnable {
+public class ClientHandler implements Runnable, ClientConnection {
+    private static final Logger log = LoggerFactory.getLogger(ClientHandler.class);
+
+    // Same encoding the client's InputStreamReader uses
+    private static final Charset CHARSET = Charset.defaultCharset();
+
     private final Socket socket;
     private final String clientId;
     private final ChessServer server;
-    private final BufferedReader reader;
-    private final PrintWriter writer;
+    private final InputStream reader;
+    private final OutputStream output;
+    private final ThreadPerConnectionTransport transport;
+    private final OutboundQueue outbound;
+    // Set from the first queued message until a flush found the queue empty
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    // When the write in progress started, 0 while not writing - read by the transport's watchdog
+    private volatile long writeStartedNanos;
     private volatile boolean running = true;
     private String playerRole = null;
+    // Binary protocol - input is only read by this handler's thread, output switches under this lock
+    private boolean binaryOutput;
     
-    public ClientHandler(Socket socket, String clientId, ChessServer server) throws IOException {
+    public ClientHandler(Socket socket, String clientId, ChessServer server,
+                         ThreadPerConnectionTransport transport) throws IOException {
         this.socket = socket;
         this.clientId = clientId;
         this.server = server;
+        this.transport = transport;
         
-        this.reader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-        this.writer = new PrintWriter(socket.getOutputStream(), true);
+        this.reader = new BufferedInputStream(socket.getInputStream());
+        this.output = socket.getOutputStream();
+        this.outbound = new OutboundQueue(server.getConfig().getSendMaxQueuedBytes());
         
-        System.out.println("✓ ClientHandler created for: " + clientId);
+        log.debug("✓ ClientHandler created for: {}", clientId);
     }
     
     @Override
     public void run() {
-        System.out.println("ClientHandler started for: " + clientId);
+        log.debug("ClientHandler started for: {}", clientId);
         
         try {
             String message;
-            while (running && (message = reader.readLine()) != null) {
+            while (running && (message = WireProtocol.readLine(reader, CHARSET)) != null) {
+                if (WireProtocol.ACCEPT.equals(message) && server.isBinaryProtocolEnabled()) {
+                    switchToBinary();
+                    readFrames();
+                    break;
+                }
                 // Forward message to server for processing
                 server.handleClientMessage(clientId, message);
             }
         } catch (IOException e) {
             if (running) {
-                System.err.println("Client communication error (" + clientId + "): " + e.getMessage());
+                log.warn("Client communication error ({}): {}", clientId, e.getMessage());
             }
         } finally {
             close();
             server.removeClient(clientId);
-            System.out.println("ClientHandler stopped for: " + clientId);
+            log.debug("ClientHandler stopped for: {}", clientId);
+        }
+    }
+    
+    /**
+     * The client took the binary offer - its next bytes are frames, and so are ours after SWITCH
+     */
+    private synchronized void switchToBinary() {
+        queue((WireProtocol.SWITCH + "\n").getBytes(CHARSET));
+        binaryOutput = true;
+        log.debug("→ [TO {}] {}", clientId, WireProtocol.SWITCH);
+    }
+    
+    private void readFrames() throws IOException {
+        WireProtocol.FrameReader frames = new WireProtocol.FrameReader();
+        while (running && frames.read(reader)) {
+            ServerCommand command = WireProtocol.decodeCommand(frames.body(), frames.length(), System.currentTimeMillis());
+            if (command != null) {
+                server.handleClientCommand(clientId, command);
+            } else if (frames.body()[0] == WireProtocol.OP_TEXT) {
+                server.handleClientMessage(clientId, WireProtocol.decodeText(frames.body(), frames.length()));
+            } else {
+                log.warn("Unknown frame opcode from {}: {}", clientId, frames.body()[0]);
+            }
+            frames.next();
         }
     }
     
     /**
      * Send message to this client
      */
+    @Override
     public void sendMessage(String message) {
-        if (writer != null && !socket.isClosed()) {
-            writer.println(message);
-            System.out.println("→ [TO " + clientId + "] " + message);
+        if (!socket.isClosed()) {
+            synchronized (this) {
+                queue(binaryOutput ? WireProtocol.encodeText(message) : (message + "\n").getBytes(CHARSET));
+            }
+            log.debug("→ [TO {}] {}", clientId, message);
+        }
+    }
+    
+    /**
+     * Send a game command - the same frame bytes go to every binary client
+     */
+    @Override
+    public void sendCommand(ServerCommand command) {
+        if (!socket.isClosed()) {
+            synchronized (this) {
+                queue(binaryOutput ? command.getFrame() : command.getLine(CHARSET));
+            }
+            log.debug("→ [TO {}] {}", clientId, command.getRawCommand());
+        }
+    }
+    
+    private void queue(byte[] bytes) {
+        if (!outbound.add(bytes)) {
+            if (running) {
+                log.warn("Client {} is {} bytes behind - disconnecting", clientId, outbound.getQueuedBytes());
+                close();
+            }
+            return;
+        }
+        if (flushScheduled.compareAndSet(false, true)) {
+            transport.scheduleFlush(this);
+        }
+    }
+    
+    /**
+     * Write everything queued, one write per batch - run by one of the transport's writers
+     * Messages queued meanwhile go out in the same run; a client whose socket stops taking bytes holds
+     * its writer until the transport's watchdog sees the write blocked past the timeout and closes it
+     */
+    void flush() {
+        try {
+            do {
+                ByteBuffer batch;
+                while ((batch = outbound.drain()) != null) {
+                    writeStartedNanos = System.nanoTime();
+                    output.write(batch.array(), batch.position(), batch.remaining());
+                    writeStartedNanos = 0;
+                    outbound.written(batch.remaining());
+                }
+                flushScheduled.set(false);
+                // A message queued after the last drain saw the flag still set and left it to us
+            } while (!outbound.isEmpty() && flushScheduled.compareAndSet(false, true));
+        } catch (IOException e) {
+            writeStartedNanos = 0;
+            if (running) {
+                log.warn("Error sending to {}: {}", clientId, e.getMessage());
+                close();
+            }
         }
     }
+
+    /**
+     * How long the write in progress has been blocked, 0 when not writing
+     */
+    long getWriteBlockedNanos(long nowNanos) {
+        long started = writeStartedNanos;
+        return started == 0 ? 0 : nowNanos - started;
+    }
+    
+    @Override
+    public int getQueuedBytes() {
+        return outbound.getQueuedBytes();
+    }
+    
+    @Override
+    public void whenDrained(int bytes, Runnable callback) {
+        outbound.whenDrained(bytes, callback);
+    }
     
     /**
      * Check if handler is still running
      */
+    @Override
     public boolean isRunning() {
         return running && !socket.isClosed();
     }
@@ -71,6 +198,7 @@ public class ClientHandler implements Runnable {
     /**
      * Get client ID
      */
+    @Override
     public String getClientId() {
         return clientId;
     }
@@ -78,39 +206,42 @@ public class ClientHandler implements Runnable {
     /**
      * Close all resources
      */
+    @Override
     public void close() {
         running = false;
+        outbound.close();
+        transport.connectionClosed(this);
         
+        // Close the socket first - it unblocks a reader thread sitting in readLine
         try {
-            if (reader != null) {
-                reader.close();
+            if (socket != null && !socket.isClosed()) {
+                socket.close();
             }
         } catch (IOException e) {
-            System.err.println("Error closing reader for " + clientId + ": " + e.getMessage());
+            log.warn("Error closing socket for {}: {}", clientId, e.getMessage());
         }
         
         try {
-            if (writer != null) {
-                writer.close();
+            if (reader != null) {
+                reader.close();
             }
-        } catch (Exception e) {
-            System.err.println("Error closing writer for " + clientId + ": " + e.getMessage());
+        } catch (IOException e) {
+            log.warn("Error closing reader for {}: {}", clientId, e.getMessage());
         }
         
         try {
-            if (socket != null && !socket.isClosed()) {
-                socket.close();
-            }
+            output.close();
         } catch (IOException e) {
-            System.err.println("Error closing socket for " + clientId + ": " + e.getMessage());
+            log.warn("Error closing writer for {}: {}", clientId, e.getMessage());
         }
         
-        System.out.println("✓ ClientHandler resources closed for: " + clientId);
+        log.debug("✓ ClientHandler resources closed for: {}", clientId);
     }
     
     /**
      * Set the player role for this client
      */
+    @Override
     public void setPlayerRole(String role) {
         this.playerRole = role;
     }
@@ -118,6 +249,7 @@ public class ClientHandler implements Runnable {
     /**
      * Get the player role for this client
      */
+    @Override
     public String getPlayerRole() {
         return playerRole;
     }
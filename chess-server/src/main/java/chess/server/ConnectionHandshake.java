@@ -0,0 +1,121 @@
+package chess.server;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per-connection handshake as a small state machine
+ * Each step does a bit of non-blocking work and says how long to wait before the next one,
+ * so the accept path never sleeps: setup delay, room join and role, start delay,
+ * CLEAR_WAITING, clear delay, GAME_START, or snapshot resync for a reconnect
+ */
+public class ConnectionHandshake implements Runnable {
+    private static final Logger log = LoggerFactory.getLogger(ConnectionHandshake.class);
+
+    private enum Step {
+        JOIN,
+        CLEAR_WAITING,
+        START_GAME,
+        RESYNC,
+        DONE
+    }
+
+    private final ClientConnection connection;
+    private final GameRoomManager roomManager;
+    private final ServerConfig config;
+    private final ScheduledExecutorService scheduler;
+    private Step step = Step.JOIN;
+    private GameRoom room;
+
+    public ConnectionHandshake(ClientConnection connection, GameRoomManager roomManager,
+                               ServerConfig config, ScheduledExecutorService scheduler) {
+        this.connection = connection;
+        this.roomManager = roomManager;
+        this.config = config;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Schedule the handshake - returns immediately
+     */
+    public void start() {
+        schedule(config.getConnectionSetupDelayMs());
+    }
+
+    /**
+     * Run every step on the calling thread, sleeping between them
+     */
+    public GameRoom runBlocking() throws InterruptedException {
+        long delay;
+        while ((delay = advance()) >= 0) {
+            if (delay > 0) {
+                Thread.sleep(delay);
+            }
+        }
+        return room;
+    }
+
+    @Override
+    public void run() {
+        try {
+            long delay = advance();
+            if (delay >= 0) {
+                schedule(delay);
+            }
+        } catch (Exception e) {
+            log.warn("Handshake failed for {}: {}", connection.getClientId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Run the current step and move to the next one
+     * Returns the delay before the next step, or -1 when the handshake is over
+     */
+    long advance() {
+        if (!connection.isRunning()) {
+            step = Step.DONE;
+        }
+        switch (step) {
+            case JOIN:
+                room = roomManager.join(connection);
+                switch (room.sendJoinMessages(connection)) {
+                    case START_GAME:
+                        // Wait a bit more for player roles to be processed
+                        step = Step.CLEAR_WAITING;
+                        return config.getConnectionStartDelayMs();
+                    case RESYNC:
+                        step = Step.RESYNC;
+                        return 0;
+                    default:
+                        step = Step.DONE;
+                        return -1;
+                }
+            case CLEAR_WAITING:
+                room.clearWaiting();
+                step = Step.START_GAME;
+                return config.getConnectionClearDelayMs();
+            case START_GAME:
+                room.startGame();
+                step = Step.DONE;
+                return -1;
+            case RESYNC:
+                room.resync(connection);
+                step = Step.DONE;
+                return -1;
+            default:
+                return -1;
+        }
+    }
+
+    private void schedule(long delayMs) {
+        try {
+            scheduler.schedule(this, delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Server is shutting down
+        }
+    }
+}
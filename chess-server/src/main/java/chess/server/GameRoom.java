@@ -0,0 +1,411 @@
+package chess.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * One match hosted by the server
+ * Owns its own game logic, move history and player slots, so rooms never see each other's moves.
+ * The history is a board checkpoint taken every few moves plus the moves since - a returning player
+ * gets both in one go, however long the match has been running.
+ * Spectators take no slot - they get a snapshot and then every move through a {@link SpectatorFeed}.
+ */
+public class GameRoom {
+    private static final Logger log = LoggerFactory.getLogger(GameRoom.class);
+
+    private final String roomId;
+    private final ServerConfig config;
+    private final Map<String, ClientConnection> clients = new ConcurrentHashMap<>(4);
+    private final ServerChessLogic gameLogic;
+    private final ServerMessageBroadcaster broadcaster;
+    private final Map<String, ClientConnection> spectators = new ConcurrentHashMap<>(4);
+    private final Executor fanout;
+    private SpectatorFeed spectatorFeed; // created for the first spectator
+
+    // Game state tracking
+    private boolean gameStarted = false;
+    private boolean whitePlayerConnected = false;
+    private boolean blackPlayerConnected = false;
+    // The last checkpoint, the moves played up to it and the moves played since (fewer than the interval)
+    private String checkpoint;
+    private int checkpointMoves;
+    private final List<ServerCommand> tail = new ArrayList<>();
+    private int movesPlayed = 0;
+    private String resyncingClientId = null;
+    private volatile long lastActivityMs = System.currentTimeMillis();
+
+    /**
+     * Room that feeds its spectators on the calling thread
+     */
+    public GameRoom(String roomId, ServerConfig config) {
+        this(roomId, config, Runnable::run);
+    }
+
+    /**
+     * Room that feeds its spectators on the given executor, off the players' threads
+     */
+    public GameRoom(String roomId, ServerConfig config, Executor fanout) {
+        this.roomId = roomId;
+        this.config = config;
+        this.fanout = fanout;
+        this.gameLogic = new ServerChessLogic();
+        this.broadcaster = new ServerMessageBroadcaster(clients);
+    }
+
+    /**
+     * Take a player slot in this room and return the assigned role
+     * Cheap and non-blocking - the handshake messages are sent by {@link #sendJoinMessages}
+     */
+    public synchronized String assignRole(ClientConnection connection) {
+        clients.put(connection.getClientId(), connection);
+        lastActivityMs = System.currentTimeMillis();
+
+        // Determine player role based on game state
+        String playerRole;
+        if (!gameStarted) {
+            // First game - assign based on free slot, player 1 color first
+            String player1Color = config.getPlayer1Color();
+            boolean player1Taken = "WHITE".equals(player1Color) ? whitePlayerConnected : blackPlayerConnected;
+            playerRole = player1Taken ? config.getPlayer2Color() : player1Color;
+        } else if (!whitePlayerConnected) {
+            // Game already started - assign missing color
+            playerRole = "WHITE";
+        } else if (!blackPlayerConnected) {
+            playerRole = "BLACK";
+        } else {
+            // Both connected - shouldn't happen, matchmaking only sends clients to open rooms
+            playerRole = "SPECTATOR";
+        }
+
+        if ("WHITE".equals(playerRole)) {
+            whitePlayerConnected = true;
+        } else if ("BLACK".equals(playerRole)) {
+            blackPlayerConnected = true;
+        }
+
+        connection.setPlayerRole(playerRole); // Store role in connection
+        return playerRole;
+    }
+
+    /**
+     * What the handshake has to do after the join messages went out
+     */
+    public enum JoinOutcome {
+        WAITING,    // first player, or alone in a started match
+        START_GAME, // room just filled up - clear waiting and start
+        RESYNC,     // rejoined a running match - send the checkpoint and the moves since
+        NONE
+    }
+
+    /**
+     * Send the role and waiting messages to a client that just took a slot
+     * Never blocks - delays and the resync step are driven by ConnectionHandshake
+     */
+    public synchronized JoinOutcome sendJoinMessages(ClientConnection connection) {
+        String playerRole = connection.getPlayerRole();
+        if (spectators.containsKey(connection.getClientId())) {
+            return JoinOutcome.NONE; // the spectator feed sent the role and snapshot
+        }
+        connection.sendMessage("PLAYER_ROLE:" + playerRole);
+
+        log.info("[{}] Client connected: {} as {} (Total: {}/{})",
+                roomId, connection.getClientId(), playerRole, clients.size(), config.getMaxPlayers());
+
+        // Send appropriate message based on game state
+        if (!gameStarted && clients.size() == 1) {
+            // First player - show waiting message
+            connection.sendMessage("WAITING_FOR_PLAYER:" + config.getWaitingMessage());
+            return JoinOutcome.WAITING;
+        } else if (!gameStarted && clients.size() == config.getMaxPlayers()) {
+            // Both players connected - start the game
+            return JoinOutcome.START_GAME;
+        } else if (gameStarted && whitePlayerConnected && blackPlayerConnected) {
+            // Player reconnected - live moves go through the history until the resync sent it
+            resyncingClientId = connection.getClientId();
+            return JoinOutcome.RESYNC;
+        } else if (gameStarted && clients.size() == 1) {
+            // Game started but only one player - show waiting message
+            connection.sendMessage("WAITING_FOR_PLAYER:" + config.getWaitingMessage());
+            return JoinOutcome.WAITING;
+        }
+        return JoinOutcome.NONE;
+    }
+
+    /**
+     * Add a spectator - it gets its role, a snapshot of the match and from then on every move
+     * Returns false when the match already has as many spectators as it may
+     */
+    public synchronized boolean addSpectator(ClientConnection connection) {
+        if (spectators.size() >= config.getMaxSpectators()) {
+            return false;
+        }
+        spectators.put(connection.getClientId(), connection);
+        connection.setPlayerRole("SPECTATOR");
+        if (spectatorFeed == null) {
+            spectatorFeed = new SpectatorFeed(this, fanout, config.getSpectatorLagBytes());
+        }
+        // Queued in the same lock as the snapshot, so the feed continues exactly where the snapshot ends
+        if (gameStarted) {
+            spectatorFeed.join(connection, "PLAYER_ROLE:SPECTATOR", snapshotMessage(), "GAME_START");
+        } else {
+            spectatorFeed.join(connection, "PLAYER_ROLE:SPECTATOR", snapshotMessage());
+        }
+        log.info("[{}] Spectator joined: {} (Watching: {})", roomId, connection.getClientId(), spectators.size());
+        return true;
+    }
+
+    /**
+     * Queue a fresh snapshot for a spectator that fell behind - called by the spectator feed
+     */
+    synchronized void resyncSpectator(ClientConnection connection) {
+        if (spectators.containsKey(connection.getClientId())) {
+            spectatorFeed.snapshot(connection, snapshotMessage());
+        }
+    }
+
+    /**
+     * BOARD_SNAPSHOT:moves played:ServerChessLogic snapshot
+     */
+    private String snapshotMessage() {
+        return "BOARD_SNAPSHOT:" + movesPlayed + ":" + gameLogic.getSnapshot();
+    }
+
+    /**
+     * Keep the board as it is now - cooldowns as clock times, so they can be sent relative to the resync
+     */
+    private void takeCheckpoint() {
+        checkpoint = gameLogic.getCheckpoint();
+        checkpointMoves = movesPlayed;
+    }
+
+    /**
+     * Record a move of the running match, starting a new checkpoint once the tail is full
+     */
+    private void recordMove(ServerCommand command) {
+        movesPlayed++;
+        tail.add(command);
+        if (tail.size() >= config.getResyncSnapshotInterval()) {
+            takeCheckpoint();
+            tail.clear();
+        }
+    }
+
+    /**
+     * Clear waiting message for all players
+     */
+    public synchronized void clearWaiting() {
+        broadcaster.broadcastMessage("CLEAR_WAITING");
+    }
+
+    /**
+     * Start the match for all players
+     */
+    public synchronized void startGame() {
+        if (gameStarted || !whitePlayerConnected || !blackPlayerConnected) {
+            return; // already running, or a player left (or went to watch) before the start
+        }
+        broadcastToAll("GAME_START");
+        gameStarted = true;
+        takeCheckpoint();
+        log.info("[{}] Both players connected. Game started!", roomId);
+    }
+
+    /**
+     * Bring a reconnected player up to date - the last checkpoint, the moves since and GAME_START
+     */
+    public synchronized void resync(ClientConnection connection) {
+        if (!clients.containsKey(connection.getClientId())) {
+            return;
+        }
+        connection.sendMessage("BOARD_SNAPSHOT:" + checkpointMoves + ":" + gameLogic.toSnapshot(checkpoint));
+        for (ServerCommand move : tail) {
+            connection.sendCommand(move);
+        }
+
+        // Send game start signal to ensure UI is ready
+        resyncingClientId = null;
+        connection.sendMessage("GAME_START");
+        log.info("[{}] Game state synchronized for reconnected player: {} ({} moves, {} after the checkpoint)",
+                roomId, connection.getPlayerRole(), movesPlayed, tail.size());
+    }
+
+    /**
+     * Apply a client command to this room's game and broadcast it to the room, or reject it
+     */
+    public synchronized void handleClientMessage(String clientId, String message) {
+        ServerCommand command;
+        try {
+            command = new ServerCommand(message);
+        } catch (Exception e) {
+            log.warn("[{}] Error parsing command: {} - {}", roomId, message, e.getMessage());
+            return;
+        }
+        handleClientCommand(clientId, command);
+    }
+
+    /**
+     * Apply a parsed or decoded command - each client gets it back in its own protocol
+     */
+    public synchronized void handleClientCommand(String clientId, ServerCommand command) {
+        lastActivityMs = System.currentTimeMillis();
+
+        ClientConnection sender = clients.get(clientId);
+        if (isOwnCommand(sender, command) && gameLogic.applyCommand(command)) {
+            // Save the move for game state synchronization (only after game started)
+            if (gameStarted && !command.getRawCommand().contains("GAME_CONTROL")) {
+                recordMove(command);
+            }
+
+            // Command is valid - send original command back to all clients of this room
+            // (a player waiting for its resync gets it from the history instead)
+            broadcaster.broadcastCommand(command, resyncingClientId);
+            if (!spectators.isEmpty()) {
+                spectatorFeed.command(command);
+            }
+        } else if (sender != null) {
+            sender.sendMessage("COMMAND_REJECTED:" + command.getRawCommand());
+        }
+    }
+
+    /**
+     * Players may only steer their own color - W_ commands from WHITE, B_ commands from BLACK
+     */
+    private static boolean isOwnCommand(ClientConnection sender, ServerCommand command) {
+        if (sender == null) {
+            return false;
+        }
+        ServerCommand.Player player = command.getPlayer();
+        return player == ServerCommand.Player.SYSTEM || player.name().equals(sender.getPlayerRole());
+    }
+
+    /**
+     * Release the slot held by a client
+     */
+    public synchronized void removeClient(String clientId) {
+        ClientConnection spectator = spectators.remove(clientId);
+        if (spectator != null) {
+            spectatorFeed.leave(spectator);
+            log.info("[{}] Spectator left: {} (Watching: {})", roomId, clientId, spectators.size());
+            return;
+        }
+        ClientConnection connection = clients.remove(clientId);
+        if (connection == null) {
+            return;
+        }
+        lastActivityMs = System.currentTimeMillis();
+
+        if (clientId.equals(resyncingClientId)) {
+            resyncingClientId = null;
+        }
+
+        // Track which color disconnected
+        String disconnectedRole = connection.getPlayerRole();
+        if ("WHITE".equals(disconnectedRole)) {
+            whitePlayerConnected = false;
+        } else if ("BLACK".equals(disconnectedRole)) {
+            blackPlayerConnected = false;
+        }
+
+        log.info("[{}] Client disconnected: {} (Remaining: {}/{})",
+                roomId, clientId, clients.size(), config.getMaxPlayers());
+
+        if (gameStarted && clients.size() == 1) {
+            // One player left mid-game - remaining player waits for reconnection
+            broadcastToAll("WAITING_FOR_PLAYER:" + config.getWaitingMessage());
+        }
+    }
+
+    /**
+     * Close all connections of this room
+     */
+    public synchronized void close() {
+        for (ClientConnection client : clients.values()) {
+            client.close();
+        }
+        for (ClientConnection spectator : spectators.values()) {
+            spectator.close();
+        }
+        clients.clear();
+        spectators.clear();
+        whitePlayerConnected = false;
+        blackPlayerConnected = false;
+    }
+
+    /**
+     * Broadcast message to all clients of this room, spectators included
+     */
+    public synchronized void broadcastMessage(String message) {
+        broadcastToAll(message);
+    }
+
+    private void broadcastToAll(String message) {
+        broadcaster.broadcastMessage(message);
+        if (!spectators.isEmpty()) {
+            spectatorFeed.message(message);
+        }
+    }
+
+    /**
+     * Player or spectator of this room, null when the client is not here
+     */
+    public ClientConnection getClient(String clientId) {
+        ClientConnection connection = clients.get(clientId);
+        return connection != null ? connection : spectators.get(clientId);
+    }
+
+    public synchronized boolean hasOpenSlot() {
+        return clients.size() < config.getMaxPlayers();
+    }
+
+    public synchronized boolean isEmpty() {
+        return clients.isEmpty();
+    }
+
+    public synchronized boolean isGameStarted() {
+        return gameStarted;
+    }
+
+    public synchronized int getClientCount() {
+        return clients.size();
+    }
+
+    public int getSpectatorCount() {
+        return spectators.size();
+    }
+
+    synchronized SpectatorFeed getSpectatorFeed() {
+        return spectatorFeed;
+    }
+
+    /**
+     * Moves played since the game started
+     */
+    public synchronized int getMovesPlayed() {
+        return movesPlayed;
+    }
+
+    /**
+     * Moves played since the last checkpoint - what a returning player gets after the snapshot
+     */
+    public synchronized List<String> getMoveTail() {
+        List<String> moves = new ArrayList<>(tail.size());
+        for (ServerCommand move : tail) {
+            moves.add(move.getRawCommand());
+        }
+        return moves;
+    }
+
+    public long getLastActivityMs() {
+        return lastActivityMs;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+}
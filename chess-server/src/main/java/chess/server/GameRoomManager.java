@@ -0,0 +1,273 @@
+package chess.server;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Registry of all matches hosted by one server process
+ * Routes every client to its room, pairs waiting players into matches and seats spectators
+ * ("SPECTATE" for any running match, "SPECTATE:Room-7" for a given one)
+ */
+public class GameRoomManager {
+    private static final Logger log = LoggerFactory.getLogger(GameRoomManager.class);
+
+    private final ServerConfig config;
+    private final Map<String, GameRoom> rooms = new ConcurrentHashMap<>();
+    private final Map<String, GameRoom> clientRooms = new ConcurrentHashMap<>();
+    private final AtomicLong roomCounter = new AtomicLong();
+    // Spectate requests that came in before the client's handshake put it in a room: client id -> room id, "" for any
+    private final Map<String, String> spectateRequests = new ConcurrentHashMap<>();
+    // Sends moves to spectators for every room, off the players' threads
+    private final ExecutorService spectatorFanout;
+
+    // Rooms that still have a free player slot, in the order they opened (guarded by this)
+    private final Set<GameRoom> openRooms = new LinkedHashSet<>();
+
+    public GameRoomManager(ServerConfig config) {
+        this.config = config;
+        AtomicLong threadCounter = new AtomicLong();
+        this.spectatorFanout = Executors.newFixedThreadPool(config.getSpectatorFanoutThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "spectator-fanout-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Put a new client into a room and give it a player slot
+     * Matchmaking order: a started match missing a player, then a match waiting for its
+     * second player, then a match everybody left, then a fresh room
+     */
+    public GameRoom join(ClientConnection connection) {
+        List<GameRoom> expired;
+        GameRoom room;
+        synchronized (this) {
+            expired = expireIdleRooms(System.currentTimeMillis());
+            room = seat(connection);
+        }
+        // Close outside the registry lock, like closeAll
+        for (GameRoom expiredRoom : expired) {
+            expiredRoom.close(); // spectators still watching the abandoned match
+            log.info("Room expired: {}", expiredRoom.getRoomId());
+        }
+        return room;
+    }
+
+    private GameRoom seat(ClientConnection connection) {
+        String spectateRoom = spectateRequests.remove(connection.getClientId());
+        if (spectateRoom != null) {
+            GameRoom watched = spectate(connection, spectateRoom);
+            if (watched != null) {
+                return watched;
+            }
+            // Nothing to watch - play instead
+        }
+        GameRoom room = findOpenRoom();
+        if (room == null) {
+            room = new GameRoom("Room-" + roomCounter.incrementAndGet(), config, spectatorFanout);
+            rooms.put(room.getRoomId(), room);
+            openRooms.add(room);
+        }
+        room.assignRole(connection);
+        clientRooms.put(connection.getClientId(), room);
+        if (!room.hasOpenSlot()) {
+            openRooms.remove(room);
+        }
+        return room;
+    }
+
+    /**
+     * Seat a client as spectator of a running match - the given room, or any running match for ""
+     * Returns the room, or null after telling the client there is nothing to watch
+     */
+    public synchronized GameRoom spectate(ClientConnection connection, String roomId) {
+        GameRoom room = roomId.isEmpty() ? findRunningRoom(null) : rooms.get(roomId);
+        if (room == null || !room.isGameStarted() || !room.addSpectator(connection)) {
+            connection.sendMessage("SPECTATE_REJECTED:" + (room == null ? "No running match" : "Match not available"));
+            return null;
+        }
+        clientRooms.put(connection.getClientId(), room);
+        return room;
+    }
+
+    /**
+     * A client asked to watch instead of play
+     * Before its handshake joined a room the request waits for the join; afterwards the client
+     * gives up its seat only when there is a match to move to
+     */
+    private synchronized void requestSpectate(String clientId, String roomId) {
+        GameRoom current = clientRooms.get(clientId);
+        if (current == null) {
+            spectateRequests.put(clientId, roomId);
+            return;
+        }
+        ClientConnection connection = current.getClient(clientId);
+        GameRoom target = roomId.isEmpty() ? findRunningRoom(current) : rooms.get(roomId);
+        if (connection == null || target == current) {
+            return;
+        }
+        if (target == null || !target.isGameStarted() || target.getSpectatorCount() >= config.getMaxSpectators()) {
+            connection.sendMessage("SPECTATE_REJECTED:" + (target == null ? "No running match" : "Match not available"));
+            return;
+        }
+        // Spectators are only seated under this lock, so the seat checked above is still free
+        removeClient(clientId);
+        spectate(connection, target.getRoomId());
+    }
+
+    /**
+     * Join a room and run the whole handshake on the calling thread
+     * The server uses a scheduled ConnectionHandshake instead
+     */
+    public GameRoom connect(ClientConnection connection) throws InterruptedException {
+        return new ConnectionHandshake(connection, this, config, null).runBlocking();
+    }
+
+    /**
+     * Route a client message to the client's room
+     */
+    public void handleClientMessage(String clientId, String message) {
+        if (message.equals("SPECTATE") || message.startsWith("SPECTATE:")) {
+            requestSpectate(clientId, message.length() > "SPECTATE:".length() ? message.substring("SPECTATE:".length()) : "");
+            return;
+        }
+        GameRoom room = clientRooms.get(clientId);
+        if (room == null) {
+            log.warn("Message from client without a room: {}", clientId);
+            return;
+        }
+        room.handleClientMessage(clientId, message);
+    }
+
+    /**
+     * Route a command decoded from a binary frame to the client's room
+     */
+    public void handleClientCommand(String clientId, ServerCommand command) {
+        GameRoom room = clientRooms.get(clientId);
+        if (room == null) {
+            log.warn("Command from client without a room: {}", clientId);
+            return;
+        }
+        room.handleClientCommand(clientId, command);
+    }
+
+    /**
+     * Release a client's slot and recycle or drop its room
+     */
+    public void removeClient(String clientId) {
+        spectateRequests.remove(clientId);
+        GameRoom room = clientRooms.remove(clientId);
+        if (room == null) {
+            return;
+        }
+        room.removeClient(clientId);
+
+        synchronized (this) {
+            if (room.isEmpty() && !room.isGameStarted()) {
+                // Nobody ever played here - nothing worth keeping
+                openRooms.remove(room);
+                rooms.remove(room.getRoomId());
+            } else if (room.hasOpenSlot()) {
+                // Keep started matches around so a player can come back to them
+                openRooms.add(room);
+            }
+        }
+    }
+
+    /**
+     * Close every room and connection
+     */
+    public void closeAll() {
+        List<GameRoom> closing;
+        synchronized (this) {
+            closing = new ArrayList<>(rooms.values());
+            rooms.clear();
+            clientRooms.clear();
+            openRooms.clear();
+        }
+        // Close outside the registry lock - closing a room takes the room lock
+        for (GameRoom room : closing) {
+            room.close();
+        }
+        spectatorFanout.shutdownNow();
+    }
+
+    public GameRoom getRoom(String roomId) {
+        return rooms.get(roomId);
+    }
+
+    public GameRoom getRoomForClient(String clientId) {
+        return clientRooms.get(clientId);
+    }
+
+    public int getRoomCount() {
+        return rooms.size();
+    }
+
+    public int getClientCount() {
+        return clientRooms.size();
+    }
+
+    /**
+     * A started match other than the given one, with players in it and a free spectator seat
+     */
+    private GameRoom findRunningRoom(GameRoom exclude) {
+        for (GameRoom room : rooms.values()) {
+            if (room != exclude && room.isGameStarted() && !room.isEmpty() && room.getSpectatorCount() < config.getMaxSpectators()) {
+                return room;
+            }
+        }
+        return null;
+    }
+
+    private GameRoom findOpenRoom() {
+        GameRoom waitingRoom = null;
+        GameRoom abandonedRoom = null;
+        for (GameRoom room : openRooms) {
+            if (!room.isGameStarted()) {
+                if (waitingRoom == null) {
+                    waitingRoom = room;
+                }
+            } else if (!room.isEmpty()) {
+                return room;
+            } else if (abandonedRoom == null) {
+                abandonedRoom = room;
+            }
+        }
+        return waitingRoom != null ? waitingRoom : abandonedRoom;
+    }
+
+    /**
+     * Take started matches that everybody left more than game.timeout.minutes ago out of the registry
+     * Returns them for the caller to close once it has let go of the lock
+     */
+    private List<GameRoom> expireIdleRooms(long nowMs) {
+        long timeoutMs = config.getGameTimeoutMinutes() * 60_000L;
+        List<GameRoom> expired = Collections.emptyList();
+        Iterator<GameRoom> iterator = openRooms.iterator();
+        while (iterator.hasNext()) {
+            GameRoom room = iterator.next();
+            if (room.isEmpty() && nowMs - room.getLastActivityMs() > timeoutMs) {
+                iterator.remove();
+                rooms.remove(room.getRoomId());
+                if (expired.isEmpty()) {
+                    expired = new ArrayList<>();
+                }
+                expired.add(room);
+            }
+        }
+        return expired;
+    }
+}
@@ -0,0 +1,252 @@
+package chess.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * One client of the NIO transport
+ * Frames incoming bytes into lines - or binary frames once the client switched protocols -
+ * and queues outgoing messages for the selector thread, which writes each batch in one go
+ */
+public class NioClientConnection implements ClientConnection {
+    private static final Logger log = LoggerFactory.getLogger(NioClientConnection.class);
+
+    // Longest line a client may send - commands are a few dozen bytes
+    static final int MAX_LINE_BYTES = 8 * 1024;
+    // Same encoding PrintWriter / InputStreamReader use on both ends of the blocking transport
+    private static final Charset CHARSET = Charset.defaultCharset();
+
+    private final String clientId;
+    private final SocketChannel channel;
+    private final NioSelectorTransport transport;
+    private final OutboundQueue outbound;
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    // Set while the connection waits in the transport's flush list
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    // Batch the selector thread is writing - the socket took only part of it so far
+    private ByteBuffer writing;
+    private SelectionKey key;
+    private String playerRole = null;
+    // Binary protocol - input is only touched by the selector thread, output under this lock
+    private boolean binaryInput;
+    private boolean binaryOutput;
+    private WireProtocol.FrameReader frames;
+
+    // Bytes of a line that has not been terminated yet - allocated on first data
+    private byte[] partialLine;
+    private int partialLength;
+
+    public NioClientConnection(String clientId, SocketChannel channel, NioSelectorTransport transport,
+                               int maxQueuedBytes) {
+        this.clientId = clientId;
+        this.channel = channel;
+        this.transport = transport;
+        this.outbound = new OutboundQueue(maxQueuedBytes);
+    }
+
+    void attach(SelectionKey key) {
+        this.key = key;
+    }
+
+    /**
+     * Send message to this client
+     * Only queues - the selector thread writes it together with whatever else is queued by then
+     */
+    @Override
+    public void sendMessage(String message) {
+        synchronized (this) {
+            queue(binaryOutput ? WireProtocol.encodeText(message) : (message + "\n").getBytes(CHARSET));
+        }
+        log.debug("→ [TO {}] {}", clientId, message);
+    }
+
+    /**
+     * Send a game command - the same frame bytes go to every binary client
+     */
+    @Override
+    public void sendCommand(ServerCommand command) {
+        synchronized (this) {
+            queue(binaryOutput ? command.getFrame() : command.getLine(CHARSET));
+        }
+        log.debug("→ [TO {}] {}", clientId, command.getRawCommand());
+    }
+
+    private void queue(byte[] bytes) {
+        if (!running.get()) {
+            return;
+        }
+        if (!outbound.add(bytes)) {
+            log.warn("Client {} is {} bytes behind - disconnecting", clientId, outbound.getQueuedBytes());
+            close();
+            return;
+        }
+        if (flushScheduled.compareAndSet(false, true)) {
+            transport.scheduleFlush(this);
+        }
+    }
+
+    /**
+     * When the oldest queued message has waited long enough to be written (System.nanoTime)
+     */
+    long getFlushDueNanos(long delayNanos) {
+        return outbound.getFirstQueuedNanos() + delayNanos;
+    }
+
+    /**
+     * Write everything queued - called by the selector thread when a flush is due
+     */
+    void flush() throws IOException {
+        flushScheduled.set(false);
+        flushPendingWrites();
+    }
+
+    /**
+     * Push queued messages out, one write per batch - called by the selector thread
+     * Leaves OP_WRITE set while the socket cannot take the whole batch
+     */
+    void flushPendingWrites() throws IOException {
+        while (true) {
+            if (writing == null || !writing.hasRemaining()) {
+                writing = outbound.drain();
+                if (writing == null) {
+                    key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+                    return;
+                }
+            }
+            outbound.written(channel.write(writing));
+            if (writing.hasRemaining()) {
+                key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Split received bytes into lines or frames, keeping an unfinished tail for the next read
+     */
+    void frameInput(ByteBuffer received, Consumer<String> lineHandler,
+                    Consumer<ServerCommand> commandHandler) throws IOException {
+        while (received.hasRemaining()) {
+            if (binaryInput) {
+                if (frames.feed(received)) {
+                    ServerCommand command = WireProtocol.decodeCommand(frames.body(), frames.length(),
+                            System.currentTimeMillis());
+                    if (command != null) {
+                        commandHandler.accept(command);
+                    } else if (frames.body()[0] == WireProtocol.OP_TEXT) {
+                        lineHandler.accept(WireProtocol.decodeText(frames.body(), frames.length()));
+                    } else {
+                        log.warn("Unknown frame opcode from {}: {}", clientId, frames.body()[0]);
+                    }
+                    frames.next();
+                }
+                continue;
+            }
+            byte b = received.get();
+            if (b == '\n') {
+                int length = partialLength;
+                if (length > 0 && partialLine[length - 1] == '\r') {
+                    length--;
+                }
+                String line = new String(partialLine == null ? new byte[0] : partialLine, 0, length, CHARSET);
+                partialLength = 0;
+                if (WireProtocol.ACCEPT.equals(line) && transport.isBinaryProtocolEnabled()) {
+                    switchToBinary();
+                } else {
+                    lineHandler.accept(line);
+                }
+            } else {
+                appendToPartialLine(b);
+            }
+        }
+    }
+
+    /**
+     * The client took the binary offer - its next bytes are frames, and so are ours after SWITCH
+     */
+    private void switchToBinary() {
+        binaryInput = true;
+        frames = new WireProtocol.FrameReader();
+        partialLine = null;
+        synchronized (this) {
+            queue((WireProtocol.SWITCH + "\n").getBytes(CHARSET));
+            binaryOutput = true;
+        }
+        log.debug("→ [TO {}] {}", clientId, WireProtocol.SWITCH);
+    }
+
+    private void appendToPartialLine(byte b) throws IOException {
+        if (partialLine == null) {
+            partialLine = new byte[64];
+        } else if (partialLength == partialLine.length) {
+            if (partialLength >= MAX_LINE_BYTES) {
+                throw new IOException("Line longer than " + MAX_LINE_BYTES + " bytes");
+            }
+            partialLine = Arrays.copyOf(partialLine, Math.min(partialLine.length * 2, MAX_LINE_BYTES));
+        }
+        partialLine[partialLength++] = b;
+    }
+
+    @Override
+    public int getQueuedBytes() {
+        return outbound.getQueuedBytes();
+    }
+
+    @Override
+    public void whenDrained(int bytes, Runnable callback) {
+        outbound.whenDrained(bytes, callback);
+    }
+
+    SocketChannel getChannel() {
+        return channel;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running.get() && channel.isOpen();
+    }
+
+    @Override
+    public String getClientId() {
+        return clientId;
+    }
+
+    /**
+     * Close the channel and tell the server the client is gone
+     */
+    @Override
+    public void close() {
+        if (!running.compareAndSet(true, false)) {
+            return;
+        }
+        outbound.close();
+        if (key != null) {
+            key.cancel();
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Error closing channel for {}: {}", clientId, e.getMessage());
+        }
+        transport.connectionClosed(this);
+    }
+
+    @Override
+    public void setPlayerRole(String role) {
+        this.playerRole = role;
+    }
+
+    @Override
+    public String getPlayerRole() {
+        return playerRole;
+    }
+}
@@ -0,0 +1,222 @@
+package chess.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Non-blocking transport - one selector thread serves every connection
+ * Idle clients cost a channel and a selection key instead of a thread. Outgoing messages are queued
+ * per connection and written by the selector thread after each pass, so a broadcast makes one write
+ * per client for all the messages it produced, and a slow client never blocks the others.
+ */
+public class NioSelectorTransport implements ServerTransport {
+    private static final Logger log = LoggerFactory.getLogger(NioSelectorTransport.class);
+
+    private static final int READ_BUFFER_BYTES = 16 * 1024;
+
+    private final ChessServer server;
+    // Shared by all connections - only the selector thread reads
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_BYTES);
+    // Closed connections waiting to be removed from their rooms by the selector thread
+    private final Queue<NioClientConnection> closedConnections = new ConcurrentLinkedQueue<>();
+    // Connections with queued messages, from any thread - moved to waitingFlushes by the selector thread
+    private final Queue<NioClientConnection> scheduledFlushes = new ConcurrentLinkedQueue<>();
+    private final List<NioClientConnection> waitingFlushes = new ArrayList<>();
+    private final long flushDelayNanos;
+    private final int maxQueuedBytes;
+    private volatile Thread selectorThread;
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private volatile boolean running = false;
+
+    public NioSelectorTransport(ChessServer server) {
+        this.server = server;
+        this.flushDelayNanos = TimeUnit.MILLISECONDS.toNanos(server.getConfig().getSendFlushDelayMs());
+        this.maxQueuedBytes = server.getConfig().getSendMaxQueuedBytes();
+    }
+
+    @Override
+    public void bind(int port) throws IOException {
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port), 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        running = true;
+    }
+
+    @Override
+    public void serve() throws IOException {
+        selectorThread = Thread.currentThread();
+        try {
+            while (running) {
+                long timeoutMs = flushDueConnections();
+                if (timeoutMs > 0) {
+                    selector.select(timeoutMs);
+                } else {
+                    selector.select();
+                }
+                removeClosedConnections();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        acceptConnections();
+                        continue;
+                    }
+                    NioClientConnection connection = (NioClientConnection) key.attachment();
+                    try {
+                        if (key.isReadable()) {
+                            readFrom(connection);
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            connection.flushPendingWrites();
+                        }
+                    } catch (IOException e) {
+                        log.warn("Client communication error ({}): {}", connection.getClientId(), e.getMessage());
+                        connection.close();
+                    }
+                }
+            }
+        } finally {
+            selector.close();
+        }
+    }
+
+    private void acceptConnections() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            String clientId = "Client-" + channel.getRemoteAddress().toString();
+            NioClientConnection connection = new NioClientConnection(clientId, channel, this, maxQueuedBytes);
+            connection.attach(channel.register(selector, SelectionKey.OP_READ, connection));
+            if (!server.acceptConnection(connection)) {
+                connection.close();
+            }
+        }
+    }
+
+    private void readFrom(NioClientConnection connection) throws IOException {
+        readBuffer.clear();
+        int read = connection.getChannel().read(readBuffer);
+        if (read < 0) {
+            connection.close();
+            return;
+        }
+        readBuffer.flip();
+        connection.frameInput(readBuffer,
+                line -> server.handleClientMessage(connection.getClientId(), line),
+                command -> server.handleClientCommand(connection.getClientId(), command));
+    }
+
+    /**
+     * Called by a connection when it queues its first message since its last flush
+     */
+    void scheduleFlush(NioClientConnection connection) {
+        scheduledFlushes.add(connection);
+        if (Thread.currentThread() != selectorThread) {
+            wakeup();
+        }
+    }
+
+    /**
+     * Write out every connection whose oldest queued message has waited the flush delay
+     * Returns the milliseconds until the next one is due, 0 when none is waiting
+     */
+    private long flushDueConnections() {
+        NioClientConnection connection;
+        while ((connection = scheduledFlushes.poll()) != null) {
+            waitingFlushes.add(connection);
+        }
+        long now = System.nanoTime();
+        long nextDue = Long.MAX_VALUE;
+        Iterator<NioClientConnection> waiting = waitingFlushes.iterator();
+        while (waiting.hasNext()) {
+            connection = waiting.next();
+            long due = connection.getFlushDueNanos(flushDelayNanos);
+            if (due - now > 0 && connection.isRunning()) {
+                nextDue = Math.min(nextDue, due);
+                continue;
+            }
+            waiting.remove();
+            if (!connection.isRunning()) {
+                continue;
+            }
+            try {
+                connection.flush();
+            } catch (IOException e) {
+                log.warn("Client communication error ({}): {}", connection.getClientId(), e.getMessage());
+                connection.close();
+            }
+        }
+        if (nextDue == Long.MAX_VALUE) {
+            return 0;
+        }
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(nextDue - now + 999_999));
+    }
+
+    boolean isBinaryProtocolEnabled() {
+        return server.isBinaryProtocolEnabled();
+    }
+
+    /**
+     * Called by a connection once its channel is closed
+     * Removal is deferred to the selector loop - close() may run inside a room that is
+     * broadcasting, and leaving the room from there would re-enter the room manager
+     */
+    void connectionClosed(NioClientConnection connection) {
+        closedConnections.add(connection);
+        wakeup();
+    }
+
+    private void removeClosedConnections() {
+        NioClientConnection connection;
+        while ((connection = closedConnections.poll()) != null) {
+            server.removeClient(connection.getClientId());
+        }
+    }
+
+    void wakeup() {
+        Selector current = selector;
+        if (current != null) {
+            current.wakeup();
+        }
+    }
+
+    @Override
+    public int getLocalPort() {
+        return serverChannel != null ? serverChannel.socket().getLocalPort() : -1;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        if (serverChannel != null) {
+            try {
+                serverChannel.close();
+            } catch (IOException e) {
+                log.warn("Error closing server channel: {}", e.getMessage());
+            }
+        }
+        wakeup();
+    }
+}
@@ -0,0 +1,129 @@
+package chess.server;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * Messages waiting to go out to one client
+ * Senders only append, so a broadcast never waits on a socket; the connection's writer drains
+ * everything queued into one buffer and writes it at once. Bounded - a client that stops reading
+ * is refused further messages instead of holding memory or stalling everyone else. A drained batch
+ * still counts against the bound until the writer reports it written.
+ */
+final class OutboundQueue {
+    private final ArrayDeque<byte[]> messages = new ArrayDeque<>();
+    private final int maxQueuedBytes;
+    // Not written yet - waiting in messages or in the batch being written
+    private int queuedBytes;
+    // Waiting in messages, not drained yet
+    private int pendingBytes;
+    private long firstQueuedNanos;
+    private boolean closed;
+    // Reused by drain() - only the writer touches it, and only after the previous batch went out
+    private ByteBuffer batch;
+    // Run once by the writer when queuedBytes falls to drainedBelow
+    private Runnable drainCallback;
+    private int drainedBelow;
+
+    OutboundQueue(int maxQueuedBytes) {
+        this.maxQueuedBytes = maxQueuedBytes;
+    }
+
+    /**
+     * Queue a message, false when the queue is closed or the client is too far behind
+     */
+    synchronized boolean add(byte[] message) {
+        if (closed || queuedBytes + message.length > maxQueuedBytes) {
+            return false;
+        }
+        if (messages.isEmpty()) {
+            firstQueuedNanos = System.nanoTime();
+        }
+        messages.add(message);
+        queuedBytes += message.length;
+        pendingBytes += message.length;
+        return true;
+    }
+
+    /**
+     * When the oldest queued message was added (System.nanoTime), meaningless when empty
+     */
+    synchronized long getFirstQueuedNanos() {
+        return firstQueuedNanos;
+    }
+
+    synchronized int getQueuedBytes() {
+        return queuedBytes;
+    }
+
+    synchronized boolean isEmpty() {
+        return messages.isEmpty();
+    }
+
+    /**
+     * Everything queued, in one buffer ready to write - null when nothing is queued
+     * The buffer is reused by the next call; its bytes count as queued until {@link #written(int)}
+     */
+    synchronized ByteBuffer drain() {
+        if (messages.isEmpty()) {
+            return null;
+        }
+        if (batch == null || batch.capacity() < pendingBytes) {
+            batch = ByteBuffer.allocate(Math.max(pendingBytes, batch == null ? 512 : batch.capacity() * 2));
+        }
+        batch.clear();
+        byte[] message;
+        while ((message = messages.poll()) != null) {
+            batch.put(message);
+        }
+        pendingBytes = 0;
+        batch.flip();
+        return batch;
+    }
+
+    /**
+     * The socket took this many bytes of the drained batch
+     * Runs a waiting drain callback, outside the lock, once few enough bytes are left
+     */
+    void written(int bytes) {
+        Runnable callback;
+        synchronized (this) {
+            queuedBytes = Math.max(0, queuedBytes - bytes);
+            if (drainCallback == null || queuedBytes > drainedBelow) {
+                return;
+            }
+            callback = drainCallback;
+            drainCallback = null;
+        }
+        callback.run();
+    }
+
+    /**
+     * Run a callback once at most this many bytes are left unwritten - right away if that is already so
+     * Replaces a callback still waiting; dropped if the queue is closed first
+     */
+    void whenDrained(int bytes, Runnable callback) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            if (queuedBytes > bytes) {
+                drainedBelow = bytes;
+                drainCallback = callback;
+                return;
+            }
+        }
+        callback.run();
+    }
+
+    /**
+     * Drop whatever is queued and refuse anything more
+     */
+    synchronized void close() {
+        closed = true;
+        messages.clear();
+        queuedBytes = 0;
+        pendingBytes = 0;
+        drainCallback = null;
+    }
+}
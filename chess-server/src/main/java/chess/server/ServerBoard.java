@@ -1,60 +1,98 @@
 package chess.server;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 /**
  * Minimal Board representation for server - no graphics needed!
- * Only tracks piece positions for validation
+ * Only tracks piece positions for validation.
+ * Backed by a {@link BitBoard}; the String API ("WHITE_ROOK", "EMPTY") is kept for callers and logs.
  */
 public class ServerBoard {
+    private static final Logger log = LoggerFactory.getLogger(ServerBoard.class);
+
+    private static final String[] COLOR_NAMES = {"WHITE", "BLACK"};
+    private static final String[] TYPE_NAMES = {"PAWN", "KNIGHT", "BISHOP", "ROOK", "QUEEN", "KING"};
+    private static final String[] CODE_NAMES = new String[2 * BitBoard.TYPES];
+    // Client piece ids, as in board.csv: type letter then color letter, e.g. "PW", "KB"
+    private static final String TYPE_LETTERS = "PNBRQK";
+    private static final String COLOR_LETTERS = "WB";
+    private static final String[] CODE_IDS = new String[2 * BitBoard.TYPES];
+
+    static {
+        for (int color = 0; color < COLOR_NAMES.length; color++) {
+            for (int type = 0; type < BitBoard.TYPES; type++) {
+                CODE_NAMES[BitBoard.code(color, type)] = COLOR_NAMES[color] + "_" + TYPE_NAMES[type];
+                CODE_IDS[BitBoard.code(color, type)] = "" + TYPE_LETTERS.charAt(type) + COLOR_LETTERS.charAt(color);
+            }
+        }
+    }
+
+    private static final int[] BACK_RANK = {
+            BitBoard.ROOK, BitBoard.KNIGHT, BitBoard.BISHOP, BitBoard.KING,
+            BitBoard.QUEEN, BitBoard.BISHOP, BitBoard.KNIGHT, BitBoard.ROOK
+    };
+
     private final int width;
     private final int height;
-    private String[][] pieces; // Simple 2D array of piece types
+    private final BitBoard pieces;
 
     public ServerBoard(int width, int height) {
+        if (width != BitBoard.SIZE || height != BitBoard.SIZE) {
+            throw new IllegalArgumentException("Server board is " + BitBoard.SIZE + "x" + BitBoard.SIZE
+                    + ", got " + width + "x" + height);
+        }
         this.width = width;
         this.height = height;
-        this.pieces = new String[height][width];
+        this.pieces = new BitBoard();
         initializeBoard();
     }
 
+    private ServerBoard(ServerBoard other) {
+        this.width = other.width;
+        this.height = other.height;
+        this.pieces = other.pieces.copy();
+    }
+
     /**
      * Initialize standard chess starting position
      */
     private void initializeBoard() {
-        // Clear board
-        for (int row = 0; row < height; row++) {
-            for (int col = 0; col < width; col++) {
-                pieces[row][col] = "EMPTY";
-            }
-        }
-
-        // Set up starting pieces (simplified)
-        // White pieces (bottom rows 6-7)
-        pieces[7][0] = "WHITE_ROOK";
-        pieces[7][1] = "WHITE_KNIGHT";
-        pieces[7][2] = "WHITE_BISHOP";
-        pieces[7][3] = "WHITE_QUEEN";
-        pieces[7][4] = "WHITE_KING";
-        pieces[7][5] = "W HITE_BISHOP";
-        pieces[7][6] = "WHITE_KNIGHT";
-        pieces[7][7] = "WHITE_ROOK";
+        // Same layout as the client's board.csv (king on column 3, queen on column 4)
+        // White pieces (bottom rows 6-7), black pieces (top rows 0-1)
         for (int col = 0; col < width; col++) {
-            pieces[6][col] = "WHITE_PAWN";
+            pieces.set(BitBoard.square(col, 7), BitBoard.code(BitBoard.WHITE, BACK_RANK[col]));
+            pieces.set(BitBoard.square(col, 6), BitBoard.code(BitBoard.WHITE, BitBoard.PAWN));
+            pieces.set(BitBoard.square(col, 0), BitBoard.code(BitBoard.BLACK, BACK_RANK[col]));
+            pieces.set(BitBoard.square(col, 1), BitBoard.code(BitBoard.BLACK, BitBoard.PAWN));
         }
 
-        // Black pieces (top rows 0-1)
-        pieces[0][0] = "BLACK_ROOK";
-        pieces[0][1] = "BLACK_KNIGHT";
-        pieces[0][2] = "BLACK_BISHOP";
-        pieces[0][3] = "BLACK_QUEEN";
-        pieces[0][4] = "BLACK_KING";
-        pieces[0][5] = "BLACK_BISHOP";
-        pieces[0][6] = "BLACK_KNIGHT";
-        pieces[0][7] = "BLACK_ROOK";
-        for (int col = 0; col < width; col++) {
-            pieces[1][col] = "BLACK_PAWN";
-        }
+        log.debug("Server board initialized ({}x{})", width, height);
+    }
 
-        System.out.println("Server board initialized (" + width + "x" + height + ")");
+    /**
+     * Name of a piece code, "EMPTY" for BitBoard.EMPTY
+     */
+    public static String nameOf(int code) {
+        return code == BitBoard.EMPTY ? "EMPTY" : CODE_NAMES[code];
+    }
+
+    /**
+     * Piece code of a name like "WHITE_ROOK", BitBoard.EMPTY for "EMPTY"
+     */
+    public static int codeOf(String piece) {
+        if ("EMPTY".equals(piece)) {
+            return BitBoard.EMPTY;
+        }
+        for (int code = 0; code < CODE_NAMES.length; code++) {
+            if (CODE_NAMES[code].equals(piece)) {
+                return code;
+            }
+        }
+        throw new IllegalArgumentException("Unknown piece: " + piece);
     }
 
     /**
@@ -62,7 +100,7 @@ public class ServerBoard {
      */
     public String getPieceAt(int x, int y) {
         if (x >= 0 && x < width && y >= 0 && y < height) {
-            return pieces[y][x];
+            return nameOf(pieces.get(BitBoard.square(x, y)));
         }
         return "OUT_OF_BOUNDS";
     }
@@ -71,9 +109,37 @@ public class ServerBoard {
      * Set piece at position
      */
     public void setPieceAt(int x, int y, String piece) {
+        setPieceCodeAt(x, y, codeOf(piece));
+    }
+
+    /**
+     * Piece code at position, BitBoard.EMPTY when empty or off the board
+     */
+    public int getPieceCodeAt(int x, int y) {
         if (x >= 0 && x < width && y >= 0 && y < height) {
-            pieces[y][x] = piece;
+            return pieces.get(BitBoard.square(x, y));
         }
+        return BitBoard.EMPTY;
+    }
+
+    /**
+     * Set piece code at position without going through the piece names
+     */
+    public void setPieceCodeAt(int x, int y, int code) {
+        if (x >= 0 && x < width && y >= 0 && y < height) {
+            pieces.set(BitBoard.square(x, y), code);
+        }
+    }
+
+    public boolean isOccupied(int x, int y) {
+        return isValidPosition(x, y) && pieces.isOccupied(BitBoard.square(x, y));
+    }
+
+    /**
+     * Any piece on the squares strictly between from and to (straight or diagonal lines)
+     */
+    public boolean isPathBlocked(int fromX, int fromY, int toX, int toY) {
+        return pieces.isPathBlocked(BitBoard.square(fromX, fromY), BitBoard.square(toX, toY));
     }
 
     /**
@@ -83,6 +149,13 @@ public class ServerBoard {
         return x >= 0 && x < width && y >= 0 && y < height;
     }
 
+    /**
+     * Independent copy of this board
+     */
+    public ServerBoard copy() {
+        return new ServerBoard(this);
+    }
+
     /**
      * Get board state as string (for debugging)
      */
@@ -91,7 +164,7 @@ public class ServerBoard {
         sb.append("Server Board State:\n");
         for (int row = 0; row < height; row++) {
             for (int col = 0; col < width; col++) {
-                String piece = pieces[row][col];
+                String piece = getPieceAt(col, row);
                 if (piece.equals("EMPTY")) {
                     sb.append(".. ");
                 } else {
@@ -103,6 +176,60 @@ public class ServerBoard {
         return sb.toString();
     }
 
+    /**
+     * Position in the client's board.csv format - one line per row, piece ids separated by commas.
+     * This is what the client's HeadlessRenderer draws for spectator thumbnails.
+     */
+    public List<String> getBoardCsv() {
+        List<String> rows = new ArrayList<>(height);
+        StringBuilder row = new StringBuilder();
+        for (int y = 0; y < height; y++) {
+            row.setLength(0);
+            for (int x = 0; x < width; x++) {
+                if (x > 0) {
+                    row.append(',');
+                }
+                int code = getPieceCodeAt(x, y);
+                if (code != BitBoard.EMPTY) {
+                    row.append(CODE_IDS[code]);
+                }
+            }
+            rows.add(row.toString());
+        }
+        return rows;
+    }
+
+    /**
+     * Position as FEN piece placement - rows from y = 0 separated by '/', white upper case,
+     * black lower case, runs of empty squares as digits. "rnbkqbnr/pppppppp/8/..." for the start.
+     */
+    public String getPlacement() {
+        StringBuilder placement = new StringBuilder(72);
+        for (int y = 0; y < height; y++) {
+            if (y > 0) {
+                placement.append('/');
+            }
+            int empty = 0;
+            for (int x = 0; x < width; x++) {
+                int code = getPieceCodeAt(x, y);
+                if (code == BitBoard.EMPTY) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    placement.append(empty);
+                    empty = 0;
+                }
+                char letter = TYPE_LETTERS.charAt(BitBoard.typeOf(code));
+                placement.append(BitBoard.colorOf(code) == BitBoard.WHITE ? letter : Character.toLowerCase(letter));
+            }
+            if (empty > 0) {
+                placement.append(empty);
+            }
+        }
+        return placement.toString();
+    }
+
     public int getWidth() {
         return width;
     }
@@ -1,44 +1,558 @@
 package chess.server;
 
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Authoritative real-time rules for one match - no graphics needed!
+ * Mirrors the client's Game: per-player cursor, hover, selection and movement mode,
+ * piece movement rules, path blocking, captures, promotion and piece cooldowns.
+ * Deterministic for a given clock, so tests can drive time by hand.
+ */
 public class ServerChessLogic {
-    
-    private final ServerBoard board;
+    private static final Logger log = LoggerFactory.getLogger(ServerChessLogic.class);
+
+    // Timings taken from the client's State and move animation (moves cooldown 1000ms, doubled)
+    static final long MOVE_TRAVEL_MS = 2000;  // 20 animation steps x 100ms
+    static final long REST_MS = 2000;         // REST after a move or capture
+    static final long JUMP_MS = 666;          // JUMP state
+    static final long SHORT_REST_MS = 1000;   // SHORT_REST after a jump
+
+    private static final int NO_PIECE = -1;
+    // 32 starting pieces plus room for every promotion
+    private static final int MAX_PIECES = 64;
+
+    private static final int PAWN = BitBoard.PAWN;
+    private static final int KNIGHT = BitBoard.KNIGHT;
+    private static final int BISHOP = BitBoard.BISHOP;
+    private static final int ROOK = BitBoard.ROOK;
+    private static final int QUEEN = BitBoard.QUEEN;
+    private static final int KING = BitBoard.KING;
+
+    private final LongSupplier clock;
+    private ServerBoard board;
     private boolean gameStarted;
     private ServerCommand.Player currentTurn;
-    
+
+    // Piece table - a piece keeps its id while it moves, like the client's piece keys
+    private final int[] pieceType = new int[MAX_PIECES];
+    private final boolean[] pieceWhite = new boolean[MAX_PIECES];
+    private final int[] pieceSquare = new int[MAX_PIECES];   // y * width + x, NO_PIECE once captured
+    private final long[] readyAt = new long[MAX_PIECES];     // cooldown end (travel + rest for moving pieces)
+    private final long[] arrivesAt = new long[MAX_PIECES];   // end of travel for in-flight pieces
+    private int[] squarePiece;                               // piece id per square, NO_PIECE when empty
+    private int pieceCount;
+
+    private final PlayerInput white = new PlayerInput();
+    private final PlayerInput black = new PlayerInput();
+    private boolean gameOver;
+    private ServerCommand.Player winner;
+    // Squares of the move or jump made by the command being applied, NO_PIECE when none
+    private int movedFrom = NO_PIECE;
+    private int movedTo = NO_PIECE;
+
+    /**
+     * Input state of one player - same fields the client keeps per color
+     */
+    private static final class PlayerInput {
+        int cursorX;
+        int cursorY;
+        int hovered = NO_PIECE;
+        int selected = NO_PIECE;
+        boolean movementMode;
+        int pendingDx;
+        int pendingDy;
+    }
+
     public ServerChessLogic() {
-        this.board = new ServerBoard(8, 8);
+        this(System::currentTimeMillis);
+    }
+
+    public ServerChessLogic(LongSupplier clock) {
+        this.clock = clock;
         this.gameStarted = false;
         this.currentTurn = ServerCommand.Player.WHITE;
-        System.out.println("ServerChessLogic initialized");
+        initializeGame();
+        log.debug("ServerChessLogic initialized");
+    }
+
+    private void initializeGame() {
+        board = new ServerBoard(8, 8);
+        squarePiece = new int[board.getWidth() * board.getHeight()];
+        Arrays.fill(squarePiece, NO_PIECE);
+        pieceCount = 0;
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++) {
+                int code = board.getPieceCodeAt(x, y);
+                if (code != BitBoard.EMPTY) {
+                    addPiece(BitBoard.typeOf(code), BitBoard.colorOf(code) == BitBoard.WHITE, x, y);
+                }
+            }
+        }
+
+        // Initialize cursor positions: White at (7,7), Black at (0,0)
+        resetInput(white, board.getWidth() - 1, board.getHeight() - 1);
+        resetInput(black, 0, 0);
+        gameOver = false;
+        winner = null;
     }
-    
+
+    private void resetInput(PlayerInput input, int cursorX, int cursorY) {
+        input.cursorX = cursorX;
+        input.cursorY = cursorY;
+        input.hovered = pieceAt(cursorX, cursorY);
+        input.selected = NO_PIECE;
+        input.movementMode = false;
+        input.pendingDx = 0;
+        input.pendingDy = 0;
+    }
+
+    private int addPiece(int type, boolean isWhite, int x, int y) {
+        int id = pieceCount++;
+        pieceType[id] = type;
+        pieceWhite[id] = isWhite;
+        pieceSquare[id] = y * board.getWidth() + x;
+        readyAt[id] = 0;
+        arrivesAt[id] = 0;
+        squarePiece[pieceSquare[id]] = id;
+        return id;
+    }
+
+    /**
+     * Check a command against the current game state without applying it
+     */
     public boolean isValidCommand(ServerCommand command) {
         if (command == null) {
             return false;
         }
-        System.out.println("Validating: " + command.getRawCommand());
-        return true;
+        log.debug("Validating: {}", command.getRawCommand());
+        return execute(command, false);
     }
-    
+
+    /**
+     * Apply a command that passed {@link #isValidCommand}
+     */
     public void processValidCommand(ServerCommand command) {
-        System.out.println("Processing: " + command.getRawCommand());
+        if (command != null) {
+            execute(command, true);
+        }
+    }
+
+    /**
+     * Validate and apply in one pass - returns false (and changes nothing) for illegal commands
+     */
+    public boolean applyCommand(ServerCommand command) {
+        if (command == null) {
+            return false;
+        }
+        movedFrom = NO_PIECE;
+        movedTo = NO_PIECE;
+        boolean applied = execute(command, true);
+        if (applied && movedTo != NO_PIECE) {
+            // Binary clients get the cells of the move with the command
+            command.setCells(movedFrom, movedTo);
+        }
+        return applied;
+    }
+
+    private boolean execute(ServerCommand command, boolean apply) {
+        ServerCommand.Action action = command.getAction();
+        if (action == ServerCommand.Action.END_GAME) {
+            if (apply) {
+                gameOver = true;
+            }
+            return true;
+        }
+        if (action == ServerCommand.Action.UNKNOWN || gameOver) {
+            return false;
+        }
+
+        long now = clock.getAsLong();
+        PlayerInput input = command.getPlayer() == ServerCommand.Player.WHITE ? white : black;
+        boolean isWhite = command.getPlayer() == ServerCommand.Player.WHITE;
+
+        switch (action) {
+            case MOVEMENT_UP:
+                return moveCursorOrPending(input, 0, -1, apply);
+            case MOVEMENT_DOWN:
+                return moveCursorOrPending(input, 0, 1, apply);
+            case MOVEMENT_LEFT:
+                return moveCursorOrPending(input, -1, 0, apply);
+            case MOVEMENT_RIGHT:
+                return moveCursorOrPending(input, 1, 0, apply);
+            case SELECT_OR_MOVE:
+                return selectOrMove(input, isWhite, now, apply);
+            case HOVER_TO_SELECT:
+                return hoverToSelect(input, isWhite, apply);
+            case JUMP:
+                return jump(input, now, apply);
+            case HOVER:
+            case SELECT_PIECE:
+                // Accepted, but they do not change the client's game either
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Movement keys move the cursor, or grow the pending move while in movement mode
+     */
+    private boolean moveCursorOrPending(PlayerInput input, int dx, int dy, boolean apply) {
+        if (!apply) {
+            return true;
+        }
+        if (input.movementMode) {
+            input.pendingDx += dx;
+            input.pendingDy += dy;
+        } else {
+            input.cursorX = Math.max(0, Math.min(board.getWidth() - 1, input.cursorX + dx));
+            input.cursorY = Math.max(0, Math.min(board.getHeight() - 1, input.cursorY + dy));
+            input.hovered = pieceAt(input.cursorX, input.cursorY);
+        }
+        return true;
+    }
+
+    /**
+     * Select the own piece under the cursor, or execute the pending move and leave movement mode
+     */
+    private boolean selectOrMove(PlayerInput input, boolean isWhite, long now, boolean apply) {
+        if (!input.movementMode) {
+            int piece = pieceAt(input.cursorX, input.cursorY);
+            if (piece == NO_PIECE || pieceWhite[piece] != isWhite) {
+                return false; // empty square or opponent's piece
+            }
+            if (apply) {
+                input.selected = piece;
+                input.movementMode = true;
+                input.pendingDx = 0;
+                input.pendingDy = 0;
+            }
+            return true;
+        }
+
+        boolean hasPendingMove = input.pendingDx != 0 || input.pendingDy != 0;
+        if (hasPendingMove && isAlive(input.selected)) {
+            if (!tryMove(input.selected, input.pendingDx, input.pendingDy, now, apply)) {
+                return false;
+            }
+        }
+        if (apply) {
+            input.movementMode = false;
+        }
+        return true;
+    }
+
+    private boolean hoverToSelect(PlayerInput input, boolean isWhite, boolean apply) {
+        if (!isAlive(input.hovered)) {
+            return true; // nothing hovered - the client ignores it too
+        }
+        if (pieceWhite[input.hovered] != isWhite) {
+            return false;
+        }
+        if (apply) {
+            input.selected = input.hovered;
+        }
+        return true;
+    }
+
+    /**
+     * Jump the selected piece by the pending offset (in place when there is none)
+     */
+    private boolean jump(PlayerInput input, long now, boolean apply) {
+        int piece = input.selected;
+        if (!isAlive(piece)) {
+            return true; // nothing selected - the client ignores it too
+        }
+        if (now < readyAt[piece]) {
+            return false;
+        }
+        int fromX = squareX(pieceSquare[piece]);
+        int fromY = squareY(pieceSquare[piece]);
+        int toX = fromX + input.pendingDx;
+        int toY = fromY + input.pendingDy;
+        if (!board.isValidPosition(toX, toY)) {
+            return false;
+        }
+        int target = pieceAt(toX, toY);
+        if (target != NO_PIECE && target != piece && pieceWhite[target] == pieceWhite[piece]) {
+            return false;
+        }
+        if (apply) {
+            input.pendingDx = 0;
+            input.pendingDy = 0;
+            movedFrom = pieceSquare[piece];
+            movedTo = toY * board.getWidth() + toX;
+            int landed = relocate(piece, toX, toY);
+            readyAt[landed] = now + JUMP_MS + SHORT_REST_MS;
+        }
+        return true;
+    }
+
+    /**
+     * Validate a move by (dx, dy) and, when applying, start it
+     * A capture lands at once; a quiet move travels for MOVE_TRAVEL_MS with its target square reserved
+     */
+    private boolean tryMove(int piece, int dx, int dy, long now, boolean apply) {
+        if (now < readyAt[piece]) {
+            return false; // still moving or resting
+        }
+        int fromX = squareX(pieceSquare[piece]);
+        int fromY = squareY(pieceSquare[piece]);
+        int toX = fromX + dx;
+        int toY = fromY + dy;
+        if (!isAllowedPattern(piece, fromX, fromY, dx, dy, toX, toY)) {
+            return false;
+        }
+        if (!board.isValidPosition(toX, toY)) {
+            return false;
+        }
+        if (pieceType[piece] != KNIGHT && board.isPathBlocked(fromX, fromY, toX, toY)) {
+            return false;
+        }
+        int target = pieceAt(toX, toY);
+        if (target != NO_PIECE && pieceWhite[target] == pieceWhite[piece]) {
+            return false;
+        }
+        if (!apply) {
+            return true;
+        }
+
+        movedFrom = pieceSquare[piece];
+        movedTo = toY * board.getWidth() + toX;
+        int moved = relocate(piece, toX, toY);
+        if (target != NO_PIECE) {
+            readyAt[moved] = now + REST_MS;
+        } else {
+            arrivesAt[moved] = now + MOVE_TRAVEL_MS;
+            readyAt[moved] = arrivesAt[moved] + REST_MS;
+        }
+        return true;
+    }
+
+    /**
+     * Same verdicts as the client's isValidMoveForPiece for the shipped moves.txt files
+     */
+    private boolean isAllowedPattern(int piece, int fromX, int fromY, int dx, int dy, int toX, int toY) {
+        int adx = Math.abs(dx);
+        int ady = Math.abs(dy);
+        switch (pieceType[piece]) {
+            case PAWN:
+                int forward = pieceWhite[piece] ? -1 : 1;
+                if (adx == 1 && dy == forward) {
+                    // Diagonal only as a capture
+                    int target = pieceAt(toX, toY);
+                    return target != NO_PIECE && pieceWhite[target] != pieceWhite[piece];
+                }
+                if (dx == 0 && dy == forward) {
+                    return true;
+                }
+                boolean onStartRow = pieceWhite[piece] ? fromY == 6 : fromY == 1;
+                return dx == 0 && onStartRow && dy == forward * 2;
+            case KNIGHT:
+                return board.isValidPosition(toX, toY)
+                        && (BitBoard.KNIGHT_ATTACKS[BitBoard.square(fromX, fromY)] & (1L << BitBoard.square(toX, toY))) != 0;
+            case BISHOP:
+                return adx == ady && adx >= 1 && adx <= 7;
+            case ROOK:
+                return (adx == 0) != (ady == 0) && Math.max(adx, ady) <= 7;
+            case QUEEN:
+                return (adx == ady || adx == 0 || ady == 0) && Math.max(adx, ady) >= 1 && Math.max(adx, ady) <= 7;
+            case KING:
+                return board.isValidPosition(toX, toY)
+                        && (BitBoard.KING_ATTACKS[BitBoard.square(fromX, fromY)] & (1L << BitBoard.square(toX, toY))) != 0;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Put a piece on a new square, capturing whatever enemy stands there
+     * Returns the id now on the square - a new id when a pawn gets promoted
+     */
+    private int relocate(int piece, int toX, int toY) {
+        int from = pieceSquare[piece];
+        int to = toY * board.getWidth() + toX;
+        int target = squarePiece[to];
+        if (target != NO_PIECE && target != piece) {
+            capture(target);
+        }
+
+        squarePiece[from] = NO_PIECE;
+        board.setPieceCodeAt(squareX(from), squareY(from), BitBoard.EMPTY);
+        squarePiece[to] = piece;
+        pieceSquare[piece] = to;
+        board.setPieceCodeAt(toX, toY, codeOf(piece));
+
+        // Pawn promotion on the last row
+        boolean lastRow = pieceWhite[piece] ? toY == 0 : toY == board.getHeight() - 1;
+        if (pieceType[piece] == PAWN && lastRow && pieceCount < MAX_PIECES) {
+            squarePiece[to] = NO_PIECE;
+            pieceSquare[piece] = NO_PIECE; // the client drops the pawn's key, so selections of it die too
+            return addPieceWithName(QUEEN, pieceWhite[piece], toX, toY);
+        }
+        return piece;
+    }
+
+    private int addPieceWithName(int type, boolean isWhite, int x, int y) {
+        int id = addPiece(type, isWhite, x, y);
+        board.setPieceCodeAt(x, y, codeOf(id));
+        return id;
+    }
+
+    private void capture(int target) {
+        pieceSquare[target] = NO_PIECE;
+        if (pieceType[target] == KING) {
+            gameOver = true;
+            winner = pieceWhite[target] ? ServerCommand.Player.BLACK : ServerCommand.Player.WHITE;
+            log.info("King captured - {} wins", winner);
+        }
+    }
+
+    private int codeOf(int piece) {
+        return BitBoard.code(pieceWhite[piece] ? BitBoard.WHITE : BitBoard.BLACK, pieceType[piece]);
+    }
+
+    private int pieceAt(int x, int y) {
+        if (!board.isValidPosition(x, y)) {
+            return NO_PIECE;
+        }
+        return squarePiece[y * board.getWidth() + x];
+    }
+
+    private boolean isAlive(int piece) {
+        return piece != NO_PIECE && pieceSquare[piece] != NO_PIECE;
+    }
+
+    private int squareX(int square) {
+        return square % board.getWidth();
+    }
+
+    private int squareY(int square) {
+        return square / board.getWidth();
+    }
+
+    /**
+     * Whether the piece on a square is still travelling there
+     */
+    public boolean isInFlight(int x, int y) {
+        int piece = pieceAt(x, y);
+        return piece != NO_PIECE && clock.getAsLong() < arrivesAt[piece];
+    }
+
+    /**
+     * Milliseconds until the piece on a square may act again, 0 when ready or empty
+     */
+    public long getRemainingCooldownMs(int x, int y) {
+        int piece = pieceAt(x, y);
+        return piece == NO_PIECE ? 0 : Math.max(0, readyAt[piece] - clock.getAsLong());
+    }
+
+    public String getPieceAt(int x, int y) {
+        return board.getPieceAt(x, y);
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    public ServerCommand.Player getWinner() {
+        return winner;
     }
-    
+
     public boolean isGameStarted() {
         return gameStarted;
     }
-    
+
     public ServerCommand.Player getCurrentTurn() {
         return currentTurn;
     }
-    
+
     public String getBoardState() {
         return board.getBoardState();
     }
-    
+
+    /**
+     * Compact snapshot for spectators and reconnecting players: placement, each player's input state and
+     * the pieces not ready yet - "placement:white:black:cooldowns", each player as
+     * "cursorX,cursorY,selectedSquare,movementMode,pendingDx,pendingDy" with -1 for no selection, and
+     * cooldowns as "square,travelMs,readyMs" entries joined by ';' (empty when every piece is ready).
+     * Enough to follow the live command stream from here on.
+     */
+    public String getSnapshot() {
+        return snapshot(clock.getAsLong());
+    }
+
+    /**
+     * Snapshot to keep and send later - the cooldowns hold clock times instead of times from now
+     * Turned into a snapshot with {@link #toSnapshot(String)} when it is sent.
+     */
+    public String getCheckpoint() {
+        return snapshot(0);
+    }
+
+    /**
+     * The snapshot of a checkpoint as of now - cooldowns counted from now, pieces ready since left out
+     */
+    public String toSnapshot(String checkpoint) {
+        int cooldownsStart = checkpoint.lastIndexOf(':') + 1;
+        StringBuilder snapshot = new StringBuilder(checkpoint.length()).append(checkpoint, 0, cooldownsStart);
+        if (cooldownsStart == checkpoint.length()) {
+            return snapshot.toString();
+        }
+        long now = clock.getAsLong();
+        boolean first = true;
+        for (String entry : checkpoint.substring(cooldownsStart).split(";")) {
+            String[] fields = entry.split(",");
+            long ready = Long.parseLong(fields[2]);
+            if (ready > now) {
+                if (!first) {
+                    snapshot.append(';');
+                }
+                first = false;
+                snapshot.append(fields[0]).append(',')
+                        .append(Math.max(0, Long.parseLong(fields[1]) - now)).append(',')
+                        .append(ready - now);
+            }
+        }
+        return snapshot.toString();
+    }
+
+    // Snapshot with cooldown times counted from base - now for a snapshot, 0 for a checkpoint
+    private String snapshot(long base) {
+        StringBuilder snapshot = new StringBuilder(board.getPlacement());
+        appendInput(snapshot.append(':'), white);
+        appendInput(snapshot.append(':'), black);
+        snapshot.append(':');
+        long now = clock.getAsLong();
+        boolean first = true;
+        for (int piece = 0; piece < pieceCount; piece++) {
+            if (isAlive(piece) && readyAt[piece] > now) {
+                if (!first) {
+                    snapshot.append(';');
+                }
+                first = false;
+                snapshot.append(pieceSquare[piece]).append(',')
+                        .append(Math.max(0, arrivesAt[piece] - base)).append(',')
+                        .append(readyAt[piece] - base);
+            }
+        }
+        return snapshot.toString();
+    }
+
+    private void appendInput(StringBuilder snapshot, PlayerInput input) {
+        snapshot.append(input.cursorX).append(',').append(input.cursorY).append(',')
+                .append(isAlive(input.selected) ? pieceSquare[input.selected] : NO_PIECE).append(',')
+                .append(input.movementMode ? 1 : 0).append(',')
+                .append(input.pendingDx).append(',').append(input.pendingDy);
+    }
+
     public void resetGame() {
         gameStarted = false;
         currentTurn = ServerCommand.Player.WHITE;
+        initializeGame();
     }
 }
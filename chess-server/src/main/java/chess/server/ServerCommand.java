@@ -1,14 +1,26 @@
 package chess.server;
 
+import java.nio.charset.Charset;
+
 /**
  * Minimal command representation for server - only what's needed for validation
  * Server doesn't need all the complex command parsing, just basic validation
  */
 public class ServerCommand {
-    private final String rawCommand;
+    private String rawCommand;
     private CommandType commandType;
     private String keyInput;
     private Player player;
+    private Action action;
+    // Binary protocol fields - WireProtocol.NONE / 0 for commands that came in as text
+    private int pieceIndex = WireProtocol.NONE;
+    private int fromCell = WireProtocol.NONE;
+    private int toCell = WireProtocol.NONE;
+    private int sequence;
+    private long timestampMs;
+    // Encoded once, then sent as is to every binary client / every text client
+    private byte[] frame;
+    private byte[] line;
     
     public enum CommandType {
         KEY_INPUT,
@@ -23,9 +35,60 @@ public class ServerCommand {
         SYSTEM
     }
     
+    /**
+     * What the command asks the game to do - resolved once at parse time
+     */
+    public enum Action {
+        MOVEMENT_UP,
+        MOVEMENT_DOWN,
+        MOVEMENT_LEFT,
+        MOVEMENT_RIGHT,
+        SELECT_OR_MOVE,
+        HOVER_TO_SELECT,
+        HOVER,
+        SELECT_PIECE,
+        JUMP,
+        END_GAME,
+        UNKNOWN
+    }
+    
     public ServerCommand(String rawCommand) {
         this.rawCommand = rawCommand;
+        this.timestampMs = System.currentTimeMillis();
         parseCommand();
+        this.action = resolveAction();
+        if (action == Action.SELECT_PIECE) {
+            this.pieceIndex = parsePieceIndex(keyInput.substring("SELECT_PIECE_".length()));
+        }
+    }
+
+    /**
+     * Command decoded from a binary frame - nothing to parse, the raw text is built when needed
+     */
+    ServerCommand(Player player, Action action, String keyInput, int pieceIndex, int fromCell, int toCell,
+                  int sequence, long timestampMs) {
+        this.player = player;
+        this.action = action;
+        this.keyInput = keyInput;
+        this.pieceIndex = pieceIndex;
+        this.fromCell = fromCell;
+        this.toCell = toCell;
+        this.sequence = sequence;
+        this.timestampMs = timestampMs;
+        if (player == Player.SYSTEM) {
+            this.commandType = CommandType.GAME_CONTROL;
+        } else {
+            this.commandType = action == Action.JUMP ? CommandType.JUMP : CommandType.KEY_INPUT;
+        }
+    }
+
+    private static int parsePieceIndex(String index) {
+        try {
+            int value = Integer.parseInt(index);
+            return value >= 0 && value < WireProtocol.NONE ? value : WireProtocol.NONE;
+        } catch (NumberFormatException e) {
+            return WireProtocol.NONE;
+        }
     }
     
     /**
@@ -72,15 +135,89 @@ public class ServerCommand {
         }
     }
     
-    public String getRawCommand() { return rawCommand; }
+    /**
+     * Map the parsed command to a game action
+     */
+    private Action resolveAction() {
+        if (player == Player.SYSTEM) {
+            return "END_GAME".equals(rawCommand) ? Action.END_GAME : Action.UNKNOWN;
+        }
+        switch (keyInput) {
+            case "MOVEMENT_UP":
+                return Action.MOVEMENT_UP;
+            case "MOVEMENT_DOWN":
+                return Action.MOVEMENT_DOWN;
+            case "MOVEMENT_LEFT":
+                return Action.MOVEMENT_LEFT;
+            case "MOVEMENT_RIGHT":
+                return Action.MOVEMENT_RIGHT;
+            case "SELECT_OR_MOVE":
+                return Action.SELECT_OR_MOVE;
+            case "HOVER_TO_SELECT":
+                return Action.HOVER_TO_SELECT;
+            case "JUMP":
+                return Action.JUMP;
+            default:
+                if (keyInput.startsWith("HOVER_")) {
+                    return Action.HOVER;
+                }
+                if (keyInput.startsWith("SELECT_PIECE_")) {
+                    return Action.SELECT_PIECE;
+                }
+                return Action.UNKNOWN;
+        }
+    }
+    
+    public String getRawCommand() {
+        if (rawCommand == null) {
+            rawCommand = player == Player.SYSTEM ? keyInput : (player == Player.WHITE ? "W_" : "B_") + keyInput;
+        }
+        return rawCommand;
+    }
+
     public CommandType getCommandType() { return commandType; }
     public String getKeyInput() { return keyInput; }
     public Player getPlayer() { return player; }
+    public Action getAction() { return action; }
+    public int getPieceIndex() { return pieceIndex; }
+    public int getFromCell() { return fromCell; }
+    public int getToCell() { return toCell; }
+    public int getSequence() { return sequence; }
+    public long getTimestampMs() { return timestampMs; }
+
+    /**
+     * Cells (y * 8 + x) of the move this command made - set by the rules engine
+     */
+    public void setCells(int fromCell, int toCell) {
+        this.fromCell = fromCell;
+        this.toCell = toCell;
+        this.frame = null;
+    }
+
+    /**
+     * Binary frame of this command, encoded on first use
+     */
+    public byte[] getFrame() {
+        if (frame == null) {
+            frame = WireProtocol.encode(this);
+        }
+        return frame;
+    }
+
+    /**
+     * Text line of this command, newline included, encoded on first use
+     */
+    public byte[] getLine(Charset charset) {
+        if (line == null) {
+            line = (getRawCommand() + "\n").getBytes(charset);
+        }
+        return line;
+    }
     
     @Override
     public String toString() {
         return "ServerCommand{" +
-                "raw='" + rawCommand + '\'' +
+                "raw='" + getRawCommand() + '\'' +
                 ", type=" + commandType +
                 ", key='" + keyInput + '\'' +
                 ", player=" + player +
@@ -4,11 +4,16 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.Properties;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 /**
  * מחלקה לטעינת הגדרות השרת מקובץ application.properties
  * Singleton pattern - רק instance אחד בכל האפליקציה
  */
 public class ServerConfig {
+    private static final Logger log = LoggerFactory.getLogger(ServerConfig.class);
+
     private static final String CONFIG_FILE = "/application.properties";
     private static ServerConfig instance;
     private final Properties properties;
@@ -17,7 +22,14 @@ public class ServerConfig {
         this.properties = new Properties();
         loadProperties();
     }
-    
+
+    /**
+     * Build a configuration from given properties (used by tests)
+     */
+    ServerConfig(Properties properties) {
+        this.properties = properties;
+    }
+
     /**
      * Get singleton instance
      */
@@ -32,7 +44,7 @@ public class ServerConfig {
         try (InputStream input = getClass().getResourceAsStream(CONFIG_FILE)) {
             if (input != null) {
                 properties.load(input);
-                System.out.println("✓ Configuration loaded from " + CONFIG_FILE);
+                log.info("✓ Configuration loaded from {}", CONFIG_FILE);
             } else {
                 throw new RuntimeException("Configuration file " + CONFIG_FILE + " not found! Please create src/main/resources/application.properties");
             }
@@ -53,6 +65,28 @@ public class ServerConfig {
         }
     }
     
+    /**
+     * Network transport: blocking, virtual or nio - virtual only on a JDK 21+ runtime, else it runs as blocking
+     */
+    public String getTransport() {
+        String transport = properties.getProperty("server.transport");
+        if (transport == null) {
+            throw new RuntimeException("server.transport not found in application.properties");
+        }
+        return transport.trim();
+    }
+    
+    /**
+     * Offer the binary wire protocol to clients - text stays the fallback (server.protocol.binary)
+     */
+    public boolean isBinaryProtocolEnabled() {
+        String binaryStr = properties.getProperty("server.protocol.binary");
+        if (binaryStr == null) {
+            throw new RuntimeException("server.protocol.binary not found in application.properties");
+        }
+        return Boolean.parseBoolean(binaryStr.trim());
+    }
+    
     public String getDomain() {
         String domain = properties.getProperty("server.domain");
         if (domain == null) {
@@ -183,7 +217,129 @@ public class ServerConfig {
         } catch (NumberFormatException e) {
             throw new RuntimeException("Invalid connection clear delay in configuration: " + delayStr + ". Must be a valid number.", e);
         }
-    }    /**
+    }
+    
+    /**
+     * Moves between two resync checkpoints - also the most moves a reconnecting player gets after the snapshot
+     */
+    public int getResyncSnapshotInterval() {
+        String intervalStr = properties.getProperty("connection.resync.snapshot.interval");
+        if (intervalStr == null) {
+            throw new RuntimeException("connection.resync.snapshot.interval not found in application.properties");
+        }
+        try {
+            return Integer.parseInt(intervalStr);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid resync snapshot interval in configuration: " + intervalStr + ". Must be a valid number.", e);
+        }
+    }
+    
+    /**
+     * How long a client's first queued message waits for more before they go out in one write
+     */
+    public int getSendFlushDelayMs() {
+        String delayStr = properties.getProperty("connection.send.flush.delay.ms");
+        if (delayStr == null) {
+            throw new RuntimeException("connection.send.flush.delay.ms not found in application.properties");
+        }
+        try {
+            return Integer.parseInt(delayStr);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid send flush delay in configuration: " + delayStr + ". Must be a valid number.", e);
+        }
+    }
+    
+    /**
+     * Longest a blocking write to one client may take before the client is disconnected as stalled
+     */
+    public int getSendWriteTimeoutMs() {
+        String timeoutStr = properties.getProperty("connection.send.write.timeout.ms");
+        if (timeoutStr == null) {
+            throw new RuntimeException("connection.send.write.timeout.ms not found in application.properties");
+        }
+        try {
+            return Integer.parseInt(timeoutStr);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid send write timeout in configuration: " + timeoutStr + ". Must be a valid number.", e);
+        }
+    }
+    
+    /**
+     * Bytes a client may fall behind by before it is disconnected as too slow
+     */
+    public int getSendMaxQueuedBytes() {
+        String bytesStr = properties.getProperty("connection.send.max.queued.bytes");
+        if (bytesStr == null) {
+            throw new RuntimeException("connection.send.max.queued.bytes not found in application.properties");
+        }
+        try {
+            return Integer.parseInt(bytesStr);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid send queue limit in configuration: " + bytesStr + ". Must be a valid number.", e);
+        }
+    }
+    
+    /**
+     * Spectators one match may have on top of its players
+     */
+    public int getMaxSpectators() {
+        String maxStr = properties.getProperty("spectator.max.per.room");
+        if (maxStr == null) {
+            throw new RuntimeException("spectator.max.per.room not found in application.properties");
+        }
+        try {
+            return Integer.parseInt(maxStr);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid max spectators in configuration: " + maxStr + ". Must be a valid number.", e);
+        }
+    }
+    
+    /**
+     * Bytes a spectator may have queued before it gets snapshots instead of every move
+     */
+    public int getSpectatorLagBytes() {
+        String bytesStr = properties.getProperty("spectator.lag.bytes");
+        if (bytesStr == null) {
+            throw new RuntimeException("spectator.lag.bytes not found in application.properties");
+        }
+        try {
+            return Integer.parseInt(bytesStr);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid spectator lag limit in configuration: " + bytesStr + ". Must be a valid number.", e);
+        }
+    }
+    
+    /**
+     * Threads writing queued messages to clients of the blocking transport, shared by all connections
+     */
+    public int getSendWriterThreads() {
+        String threadsStr = properties.getProperty("connection.send.writer.threads");
+        if (threadsStr == null) {
+            throw new RuntimeException("connection.send.writer.threads not found in application.properties");
+        }
+        try {
+            return Integer.parseInt(threadsStr);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid send writer threads in configuration: " + threadsStr + ". Must be a valid number.", e);
+        }
+    }
+    
+    /**
+     * Threads sending moves to spectators, shared by all rooms
+     */
+    public int getSpectatorFanoutThreads() {
+        String threadsStr = properties.getProperty("spectator.fanout.threads");
+        if (threadsStr == null) {
+            throw new RuntimeException("spectator.fanout.threads not found in application.properties");
+        }
+        try {
+            return Integer.parseInt(threadsStr);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid spectator fan-out threads in configuration: " + threadsStr + ". Must be a valid number.", e);
+        }
+    }
+    
+    /**
      * Get any custom property from application.properties
      */
     public String getProperty(String key) {
@@ -197,22 +353,33 @@ public class ServerConfig {
         return properties.getProperty(key, defaultValue);
     }
     
+    /**
+     * Log the configuration at INFO
+     */
     public void printConfiguration() {
-        System.out.println("=== Server Configuration ===");
-        System.out.println("Port: " + getPort());
-        System.out.println("Domain: " + getDomain());
-        System.out.println("Game Timeout: " + getGameTimeoutMinutes() + " minutes");
-        System.out.println("Max Players: " + getMaxPlayers());
-        System.out.println("Max Clients: " + getMaxClients());
-        System.out.println("Player 1 Color: " + getPlayer1Color());
-        System.out.println("Player 2 Color: " + getPlayer2Color());
-        System.out.println("Waiting Message: " + getWaitingMessage());
-        System.out.println("Connection Timeout: " + getConnectionTimeoutSeconds() + " seconds");
-        System.out.println("Connection Setup Delay: " + getConnectionSetupDelayMs() + " ms");
-        System.out.println("Connection Start Delay: " + getConnectionStartDelayMs() + " ms");
-        System.out.println("Connection Clear Delay: " + getConnectionClearDelayMs() + " ms");
-        System.out.println("Debug Enabled: " + isDebugEnabled());
-        System.out.println("Logging Level: " + getLoggingLevel());
-        System.out.println("============================");
+        log.info("=== Server Configuration ===");
+        log.info("Port: {}", getPort());
+        log.info("Domain: {}", getDomain());
+        log.info("Transport: {}", getTransport());
+        log.info("Binary Protocol: {}", isBinaryProtocolEnabled());
+        log.info("Game Timeout: {} minutes", getGameTimeoutMinutes());
+        log.info("Max Players: {}", getMaxPlayers());
+        log.info("Max Clients: {}", getMaxClients());
+        log.info("Player 1 Color: {}", getPlayer1Color());
+        log.info("Player 2 Color: {}", getPlayer2Color());
+        log.info("Waiting Message: {}", getWaitingMessage());
+        log.info("Connection Timeout: {} seconds", getConnectionTimeoutSeconds());
+        log.info("Connection Setup Delay: {} ms", getConnectionSetupDelayMs());
+        log.info("Connection Start Delay: {} ms", getConnectionStartDelayMs());
+        log.info("Connection Clear Delay: {} ms", getConnectionClearDelayMs());
+        log.info("Resync Checkpoint: every {} moves", getResyncSnapshotInterval());
+        log.info("Send Batching: flush after {} ms, max {} bytes queued, {} blocking writer threads,"
+                        + " writes time out after {} ms",
+                getSendFlushDelayMs(), getSendMaxQueuedBytes(), getSendWriterThreads(), getSendWriteTimeoutMs());
+        log.info("Spectators: max {} per room, snapshots past {} bytes behind, {} fan-out threads",
+                getMaxSpectators(), getSpectatorLagBytes(), getSpectatorFanoutThreads());
+        log.info("Debug Enabled: {}", isDebugEnabled());
+        log.info("Logging Level: {}", getLoggingLevel());
+        log.info("============================");
     }
 }
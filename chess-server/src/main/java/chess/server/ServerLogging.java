@@ -0,0 +1,34 @@
+package chess.server;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Level;
+
+/**
+ * Applies logging.level and logging.enable.debug to the root logger
+ * Output itself is set up in logback.xml - an async appender, so no game or network thread waits on the console
+ */
+final class ServerLogging {
+    private static final Logger log = LoggerFactory.getLogger(ServerLogging.class);
+
+    private ServerLogging() {
+    }
+
+    /**
+     * Set the root level from the configuration, DEBUG when logging.enable.debug is on
+     */
+    static void configure(ServerConfig config) {
+        Level level = config.isDebugEnabled() ? Level.DEBUG : Level.toLevel(config.getLoggingLevel(), null);
+        if (level == null) {
+            throw new RuntimeException("Invalid logging.level in configuration: " + config.getLoggingLevel()
+                    + ". Use TRACE, DEBUG, INFO, WARN, ERROR or OFF.");
+        }
+        setRootLevel(level);
+        log.info("Log level: {}", level);
+    }
+
+    static void setRootLevel(Level level) {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(level);
+    }
+}
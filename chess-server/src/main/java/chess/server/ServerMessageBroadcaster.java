@@ -2,15 +2,21 @@ package chess.server;
 
 import java.util.Map;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 /**
  * Handles broadcasting messages to all clients
  * Clean separation: dedicated message broadcasting logic
+ * Sending only queues on each client's OutboundQueue - a client that stopped reading costs the
+ * broadcast nothing, and its writer sends everything queued for it in one write
  */
 public class ServerMessageBroadcaster {
+    private static final Logger log = LoggerFactory.getLogger(ServerMessageBroadcaster.class);
+
+    private final Map<String, ClientConnection> clients;
     
-    private final Map<String, ClientHandler> clients;
-    
-    public ServerMessageBroadcaster(Map<String, ClientHandler> clients) {
+    public ServerMessageBroadcaster(Map<String, ClientConnection> clients) {
         this.clients = clients;
     }
     
@@ -25,15 +31,17 @@ public class ServerMessageBroadcaster {
      * Broadcast message to all clients except one
      */
     public void broadcastMessage(String message, String excludeClientId) {
-        System.out.println("📢 [BROADCAST] " + message + 
-                          (excludeClientId != null ? " (excluding " + excludeClientId + ")" : " (to all)"));
+        if (log.isDebugEnabled()) {
+            log.debug("📢 [BROADCAST] {}{}", message,
+                    excludeClientId != null ? " (excluding " + excludeClientId + ")" : " (to all)");
+        }
         
         int sentCount = 0;
         int totalClients = clients.size();
         
-        for (Map.Entry<String, ClientHandler> entry : clients.entrySet()) {
+        for (Map.Entry<String, ClientConnection> entry : clients.entrySet()) {
             String clientId = entry.getKey();
-            ClientHandler handler = entry.getValue();
+            ClientConnection handler = entry.getValue();
             
             // Skip excluded client
             if (excludeClientId != null && clientId.equals(excludeClientId)) {
@@ -46,30 +54,59 @@ public class ServerMessageBroadcaster {
                     handler.sendMessage(message);
                     sentCount++;
                 } catch (Exception e) {
-                    System.err.println("Failed to send message to " + clientId + ": " + e.getMessage());
+                    log.warn("Failed to send message to {}: {}", clientId, e.getMessage());
+                }
+            }
+        }
+        
+        log.debug("✓ [BROADCAST RESULT] Sent to {}/{} clients", sentCount, totalClients);
+    }
+    
+    /**
+     * Broadcast a game command to all clients except one, each in the protocol it speaks
+     */
+    public void broadcastCommand(ServerCommand command, String excludeClientId) {
+        if (log.isDebugEnabled()) {
+            log.debug("📢 [BROADCAST] {}{}", command.getRawCommand(),
+                    excludeClientId != null ? " (excluding " + excludeClientId + ")" : " (to all)");
+        }
+        
+        int sentCount = 0;
+        for (Map.Entry<String, ClientConnection> entry : clients.entrySet()) {
+            String clientId = entry.getKey();
+            ClientConnection handler = entry.getValue();
+            if (excludeClientId != null && clientId.equals(excludeClientId)) {
+                continue;
+            }
+            if (handler != null && handler.isRunning()) {
+                try {
+                    handler.sendCommand(command);
+                    sentCount++;
+                } catch (Exception e) {
+                    log.warn("Failed to send command to {}: {}", clientId, e.getMessage());
                 }
             }
         }
         
-        System.out.println("✓ [BROADCAST RESULT] Sent to " + sentCount + "/" + totalClients + " clients");
+        log.debug("✓ [BROADCAST RESULT] Sent to {}/{} clients", sentCount, clients.size());
     }
     
     /**
      * Send message to specific client
      */
     public boolean sendToClient(String clientId, String message) {
-        ClientHandler handler = clients.get(clientId);
+        ClientConnection handler = clients.get(clientId);
         
         if (handler != null && handler.isRunning()) {
             try {
                 handler.sendMessage(message);
-                System.out.println("✓ [DIRECT MESSAGE] Sent to " + clientId + ": " + message);
+                log.debug("✓ [DIRECT MESSAGE] Sent to {}: {}", clientId, message);
                 return true;
             } catch (Exception e) {
-                System.err.println("Failed to send direct message to " + clientId + ": " + e.getMessage());
+                log.warn("Failed to send direct message to {}: {}", clientId, e.getMessage());
             }
         } else {
-            System.err.println("Client " + clientId + " not found or not active");
+            log.warn("Client {} not found or not active", clientId);
         }
         
         return false;
@@ -80,7 +117,7 @@ public class ServerMessageBroadcaster {
      */
     public int getActiveClientCount() {
         int count = 0;
-        for (ClientHandler handler : clients.values()) {
+        for (ClientConnection handler : clients.values()) {
             if (handler != null && handler.isRunning()) {
                 count++;
             }
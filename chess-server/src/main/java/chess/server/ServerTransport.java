@@ -0,0 +1,31 @@
+package chess.server;
+
+import java.io.IOException;
+
+/**
+ * Network layer of the chess server
+ * Accepts sockets, frames lines and hands connections and messages to ChessServer
+ * Selected with server.transport in application.properties
+ */
+public interface ServerTransport {
+
+    /**
+     * Open the listening socket
+     */
+    void bind(int port) throws IOException;
+
+    /**
+     * Run the accept / read loop - blocks until {@link #close()} is called
+     */
+    void serve() throws IOException;
+
+    /**
+     * Port actually bound (useful when binding port 0), -1 before bind
+     */
+    int getLocalPort();
+
+    /**
+     * Stop accepting and close the listening socket
+     */
+    void close();
+}
@@ -0,0 +1,208 @@
+package chess.server;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Live feed of one room to its spectators
+ * The game thread only appends events; a fan-out thread delivers them in order, so a move costs
+ * the players one queue append however many spectators watch. A spectator whose outgoing queue
+ * backs up past the lag limit stops getting single moves and gets a fresh snapshot as soon as its
+ * writer drained it - in a quiet match too, without waiting for the next move.
+ */
+final class SpectatorFeed implements Runnable {
+    private static final Logger log = LoggerFactory.getLogger(SpectatorFeed.class);
+
+    private enum Type {
+        JOIN,     // new spectator - role, snapshot and start messages first
+        CAUGHT_UP, // a lagging spectator's queue drained - time for its snapshot
+        SNAPSHOT, // catch-up snapshot for a spectator that lagged behind
+        LEAVE,
+        MESSAGE,
+        COMMAND
+    }
+
+    private static final class Event {
+        final Type type;
+        final ClientConnection connection;
+        final String[] messages;
+        final ServerCommand command;
+
+        Event(Type type, ClientConnection connection, String[] messages, ServerCommand command) {
+            this.type = type;
+            this.connection = connection;
+            this.messages = messages;
+            this.command = command;
+        }
+    }
+
+    /**
+     * Fan-out thread's view of one spectator
+     */
+    private static final class Spectator {
+        final ClientConnection connection;
+        boolean lagging;
+
+        Spectator(ClientConnection connection) {
+            this.connection = connection;
+        }
+    }
+
+    private final GameRoom room;
+    private final Executor executor;
+    private final int lagBytes;
+    private final Queue<Event> events = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    // Only touched by the fan-out thread running this feed
+    private final List<Spectator> spectators = new ArrayList<>();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+
+    SpectatorFeed(GameRoom room, Executor executor, int lagBytes) {
+        this.room = room;
+        this.executor = executor;
+        this.lagBytes = lagBytes;
+    }
+
+    void join(ClientConnection connection, String... messages) {
+        publish(new Event(Type.JOIN, connection, messages, null));
+    }
+
+    void snapshot(ClientConnection connection, String... messages) {
+        publish(new Event(Type.SNAPSHOT, connection, messages, null));
+    }
+
+    void leave(ClientConnection connection) {
+        publish(new Event(Type.LEAVE, connection, null, null));
+    }
+
+    void message(String message) {
+        publish(new Event(Type.MESSAGE, null, new String[] {message}, null));
+    }
+
+    void command(ServerCommand command) {
+        publish(new Event(Type.COMMAND, null, null, command));
+    }
+
+    /**
+     * Messages and commands sent to spectators so far
+     */
+    long getDeliveredCount() {
+        return delivered.get();
+    }
+
+    /**
+     * Messages and commands a lagging spectator skipped - it got a snapshot instead
+     */
+    long getSkippedCount() {
+        return skipped.get();
+    }
+
+    private void publish(Event event) {
+        events.add(event);
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this);
+        }
+    }
+
+    /**
+     * Deliver everything published so far - runs on one fan-out thread at a time
+     */
+    @Override
+    public void run() {
+        do {
+            Event event;
+            while ((event = events.poll()) != null) {
+                try {
+                    deliver(event);
+                } catch (RuntimeException e) {
+                    log.warn("[{}] Spectator fan-out failed", room.getRoomId(), e);
+                }
+            }
+            scheduled.set(false);
+        } while (!events.isEmpty() && scheduled.compareAndSet(false, true));
+    }
+
+    private void deliver(Event event) {
+        switch (event.type) {
+            case JOIN:
+                spectators.add(new Spectator(event.connection));
+                send(event.connection, event.messages);
+                break;
+            case CAUGHT_UP:
+                // The room queues a snapshot taken under its lock - moves after it are sent again
+                if (find(event.connection) != null) {
+                    room.resyncSpectator(event.connection);
+                }
+                break;
+            case SNAPSHOT:
+                Spectator lagged = find(event.connection);
+                if (lagged != null) {
+                    lagged.lagging = false;
+                    send(event.connection, event.messages);
+                }
+                break;
+            case LEAVE:
+                spectators.removeIf(spectator -> spectator.connection == event.connection);
+                break;
+            default:
+                fanOut(event);
+                break;
+        }
+    }
+
+    private void fanOut(Event event) {
+        Iterator<Spectator> iterator = spectators.iterator();
+        while (iterator.hasNext()) {
+            Spectator spectator = iterator.next();
+            ClientConnection connection = spectator.connection;
+            if (!connection.isRunning()) {
+                iterator.remove();
+                continue;
+            }
+            int queued = connection.getQueuedBytes();
+            if (!spectator.lagging && queued > lagBytes) {
+                spectator.lagging = true;
+                log.info("[{}] Spectator {} is lagging ({} bytes queued) - switching to snapshots",
+                        room.getRoomId(), connection.getClientId(), queued);
+                // Its writer tells us when it drained, so no later move is needed to notice
+                connection.whenDrained(lagBytes / 2, () -> publish(new Event(Type.CAUGHT_UP, connection, null, null)));
+            }
+            if (spectator.lagging) {
+                skipped.incrementAndGet();
+                continue;
+            }
+            if (event.type == Type.COMMAND) {
+                connection.sendCommand(event.command);
+            } else {
+                connection.sendMessage(event.messages[0]);
+            }
+            delivered.incrementAndGet();
+        }
+    }
+
+    private Spectator find(ClientConnection connection) {
+        for (Spectator spectator : spectators) {
+            if (spectator.connection == connection) {
+                return spectator;
+            }
+        }
+        return null;
+    }
+
+    private void send(ClientConnection connection, String[] messages) {
+        for (String message : messages) {
+            connection.sendMessage(message);
+            delivered.incrementAndGet();
+        }
+    }
+}
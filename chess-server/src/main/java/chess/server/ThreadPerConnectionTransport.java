@@ -0,0 +1,196 @@
+package chess.server;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Blocking transport - a reader thread per socket running a ClientHandler, writes done by shared writers
+ * "blocking" uses platform threads and a pool of connection.send.writer.threads writers; "virtual" uses
+ * virtual threads - those need JDK 21 or later, the build targets 11 - and a virtual thread per write
+ * A watchdog closes any client whose write has blocked for connection.send.write.timeout.ms, so a socket
+ * that stopped taking bytes frees its writer instead of holding it until the queue limit is reached.
+ */
+public class ThreadPerConnectionTransport implements ServerTransport {
+    private static final Logger log = LoggerFactory.getLogger(ThreadPerConnectionTransport.class);
+
+    // Stack for platform reader threads - ClientHandler only needs a shallow readLine loop
+    private static final long PLATFORM_STACK_SIZE = 256 * 1024;
+
+    private final ChessServer server;
+    private final ThreadFactory threadFactory;
+    // Virtual threads are cheap enough to start one per write; platform ones write on the pool
+    private final boolean threadPerWrite;
+    private final long flushDelayNanos;
+    private final long writeTimeoutNanos;
+    // Accepted connections, looked over by the watchdog
+    private final Set<ClientHandler> connections = ConcurrentHashMap.newKeySet();
+    // Waits out the flush delay and, without threadPerWrite, does the writes too
+    private ScheduledExecutorService writers;
+    // Its own thread - it must run while every writer is stuck
+    private ScheduledExecutorService watchdog;
+    private ServerSocket serverSocket;
+    private volatile boolean running = false;
+
+    public ThreadPerConnectionTransport(ChessServer server, ThreadFactory threadFactory, boolean threadPerWrite) {
+        this.server = server;
+        this.threadFactory = threadFactory;
+        this.threadPerWrite = threadPerWrite;
+        this.flushDelayNanos = TimeUnit.MILLISECONDS.toNanos(server.getConfig().getSendFlushDelayMs());
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(server.getConfig().getSendWriteTimeoutMs());
+    }
+
+    /**
+     * Transport with a platform thread per connection
+     */
+    public static ThreadPerConnectionTransport platformThreads(ChessServer server) {
+        return new ThreadPerConnectionTransport(server, platformThreadFactory(), false);
+    }
+
+    /**
+     * Transport with a virtual thread per connection - JDK 21 and later only
+     * Falls back to small-stack platform threads, with an INFO line saying so, on older JVMs
+     */
+    public static ThreadPerConnectionTransport virtualThreads(ChessServer server) {
+        ThreadFactory factory = virtualThreadFactory();
+        if (factory == null) {
+            log.info("Virtual threads not available on this JVM - using platform threads");
+            return platformThreads(server);
+        }
+        return new ThreadPerConnectionTransport(server, factory, true);
+    }
+
+    @Override
+    public void bind(int port) throws IOException {
+        serverSocket = new ServerSocket(port, 1024);
+        AtomicLong counter = new AtomicLong();
+        writers = Executors.newScheduledThreadPool(threadPerWrite ? 1 : server.getConfig().getSendWriterThreads(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "client-writer-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "write-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long checkNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(1), writeTimeoutNanos / 4);
+        watchdog.scheduleWithFixedDelay(this::closeStalledClients, checkNanos, checkNanos, TimeUnit.NANOSECONDS);
+        running = true;
+    }
+
+    @Override
+    public void serve() {
+        while (running) {
+            try {
+                Socket clientSocket = serverSocket.accept();
+                handleNewSocket(clientSocket);
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("Error accepting client connection: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void handleNewSocket(Socket clientSocket) {
+        String clientId = "Client-" + clientSocket.getRemoteSocketAddress().toString();
+        try {
+            ClientHandler handler = new ClientHandler(clientSocket, clientId, server, this);
+            connections.add(handler); // before its first write - closing takes it off again
+            // A thread only for connections the server kept - a turned-away client never costs one
+            if (!server.acceptConnection(handler)) {
+                handler.close();
+                return;
+            }
+            threadFactory.newThread(handler).start();
+        } catch (IOException e) {
+            log.warn("Error setting up client handler: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Write a handler's queue once its first message has waited the flush delay
+     */
+    void scheduleFlush(ClientHandler handler) {
+        Runnable flush = threadPerWrite ? () -> threadFactory.newThread(handler::flush).start() : handler::flush;
+        try {
+            writers.schedule(flush, flushDelayNanos, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            // Shut down - the connection is being closed with the server
+            log.debug("Flush for {} not scheduled: {}", handler.getClientId(), e.getMessage());
+        }
+    }
+
+    /**
+     * A handler closed - the watchdog stops looking at it
+     */
+    void connectionClosed(ClientHandler handler) {
+        connections.remove(handler);
+    }
+
+    // Close the clients whose current write has blocked past the timeout - unblocks their writers
+    private void closeStalledClients() {
+        long now = System.nanoTime();
+        for (ClientHandler handler : connections) {
+            long blockedNanos = handler.getWriteBlockedNanos(now);
+            if (blockedNanos > writeTimeoutNanos) {
+                log.warn("Client {} took no bytes for {} ms - disconnecting", handler.getClientId(),
+                        TimeUnit.NANOSECONDS.toMillis(blockedNanos));
+                handler.close();
+            }
+        }
+    }
+
+    @Override
+    public int getLocalPort() {
+        return serverSocket != null ? serverSocket.getLocalPort() : -1;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        if (serverSocket != null && !serverSocket.isClosed()) {
+            try {
+                serverSocket.close();
+            } catch (IOException e) {
+                log.warn("Error closing server socket: {}", e.getMessage());
+            }
+        }
+        if (writers != null) {
+            writers.shutdownNow();
+        }
+        if (watchdog != null) {
+            watchdog.shutdownNow();
+        }
+    }
+
+    private static ThreadFactory platformThreadFactory() {
+        AtomicLong counter = new AtomicLong();
+        return runnable -> new Thread(null, runnable, "client-" + counter.incrementAndGet(), PLATFORM_STACK_SIZE);
+    }
+
+    /**
+     * Thread.ofVirtual().factory() looked up reflectively - the module still targets Java 11
+     */
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package chess.server;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Binary framing of client and server messages - same format as the client's chess.WireProtocol
+ *
+ * Negotiation, all in text lines: the server offers {@link #OFFER} when it accepts a socket; a
+ * client that speaks binary answers {@link #ACCEPT} and sends frames from then on; the server
+ * replies {@link #SWITCH} as its last text line and sends frames after it. A client that ignores
+ * the offer, or a server that never makes one, keeps the text protocol.
+ *
+ * Frame: varint length of the rest, opcode, then for commands
+ * player, piece, from cell, to cell (one byte each, 0xFF when not set), sequence (2 bytes),
+ * timestamp (low 32 bits of the sender's clock in ms), all big-endian - 12 bytes in all.
+ * {@link #OP_TEXT} frames carry any other message as UTF-8.
+ */
+public final class WireProtocol {
+    public static final String OFFER = "PROTOCOL_OFFER:BINARY1";
+    public static final String ACCEPT = "PROTOCOL_ACCEPT:BINARY1";
+    public static final String SWITCH = "PROTOCOL_SWITCH:BINARY1";
+
+    public static final int OP_TEXT = 0;
+    public static final int OP_MOVEMENT_UP = 1;
+    public static final int OP_MOVEMENT_DOWN = 2;
+    public static final int OP_MOVEMENT_LEFT = 3;
+    public static final int OP_MOVEMENT_RIGHT = 4;
+    public static final int OP_SELECT_OR_MOVE = 5;
+    public static final int OP_HOVER_TO_SELECT = 6;
+    public static final int OP_HOVER_UP = 7;
+    public static final int OP_HOVER_DOWN = 8;
+    public static final int OP_HOVER_LEFT = 9;
+    public static final int OP_HOVER_RIGHT = 10;
+    public static final int OP_SELECT_PIECE = 11;
+    public static final int OP_JUMP = 12;
+    public static final int OP_END_GAME = 13;
+
+    public static final int COMMAND_FRAME_BYTES = 12;
+    public static final int NONE = 0xFF;
+    // Longest frame accepted - commands are 12 bytes, text frames a few dozen
+    public static final int MAX_FRAME_BYTES = 8 * 1024;
+
+    // Key input of each command opcode, as in "W_" + key input
+    private static final String[] KEY_INPUTS = {
+            null, "MOVEMENT_UP", "MOVEMENT_DOWN", "MOVEMENT_LEFT", "MOVEMENT_RIGHT", "SELECT_OR_MOVE",
+            "HOVER_TO_SELECT", "HOVER_UP", "HOVER_DOWN", "HOVER_LEFT", "HOVER_RIGHT", "SELECT_PIECE_", "JUMP",
+            "END_GAME"
+    };
+    private static final ServerCommand.Action[] ACTIONS = {
+            null, ServerCommand.Action.MOVEMENT_UP, ServerCommand.Action.MOVEMENT_DOWN,
+            ServerCommand.Action.MOVEMENT_LEFT, ServerCommand.Action.MOVEMENT_RIGHT,
+            ServerCommand.Action.SELECT_OR_MOVE, ServerCommand.Action.HOVER_TO_SELECT,
+            ServerCommand.Action.HOVER, ServerCommand.Action.HOVER, ServerCommand.Action.HOVER,
+            ServerCommand.Action.HOVER, ServerCommand.Action.SELECT_PIECE, ServerCommand.Action.JUMP,
+            ServerCommand.Action.END_GAME
+    };
+    private static final ServerCommand.Player[] PLAYERS = ServerCommand.Player.values();
+
+    private WireProtocol() {
+    }
+
+    /**
+     * Opcode of a command, OP_TEXT when it has none and goes out as text
+     */
+    public static int opcodeOf(ServerCommand command) {
+        switch (command.getAction()) {
+            case MOVEMENT_UP:
+                return OP_MOVEMENT_UP;
+            case MOVEMENT_DOWN:
+                return OP_MOVEMENT_DOWN;
+            case MOVEMENT_LEFT:
+                return OP_MOVEMENT_LEFT;
+            case MOVEMENT_RIGHT:
+                return OP_MOVEMENT_RIGHT;
+            case SELECT_OR_MOVE:
+                return OP_SELECT_OR_MOVE;
+            case HOVER_TO_SELECT:
+                return OP_HOVER_TO_SELECT;
+            case JUMP:
+                return OP_JUMP;
+            case END_GAME:
+                return OP_END_GAME;
+            case HOVER:
+                switch (command.getKeyInput()) {
+                    case "HOVER_UP":
+                        return OP_HOVER_UP;
+                    case "HOVER_DOWN":
+                        return OP_HOVER_DOWN;
+                    case "HOVER_LEFT":
+                        return OP_HOVER_LEFT;
+                    case "HOVER_RIGHT":
+                        return OP_HOVER_RIGHT;
+                    default:
+                        return OP_TEXT;
+                }
+            case SELECT_PIECE:
+                return command.getPieceIndex() != NONE ? OP_SELECT_PIECE : OP_TEXT;
+            default:
+                return OP_TEXT;
+        }
+    }
+
+    /**
+     * Frame of a command - a text frame of its raw form when it has no opcode
+     */
+    public static byte[] encode(ServerCommand command) {
+        int opcode = opcodeOf(command);
+        if (opcode == OP_TEXT) {
+            return encodeText(command.getRawCommand());
+        }
+        byte[] frame = new byte[COMMAND_FRAME_BYTES];
+        frame[0] = COMMAND_FRAME_BYTES - 1;
+        frame[1] = (byte) opcode;
+        frame[2] = (byte) command.getPlayer().ordinal();
+        frame[3] = (byte) command.getPieceIndex();
+        frame[4] = (byte) command.getFromCell();
+        frame[5] = (byte) command.getToCell();
+        frame[6] = (byte) (command.getSequence() >>> 8);
+        frame[7] = (byte) command.getSequence();
+        int timestamp = (int) command.getTimestampMs();
+        frame[8] = (byte) (timestamp >>> 24);
+        frame[9] = (byte) (timestamp >>> 16);
+        frame[10] = (byte) (timestamp >>> 8);
+        frame[11] = (byte) timestamp;
+        return frame;
+    }
+
+    /**
+     * Text frame of any message
+     */
+    public static byte[] encodeText(String message) {
+        byte[] text = message.getBytes(StandardCharsets.UTF_8);
+        int length = text.length + 1;
+        int prefix = varintSize(length);
+        byte[] frame = new byte[prefix + length];
+        writeVarint(frame, 0, length);
+        frame[prefix] = OP_TEXT;
+        System.arraycopy(text, 0, frame, prefix + 1, text.length);
+        return frame;
+    }
+
+    /**
+     * Command of a frame body (opcode onwards), null for a text frame or an unknown opcode
+     */
+    public static ServerCommand decodeCommand(byte[] body, int length, long nowMs) {
+        int opcode = length > 0 ? body[0] & 0xFF : OP_TEXT;
+        if (opcode == OP_TEXT || opcode >= KEY_INPUTS.length || length < COMMAND_FRAME_BYTES - 1) {
+            return null;
+        }
+        int player = body[1] & 0xFF;
+        int piece = body[2] & 0xFF;
+        int sequence = ((body[5] & 0xFF) << 8) | (body[6] & 0xFF);
+        int timestamp = ((body[7] & 0xFF) << 24) | ((body[8] & 0xFF) << 16) | ((body[9] & 0xFF) << 8) | (body[10] & 0xFF);
+        ServerCommand.Player sender = opcode == OP_END_GAME || player >= PLAYERS.length
+                ? ServerCommand.Player.SYSTEM : PLAYERS[player];
+        String keyInput = opcode == OP_SELECT_PIECE ? KEY_INPUTS[opcode] + piece : KEY_INPUTS[opcode];
+        return new ServerCommand(sender, ACTIONS[opcode], keyInput, piece, body[3] & 0xFF, body[4] & 0xFF,
+                sequence, expandTimestamp(timestamp, nowMs));
+    }
+
+    /**
+     * Message of a text frame body
+     */
+    public static String decodeText(byte[] body, int length) {
+        return new String(body, 1, length - 1, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Full clock value of a 32-bit timestamp, taking the most recent one that fits
+     */
+    public static long expandTimestamp(int timestamp, long nowMs) {
+        return nowMs - (((int) nowMs - timestamp) & 0xFFFFFFFFL);
+    }
+
+    static int varintSize(int value) {
+        int size = 1;
+        while ((value >>>= 7) != 0) {
+            size++;
+        }
+        return size;
+    }
+
+    static int writeVarint(byte[] target, int offset, int value) {
+        while ((value & ~0x7F) != 0) {
+            target[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        target[offset++] = (byte) value;
+        return offset;
+    }
+
+    /**
+     * Reads one line, bytes up to '\n' in the default charset like InputStreamReader, null at end of stream
+     * Reads byte by byte, so nothing after the line is consumed - the caller may switch to frames
+     */
+    public static String readLine(InputStream in, Charset charset) throws IOException {
+        byte[] line = new byte[64];
+        int length = 0;
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b < 0) {
+                return length == 0 ? null : new String(line, 0, length, charset);
+            }
+            if (length == line.length) {
+                if (length >= MAX_FRAME_BYTES) {
+                    throw new IOException("Line longer than " + MAX_FRAME_BYTES + " bytes");
+                }
+                line = Arrays.copyOf(line, length * 2);
+            }
+            line[length++] = (byte) b;
+        }
+        if (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+        return new String(line, 0, length, charset);
+    }
+
+    /**
+     * Assembles frames from bytes as they arrive - blocking reads or selector reads
+     */
+    public static final class FrameReader {
+        private byte[] body = new byte[32];
+        private int length = -1;
+        private int filled;
+        private int lengthShift;
+        private int lengthSoFar;
+
+        /**
+         * Consume bytes up to the end of the current frame, true once a whole frame is in
+         */
+        public boolean feed(ByteBuffer received) throws IOException {
+            while (received.hasRemaining()) {
+                if (length < 0) {
+                    readLengthByte(received.get());
+                } else {
+                    int count = Math.min(received.remaining(), length - filled);
+                    received.get(body, filled, count);
+                    filled += count;
+                    if (filled == length) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Block until a whole frame is in, false at end of stream
+         */
+        public boolean read(InputStream in) throws IOException {
+            while (length < 0) {
+                int b = in.read();
+                if (b < 0) {
+                    return false;
+                }
+                readLengthByte((byte) b);
+            }
+            while (filled < length) {
+                int count = in.read(body, filled, length - filled);
+                if (count < 0) {
+                    throw new EOFException("Stream ended inside a frame");
+                }
+                filled += count;
+            }
+            return true;
+        }
+
+        /**
+         * Frame body, opcode onwards - valid until next()
+         */
+        public byte[] body() {
+            return body;
+        }
+
+        public int length() {
+            return length;
+        }
+
+        /**
+         * Done with the current frame
+         */
+        public void next() {
+            length = -1;
+            filled = 0;
+            lengthShift = 0;
+            lengthSoFar = 0;
+        }
+
+        private void readLengthByte(byte b) throws IOException {
+            lengthSoFar |= (b & 0x7F) << lengthShift;
+            lengthShift += 7;
+            if ((b & 0x80) != 0) {
+                if (lengthShift > 21) {
+                    throw new IOException("Frame length too long");
+                }
+                return;
+            }
+            if (lengthSoFar <= 0 || lengthSoFar > MAX_FRAME_BYTES) {
+                throw new IOException("Bad frame length " + lengthSoFar);
+            }
+            length = lengthSoFar;
+            if (body.length < length) {
+                body = new byte[Math.max(length, body.length * 2)];
+            }
+        }
+    }
+}
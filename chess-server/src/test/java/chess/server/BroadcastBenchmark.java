@@ -0,0 +1,223 @@
+package chess.server;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Broadcast benchmark - one game's moves fanned out to its 2 players and 200 spectators over loopback
+ * "direct" is the old path (println with autoflush on the sender's thread, one write per message per
+ * client); the others queue per client and write batches - blocking from a shared pool of writer threads,
+ * nio from the selector thread - with the given flush delay in ms. Console logging is switched off
+ * while measuring, so only the network path is compared.
+ * Excluded from the default build, run with: mvn test -Pbenchmark
+ * Sizes: -Dbench.spectators=200 -Dbench.broadcastMoves=5000
+ */
+@Tag("benchmark")
+@DisplayName("Broadcast Benchmark")
+public class BroadcastBenchmark {
+
+    private static final int SPECTATORS = Integer.getInteger("bench.spectators", 200);
+    private static final int MOVES = Integer.getInteger("bench.broadcastMoves", 5_000);
+    private static final int CLIENTS = 2 + SPECTATORS;
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {"direct", "blocking:0", "blocking:2", "nio:0", "nio:2"})
+    @DisplayName("Fan out moves")
+    void benchmarkBroadcast(String mode) throws Exception {
+        Queue<ClientConnection> accepted = new ConcurrentLinkedQueue<>();
+        List<Socket> sockets = new ArrayList<>(CLIENTS);
+        AtomicLong received = new AtomicLong();
+        ServerSocket directSocket = null;
+        ChessServer server = null;
+        PrintStream console = System.out;
+        try {
+            int port;
+            if (mode.equals("direct")) {
+                directSocket = new ServerSocket(0, CLIENTS);
+                port = directSocket.getLocalPort();
+            } else {
+                String[] parts = mode.split(":");
+                server = startCollectingServer(parts[0], parts[1], accepted);
+                port = server.getLocalPort();
+            }
+            for (int i = 0; i < CLIENTS; i++) {
+                Socket socket = new Socket("localhost", port);
+                sockets.add(socket);
+                startLineCounter(socket, received);
+                if (directSocket != null) {
+                    accepted.add(new DirectConnection(directSocket.accept(), "Direct-" + i));
+                }
+            }
+            long deadline = System.currentTimeMillis() + 30_000;
+            while (accepted.size() < CLIENTS && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertThat(accepted).hasSize(CLIENTS);
+
+            Map<String, ClientConnection> clients = new LinkedHashMap<>();
+            for (ClientConnection connection : accepted) {
+                clients.put(connection.getClientId(), connection);
+            }
+            ServerMessageBroadcaster broadcaster = new ServerMessageBroadcaster(clients);
+            ServerCommand[] moves = {new ServerCommand("W_MOVEMENT_UP"), new ServerCommand("B_HOVER_LEFT"),
+                    new ServerCommand("W_SELECT_OR_MOVE"), new ServerCommand("B_JUMP")};
+
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            long expected = 0;
+            for (int pass = 0; pass < 2; pass++) { // first pass is warm-up
+                int count = pass == 0 ? MOVES / 5 : MOVES;
+                expected += (long) count * CLIENTS;
+                long start = System.nanoTime();
+                for (int i = 0; i < count; i++) {
+                    broadcaster.broadcastCommand(moves[i % moves.length], null);
+                }
+                long sendNanos = System.nanoTime() - start;
+                while (received.get() < expected) {
+                    if (System.nanoTime() - start > 120_000_000_000L) {
+                        throw new IllegalStateException("Only " + received.get() + "/" + expected + " lines arrived");
+                    }
+                    Thread.sleep(1);
+                }
+                long totalNanos = System.nanoTime() - start;
+                if (pass == 1) {
+                    console.printf("%-10s %5d moves x %d clients | %8.0f deliveries/s | sender %6.1f us/broadcast"
+                                    + " | all delivered in %5.0f ms%n",
+                            mode, count, CLIENTS, (double) count * CLIENTS / (totalNanos / 1e9),
+                            sendNanos / 1e3 / count, totalNanos / 1e6);
+                }
+            }
+            assertThat(received.get()).isEqualTo(expected);
+        } finally {
+            System.setOut(console);
+            for (ClientConnection connection : accepted) {
+                connection.close();
+            }
+            for (Socket socket : sockets) {
+                socket.close();
+            }
+            if (directSocket != null) {
+                directSocket.close();
+            }
+            if (server != null) {
+                server.stop();
+            }
+        }
+    }
+
+    /**
+     * Server that keeps every accepted connection to itself instead of matching it into a room
+     */
+    private static ChessServer startCollectingServer(String transport, String flushDelayMs,
+                                                     Queue<ClientConnection> accepted) throws InterruptedException {
+        Properties properties = TestServerConfig.defaults();
+        properties.setProperty("server.transport", transport);
+        properties.setProperty("server.protocol.binary", "false");
+        properties.setProperty("connection.send.flush.delay.ms", flushDelayMs);
+        properties.setProperty("connection.send.max.queued.bytes", String.valueOf(16 * 1024 * 1024));
+        ChessServer server = new ChessServer(new ServerConfig(properties)) {
+            @Override
+            public boolean acceptConnection(ClientConnection connection) {
+                accepted.add(connection);
+                return true;
+            }
+        };
+        Thread serverThread = new Thread(() -> server.start(0), "bench-server");
+        serverThread.setDaemon(true);
+        serverThread.start();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (server.getLocalPort() <= 0) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Server did not start");
+            }
+            Thread.sleep(5);
+        }
+        return server;
+    }
+
+    private static void startLineCounter(Socket socket, AtomicLong received) {
+        Thread reader = new Thread(() -> {
+            byte[] buffer = new byte[8192];
+            try (InputStream in = socket.getInputStream()) {
+                int read;
+                while ((read = in.read(buffer)) > 0) {
+                    int lines = 0;
+                    for (int i = 0; i < read; i++) {
+                        if (buffer[i] == '\n') {
+                            lines++;
+                        }
+                    }
+                    received.addAndGet(lines);
+                }
+            } catch (IOException e) {
+                // closed at the end of the run
+            }
+        }, "bench-reader");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * The write path ClientHandler had before outbound queues - println with autoflush on the caller's thread
+     */
+    private static final class DirectConnection implements ClientConnection {
+        private final Socket socket;
+        private final String clientId;
+        private final PrintWriter writer;
+
+        DirectConnection(Socket socket, String clientId) throws IOException {
+            this.socket = socket;
+            this.clientId = clientId;
+            this.writer = new PrintWriter(socket.getOutputStream(), true);
+        }
+
+        @Override
+        public synchronized void sendMessage(String message) {
+            writer.println(message);
+            System.out.println("→ [TO " + clientId + "] " + message);
+        }
+
+        @Override
+        public String getClientId() {
+            return clientId;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return !socket.isClosed();
+        }
+
+        @Override
+        public void setPlayerRole(String role) {
+        }
+
+        @Override
+        public String getPlayerRole() {
+            return null;
+        }
+
+        @Override
+        public void close() {
+            writer.close();
+        }
+    }
+}
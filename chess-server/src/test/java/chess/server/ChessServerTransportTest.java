@@ -0,0 +1,317 @@
+package chess.server;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.SequenceInputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * End-to-end tests for every ServerTransport over real sockets
+ */
+@DisplayName("ChessServer Transport Tests")
+public class ChessServerTransportTest {
+
+    private ChessServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @ParameterizedTest(name = "{0} transport")
+    @ValueSource(strings = {"blocking", "virtual", "nio"})
+    @DisplayName("Should start a match and broadcast moves to both players")
+    void shouldPlayOverTransport(String transport) throws Exception {
+        // Given
+        server = startServer(TestServerConfig.withTransport(transport));
+
+        try (TestClient white = new TestClient(server.getLocalPort());
+             TestClient black = new TestClient(server.getLocalPort())) {
+            // When
+            white.awaitLine("GAME_START");
+            black.awaitLine("GAME_START");
+            white.send("W_SELECT_OR_MOVE");
+
+            // Then
+            assertThat(white.awaitLine("W_SELECT_OR_MOVE")).isTrue();
+            assertThat(black.awaitLine("W_SELECT_OR_MOVE")).isTrue();
+        }
+    }
+
+    @ParameterizedTest(name = "{0} transport")
+    @ValueSource(strings = {"blocking", "virtual", "nio"})
+    @DisplayName("Should play a binary client against a text client")
+    void shouldMixBinaryAndTextClients(String transport) throws Exception {
+        // Given
+        server = startServer(TestServerConfig.withTransport(transport));
+
+        try (TestClient white = new TestClient(server.getLocalPort())) {
+            // When - white takes the binary offer before black joins, black ignores it
+            assertThat(white.awaitLine(WireProtocol.OFFER)).isTrue();
+            white.send(WireProtocol.ACCEPT);
+            assertThat(white.awaitLine(WireProtocol.SWITCH)).isTrue();
+            TestClient black = new TestClient(server.getLocalPort());
+            assertThat(white.awaitTextFrame("GAME_START")).isTrue();
+            black.awaitLine("GAME_START");
+            white.sendFrame(WireProtocol.encode(new ServerCommand("W_MOVEMENT_UP")));
+            white.sendFrame(WireProtocol.encodeText("W_SELECT_OR_MOVE"));
+
+            // Then - the text client gets text, the binary client frames
+            assertThat(black.awaitLine("W_MOVEMENT_UP")).isTrue();
+            assertThat(black.awaitLine("W_SELECT_OR_MOVE")).isTrue();
+            ServerCommand echoed = white.readCommandFrame();
+            assertThat(echoed.getRawCommand()).isEqualTo("W_MOVEMENT_UP");
+            assertThat(white.readCommandFrame().getRawCommand()).isEqualTo("W_SELECT_OR_MOVE");
+            black.close();
+        }
+    }
+
+    @ParameterizedTest(name = "{0} transport")
+    @ValueSource(strings = {"blocking", "virtual", "nio"})
+    @DisplayName("Should free the player slot when a client disconnects")
+    void shouldRemoveDisconnectedClient(String transport) throws Exception {
+        // Given
+        server = startServer(TestServerConfig.withTransport(transport));
+        TestClient white = new TestClient(server.getLocalPort());
+        white.awaitLine("WAITING_FOR_PLAYER:Waiting for player");
+
+        // When
+        white.close();
+
+        // Then
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (server.getRoomManager().getClientCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(server.getRoomManager().getClientCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should give blocking clients a reader thread each and share the writer threads")
+    void shouldShareWriterThreads() throws Exception {
+        // Given - 2 writer threads (TestServerConfig)
+        int clients = 8;
+        long before = clientThreadCount();
+        server = startServer(TestServerConfig.withTransport("blocking"));
+        List<TestClient> connected = new ArrayList<>();
+
+        try {
+            // When
+            for (int i = 0; i < clients; i++) {
+                TestClient client = new TestClient(server.getLocalPort());
+                connected.add(client);
+                assertThat(client.awaitLine(WireProtocol.OFFER)).isTrue();
+            }
+
+            // Then - a writer thread per connection would make it 2 * clients
+            assertThat(clientThreadCount() - before).isLessThanOrEqualTo(clients + 2);
+        } finally {
+            for (TestClient client : connected) {
+                client.close();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep broadcasting to other rooms while more clients than writer threads stop reading")
+    void shouldNotStallOnClientsThatStopReading() throws Exception {
+        // Given - 2 writer threads (TestServerConfig), a queue limit the stalled clients never reach
+        Properties properties = TestServerConfig.defaults();
+        properties.setProperty("server.transport", "blocking");
+        properties.setProperty("connection.send.max.queued.bytes", String.valueOf(64 * 1024 * 1024));
+        properties.setProperty("connection.send.write.timeout.ms", "300");
+        server = startServer(new ServerConfig(properties));
+        int port = server.getLocalPort();
+
+        // Two rooms of clients that send long lines and never read the rejections they get back
+        List<Socket> stalled = new ArrayList<>();
+        byte[] line = new byte[8000];
+        Arrays.fill(line, (byte) 'X');
+        line[line.length - 1] = '\n';
+        try {
+            for (int i = 0; i < 4; i++) {
+                Socket socket = new Socket();
+                socket.setReceiveBufferSize(4096);
+                socket.connect(new InetSocketAddress("localhost", port));
+                stalled.add(socket);
+            }
+            // A match in a third room, seated before the stalled players' slots open up again
+            try (TestClient white = new TestClient(port); TestClient black = new TestClient(port)) {
+                assertThat(white.awaitLine("GAME_START")).isTrue();
+                assertThat(black.awaitLine("GAME_START")).isTrue();
+                for (Socket socket : stalled) {
+                    OutputStream output = socket.getOutputStream();
+                    for (int i = 0; i < 1000; i++) {
+                        output.write(line); // 8MB back, far past what the socket buffers hold
+                    }
+                    output.flush();
+                }
+
+                // When - the healthy match plays a move
+                long start = System.nanoTime();
+                white.send("W_SELECT_OR_MOVE");
+                assertThat(black.awaitLine("W_SELECT_OR_MOVE")).isTrue();
+                long deliveredMs = (System.nanoTime() - start) / 1_000_000;
+
+                // Then - held up by the write timeout at most, not until the stalled clients read
+                assertThat(deliveredMs).as("ms until the healthy room got its move").isLessThan(2_000);
+            }
+        } finally {
+            for (Socket socket : stalled) {
+                socket.close();
+            }
+        }
+    }
+
+    private static long clientThreadCount() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith("client-"))
+                .count();
+    }
+
+    /**
+     * Start a server on a free port and wait until it is listening
+     */
+    static ChessServer startServer(ServerConfig config) throws InterruptedException {
+        ChessServer server = new ChessServer(config);
+        Thread serverThread = new Thread(() -> server.start(0), "test-server");
+        serverThread.setDaemon(true);
+        serverThread.start();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (server.getLocalPort() <= 0) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Server did not start");
+            }
+            Thread.sleep(5);
+        }
+        return server;
+    }
+
+    /**
+     * Line-based socket client speaking the same protocol as ChessClient
+     */
+    static class TestClient implements AutoCloseable {
+        private final Socket socket;
+        private final BufferedReader reader;
+        private final PrintWriter writer;
+        private InputStream frameInput;
+        private final WireProtocol.FrameReader frames = new WireProtocol.FrameReader();
+
+        TestClient(int port) throws IOException {
+            socket = new Socket("localhost", port);
+            socket.setSoTimeout(5_000);
+            // One char per byte, so bytes read ahead of a protocol switch can be handed to the frame reader
+            reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+            writer = new PrintWriter(socket.getOutputStream(), true);
+        }
+
+        void sendFrame(byte[] frame) throws IOException {
+            socket.getOutputStream().write(frame);
+        }
+
+        /**
+         * Read frames until a text frame with the message arrives - after SWITCH was read as a line
+         */
+        boolean awaitTextFrame(String expected) throws IOException {
+            while (readFrame()) {
+                boolean text = frames.body()[0] == WireProtocol.OP_TEXT;
+                boolean match = text && WireProtocol.decodeText(frames.body(), frames.length()).equals(expected);
+                frames.next();
+                if (match) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Next command frame, skipping text frames
+         */
+        ServerCommand readCommandFrame() throws IOException {
+            while (readFrame()) {
+                ServerCommand command = WireProtocol.decodeCommand(frames.body(), frames.length(),
+                        System.currentTimeMillis());
+                frames.next();
+                if (command != null) {
+                    return command;
+                }
+            }
+            return null;
+        }
+
+        private boolean readFrame() throws IOException {
+            if (frameInput == null) {
+                // Bytes the line reader already buffered come first
+                StringBuilder buffered = new StringBuilder();
+                char[] chunk = new char[256];
+                while (reader.ready()) {
+                    buffered.append(chunk, 0, reader.read(chunk));
+                }
+                frameInput = new SequenceInputStream(
+                        new ByteArrayInputStream(buffered.toString().getBytes(StandardCharsets.ISO_8859_1)),
+                        socket.getInputStream());
+            }
+            return frames.read(frameInput);
+        }
+
+        void send(String line) {
+            writer.println(line);
+        }
+
+        /**
+         * Read lines until the expected one arrives
+         */
+        boolean awaitLine(String expected) throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.equals(expected)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Read lines until one starting with the prefix arrives
+         */
+        boolean awaitLinePrefix(String prefix) throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        String readLine() throws IOException {
+            return reader.readLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package chess.server;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the scheduled connection handshake
+ * A returning player must be playable again quickly, however long the match has been running,
+ * and a resync must not hold up accepting other clients
+ */
+@DisplayName("ConnectionHandshake Tests")
+public class ConnectionHandshakeTest {
+
+    private static final int HISTORY_MOVES = 10_000;
+
+    private ChessServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should resync a player returning after 10,000 moves with one snapshot and a short tail")
+    void shouldResyncFromSnapshot() throws Exception {
+        // Given - a running match with a long history
+        server = ChessServerTransportTest.startServer(new ServerConfig(TestServerConfig.defaults()));
+        int port = server.getLocalPort();
+
+        ChessServerTransportTest.TestClient white = new ChessServerTransportTest.TestClient(port);
+        ChessServerTransportTest.TestClient black = new ChessServerTransportTest.TestClient(port);
+        white.awaitLine("GAME_START");
+        black.awaitLine("GAME_START");
+        for (int i = 0; i < HISTORY_MOVES; i++) {
+            white.send(i % 2 == 0 ? "W_MOVEMENT_LEFT" : "W_MOVEMENT_RIGHT");
+        }
+        GameRoom room = server.getRoomManager().getRoom("Room-1");
+        awaitCondition(() -> room.getMovesPlayed() == HISTORY_MOVES);
+
+        black.close();
+        awaitCondition(() -> room.getClientCount() == 1);
+
+        // When - black comes back and moves as soon as it got GAME_START
+        long start = System.nanoTime();
+        ChessServerTransportTest.TestClient returning = new ChessServerTransportTest.TestClient(port);
+        assertThat(returning.awaitLine("PLAYER_ROLE:BLACK")).isTrue();
+        String snapshot = returning.readLine();
+        int tail = 0;
+        while (!"GAME_START".equals(returning.readLine())) {
+            tail++;
+        }
+        returning.send("B_MOVEMENT_RIGHT");
+        assertThat(returning.awaitLine("B_MOVEMENT_RIGHT")).isTrue();
+        long playableMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Then - the snapshot and the tail cover the whole history, white's cursor is back where it started
+        assertThat(snapshot).startsWith("BOARD_SNAPSHOT:");
+        String[] parts = snapshot.split(":");
+        assertThat(Integer.parseInt(parts[1]) + tail).isEqualTo(HISTORY_MOVES);
+        assertThat(tail).isLessThan(64);
+        assertThat(snapshot).endsWith(":7,7,-1,0,0,0:0,0,-1,0,0,0:");
+        assertThat(playableMs).as("ms until playable again").isLessThan(2_000);
+
+        white.close();
+        returning.close();
+    }
+
+    @Test
+    @DisplayName("Should accept new clients quickly while a player returning after 10,000 moves is resynced")
+    void shouldAcceptWhileResyncing() throws Exception {
+        // Given - a running match with a long history
+        server = ChessServerTransportTest.startServer(new ServerConfig(TestServerConfig.defaults()));
+        int port = server.getLocalPort();
+
+        ChessServerTransportTest.TestClient white = new ChessServerTransportTest.TestClient(port);
+        ChessServerTransportTest.TestClient black = new ChessServerTransportTest.TestClient(port);
+        white.awaitLine("GAME_START");
+        black.awaitLine("GAME_START");
+        for (int i = 0; i < HISTORY_MOVES; i++) {
+            white.send("W_HOVER_UP");
+        }
+        GameRoom room = server.getRoomManager().getRoom("Room-1");
+        awaitCondition(() -> room.getMovesPlayed() == HISTORY_MOVES);
+
+        black.close();
+        awaitCondition(() -> room.getClientCount() == 1);
+
+        // When - black comes back and other clients connect during its resync
+        ChessServerTransportTest.TestClient returning = new ChessServerTransportTest.TestClient(port);
+        assertThat(returning.awaitLine("PLAYER_ROLE:BLACK")).isTrue();
+
+        long worstAcceptMs = 0;
+        for (int i = 0; i < 10; i++) {
+            long start = System.nanoTime();
+            try (ChessServerTransportTest.TestClient newcomer = new ChessServerTransportTest.TestClient(port)) {
+                assertThat(newcomer.awaitLinePrefix("PLAYER_ROLE:")).isTrue();
+            }
+            worstAcceptMs = Math.max(worstAcceptMs, (System.nanoTime() - start) / 1_000_000);
+        }
+
+        // Then - the resync is complete and in order, and nobody waited for it
+        String snapshot = returning.readLine();
+        int replayed = 0;
+        String line;
+        while (!"GAME_START".equals(line = returning.readLine())) {
+            if ("W_HOVER_UP".equals(line)) {
+                replayed++;
+            }
+        }
+
+        assertThat(snapshot).startsWith("BOARD_SNAPSHOT:");
+        assertThat(Integer.parseInt(snapshot.split(":")[1]) + replayed).isEqualTo(HISTORY_MOVES);
+        assertThat(worstAcceptMs).as("worst accept latency ms").isLessThan(500);
+
+        white.close();
+        returning.close();
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Condition not met in time");
+            }
+            Thread.sleep(5);
+        }
+    }
+}
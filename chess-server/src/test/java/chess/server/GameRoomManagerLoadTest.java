@@ -0,0 +1,288 @@
+package chess.server;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Load tests for GameRoomManager
+ * Runs thousands of matches in one process and checks that rooms never leak into each other
+ */
+@DisplayName("GameRoomManager Load Tests")
+public class GameRoomManagerLoadTest {
+
+    private static final int MATCHES = 5_000;
+    private static final int SPECTATORS = 1_000;
+    private static final String START_SNAPSHOT = "rnbkqbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBKQBNR";
+
+    private GameRoomManager roomManager;
+
+    @BeforeEach
+    void setUp() {
+        roomManager = new GameRoomManager(TestServerConfig.create());
+    }
+
+    @Test
+    @DisplayName("Should pair 10,000 clients into 5,000 started matches")
+    void shouldPairClientsIntoMatches() throws Exception {
+        // Given & When
+        List<FakeConnection> connections = connectClients(MATCHES * 2);
+
+        // Then
+        assertThat(roomManager.getRoomCount()).isEqualTo(MATCHES);
+        assertThat(roomManager.getClientCount()).isEqualTo(MATCHES * 2);
+        for (int i = 0; i < connections.size(); i += 2) {
+            FakeConnection white = connections.get(i);
+            FakeConnection black = connections.get(i + 1);
+            assertThat(white.getPlayerRole()).isEqualTo("WHITE");
+            assertThat(black.getPlayerRole()).isEqualTo("BLACK");
+            assertThat(roomManager.getRoomForClient(white.getClientId()))
+                    .isSameAs(roomManager.getRoomForClient(black.getClientId()));
+            assertThat(white.received).contains("WAITING_FOR_PLAYER:Waiting for player", "GAME_START");
+            assertThat(black.received).contains("CLEAR_WAITING", "GAME_START");
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep moves inside their own room")
+    void shouldIsolateRooms() throws Exception {
+        // Given
+        List<FakeConnection> connections = connectClients(MATCHES * 2);
+
+        // When - every white player makes one move
+        for (int i = 0; i < connections.size(); i += 2) {
+            roomManager.handleClientMessage(connections.get(i).getClientId(), "W_SELECT_OR_MOVE");
+        }
+
+        // Then - each client saw exactly the one move of its own match
+        for (FakeConnection connection : connections) {
+            assertThat(connection.received.stream().filter(m -> m.startsWith("W_")).count()).isEqualTo(1);
+            GameRoom room = roomManager.getRoomForClient(connection.getClientId());
+            assertThat(room.getMoveTail()).containsExactly("W_SELECT_OR_MOVE");
+        }
+    }
+
+    @Test
+    @DisplayName("Should send a returning player back to the match missing a player")
+    void shouldRejoinMatchMissingPlayer() throws Exception {
+        // Given
+        List<FakeConnection> connections = connectClients(6);
+        FakeConnection black = connections.get(3);
+        GameRoom room = roomManager.getRoomForClient(black.getClientId());
+        roomManager.handleClientMessage(black.getClientId(), "B_SELECT_OR_MOVE");
+
+        // When
+        roomManager.removeClient(black.getClientId());
+        FakeConnection returning = new FakeConnection("Returning");
+        roomManager.connect(returning);
+
+        // Then
+        assertThat(roomManager.getRoomForClient("Returning")).isSameAs(room);
+        assertThat(returning.getPlayerRole()).isEqualTo("BLACK");
+        assertThat(returning.received).containsSubsequence("B_SELECT_OR_MOVE", "GAME_START");
+        assertThat(roomManager.getRoomCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should feed 1,000 spectators a snapshot and then every move of their match")
+    void shouldFeedSpectators() throws Exception {
+        // Given - a running match with one move played
+        List<FakeConnection> players = connectClients(2);
+        GameRoom room = roomManager.getRoomForClient(players.get(0).getClientId());
+        roomManager.handleClientMessage(players.get(0).getClientId(), "W_MOVEMENT_UP");
+
+        // When - spectators ask to watch before their handshake seats them, then play goes on
+        List<FakeConnection> spectators = new ArrayList<>(SPECTATORS);
+        for (int i = 0; i < SPECTATORS; i++) {
+            FakeConnection spectator = new FakeConnection("Spectator-" + i);
+            roomManager.handleClientMessage(spectator.getClientId(), "SPECTATE");
+            roomManager.connect(spectator);
+            spectators.add(spectator);
+        }
+        roomManager.handleClientMessage(players.get(0).getClientId(), "W_SELECT_OR_MOVE");
+        roomManager.handleClientMessage(players.get(1).getClientId(), "B_MOVEMENT_RIGHT");
+        await(() -> room.getSpectatorFeed().getDeliveredCount() == SPECTATORS * 5L);
+
+        // Then
+        assertThat(room.getClientCount()).isEqualTo(2);
+        assertThat(room.getSpectatorCount()).isEqualTo(SPECTATORS);
+        assertThat(roomManager.getRoomCount()).isEqualTo(1);
+        for (FakeConnection spectator : spectators) {
+            assertThat(spectator.getPlayerRole()).isEqualTo("SPECTATOR");
+            assertThat(spectator.received).containsExactly("PLAYER_ROLE:SPECTATOR",
+                    "BOARD_SNAPSHOT:1:" + START_SNAPSHOT + ":7,6,-1,0,0,0:0,0,-1,0,0,0:", "GAME_START",
+                    "W_SELECT_OR_MOVE", "B_MOVEMENT_RIGHT");
+        }
+        assertThat(players.get(0).received).doesNotContain("PLAYER_ROLE:SPECTATOR");
+    }
+
+    @Test
+    @DisplayName("Should send a lagging spectator a fresh snapshot instead of the moves it missed")
+    void shouldDownsampleLaggingSpectator() throws Exception {
+        // Given - a spectator whose socket stopped draining
+        List<FakeConnection> players = connectClients(2);
+        GameRoom room = roomManager.getRoomForClient(players.get(0).getClientId());
+        FakeConnection slow = new FakeConnection("Slow");
+        roomManager.spectate(slow, room.getRoomId());
+        slow.queuedBytes = 1_000_000;
+
+        // When - it misses two moves, then its socket drains while the match is quiet
+        roomManager.handleClientMessage(players.get(0).getClientId(), "W_MOVEMENT_UP");
+        roomManager.handleClientMessage(players.get(1).getClientId(), "B_MOVEMENT_RIGHT");
+        await(() -> room.getSpectatorFeed().getSkippedCount() == 2);
+        slow.drain();
+        await(() -> room.getSpectatorFeed().getDeliveredCount() == 4);
+        roomManager.handleClientMessage(players.get(0).getClientId(), "W_MOVEMENT_LEFT");
+        await(() -> room.getSpectatorFeed().getDeliveredCount() == 5);
+
+        // Then - the snapshot holds both missed moves, the next move follows it as usual
+        assertThat(room.getSpectatorFeed().getSkippedCount()).isEqualTo(2);
+        assertThat(slow.received).containsExactly("PLAYER_ROLE:SPECTATOR",
+                "BOARD_SNAPSHOT:0:" + START_SNAPSHOT + ":7,7,-1,0,0,0:0,0,-1,0,0,0:", "GAME_START",
+                "BOARD_SNAPSHOT:2:" + START_SNAPSHOT + ":7,6,-1,0,0,0:1,0,-1,0,0,0:", "W_MOVEMENT_LEFT");
+    }
+
+    @Test
+    @DisplayName("Should seat a would-be spectator as a player when no match is running")
+    void shouldPlayWhenNothingToWatch() throws Exception {
+        // Given
+        FakeConnection client = new FakeConnection("Watcher");
+
+        // When
+        roomManager.handleClientMessage(client.getClientId(), "SPECTATE");
+        roomManager.connect(client);
+
+        // Then
+        assertThat(client.getPlayerRole()).isEqualTo("WHITE");
+        assertThat(client.received).startsWith("SPECTATE_REJECTED:No running match", "PLAYER_ROLE:WHITE");
+    }
+
+    @Test
+    @DisplayName("Should keep per-match memory footprint under 256 KB")
+    void shouldMeasurePerMatchFootprint() throws Exception {
+        // Given
+        long before = usedHeap();
+
+        // When
+        List<FakeConnection> connections = connectClients(MATCHES * 2);
+        long after = usedHeap();
+
+        // Then
+        long bytesPerMatch = (after - before) / MATCHES;
+        assertThat(connections).hasSize(MATCHES * 2);
+        assertThat(roomManager.getRoomCount()).isEqualTo(MATCHES);
+        assertThat(bytesPerMatch).as("bytes per match").isLessThan(256 * 1024);
+    }
+
+    private List<FakeConnection> connectClients(int count) throws InterruptedException {
+        List<FakeConnection> connections = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            FakeConnection connection = new FakeConnection("Client-" + i);
+            roomManager.connect(connection);
+            connections.add(connection);
+        }
+        return connections;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Timed out waiting for the spectator feed");
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * In-memory client connection that records what the server sent
+     */
+    static class FakeConnection implements ClientConnection {
+        final List<String> received = new ArrayList<>();
+        private final String clientId;
+        private volatile boolean running = true;
+        private String playerRole;
+        volatile int queuedBytes;
+        private Runnable drainCallback;
+
+        FakeConnection(String clientId) {
+            this.clientId = clientId;
+        }
+
+        /**
+         * The socket took everything queued - runs the callback the writer would
+         */
+        void drain() {
+            Runnable callback;
+            synchronized (this) {
+                queuedBytes = 0;
+                callback = drainCallback;
+                drainCallback = null;
+            }
+            if (callback != null) {
+                callback.run();
+            }
+        }
+
+        @Override
+        public synchronized void sendMessage(String message) {
+            received.add(message);
+        }
+
+        @Override
+        public int getQueuedBytes() {
+            return queuedBytes;
+        }
+
+        @Override
+        public void whenDrained(int bytes, Runnable callback) {
+            synchronized (this) {
+                if (queuedBytes > bytes) {
+                    drainCallback = callback;
+                    return;
+                }
+            }
+            callback.run();
+        }
+
+        @Override
+        public String getClientId() {
+            return clientId;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+
+        @Override
+        public void setPlayerRole(String role) {
+            this.playerRole = role;
+        }
+
+        @Override
+        public String getPlayerRole() {
+            return playerRole;
+        }
+
+        @Override
+        public void close() {
+            running = false;
+        }
+    }
+}
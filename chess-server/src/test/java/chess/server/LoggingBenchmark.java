@@ -0,0 +1,155 @@
+package chess.server;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+
+/**
+ * Logging benchmark - commands per second through one match with the server's logging on
+ * "println" writes every line on the calling thread at DEBUG, as the unconditional System.out.println
+ * calls did before; "async:LEVEL" goes through the async appender from logback.xml at that level.
+ * Console output goes to a file, flushed per line like a terminal.
+ * Excluded from the default build, run with: mvn test -Pbenchmark
+ * Sizes: -Dbench.loggedCommands=20000
+ */
+@Tag("benchmark")
+@DisplayName("Logging Benchmark")
+public class LoggingBenchmark {
+
+    private static final int COMMANDS = Integer.getInteger("bench.loggedCommands", 20_000);
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {"println", "async:DEBUG", "async:INFO"})
+    @DisplayName("Commands per second")
+    void benchmarkLogging(String mode) throws Exception {
+        ch.qos.logback.classic.Logger root =
+                (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+        AsyncAppender configured = (AsyncAppender) root.getAppender("ASYNC");
+        Appender<ILoggingEvent> console = configured.getAppender("CONSOLE");
+        Appender<ILoggingEvent> measured = console;
+        File output = File.createTempFile("logging-benchmark", ".log");
+        PrintStream stdout = System.out;
+        ChessServer server = null;
+        try (PrintStream file = new PrintStream(new FileOutputStream(output), true)) {
+            System.setOut(file);
+            if (mode.equals("println")) {
+                ServerLogging.setRootLevel(Level.DEBUG);
+            } else {
+                // Same settings as logback.xml, on an appender of its own so stopping it flushes this run's lines
+                measured = asyncLike(configured, console);
+                ServerLogging.setRootLevel(Level.toLevel(mode.substring("async:".length())));
+            }
+            root.detachAppender(configured);
+            root.addAppender(measured);
+
+            server = ChessServerTransportTest.startServer(TestServerConfig.create());
+            try (Socket white = new Socket("localhost", server.getLocalPort());
+                 Socket black = new Socket("localhost", server.getLocalPort())) {
+                CountDownLatch started = new CountDownLatch(2);
+                AtomicLong whiteEchoes = startCommandCounter(white, started);
+                AtomicLong blackEchoes = startCommandCounter(black, started);
+                assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+                PrintWriter writer = new PrintWriter(white.getOutputStream(), false);
+
+                long start = System.nanoTime();
+                for (int i = 0; i < COMMANDS; i++) {
+                    writer.println(i % 2 == 0 ? "W_MOVEMENT_UP" : "W_MOVEMENT_DOWN");
+                    if (i % 64 == 63) {
+                        writer.flush();
+                    }
+                }
+                writer.flush();
+                long deadline = System.currentTimeMillis() + 120_000;
+                while ((whiteEchoes.get() < COMMANDS || blackEchoes.get() < COMMANDS)
+                        && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(1);
+                }
+                double seconds = (System.nanoTime() - start) / 1e9;
+
+                // Put the configured appender back, then let this run's async appender write out its queue
+                root.detachAppender(measured);
+                root.addAppender(configured);
+                if (measured != console) {
+                    measured.stop();
+                }
+
+                assertThat(blackEchoes.get()).isEqualTo(COMMANDS);
+                stdout.printf("%n=== %s ===%n", mode);
+                stdout.printf("%d commands in %.2f s: %.0f commands/s, %d KB of log%n",
+                        COMMANDS, seconds, COMMANDS / seconds, output.length() / 1024);
+            }
+        } finally {
+            ServerLogging.setRootLevel(Level.INFO);
+            System.setOut(stdout);
+            if (root.getAppender("ASYNC") == null) {
+                root.detachAppender(measured);
+                root.addAppender(configured);
+            }
+            if (server != null) {
+                server.stop();
+            }
+            output.delete();
+        }
+    }
+
+    private static AsyncAppender asyncLike(AsyncAppender configured, Appender<ILoggingEvent> console) {
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(configured.getContext());
+        async.setQueueSize(configured.getQueueSize());
+        async.setDiscardingThreshold(configured.getDiscardingThreshold());
+        async.setNeverBlock(configured.isNeverBlock());
+        async.setMaxFlushTime(60_000);
+        async.addAppender(console);
+        async.start();
+        return async;
+    }
+
+    /**
+     * Count the echoed W_ commands a client receives, counting down started on GAME_START
+     */
+    private static AtomicLong startCommandCounter(Socket socket, CountDownLatch started) throws IOException {
+        AtomicLong count = new AtomicLong();
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        Thread thread = new Thread(() -> {
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith("W_")) {
+                        count.incrementAndGet();
+                    } else if (line.equals("GAME_START")) {
+                        started.countDown();
+                    }
+                }
+            } catch (IOException e) {
+                // Socket closed at the end of the run
+            }
+        }, "logging-benchmark-reader");
+        thread.setDaemon(true);
+        thread.start();
+        return count;
+    }
+}
@@ -0,0 +1,109 @@
+package chess.server;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the per-client outgoing message queue
+ */
+@DisplayName("Outbound Queue Tests")
+public class OutboundQueueTest {
+
+    @Test
+    @DisplayName("Should drain every queued message into one batch, in order")
+    void shouldDrainInOneBatch() {
+        // Given
+        OutboundQueue queue = new OutboundQueue(1024);
+        queue.add(bytes("W_MOVEMENT_UP\n"));
+        queue.add(bytes("B_JUMP\n"));
+        queue.add(bytes("CLEAR_WAITING\n"));
+
+        // When
+        ByteBuffer batch = queue.drain();
+        int drainedBytes = queue.getQueuedBytes();
+        queue.written(batch.remaining());
+
+        // Then
+        assertThat(text(batch)).isEqualTo("W_MOVEMENT_UP\nB_JUMP\nCLEAR_WAITING\n");
+        assertThat(drainedBytes).isEqualTo(batch.remaining());
+        assertThat(queue.getQueuedBytes()).isZero();
+        assertThat(queue.isEmpty()).isTrue();
+        assertThat(queue.drain()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should refuse messages once the client is too far behind, counting bytes until written")
+    void shouldRefuseBeyondLimit() {
+        // Given
+        OutboundQueue queue = new OutboundQueue(16);
+
+        // When
+        boolean first = queue.add(bytes("W_MOVEMENT_UP\n"));
+        boolean second = queue.add(bytes("B_JUMP\n"));
+        ByteBuffer batch = queue.drain();
+        boolean afterDrain = queue.add(bytes("B_JUMP\n"));
+        queue.written(7); // the socket took half the batch
+        boolean afterPartialWrite = queue.add(bytes("B_JUMP\n"));
+        queue.written(batch.remaining() - 7);
+        boolean afterWrite = queue.add(bytes("B_JUMP\n"));
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(afterDrain).isFalse();
+        assertThat(afterPartialWrite).isTrue();
+        assertThat(afterWrite).isTrue();
+        assertThat(queue.getQueuedBytes()).isEqualTo(14);
+    }
+
+    @Test
+    @DisplayName("Should run a drain callback once the writer brought the queue down far enough")
+    void shouldCallBackWhenDrained() {
+        // Given
+        OutboundQueue queue = new OutboundQueue(1024);
+        queue.add(bytes("W_MOVEMENT_UP\n"));
+        queue.add(bytes("B_JUMP\n"));
+        int[] calls = {0};
+        queue.whenDrained(7, () -> calls[0]++);
+        ByteBuffer batch = queue.drain();
+
+        // When
+        queue.written(7);
+        int afterHalf = calls[0];
+        queue.written(batch.remaining() - 7);
+        queue.written(0);
+
+        // Then
+        assertThat(afterHalf).isZero();
+        assertThat(calls[0]).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should drop what is queued and refuse more once closed")
+    void shouldRefuseOnceClosed() {
+        // Given
+        OutboundQueue queue = new OutboundQueue(1024);
+        queue.add(bytes("W_HOVER_UP\n"));
+
+        // When
+        queue.close();
+
+        // Then
+        assertThat(queue.drain()).isNull();
+        assertThat(queue.getQueuedBytes()).isZero();
+        assertThat(queue.add(bytes("B_JUMP\n"))).isFalse();
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(ByteBuffer batch) {
+        return new String(batch.array(), batch.position(), batch.remaining(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,93 @@
+package chess.server;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Rules engine benchmark - commands validated per second on one thread
+ * Excluded from the default build, run with: mvn test -Pbenchmark
+ * Size: -Dbench.commands=20000000
+ */
+@Tag("benchmark")
+@DisplayName("Server Rules Engine Benchmark")
+public class RulesEngineBenchmark {
+
+    private static final int COMMANDS = Integer.getInteger("bench.commands", 20_000_000);
+    private static final int WARMUP = COMMANDS / 4;
+
+    // Mix of accepted and rejected commands for both players: cursor moves, selections,
+    // a blocked rook move, a jump and its cooldown rejection
+    private static final String[] SCRIPT = {
+            "W_MOVEMENT_LEFT", "B_MOVEMENT_RIGHT", "W_MOVEMENT_RIGHT", "B_MOVEMENT_LEFT",
+            "W_SELECT_OR_MOVE", "B_SELECT_OR_MOVE", "W_MOVEMENT_UP", "B_MOVEMENT_DOWN",
+            "W_SELECT_OR_MOVE", "B_SELECT_OR_MOVE", "W_MOVEMENT_DOWN", "B_MOVEMENT_UP",
+            "W_SELECT_OR_MOVE", "B_SELECT_OR_MOVE", "W_JUMP", "B_JUMP",
+            "W_HOVER_UP", "B_HOVER_DOWN", "W_HOVER_DOWN", "B_HOVER_UP"
+    };
+
+    @Test
+    @DisplayName("Validate and apply pre-parsed commands")
+    void benchmarkApplyCommand() {
+        ServerCommand[] commands = new ServerCommand[SCRIPT.length];
+        for (int i = 0; i < SCRIPT.length; i++) {
+            commands[i] = new ServerCommand(SCRIPT[i]);
+        }
+        long[] now = {0};
+        ServerChessLogic logic = new ServerChessLogic(() -> now[0]);
+
+        run(logic, commands, now, WARMUP);
+        long start = System.nanoTime();
+        int accepted = run(logic, commands, now, COMMANDS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        double perSecond = COMMANDS / seconds;
+        System.out.printf("applyCommand: %,d commands in %.2fs = %,.0f commands/s (%d%% accepted)%n",
+                COMMANDS, seconds, perSecond, accepted * 100L / COMMANDS);
+        assertThat(perSecond).isGreaterThan(1_000_000);
+    }
+
+    @Test
+    @DisplayName("Parse, validate and apply raw command strings")
+    void benchmarkParseAndApply() {
+        long[] now = {0};
+        ServerChessLogic logic = new ServerChessLogic(() -> now[0]);
+
+        parseAndRun(logic, now, WARMUP);
+        long start = System.nanoTime();
+        int accepted = parseAndRun(logic, now, COMMANDS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("parse + applyCommand: %,d commands in %.2fs = %,.0f commands/s (%d%% accepted)%n",
+                COMMANDS, seconds, COMMANDS / seconds, accepted * 100L / COMMANDS);
+    }
+
+    private static int run(ServerChessLogic logic, ServerCommand[] commands, long[] now, int count) {
+        int accepted = 0;
+        for (int i = 0; i < count; i++) {
+            // 1ms of game time per script pass so cooldowns expire now and then
+            if (i % SCRIPT.length == 0) {
+                now[0]++;
+            }
+            if (logic.applyCommand(commands[i % commands.length])) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+
+    private static int parseAndRun(ServerChessLogic logic, long[] now, int count) {
+        int accepted = 0;
+        for (int i = 0; i < count; i++) {
+            if (i % SCRIPT.length == 0) {
+                now[0]++;
+            }
+            if (logic.applyCommand(new ServerCommand(SCRIPT[i % SCRIPT.length]))) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+}
@@ -0,0 +1,142 @@
+package chess.server;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Board benchmark - bitboard ServerBoard against the old String grid
+ * Excluded from the default build, run with: mvn test -Pbenchmark
+ * Size: -Dbench.boardOps=20000000
+ */
+@Tag("benchmark")
+@DisplayName("Server Board Benchmark")
+public class ServerBoardBenchmark {
+
+    private static final int OPS = Integer.getInteger("bench.boardOps", 20_000_000);
+    private static final int COPIES = OPS / 20;
+
+    // Line moves (rook/bishop/queen shaped) on the starting position, half of them blocked
+    private static final int[][] PATHS = buildPaths();
+
+    @Test
+    @DisplayName("Occupancy checks")
+    void benchmarkOccupancy() {
+        ServerBoard bits = new ServerBoard(8, 8);
+        StringGridBoard grid = new StringGridBoard(bits);
+
+        long gridHits = 0;
+        long bitHits = 0;
+        for (int pass = 0; pass < 2; pass++) { // first pass is warm-up
+            long start = System.nanoTime();
+            gridHits = 0;
+            for (int i = 0; i < OPS; i++) {
+                if (grid.isOccupied(i & 7, (i >>> 3) & 7)) {
+                    gridHits++;
+                }
+            }
+            long gridNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            bitHits = 0;
+            for (int i = 0; i < OPS; i++) {
+                if (bits.isOccupied(i & 7, (i >>> 3) & 7)) {
+                    bitHits++;
+                }
+            }
+            long bitNanos = System.nanoTime() - start;
+            report(pass, "occupancy", OPS, gridNanos, bitNanos);
+        }
+        assertThat(bitHits).isEqualTo(gridHits);
+    }
+
+    @Test
+    @DisplayName("Path-blocked tests")
+    void benchmarkPathBlocked() {
+        ServerBoard bits = new ServerBoard(8, 8);
+        StringGridBoard grid = new StringGridBoard(bits);
+
+        long gridBlocked = 0;
+        long bitBlocked = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            long start = System.nanoTime();
+            gridBlocked = 0;
+            for (int i = 0; i < OPS; i++) {
+                int[] path = PATHS[i % PATHS.length];
+                if (grid.isPathBlocked(path[0], path[1], path[2], path[3])) {
+                    gridBlocked++;
+                }
+            }
+            long gridNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            bitBlocked = 0;
+            for (int i = 0; i < OPS; i++) {
+                int[] path = PATHS[i % PATHS.length];
+                if (bits.isPathBlocked(path[0], path[1], path[2], path[3])) {
+                    bitBlocked++;
+                }
+            }
+            long bitNanos = System.nanoTime() - start;
+            report(pass, "path blocked", OPS, gridNanos, bitNanos);
+        }
+        assertThat(bitBlocked).isEqualTo(gridBlocked);
+    }
+
+    @Test
+    @DisplayName("Full-board copies")
+    void benchmarkCopy() {
+        ServerBoard bits = new ServerBoard(8, 8);
+        StringGridBoard grid = new StringGridBoard(bits);
+
+        int sink = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < COPIES; i++) {
+                sink += grid.copy().getPieceAt(i & 7, 0).length();
+            }
+            long gridNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < COPIES; i++) {
+                sink += bits.copy().getPieceCodeAt(i & 7, 0);
+            }
+            long bitNanos = System.nanoTime() - start;
+            report(pass, "board copy", COPIES, gridNanos, bitNanos);
+        }
+        assertThat(sink).isNotZero();
+    }
+
+    private static void report(int pass, String name, int ops, long gridNanos, long bitNanos) {
+        if (pass == 0) {
+            return;
+        }
+        System.out.printf("%-13s String grid %6.2f ns/op | bitboard %6.2f ns/op | %.1fx%n",
+                name, (double) gridNanos / ops, (double) bitNanos / ops, (double) gridNanos / bitNanos);
+    }
+
+    private static int[][] buildPaths() {
+        Random random = new Random(7);
+        int[][] paths = new int[1024][];
+        for (int i = 0; i < paths.length; i++) {
+            int fromX = random.nextInt(8);
+            int fromY = random.nextInt(8);
+            int stepX = random.nextInt(3) - 1;
+            int stepY = random.nextInt(3) - 1;
+            if (stepX == 0 && stepY == 0) {
+                stepY = 1;
+            }
+            int length = 1 + random.nextInt(7);
+            int toX = Math.max(0, Math.min(7, fromX + stepX * length));
+            int toY = Math.max(0, Math.min(7, fromY + stepY * length));
+            // Clamping can leave the line - pull the target back onto it
+            int steps = Math.min(stepX == 0 ? 7 : Math.abs(toX - fromX), stepY == 0 ? 7 : Math.abs(toY - fromY));
+            paths[i] = new int[] {fromX, fromY, fromX + stepX * steps, fromY + stepY * steps};
+        }
+        return paths;
+    }
+}
@@ -0,0 +1,152 @@
+package chess.server;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the bitboard-backed ServerBoard
+ */
+@DisplayName("Server Board Tests")
+public class ServerBoardTest {
+
+    @Test
+    @DisplayName("Should start from the client's board.csv layout")
+    void shouldStartFromClientLayout() {
+        // Given
+        ServerBoard board = new ServerBoard(8, 8);
+
+        // When & Then
+        assertThat(board.getPieceAt(3, 7)).isEqualTo("WHITE_KING");
+        assertThat(board.getPieceAt(4, 7)).isEqualTo("WHITE_QUEEN");
+        assertThat(board.getPieceAt(5, 7)).isEqualTo("WHITE_BISHOP");
+        assertThat(board.getPieceAt(3, 0)).isEqualTo("BLACK_KING");
+        assertThat(board.getPieceAt(6, 1)).isEqualTo("BLACK_PAWN");
+        assertThat(board.getPieceAt(4, 4)).isEqualTo("EMPTY");
+        assertThat(board.getPieceAt(8, 0)).isEqualTo("OUT_OF_BOUNDS");
+    }
+
+    @Test
+    @DisplayName("Should write the position in the client's board.csv format")
+    void shouldWriteBoardCsv() {
+        // Given
+        ServerBoard board = new ServerBoard(8, 8);
+        board.setPieceAt(4, 6, "EMPTY");
+        board.setPieceAt(4, 4, "WHITE_PAWN");
+
+        // When
+        List<String> rows = board.getBoardCsv();
+
+        // Then
+        assertThat(rows).hasSize(8);
+        assertThat(rows.get(0)).isEqualTo("RB,NB,BB,KB,QB,BB,NB,RB");
+        assertThat(rows.get(4)).isEqualTo(",,,,PW,,,");
+        assertThat(rows.get(6)).isEqualTo("PW,PW,PW,PW,,PW,PW,PW");
+        assertThat(rows.get(7)).isEqualTo("RW,NW,BW,KW,QW,BW,NW,RW");
+    }
+
+    @Test
+    @DisplayName("Should write the position as FEN piece placement")
+    void shouldWritePlacement() {
+        // Given
+        ServerBoard board = new ServerBoard(8, 8);
+        board.setPieceAt(4, 6, "EMPTY");
+        board.setPieceAt(4, 4, "WHITE_PAWN");
+
+        // When
+        String placement = board.getPlacement();
+
+        // Then
+        assertThat(placement).isEqualTo("rnbkqbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBKQBNR");
+    }
+
+    @Test
+    @DisplayName("Should set, replace and clear pieces through the String API")
+    void shouldSetAndClearPieces() {
+        // Given
+        ServerBoard board = new ServerBoard(8, 8);
+
+        // When
+        board.setPieceAt(4, 4, "BLACK_QUEEN");
+        board.setPieceAt(0, 0, "WHITE_KNIGHT");
+        board.setPieceAt(0, 1, "EMPTY");
+
+        // Then
+        assertThat(board.getPieceAt(4, 4)).isEqualTo("BLACK_QUEEN");
+        assertThat(board.getPieceAt(0, 0)).isEqualTo("WHITE_KNIGHT");
+        assertThat(board.isOccupied(0, 1)).isFalse();
+        assertThatThrownBy(() -> board.setPieceAt(2, 2, "W HITE_BISHOP"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should keep copies independent")
+    void shouldCopyIndependently() {
+        // Given
+        ServerBoard board = new ServerBoard(8, 8);
+        ServerBoard copy = board.copy();
+
+        // When
+        board.setPieceAt(0, 6, "EMPTY");
+
+        // Then
+        assertThat(copy.getPieceAt(0, 6)).isEqualTo("WHITE_PAWN");
+        assertThat(board.getPieceAt(0, 6)).isEqualTo("EMPTY");
+    }
+
+    @Test
+    @DisplayName("Should report the same blocked paths as a square-by-square walk")
+    void shouldMatchNaivePathBlocking() {
+        // Given - random boards, every pair of squares on a common line
+        Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            ServerBoard board = new ServerBoard(8, 8);
+            for (int y = 0; y < 8; y++) {
+                for (int x = 0; x < 8; x++) {
+                    board.setPieceAt(x, y, random.nextInt(3) == 0 ? "BLACK_PAWN" : "EMPTY");
+                }
+            }
+
+            for (int from = 0; from < 64; from++) {
+                for (int to = 0; to < 64; to++) {
+                    int fx = from % 8, fy = from / 8, tx = to % 8, ty = to / 8;
+                    int adx = Math.abs(tx - fx), ady = Math.abs(ty - fy);
+                    if (from == to || (adx != 0 && ady != 0 && adx != ady)) {
+                        continue;
+                    }
+
+                    // When & Then
+                    assertThat(board.isPathBlocked(fx, fy, tx, ty))
+                            .as("%d,%d -> %d,%d", fx, fy, tx, ty)
+                            .isEqualTo(naivePathBlocked(board, fx, fy, tx, ty));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should precompute knight and king attacks")
+    void shouldPrecomputeAttacks() {
+        // When & Then - corner and centre squares
+        assertThat(Long.bitCount(BitBoard.KNIGHT_ATTACKS[BitBoard.square(0, 0)])).isEqualTo(2);
+        assertThat(Long.bitCount(BitBoard.KNIGHT_ATTACKS[BitBoard.square(4, 4)])).isEqualTo(8);
+        assertThat(Long.bitCount(BitBoard.KING_ATTACKS[BitBoard.square(0, 0)])).isEqualTo(3);
+        assertThat(Long.bitCount(BitBoard.KING_ATTACKS[BitBoard.square(4, 4)])).isEqualTo(8);
+        assertThat(BitBoard.BETWEEN[BitBoard.square(0, 0)][BitBoard.square(1, 2)]).isZero();
+    }
+
+    private static boolean naivePathBlocked(ServerBoard board, int fromX, int fromY, int toX, int toY) {
+        int stepX = Integer.signum(toX - fromX);
+        int stepY = Integer.signum(toY - fromY);
+        for (int x = fromX + stepX, y = fromY + stepY; x != toX || y != toY; x += stepX, y += stepY) {
+            if (!"EMPTY".equals(board.getPieceAt(x, y))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
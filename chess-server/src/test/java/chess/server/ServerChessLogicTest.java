@@ -14,10 +14,12 @@ import org.junit.jupiter.api.Test;
 public class ServerChessLogicTest {
 
     private ServerChessLogic chessLogic;
+    private long now;
 
     @BeforeEach
     void setUp() {
-        chessLogic = new ServerChessLogic();
+        now = 1_000_000;
+        chessLogic = new ServerChessLogic(() -> now);
     }
 
     @Test
@@ -92,15 +94,15 @@ public class ServerChessLogicTest {
     }
 
     @Test
-    @DisplayName("Should accept all commands in real-time gameplay")
-    void shouldAcceptAllCommandsInRealTime() {
+    @DisplayName("Should reject unknown commands")
+    void shouldRejectUnknownCommands() {
         // Given
         ServerCommand invalidCommand = new ServerCommand("INVALID_COMMAND");
         ServerCommand nullCommand = null;
 
         // When & Then
-        // Note: Current implementation accepts any command as valid for real-time gameplay
-        assertThat(chessLogic.isValidCommand(invalidCommand)).isTrue();
+        // Note: The server is authoritative - anything it does not understand is rejected
+        assertThat(chessLogic.isValidCommand(invalidCommand)).isFalse();
         assertThat(chessLogic.isValidCommand(nullCommand)).isFalse();
     }
 
@@ -169,4 +171,160 @@ public class ServerChessLogicTest {
         assertThat(gameControl.getPlayer()).isEqualTo(ServerCommand.Player.SYSTEM);
         assertThat(gameControl.getKeyInput()).isEqualTo("D_GAME"); // ServerCommand parsing cuts first 2 chars
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should move a pawn two squares from its start row and enforce the cooldown")
+    void shouldMovePawnAndEnforceCooldown() {
+        // Given - white cursor from (7,7) to the pawn on (7,6)
+        apply("W_MOVEMENT_UP", "W_SELECT_OR_MOVE", "W_MOVEMENT_UP", "W_MOVEMENT_UP");
+
+        // When
+        boolean moved = chessLogic.applyCommand(new ServerCommand("W_SELECT_OR_MOVE"));
+
+        // Then - the pawn travels to (7,4) and rests before it may act again
+        assertThat(moved).isTrue();
+        assertThat(chessLogic.getPieceAt(7, 4)).isEqualTo("WHITE_PAWN");
+        assertThat(chessLogic.getPieceAt(7, 6)).isEqualTo("EMPTY");
+        assertThat(chessLogic.isInFlight(7, 4)).isTrue();
+
+        apply("W_MOVEMENT_UP", "W_MOVEMENT_UP", "W_SELECT_OR_MOVE", "W_MOVEMENT_UP");
+        assertThat(chessLogic.isValidCommand(new ServerCommand("W_SELECT_OR_MOVE"))).isFalse();
+
+        now += ServerChessLogic.MOVE_TRAVEL_MS + ServerChessLogic.REST_MS;
+        assertThat(chessLogic.applyCommand(new ServerCommand("W_SELECT_OR_MOVE"))).isTrue();
+        assertThat(chessLogic.getPieceAt(7, 3)).isEqualTo("WHITE_PAWN");
+    }
+
+    @Test
+    @DisplayName("Should reject selecting an empty square or an opponent piece")
+    void shouldRejectIllegalSelections() {
+        // Given - white cursor on the empty square (7,5)
+        apply("W_MOVEMENT_UP", "W_MOVEMENT_UP");
+
+        // When & Then
+        assertThat(chessLogic.isValidCommand(new ServerCommand("W_SELECT_OR_MOVE"))).isFalse();
+
+        // Given - white cursor on the black pawn at (7,1)
+        apply("W_MOVEMENT_UP", "W_MOVEMENT_UP", "W_MOVEMENT_UP", "W_MOVEMENT_UP");
+
+        // When & Then
+        assertThat(chessLogic.isValidCommand(new ServerCommand("W_SELECT_OR_MOVE"))).isFalse();
+        assertThat(chessLogic.isValidCommand(new ServerCommand("W_HOVER_TO_SELECT"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject a blocked rook but let the knight jump over pawns")
+    void shouldCheckPathBlocking() {
+        // Given - rook on (7,7) selected with a pending move two squares up through its pawn
+        apply("W_SELECT_OR_MOVE", "W_MOVEMENT_UP", "W_MOVEMENT_UP");
+
+        // When & Then
+        assertThat(chessLogic.applyCommand(new ServerCommand("W_SELECT_OR_MOVE"))).isFalse();
+        assertThat(chessLogic.getPieceAt(7, 7)).isEqualTo("WHITE_ROOK");
+
+        // Given - back out, select the knight on (6,7) and aim at (5,5)
+        apply("W_MOVEMENT_DOWN", "W_MOVEMENT_DOWN", "W_SELECT_OR_MOVE");
+        apply("W_MOVEMENT_LEFT", "W_SELECT_OR_MOVE", "W_MOVEMENT_LEFT", "W_MOVEMENT_UP", "W_MOVEMENT_UP");
+
+        // When & Then
+        assertThat(chessLogic.applyCommand(new ServerCommand("W_SELECT_OR_MOVE"))).isTrue();
+        assertThat(chessLogic.getPieceAt(5, 5)).isEqualTo("WHITE_KNIGHT");
+    }
+
+    @Test
+    @DisplayName("Should capture enemy pieces instantly and only charge the rest period")
+    void shouldCaptureAndDetectGameEnd() {
+        // Given - white knight (6,7) -> (5,5) -> (4,3) -> captures the pawn on (3,1)
+        apply("W_MOVEMENT_LEFT", "W_SELECT_OR_MOVE", "W_MOVEMENT_LEFT", "W_MOVEMENT_UP", "W_MOVEMENT_UP", "W_SELECT_OR_MOVE");
+        now += ServerChessLogic.MOVE_TRAVEL_MS + ServerChessLogic.REST_MS;
+        apply("W_MOVEMENT_LEFT", "W_MOVEMENT_UP", "W_MOVEMENT_UP", "W_SELECT_OR_MOVE",
+                "W_MOVEMENT_LEFT", "W_MOVEMENT_UP", "W_MOVEMENT_UP", "W_SELECT_OR_MOVE");
+        now += ServerChessLogic.MOVE_TRAVEL_MS + ServerChessLogic.REST_MS;
+        apply("W_MOVEMENT_LEFT", "W_MOVEMENT_UP", "W_MOVEMENT_UP", "W_SELECT_OR_MOVE",
+                "W_MOVEMENT_LEFT", "W_MOVEMENT_UP", "W_MOVEMENT_UP");
+
+        // When
+        boolean captured = chessLogic.applyCommand(new ServerCommand("W_SELECT_OR_MOVE"));
+
+        // Then - the capture lands at once and only costs the rest period
+        assertThat(captured).isTrue();
+        assertThat(chessLogic.getPieceAt(3, 1)).isEqualTo("WHITE_KNIGHT");
+        assertThat(chessLogic.isInFlight(3, 1)).isFalse();
+        assertThat(chessLogic.getRemainingCooldownMs(3, 1)).isEqualTo(ServerChessLogic.REST_MS);
+        assertThat(chessLogic.isGameOver()).isFalse();
+
+        // When - after resting, the king on (3,0) is not a knight move away
+        now += ServerChessLogic.REST_MS;
+        apply("W_MOVEMENT_LEFT", "W_MOVEMENT_UP", "W_MOVEMENT_UP", "W_SELECT_OR_MOVE", "W_MOVEMENT_UP");
+        assertThat(chessLogic.isValidCommand(new ServerCommand("W_SELECT_OR_MOVE"))).isFalse();
+
+        // Then - but the bishop on (5,0) is
+        apply("W_MOVEMENT_RIGHT", "W_MOVEMENT_RIGHT");
+        assertThat(chessLogic.applyCommand(new ServerCommand("W_SELECT_OR_MOVE"))).isTrue();
+        assertThat(chessLogic.getPieceAt(5, 0)).isEqualTo("WHITE_KNIGHT");
+    }
+
+    @Test
+    @DisplayName("Should snapshot the position and both players' input state")
+    void shouldSnapshotPositionAndInput() {
+        // Given - white selected the pawn on (7,6) and queued one step up
+        apply("W_MOVEMENT_UP", "W_SELECT_OR_MOVE", "W_MOVEMENT_UP", "B_MOVEMENT_RIGHT");
+
+        // When
+        String snapshot = chessLogic.getSnapshot();
+
+        // Then
+        assertThat(snapshot).isEqualTo("rnbkqbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBKQBNR:7,6,55,1,0,-1:1,0,-1,0,0,0:");
+    }
+
+    @Test
+    @DisplayName("Should snapshot the remaining travel and cooldown of pieces that are not ready")
+    void shouldSnapshotCooldowns() {
+        // Given - white's pawn on (7,6) moved up one square half a second ago
+        apply("W_MOVEMENT_UP", "W_SELECT_OR_MOVE", "W_MOVEMENT_UP", "W_SELECT_OR_MOVE");
+        now += 500;
+
+        // When
+        String snapshot = chessLogic.getSnapshot();
+
+        // Then
+        assertThat(snapshot).isEqualTo("rnbkqbnr/pppppppp/8/8/8/7P/PPPPPPP1/RNBKQBNR:7,6,47,0,0,-1:0,0,-1,0,0,0:47,1500,3500");
+    }
+
+    @Test
+    @DisplayName("Should send a checkpoint's cooldowns counted from when it is sent, not from when it was taken")
+    void shouldRebaseCheckpointCooldowns() {
+        // Given - the checkpoint is taken half a second after white's pawn moved
+        apply("W_MOVEMENT_UP", "W_SELECT_OR_MOVE", "W_MOVEMENT_UP", "W_SELECT_OR_MOVE");
+        now += 500;
+        String checkpoint = chessLogic.getCheckpoint();
+
+        // When - sent once the pawn arrived, and again once it is ready
+        now += 1500;
+        String arrived = chessLogic.toSnapshot(checkpoint);
+        now += 2000;
+        String ready = chessLogic.toSnapshot(checkpoint);
+
+        // Then
+        String position = "rnbkqbnr/pppppppp/8/8/8/7P/PPPPPPP1/RNBKQBNR:7,6,47,0,0,-1:0,0,-1,0,0,0:";
+        assertThat(arrived).isEqualTo(position + "47,0,2000");
+        assertThat(ready).isEqualTo(position);
+    }
+
+    @Test
+    @DisplayName("Should reject player commands after the game ended")
+    void shouldRejectCommandsAfterGameEnd() {
+        // Given
+        assertThat(chessLogic.applyCommand(new ServerCommand("END_GAME"))).isTrue();
+
+        // When & Then
+        assertThat(chessLogic.isGameOver()).isTrue();
+        assertThat(chessLogic.isValidCommand(new ServerCommand("W_MOVEMENT_UP"))).isFalse();
+    }
+
+    private void apply(String... rawCommands) {
+        for (String raw : rawCommands) {
+            assertThat(chessLogic.applyCommand(new ServerCommand(raw))).as(raw).isTrue();
+        }
+    }
+}
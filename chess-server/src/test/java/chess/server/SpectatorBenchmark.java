@@ -0,0 +1,37 @@
+package chess.server;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Spectator benchmark - a player's command round trip with and without 1,000 spectators on the match
+ * Moves go back to back, so the fan-out competes with the players for the CPU the whole time; the
+ * paced version with a latency bound is {@link SpectatorLoadTest}, in the default build.
+ * Excluded from the default build, run with: mvn test -Pbenchmark
+ * Sizes: -Dbench.spectators=1000 -Dbench.spectatorMoves=500
+ */
+@Tag("benchmark")
+@DisplayName("Spectator Benchmark")
+public class SpectatorBenchmark {
+
+    private static final int SPECTATORS = Integer.getInteger("bench.spectators", 1_000);
+    private static final int MOVES = Integer.getInteger("bench.spectatorMoves", 500);
+
+    @Test
+    @DisplayName("Player latency under spectator fan-out")
+    void benchmarkSpectators() throws Exception {
+        SpectatorLoadTest.Result result = SpectatorLoadTest.measure(SPECTATORS, MOVES, 0);
+
+        System.out.printf("%d spectators joined with snapshots in %.0f ms%n", SPECTATORS, result.joinMs);
+        System.out.printf("player round trip, no spectators:   p50 %6.1f us, p99 %6.1f us%n",
+                SpectatorLoadTest.percentile(result.alone, 0.50) / 1e3,
+                SpectatorLoadTest.percentile(result.alone, 0.99) / 1e3);
+        System.out.printf("player round trip, %4d spectators: p50 %6.1f us, p99 %6.1f us | %.0f spectator deliveries/s%n",
+                SPECTATORS, SpectatorLoadTest.percentile(result.watched, 0.50) / 1e3,
+                SpectatorLoadTest.percentile(result.watched, 0.99) / 1e3, result.deliveriesPerSecond);
+        assertThat(result.skipped).isZero();
+    }
+}
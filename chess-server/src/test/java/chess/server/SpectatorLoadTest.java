@@ -0,0 +1,191 @@
+package chess.server;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Load test for spectators - a player's command round trip with 1,000 spectators on the match,
+ * against the same match with none
+ * Spectators are real sockets, drained by one selector thread on the client side. Console logging is
+ * switched off while measuring - with it, the fan-out thread mostly measures System.out.
+ */
+@DisplayName("Spectator Load Tests")
+public class SpectatorLoadTest {
+
+    private static final int SPECTATORS = 1_000;
+    private static final int MOVES = 120;
+    // 20 moves a second - quicker than people play, with time to reach every spectator between moves
+    private static final long MOVE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    // How much slower a watched match's p99 may be - the floor absorbs scheduler noise when the
+    // spectators' sockets share one or two CPUs with the server
+    private static final int P99_FACTOR = 4;
+    private static final long P99_FLOOR_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    /**
+     * Sorted round trips of one run, with and without spectators
+     */
+    static final class Result {
+        final long[] alone;
+        final long[] watched;
+        final double joinMs;
+        final double deliveriesPerSecond;
+        final long skipped;
+
+        Result(long[] alone, long[] watched, double joinMs, double deliveriesPerSecond, long skipped) {
+            this.alone = alone;
+            this.watched = watched;
+            this.joinMs = joinMs;
+            this.deliveriesPerSecond = deliveriesPerSecond;
+            this.skipped = skipped;
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the players' p99 round trip within 4x of an unwatched match with 1,000 spectators")
+    void shouldKeepPlayerLatencyWithSpectators() throws Exception {
+        // When
+        Result result = measure(SPECTATORS, MOVES, MOVE_INTERVAL_NANOS);
+
+        // Then
+        long aloneP99 = percentile(result.alone, 0.99);
+        assertThat(percentile(result.watched, 0.99))
+                .isLessThanOrEqualTo(Math.max(P99_FACTOR * aloneP99, aloneP99 + P99_FLOOR_NANOS));
+        assertThat(result.skipped).isZero();
+    }
+
+    /**
+     * Play moves with no spectators, seat the spectators, then play the same moves again
+     * A move waits for the previous one's echo and then for intervalNanos since it started, 0 for back to back
+     */
+    static Result measure(int spectators, int moves, long intervalNanos) throws Exception {
+        Properties properties = TestServerConfig.defaults();
+        properties.setProperty("server.protocol.binary", "false");
+        // Spectators say SPECTATE before the handshake seats them
+        properties.setProperty("connection.setup.delay.ms", "100");
+        properties.setProperty("spectator.max.per.room", String.valueOf(spectators));
+        ChessServer server = ChessServerTransportTest.startServer(new ServerConfig(properties));
+        PrintStream console = System.out;
+        AtomicLong spectatorLines = new AtomicLong();
+        Selector selector = Selector.open();
+        Thread drain = new Thread(() -> drainSpectators(selector, spectatorLines), "load-spectators");
+        drain.setDaemon(true);
+        try (ChessServerTransportTest.TestClient white = new ChessServerTransportTest.TestClient(server.getLocalPort());
+             ChessServerTransportTest.TestClient black = new ChessServerTransportTest.TestClient(server.getLocalPort())) {
+            assertThat(white.awaitLine("GAME_START")).isTrue();
+            assertThat(black.awaitLine("GAME_START")).isTrue();
+            GameRoom room = server.getRoomManager().getRoom("Room-1");
+
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            roundTrips(white, moves / 4, 0); // warm-up
+            long[] alone = roundTrips(white, moves, intervalNanos);
+
+            byte[] spectate = ("SPECTATE:" + room.getRoomId() + "\n").getBytes(StandardCharsets.UTF_8);
+            long joinStart = System.nanoTime();
+            for (int i = 0; i < spectators; i++) {
+                SocketChannel channel = SocketChannel.open(new InetSocketAddress("localhost", server.getLocalPort()));
+                channel.write(ByteBuffer.wrap(spectate));
+                channel.configureBlocking(false);
+                channel.register(selector, SelectionKey.OP_READ);
+            }
+            drain.start();
+            // Role, snapshot and GAME_START for each - some were seated as players first and got more
+            awaitCount(room::getSpectatorCount, spectators);
+            awaitCount(() -> room.getSpectatorFeed().getDeliveredCount(), spectators * 3L);
+            awaitCount(spectatorLines::get, spectators * 3L);
+            double joinMs = (System.nanoTime() - joinStart) / 1e6;
+            Thread.sleep(200);
+            long joined = spectatorLines.get();
+
+            long fanoutStart = System.nanoTime();
+            long[] watched = roundTrips(white, moves, intervalNanos);
+            awaitCount(spectatorLines::get, joined + (long) moves * spectators);
+            double fanoutSeconds = (System.nanoTime() - fanoutStart) / 1e9;
+            return new Result(alone, watched, joinMs, (double) moves * spectators / fanoutSeconds,
+                    room.getSpectatorFeed().getSkippedCount());
+        } finally {
+            System.setOut(console);
+            selector.close();
+            server.stop();
+        }
+    }
+
+    static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))];
+    }
+
+    /**
+     * Send moves one at a time and time each until its echo is back
+     */
+    private static long[] roundTrips(ChessServerTransportTest.TestClient player, int moves, long intervalNanos)
+            throws IOException {
+        long[] nanos = new long[moves];
+        for (int i = 0; i < moves; i++) {
+            String move = i % 2 == 0 ? "W_HOVER_UP" : "W_HOVER_DOWN";
+            long start = System.nanoTime();
+            player.send(move);
+            assertThat(player.awaitLine(move)).isTrue();
+            nanos[i] = System.nanoTime() - start;
+            long wait;
+            while ((wait = start + intervalNanos - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private static void drainSpectators(Selector selector, AtomicLong lines) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+        try {
+            while (selector.isOpen()) {
+                selector.select();
+                for (SelectionKey key : selector.selectedKeys()) {
+                    buffer.clear();
+                    if (((SocketChannel) key.channel()).read(buffer) < 0) {
+                        key.cancel();
+                        continue;
+                    }
+                    buffer.flip();
+                    int count = 0;
+                    while (buffer.hasRemaining()) {
+                        if (buffer.get() == '\n') {
+                            count++;
+                        }
+                    }
+                    lines.addAndGet(count);
+                }
+                selector.selectedKeys().clear();
+            }
+        } catch (IOException | RuntimeException e) {
+            // selector closed at the end of the run
+        }
+    }
+
+    private static void awaitCount(LongSupplier count, long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 120_000;
+        while (count.getAsLong() < expected) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Only " + count.getAsLong() + "/" + expected + " reached");
+            }
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package chess.server;
+
+/**
+ * The server board as it was before the bitboard - a String per square
+ * Kept as the baseline for ServerBoardBenchmark
+ */
+class StringGridBoard {
+    private final String[][] pieces;
+
+    StringGridBoard(ServerBoard source) {
+        pieces = new String[source.getHeight()][source.getWidth()];
+        for (int row = 0; row < source.getHeight(); row++) {
+            for (int col = 0; col < source.getWidth(); col++) {
+                pieces[row][col] = source.getPieceAt(col, row);
+            }
+        }
+    }
+
+    private StringGridBoard(String[][] pieces) {
+        this.pieces = pieces;
+    }
+
+    String getPieceAt(int x, int y) {
+        return pieces[y][x];
+    }
+
+    boolean isOccupied(int x, int y) {
+        return !pieces[y][x].equals("EMPTY");
+    }
+
+    boolean isPathBlocked(int fromX, int fromY, int toX, int toY) {
+        int stepX = Integer.signum(toX - fromX);
+        int stepY = Integer.signum(toY - fromY);
+        for (int x = fromX + stepX, y = fromY + stepY; x != toX || y != toY; x += stepX, y += stepY) {
+            if (isOccupied(x, y)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    StringGridBoard copy() {
+        String[][] copy = new String[pieces.length][];
+        for (int row = 0; row < pieces.length; row++) {
+            copy[row] = pieces[row].clone();
+        }
+        return new StringGridBoard(copy);
+    }
+}
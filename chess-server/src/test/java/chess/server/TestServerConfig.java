@@ -0,0 +1,51 @@
+package chess.server;
+
+import java.util.Properties;
+
+/**
+ * Server configuration for tests - same keys as application.properties, without handshake delays
+ */
+final class TestServerConfig {
+
+    private TestServerConfig() {
+    }
+
+    static Properties defaults() {
+        Properties properties = new Properties();
+        properties.setProperty("server.port", "0");
+        properties.setProperty("server.domain", "localhost");
+        properties.setProperty("server.transport", "nio");
+        properties.setProperty("server.protocol.binary", "true");
+        properties.setProperty("game.timeout.minutes", "30");
+        properties.setProperty("game.max.players", "2");
+        properties.setProperty("game.player1.color", "WHITE");
+        properties.setProperty("game.player2.color", "BLACK");
+        properties.setProperty("game.waiting.message", "Waiting for player");
+        properties.setProperty("connection.max.clients", "20000");
+        properties.setProperty("connection.timeout.seconds", "300");
+        properties.setProperty("connection.setup.delay.ms", "0");
+        properties.setProperty("connection.start.delay.ms", "0");
+        properties.setProperty("connection.clear.delay.ms", "0");
+        properties.setProperty("connection.resync.snapshot.interval", "64");
+        properties.setProperty("connection.send.flush.delay.ms", "0");
+        properties.setProperty("connection.send.max.queued.bytes", "262144");
+        properties.setProperty("connection.send.writer.threads", "2");
+        properties.setProperty("connection.send.write.timeout.ms", "2000");
+        properties.setProperty("spectator.max.per.room", "1000");
+        properties.setProperty("spectator.lag.bytes", "16384");
+        properties.setProperty("spectator.fanout.threads", "2");
+        properties.setProperty("logging.level", "INFO");
+        properties.setProperty("logging.enable.debug", "false");
+        return properties;
+    }
+
+    static ServerConfig create() {
+        return new ServerConfig(defaults());
+    }
+
+    static ServerConfig withTransport(String transport) {
+        Properties properties = defaults();
+        properties.setProperty("server.transport", transport);
+        return new ServerConfig(properties);
+    }
+}
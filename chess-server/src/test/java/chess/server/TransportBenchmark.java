@@ -0,0 +1,109 @@
+package chess.server;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Transport benchmark - idle connection memory, accept rate and round-trip latency
+ * Excluded from the default build, run with: mvn test -Pbenchmark
+ * Sizes: -Dbench.idle=20000 -Dbench.active=2000 -Dbench.roundTrips=20 (needs ~2 file descriptors per connection)
+ */
+@Tag("benchmark")
+@DisplayName("Server Transport Benchmark")
+public class TransportBenchmark {
+
+    private static final int IDLE = Integer.getInteger("bench.idle", 20_000);
+    private static final int ACTIVE = Integer.getInteger("bench.active", 2_000);
+    private static final int ROUND_TRIPS = Integer.getInteger("bench.roundTrips", 20);
+
+    @ParameterizedTest(name = "{0} transport")
+    @ValueSource(strings = {"blocking", "virtual", "nio"})
+    @DisplayName("Idle and active connections")
+    void benchmarkTransport(String transport) throws Exception {
+        ChessServer server = ChessServerTransportTest.startServer(TestServerConfig.withTransport(transport));
+        List<Socket> idle = new ArrayList<>(IDLE);
+        List<ChessServerTransportTest.TestClient> active = new ArrayList<>(ACTIVE);
+        try {
+            long heapBefore = usedHeap();
+            int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+
+            // Idle connections - accept rate until every client has a room
+            long acceptStart = System.nanoTime();
+            for (int i = 0; i < IDLE; i++) {
+                idle.add(new Socket("localhost", server.getLocalPort()));
+            }
+            awaitClients(server, IDLE);
+            double acceptSeconds = (System.nanoTime() - acceptStart) / 1e9;
+
+            long heapIdle = usedHeap() - heapBefore;
+            int threadsIdle = ManagementFactory.getThreadMXBean().getThreadCount() - threadsBefore;
+
+            // Active connections - sequential round trips through the room broadcast
+            for (int i = 0; i < ACTIVE; i++) {
+                active.add(new ChessServerTransportTest.TestClient(server.getLocalPort()));
+            }
+            awaitClients(server, IDLE + ACTIVE);
+            long[] roundTripNanos = new long[ACTIVE * ROUND_TRIPS];
+            int sample = 0;
+            for (int round = 0; round < ROUND_TRIPS; round++) {
+                for (int i = 0; i < ACTIVE; i++) {
+                    String move = (i % 2 == 0) ? "W_HOVER_UP" : "B_HOVER_DOWN";
+                    long start = System.nanoTime();
+                    active.get(i).send(move);
+                    assertThat(active.get(i).awaitLine(move)).isTrue();
+                    roundTripNanos[sample++] = System.nanoTime() - start;
+                }
+            }
+            Arrays.sort(roundTripNanos);
+
+            System.out.printf("%n=== %s transport ===%n", transport);
+            System.out.printf("Idle connections: %d, accept rate: %.0f conn/s%n", IDLE, IDLE / acceptSeconds);
+            System.out.printf("Heap per idle connection: ~%d bytes (client and server side), extra threads: %d%n",
+                    heapIdle / Math.max(1, IDLE), threadsIdle);
+            System.out.printf("Round trips: %d over %d active connections, p50 %.1f us, p99 %.1f us%n",
+                    roundTripNanos.length, ACTIVE,
+                    percentile(roundTripNanos, 0.50) / 1e3, percentile(roundTripNanos, 0.99) / 1e3);
+        } finally {
+            for (Socket socket : idle) {
+                socket.close();
+            }
+            for (ChessServerTransportTest.TestClient client : active) {
+                client.close();
+            }
+            server.stop();
+        }
+    }
+
+    private static void awaitClients(ChessServer server, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 120_000;
+        while (server.getRoomManager().getClientCount() < expected) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Only " + server.getRoomManager().getClientCount() + "/" + expected + " clients joined");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))];
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
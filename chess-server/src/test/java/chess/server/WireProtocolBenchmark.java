@@ -0,0 +1,80 @@
+package chess.server;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Wire protocol benchmark - text lines against binary frames, for what the server does with each
+ * move: take it off the wire, turn it into a ServerCommand, and produce the bytes to relay
+ * Excluded from the default build, run with: mvn test -Pbenchmark
+ * Size: -Dbench.wireMessages=5000000
+ */
+@Tag("benchmark")
+@DisplayName("Wire Protocol Benchmark")
+public class WireProtocolBenchmark {
+
+    private static final int MESSAGES = Integer.getInteger("bench.wireMessages", 5_000_000);
+
+    // A game's worth of input - mostly cursor moves, some selections and jumps
+    private static final String[] COMMANDS = {"W_MOVEMENT_UP", "B_MOVEMENT_DOWN", "W_MOVEMENT_LEFT",
+            "B_MOVEMENT_RIGHT", "W_SELECT_OR_MOVE", "B_HOVER_TO_SELECT", "W_HOVER_UP", "B_HOVER_LEFT",
+            "W_SELECT_PIECE_12", "B_JUMP", "W_MOVEMENT_RIGHT", "B_SELECT_OR_MOVE"};
+
+    @Test
+    @DisplayName("Receive and relay moves")
+    void benchmarkReceiveAndRelay() throws Exception {
+        byte[][] lines = new byte[COMMANDS.length][];
+        byte[][] frames = new byte[COMMANDS.length][];
+        long textBytes = 0;
+        long binaryBytes = 0;
+        for (int i = 0; i < COMMANDS.length; i++) {
+            lines[i] = (COMMANDS[i] + "\n").getBytes(StandardCharsets.UTF_8);
+            ServerCommand command = new ServerCommand(COMMANDS[i]);
+            command.setCells(52, 36);
+            frames[i] = WireProtocol.encode(command);
+            textBytes += lines[i].length;
+            binaryBytes += frames[i].length;
+        }
+
+        long textRelayed = 0;
+        long binaryRelayed = 0;
+        for (int pass = 0; pass < 2; pass++) { // first pass is warm-up
+            long start = System.nanoTime();
+            textRelayed = 0;
+            for (int i = 0; i < MESSAGES; i++) {
+                byte[] line = lines[i % lines.length];
+                ServerCommand command = new ServerCommand(new String(line, 0, line.length - 1, StandardCharsets.UTF_8));
+                textRelayed += (command.getRawCommand() + "\n").getBytes(StandardCharsets.UTF_8).length;
+            }
+            long textNanos = System.nanoTime() - start;
+
+            WireProtocol.FrameReader reader = new WireProtocol.FrameReader();
+            start = System.nanoTime();
+            binaryRelayed = 0;
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < MESSAGES; i++) {
+                reader.feed(ByteBuffer.wrap(frames[i % frames.length]));
+                ServerCommand command = WireProtocol.decodeCommand(reader.body(), reader.length(), now);
+                reader.next();
+                binaryRelayed += command.getFrame().length;
+            }
+            long binaryNanos = System.nanoTime() - start;
+
+            if (pass == 1) {
+                System.out.printf("text   %8.0f msg/ms | %5.2f bytes/move%n",
+                        MESSAGES / (textNanos / 1e6), (double) textBytes / COMMANDS.length);
+                System.out.printf("binary %8.0f msg/ms | %5.2f bytes/move | %.1fx faster, %.0f%% of the bytes%n",
+                        MESSAGES / (binaryNanos / 1e6), (double) binaryBytes / COMMANDS.length,
+                        (double) textNanos / binaryNanos, 100.0 * binaryBytes / textBytes);
+            }
+        }
+        assertThat(binaryRelayed).isEqualTo((long) MESSAGES * WireProtocol.COMMAND_FRAME_BYTES);
+        assertThat(textRelayed).isGreaterThan(binaryRelayed);
+    }
+}
@@ -0,0 +1,107 @@
+package chess.server;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the binary wire format - the byte layout is shared with the client's WireProtocolTest
+ */
+@DisplayName("Wire Protocol Tests")
+public class WireProtocolTest {
+
+    private static final long NOW = 1_700_000_123_456L;
+
+    @Test
+    @DisplayName("Should encode a command in the shared 12-byte layout")
+    void shouldEncodeCommandFrame() {
+        // Given
+        ServerCommand command = WireProtocol.decodeCommand(
+                new byte[] {5, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x01, 0x02, 0x0A, 0x0B, 0x0C, 0x0D}, 11, NOW);
+
+        // When
+        command.setCells(52, 36);
+        byte[] frame = command.getFrame();
+
+        // Then
+        assertThat(command.getRawCommand()).isEqualTo("W_SELECT_OR_MOVE");
+        assertThat(command.getAction()).isEqualTo(ServerCommand.Action.SELECT_OR_MOVE);
+        assertThat(command.getSequence()).isEqualTo(0x0102);
+        assertThat(frame).containsExactly(11, 5, 0, 0xFF, 52, 36, 0x01, 0x02, 0x0A, 0x0B, 0x0C, 0x0D);
+    }
+
+    @Test
+    @DisplayName("Should round-trip every command the client sends")
+    void shouldRoundTripCommands() {
+        String[] commands = {"W_MOVEMENT_UP", "B_MOVEMENT_DOWN", "W_MOVEMENT_LEFT", "B_MOVEMENT_RIGHT",
+                "W_SELECT_OR_MOVE", "B_HOVER_TO_SELECT", "W_HOVER_UP", "B_HOVER_LEFT", "W_SELECT_PIECE_3",
+                "B_JUMP", "END_GAME"};
+        for (String text : commands) {
+            // When
+            ServerCommand parsed = new ServerCommand(text);
+            byte[] frame = WireProtocol.encode(parsed);
+            ServerCommand decoded = WireProtocol.decodeCommand(
+                    Arrays.copyOfRange(frame, 1, frame.length), frame.length - 1, NOW);
+
+            // Then
+            assertThat(frame).as(text).hasSize(WireProtocol.COMMAND_FRAME_BYTES);
+            assertThat(decoded.getRawCommand()).isEqualTo(text);
+            assertThat(decoded.getAction()).isEqualTo(parsed.getAction());
+            assertThat(decoded.getPlayer()).isEqualTo(parsed.getPlayer());
+        }
+    }
+
+    @Test
+    @DisplayName("Should send other messages as text frames and read frames split across reads")
+    void shouldFrameTextAcrossReads() throws Exception {
+        // Given
+        byte[] text = WireProtocol.encodeText("WAITING_FOR_PLAYER:ממתין לשחקן נוסף...");
+        byte[] command = WireProtocol.encode(new ServerCommand("B_JUMP"));
+        ByteBuffer stream = ByteBuffer.allocate(text.length + command.length);
+        stream.put(text).put(command).flip();
+        WireProtocol.FrameReader frames = new WireProtocol.FrameReader();
+
+        // When - three bytes at a time, like short selector reads
+        String message = null;
+        ServerCommand jump = null;
+        while (stream.hasRemaining()) {
+            ByteBuffer chunk = stream.slice();
+            chunk.limit(Math.min(3, chunk.remaining()));
+            boolean complete = frames.feed(chunk);
+            stream.position(stream.position() + chunk.position());
+            if (complete) {
+                if (frames.body()[0] == WireProtocol.OP_TEXT) {
+                    message = WireProtocol.decodeText(frames.body(), frames.length());
+                } else {
+                    jump = WireProtocol.decodeCommand(frames.body(), frames.length(), NOW);
+                }
+                frames.next();
+            }
+        }
+        WireProtocol.FrameReader blocking = new WireProtocol.FrameReader();
+        boolean read = blocking.read(new ByteArrayInputStream(text));
+        String blockingMessage = WireProtocol.decodeText(blocking.body(), blocking.length());
+        blocking.next();
+        boolean readPastEnd = blocking.read(new ByteArrayInputStream(new byte[0]));
+
+        // Then
+        assertThat(message).isEqualTo("WAITING_FOR_PLAYER:ממתין לשחקן נוסף...");
+        assertThat(jump.getRawCommand()).isEqualTo("B_JUMP");
+        assertThat(read).isTrue();
+        assertThat(blockingMessage).isEqualTo(message);
+        assertThat(readPastEnd).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should restore full timestamps from their low 32 bits")
+    void shouldExpandTimestamps() {
+        // When & Then
+        assertThat(WireProtocol.expandTimestamp((int) (NOW - 250), NOW)).isEqualTo(NOW - 250);
+        assertThat(WireProtocol.expandTimestamp((int) NOW, NOW)).isEqualTo(NOW);
+    }
+}